@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+
+/**
+ * Utility methods shared by the benchmarks.
+ */
+public final class BenchmarkSupport {
+
+    /**
+     * The factory id of the {@link BenchmarkDataSerializableFactory}.
+     */
+    public static final int DATA_SERIALIZABLE_FACTORY_ID = 1000;
+
+    /**
+     * The factory id of the {@link BenchmarkPortableFactory}.
+     */
+    public static final int PORTABLE_FACTORY_ID = 1001;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Creates the Config for a single member that doesn't try to join other members and knows the benchmark types.
+     *
+     * @return the created Config.
+     */
+    public static Config newMemberConfig() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_LOGGING_TYPE, "none");
+
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(false);
+
+        config.getSerializationConfig()
+                .addDataSerializableFactory(DATA_SERIALIZABLE_FACTORY_ID, new BenchmarkDataSerializableFactory())
+                .addPortableFactory(PORTABLE_FACTORY_ID, new BenchmarkPortableFactory());
+        return config;
+    }
+
+    /**
+     * Creates a SerializationService that knows the benchmark types.
+     *
+     * @return the created SerializationService.
+     */
+    public static SerializationService newSerializationService() {
+        return new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(DATA_SERIALIZABLE_FACTORY_ID, new BenchmarkDataSerializableFactory())
+                .addPortableFactory(PORTABLE_FACTORY_ID, new BenchmarkPortableFactory())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Increments the age of a {@link Person}; used to benchmark the entry processor path of the map.
+ */
+public class IncrementAgeEntryProcessor extends AbstractEntryProcessor<Integer, Person>
+        implements IdentifiedDataSerializable {
+
+    static final int CLASS_ID = 2;
+
+    @Override
+    public Object process(Map.Entry<Integer, Person> entry) {
+        Person person = entry.getValue();
+        if (person == null) {
+            return null;
+        }
+
+        person.setAge(person.getAge() + 1);
+        entry.setValue(person);
+        return null;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return BenchmarkSupport.DATA_SERIALIZABLE_FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return CLASS_ID;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+    }
+}
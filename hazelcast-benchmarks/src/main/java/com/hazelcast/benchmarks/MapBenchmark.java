@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the get, put, set and entry processor calls of an IMap on a single member. So the calls go through the
+ * OperationService and the partition threads, but not through the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final int KEY_DOMAIN = 10000;
+    private static final int AGE_DOMAIN = 100;
+    private static final long SALARY = 100000;
+
+    @Param({"BINARY", "OBJECT"})
+    public String inMemoryFormat;
+
+    private HazelcastInstance hz;
+    private IMap<Integer, Person> map;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkSupport.newMemberConfig();
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(InMemoryFormat.valueOf(inMemoryFormat));
+        hz = Hazelcast.newHazelcastInstance(config);
+        map = hz.getMap(MAP_NAME);
+
+        for (int k = 0; k < KEY_DOMAIN; k++) {
+            map.set(k, new Person("name" + k, k % AGE_DOMAIN, SALARY));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        hz.shutdown();
+    }
+
+    /**
+     * Hands out random keys; a thread has its own instance, so there is no contention on the Random.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        private final Random random = new Random();
+
+        int next() {
+            return random.nextInt(KEY_DOMAIN);
+        }
+    }
+
+    @Benchmark
+    public Person get(Keys keys) {
+        return map.get(keys.next());
+    }
+
+    @Benchmark
+    public Person put(Keys keys) {
+        int key = keys.next();
+        return map.put(key, new Person("name" + key, key % AGE_DOMAIN, SALARY));
+    }
+
+    @Benchmark
+    public void set(Keys keys) {
+        int key = keys.next();
+        map.set(key, new Person("name" + key, key % AGE_DOMAIN, SALARY));
+    }
+
+    @Benchmark
+    public Object executeOnKey(Keys keys) {
+        return map.executeOnKey(keys.next(), new IncrementAgeEntryProcessor());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the encoding of a Packet into a ByteBuffer and the decoding of a Packet from a ByteBuffer, like it is done
+ * by the read and write handlers of a connection. The buffer has the size of the default socket buffer, so large
+ * packets are written and read in multiple calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PacketBenchmark {
+
+    private static final int PARTITION_ID = 1;
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    @Param({"16", "1024", "65536"})
+    public int valueSize;
+
+    @Param({"false", "true"})
+    public boolean direct;
+
+    private SerializationService serializationService;
+    private Data data;
+    private ByteBuffer buffer;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() {
+        serializationService = BenchmarkSupport.newSerializationService();
+        data = serializationService.toData(new byte[valueSize]);
+        buffer = direct ? ByteBuffer.allocateDirect(BUFFER_SIZE) : ByteBuffer.allocate(BUFFER_SIZE);
+
+        encoded = ByteBuffer.allocate(Packet.FRAME_HEADER_SIZE + data.totalSize());
+        Packet packet = new Packet(data, PARTITION_ID);
+        if (!packet.writeTo(encoded)) {
+            throw new IllegalStateException("Packet didn't fit in the buffer");
+        }
+        encoded.flip();
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public Packet encode() {
+        Packet packet = new Packet(data, PARTITION_ID);
+        buffer.clear();
+        while (!packet.writeTo(buffer)) {
+            // the buffer is full; in a connection it would be written to the socket now.
+            buffer.clear();
+        }
+        return packet;
+    }
+
+    @Benchmark
+    public Packet decode() {
+        ByteBuffer source = encoded.duplicate();
+        Packet packet = new Packet();
+        for (; ; ) {
+            buffer.clear();
+            int length = Math.min(buffer.remaining(), source.remaining());
+            ByteBuffer chunk = source.duplicate();
+            chunk.limit(chunk.position() + length);
+            buffer.put(chunk);
+            source.position(source.position() + length);
+            buffer.flip();
+
+            if (packet.readFrom(buffer)) {
+                return packet;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+
+import java.io.IOException;
+
+/**
+ * The {@link Portable} counterpart of the {@link Person}.
+ */
+public class PortablePerson implements Portable {
+
+    static final int CLASS_ID = 1;
+
+    private String name;
+    private int age;
+    private long salary;
+
+    public PortablePerson() {
+    }
+
+    public PortablePerson(String name, int age, long salary) {
+        this.name = name;
+        this.age = age;
+        this.salary = salary;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return BenchmarkSupport.PORTABLE_FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return CLASS_ID;
+    }
+
+    @Override
+    public void writePortable(PortableWriter writer) throws IOException {
+        writer.writeUTF("name", name);
+        writer.writeInt("age", age);
+        writer.writeLong("salary", salary);
+    }
+
+    @Override
+    public void readPortable(PortableReader reader) throws IOException {
+        name = reader.readUTF("name");
+        age = reader.readInt("age");
+        salary = reader.readLong("salary");
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SqlPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks queries on an IMap on a single member, with and without an index on the queried attribute.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final String MAP_NAME = "persons";
+    private static final int ENTRY_COUNT = 100000;
+    private static final int AGE_DOMAIN = 100;
+    private static final int SALARY_DOMAIN = 10000;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private HazelcastInstance hz;
+    private IMap<Integer, Person> map;
+
+    @Setup
+    public void setup() {
+        hz = Hazelcast.newHazelcastInstance(BenchmarkSupport.newMemberConfig());
+        map = hz.getMap(MAP_NAME);
+        if (indexed) {
+            map.addIndex("age", true);
+            map.addIndex("salary", true);
+        }
+
+        Random random = new Random();
+        Map<Integer, Person> batch = new HashMap<Integer, Person>();
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            batch.put(k, new Person("name" + k, random.nextInt(AGE_DOMAIN), random.nextInt(SALARY_DOMAIN)));
+            if (batch.size() == BATCH_SIZE) {
+                map.putAll(batch);
+                batch.clear();
+            }
+        }
+        map.putAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hz.shutdown();
+    }
+
+    /**
+     * Hands out random ages; a thread has its own instance, so there is no contention on the Random.
+     */
+    @State(Scope.Thread)
+    public static class Ages {
+        private final Random random = new Random();
+
+        int next() {
+            return random.nextInt(AGE_DOMAIN);
+        }
+    }
+
+    @Benchmark
+    public Collection<Person> equal(Ages ages) {
+        return map.values(Predicates.equal("age", ages.next()));
+    }
+
+    @Benchmark
+    public Collection<Person> between(Ages ages) {
+        int age = ages.next();
+        return map.values(Predicates.between("age", age, age + 1));
+    }
+
+    @Benchmark
+    public Collection<Person> sql(Ages ages) {
+        Predicate predicate = new SqlPredicate("age = " + ages.next() + " AND salary < 100");
+        return map.values(predicate);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.map.impl.record.RecordHashMap;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.partition.strategy.DefaultPartitioningStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link RecordHashMap} with the ConcurrentHashMap it replaced in the record store, for gets and for puts
+ * of existing keys, like a record store of a partition does. The heap used per entry is measured while setting up
+ * and printed to the benchmark output.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g"})
+public class RecordMapBenchmark {
+
+    private static final int GC_ROUNDS = 4;
+    private static final int GC_PAUSE_MILLIS = 200;
+    private static final int RANDOM_INDEX_COUNT = 1 << 20;
+
+    @Param({"100000", "10000000"})
+    public int entryCount;
+
+    @Param({"RecordHashMap", "ConcurrentHashMap"})
+    public String mapType;
+
+    private SerializationService serializationService;
+    private Map<Data, Record> map;
+    private Data[] keys;
+    private Record record;
+    private int[] randomIndexes;
+    private int index;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        serializationService = BenchmarkSupport.newSerializationService();
+        RecordFactory recordFactory = new DataRecordFactory(new MapConfig(), serializationService,
+                new DefaultPartitioningStrategy());
+        record = recordFactory.newRecord(serializationService.toData(0), 0);
+
+        keys = new Data[entryCount];
+        for (int k = 0; k < entryCount; k++) {
+            keys[k] = serializationService.toData(k);
+        }
+        randomIndexes = new int[RANDOM_INDEX_COUNT];
+        Random random = new Random();
+        for (int k = 0; k < randomIndexes.length; k++) {
+            randomIndexes[k] = random.nextInt(entryCount);
+        }
+
+        long usedBefore = usedHeap();
+        if ("RecordHashMap".equals(mapType)) {
+            map = new RecordHashMap();
+        } else {
+            map = new ConcurrentHashMap<Data, Record>(1000, 0.75f, 1);
+        }
+        for (Data key : keys) {
+            map.put(key, record);
+        }
+        long bytesPerEntry = (usedHeap() - usedBefore) / entryCount;
+        System.out.println();
+        System.out.println(mapType + " uses " + bytesPerEntry + " bytes per entry, excluding keys and records");
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int k = 0; k < GC_ROUNDS; k++) {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MILLIS);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    private Data nextKey() {
+        index = (index + 1) & (RANDOM_INDEX_COUNT - 1);
+        return keys[randomIndexes[index]];
+    }
+
+    @Benchmark
+    public Record get() {
+        return map.get(nextKey());
+    }
+
+    @Benchmark
+    public Record put() {
+        return map.put(nextKey(), record);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.spi.impl.operationexecutor.classic.DefaultScheduleQueue;
+import com.hazelcast.spi.impl.operationexecutor.classic.MPSCScheduleQueue;
+import com.hazelcast.spi.impl.operationexecutor.classic.ScheduleQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link DefaultScheduleQueue} and the {@link MPSCScheduleQueue} of the partition operation threads.
+ * <p/>
+ * A single consumer thread takes the tasks, like a partition thread does. The throughput benchmark has multiple producers
+ * offering batches of tasks; the round trip benchmark does a ping-pong with the consumer, so it includes the cost of
+ * waking up the consumer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScheduleQueueBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Object TASK = new Object();
+
+    @Param({"default", "mpsc"})
+    public String queueType;
+
+    private ScheduleQueue queue;
+    private Thread consumer;
+
+    @Setup
+    public void setup() {
+        queue = "mpsc".equals(queueType) ? new MPSCScheduleQueue() : new DefaultScheduleQueue();
+        consumer = new Thread("consumer") {
+            @Override
+            public void run() {
+                try {
+                    for (; ; ) {
+                        Object task = queue.take();
+                        if (task instanceof Reply) {
+                            ((Reply) task).signal();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // the benchmark is done.
+                    return;
+                }
+            }
+        };
+        consumer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        consumer.interrupt();
+        consumer.join();
+    }
+
+    /**
+     * Signals a producer that the consumer has taken all its tasks; a thread has its own instance.
+     */
+    @State(Scope.Thread)
+    public static class Reply {
+        private final Semaphore semaphore = new Semaphore(0);
+
+        void signal() {
+            semaphore.release();
+        }
+
+        void await() throws InterruptedException {
+            semaphore.acquire();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void throughput(Reply reply) throws InterruptedException {
+        for (int k = 0; k < BATCH_SIZE - 1; k++) {
+            queue.add(TASK);
+        }
+        queue.add(reply);
+        reply.await();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void roundTrip(Reply reply) throws InterruptedException {
+        queue.add(reply);
+        reply.await();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the serialization and deserialization of the common types by the SerializationService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int BYTE_ARRAY_SIZE = 1024;
+    private static final int MAP_SIZE = 16;
+    private static final int AGE = 42;
+    private static final long SALARY = 100000;
+
+    @Param({"string", "long", "byteArray", "serializable", "identifiedDataSerializable", "portable"})
+    public String type;
+
+    private SerializationService serializationService;
+    private Object object;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        serializationService = BenchmarkSupport.newSerializationService();
+        object = createObject();
+        data = serializationService.toData(object);
+    }
+
+    private Object createObject() {
+        if ("string".equals(type)) {
+            return "The quick brown fox jumps over the lazy dog";
+        } else if ("long".equals(type)) {
+            return Long.MAX_VALUE;
+        } else if ("byteArray".equals(type)) {
+            return new byte[BYTE_ARRAY_SIZE];
+        } else if ("serializable".equals(type)) {
+            Map<String, Integer> map = new HashMap<String, Integer>();
+            for (int k = 0; k < MAP_SIZE; k++) {
+                map.put("key" + k, k);
+            }
+            return map;
+        } else if ("identifiedDataSerializable".equals(type)) {
+            return new Person("John", AGE, SALARY);
+        } else if ("portable".equals(type)) {
+            return new PortablePerson("John", AGE, SALARY);
+        }
+        throw new IllegalArgumentException("Unknown type: " + type);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(object);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+}
@@ -88,6 +88,7 @@ import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.client.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.util.ClientDelegatingFuture;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryListener;
@@ -104,8 +105,11 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.iterator.AbstractMapClusterWideIterator;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -133,6 +137,7 @@ import com.hazelcast.util.SortedQueryResultSet;
 import com.hazelcast.util.SortingUtil;
 import com.hazelcast.util.ThreadUtil;
 import com.hazelcast.util.executor.CompletedFuture;
+import com.hazelcast.util.executor.SettableCompletableFuture;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -160,12 +165,18 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
     private final String name;
     private final AtomicBoolean nearCacheInitialized = new AtomicBoolean();
     private volatile ClientHeapNearCache<Data> nearCache;
+    private volatile QueryCacheRegistry queryCacheRegistry;
 
     public ClientMapProxy(String serviceName, String name) {
         super(serviceName, name);
         this.name = name;
     }
 
+    @Override
+    protected void onInitialize() {
+        queryCacheRegistry = new QueryCacheRegistry(name, new ClientQueryCacheContext(getContext()));
+    }
+
     @Override
     public boolean containsKey(Object key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -270,6 +281,15 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         invoke(request, keyData);
     }
 
+    @Override
+    public ICompletableFuture<Void> deleteAsync(Object key) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        invalidateNearCache(keyData);
+        final ClientMessage request = MapDeleteParameters.encode(name, keyData, ThreadUtil.getThreadId());
+        return toVoidFuture(invokeOnKeyOwner(request, keyData));
+    }
+
     @Override
     public void flush() {
         ClientMessage request = MapFlushParameters.encode(name);
@@ -476,6 +496,23 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         invoke(request, keyData);
     }
 
+    @Override
+    public ICompletableFuture<Void> setAsync(K key, V value) {
+        return setAsync(key, value, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ICompletableFuture<Void> setAsync(K key, V value, long ttl, TimeUnit timeunit) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        final Data valueData = toData(value);
+        invalidateNearCache(keyData);
+        ClientMessage request = MapSetParameters.encode(name, keyData, valueData,
+                ThreadUtil.getThreadId(), getTimeInMillis(ttl, timeunit));
+        return toVoidFuture(invokeOnKeyOwner(request, keyData));
+    }
+
     @Override
     public void lock(K key) {
         lock(key, -1, TimeUnit.MILLISECONDS);
@@ -798,6 +835,58 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         }
         ClientMessage request = MapGetAllParameters.encode(name, keySet);
         ClientMessage response = invoke(request);
+        collectGetAllResult(response, result);
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ICompletableFuture<Map<K, V>> getAllAsync(Set<K> keys) {
+        checkNotNull(keys, "Null keys set is not allowed!");
+        initNearCache();
+        Set<Data> keySet = new HashSet<Data>(keys.size());
+        final Map<K, V> result = new HashMap<K, V>();
+        for (Object key : keys) {
+            keySet.add(toData(key));
+        }
+        if (nearCache != null) {
+            final Iterator<Data> iterator = keySet.iterator();
+            while (iterator.hasNext()) {
+                Data key = iterator.next();
+                Object cached = nearCache.get(key);
+                if (cached != null && !ClientHeapNearCache.NULL_OBJECT.equals(cached)) {
+                    result.put((K) toObject(key), (V) cached);
+                    iterator.remove();
+                }
+            }
+        }
+        final SettableCompletableFuture<Map<K, V>> future = newSettableFuture();
+        if (keySet.isEmpty()) {
+            future.setResult(result);
+            return future;
+        }
+        ClientMessage request = MapGetAllParameters.encode(name, keySet);
+        new ClientInvocation(getClient(), request).invoke().andThen(new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage response) {
+                try {
+                    collectGetAllResult(response, result);
+                } catch (Throwable t) {
+                    future.setError(t);
+                    return;
+                }
+                future.setResult(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                future.setError(t);
+            }
+        });
+        return future;
+    }
+
+    private void collectGetAllResult(ClientMessage response, Map<K, V> result) {
         DataEntryListResultParameters resultParameters = DataEntryListResultParameters.decode(response);
         int size = resultParameters.keys.size();
 
@@ -810,7 +899,6 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
                 nearCache.put(dataKey, value);
             }
         }
-        return result;
     }
 
     @Override
@@ -846,6 +934,16 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         return entrySet;
     }
 
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return iterator(AbstractMapClusterWideIterator.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator(int fetchSize) {
+        return new ClientMapClusterWideIterator<K, V>(this, getContext(), fetchSize);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Set<K> keySet(Predicate predicate) {
@@ -1067,17 +1165,7 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
     public Map<K, Object> executeOnEntries(EntryProcessor entryProcessor) {
         ClientMessage request = MapExecuteOnAllKeysParameters.encode(name, toData(entryProcessor));
         ClientMessage response = invoke(request);
-        DataEntryListResultParameters resultParameters = DataEntryListResultParameters.decode(response);
-
-        int size = resultParameters.keys.size();
-        Map<K, Object> result = new HashMap<K, Object>();
-        for (int i = 0; i < size; i++) {
-            Data keyData = resultParameters.keys.get(i);
-            Data valueData = resultParameters.values.get(i);
-            K key = toObject(keyData);
-            result.put(key, toObject(valueData));
-        }
-        return result;
+        return toObjectMap(response);
     }
 
     @Override
@@ -1086,19 +1174,20 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         ClientMessage request = MapExecuteWithPredicateParameters.encode(name,
                 toData(entryProcessor), toData(predicate));
         ClientMessage response = invoke(request);
+        return toObjectMap(response);
+    }
 
-        DataEntryListResultParameters resultParameters = DataEntryListResultParameters.decode(response);
-
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnEntriesAsync(EntryProcessor entryProcessor) {
+        ClientMessage request = MapExecuteOnAllKeysParameters.encode(name, toData(entryProcessor));
+        return invokeForObjectMapAsync(request);
+    }
 
-        int size = resultParameters.keys.size();
-        Map<K, Object> result = new HashMap<K, Object>();
-        for (int i = 0; i < size; i++) {
-            Data keyData = resultParameters.keys.get(i);
-            Data valueData = resultParameters.values.get(i);
-            K key = toObject(keyData);
-            result.put(key, toObject(valueData));
-        }
-        return result;
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnEntriesAsync(EntryProcessor entryProcessor, Predicate predicate) {
+        ClientMessage request = MapExecuteWithPredicateParameters.encode(name,
+                toData(entryProcessor), toData(predicate));
+        return invokeForObjectMapAsync(request);
     }
 
     @Override
@@ -1148,6 +1237,21 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
 
         ClientMessage request = MapExecuteOnKeysParameters.encode(name, toData(entryProcessor), dataKeys);
         ClientMessage response = invoke(request);
+        return toObjectMap(response);
+    }
+
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnKeysAsync(Set<K> keys, EntryProcessor entryProcessor) {
+        Set<Data> dataKeys = new HashSet<Data>(keys.size());
+        for (K key : keys) {
+            dataKeys.add(toData(key));
+        }
+
+        ClientMessage request = MapExecuteOnKeysParameters.encode(name, toData(entryProcessor), dataKeys);
+        return invokeForObjectMapAsync(request);
+    }
+
+    private Map<K, Object> toObjectMap(ClientMessage response) {
         DataEntryListResultParameters resultParameters = DataEntryListResultParameters.decode(response);
 
         int size = resultParameters.keys.size();
@@ -1159,7 +1263,49 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
             result.put(key, toObject(valueData));
         }
         return result;
+    }
+
+    private ICompletableFuture<Map<K, Object>> invokeForObjectMapAsync(ClientMessage request) {
+        final SettableCompletableFuture<Map<K, Object>> future = newSettableFuture();
+        new ClientInvocation(getClient(), request).invoke().andThen(new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage response) {
+                Map<K, Object> result;
+                try {
+                    result = toObjectMap(response);
+                } catch (Throwable t) {
+                    future.setError(t);
+                    return;
+                }
+                future.setResult(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                future.setError(t);
+            }
+        });
+        return future;
+    }
+
+    private ICompletableFuture<Void> toVoidFuture(ClientInvocationFuture invocationFuture) {
+        final SettableCompletableFuture<Void> future = newSettableFuture();
+        invocationFuture.andThen(new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage response) {
+                future.setResult(null);
+            }
 
+            @Override
+            public void onFailure(Throwable t) {
+                future.setError(t);
+            }
+        });
+        return future;
+    }
+
+    private <T> SettableCompletableFuture<T> newSettableFuture() {
+        return new SettableCompletableFuture<T>(getContext().getExecutionService().getAsyncExecutor());
     }
 
     @Override
@@ -1200,6 +1346,24 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         invoke(request);
     }
 
+    @Override
+    public ICompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> m) {
+        checkNotNull(m, "Null map is not allowed!");
+        int len = m.size();
+        List<Data> keys = new ArrayList<Data>(len);
+        List<Data> values = new ArrayList<Data>(len);
+
+        for (Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            final Data keyData = toData(entry.getKey());
+            invalidateNearCache(keyData);
+            keys.add(keyData);
+            values.add(toData(entry.getValue()));
+        }
+
+        ClientMessage request = MapPutAllParameters.encode(name, keys, values);
+        return toVoidFuture(new ClientInvocation(getClient(), request).invoke());
+    }
+
     @Override
     public void clear() {
         ClientMessage request = MapClearParameters.encode(name);
@@ -1210,6 +1374,7 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
     @Override
     protected void onDestroy() {
         destroyNearCache();
+        queryCacheRegistry.destroyAll();
     }
 
     private void destroyNearCache() {
@@ -1224,6 +1389,44 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         destroyNearCache();
     }
 
+    @Override
+    public QueryCache<K, V> getQueryCache(String name) {
+        checkNotNull(name, "name can't be null");
+        final QueryCacheConfig config = findQueryCacheConfig(name);
+        if (config == null) {
+            throw new IllegalArgumentException("No query cache configured with name " + name + " for map " + this.name);
+        }
+        final Predicate predicate = QueryCacheRegistry.getPredicate(config, getContext().getClientConfig().getClassLoader());
+        return queryCacheRegistry.getOrCreate(name, config, predicate, null);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(name, "name can't be null");
+        checkNotNull(predicate, "predicate can't be null");
+        return queryCacheRegistry.getOrCreate(name, getQueryCacheConfig(name, includeValue), predicate, null);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate,
+                                          boolean includeValue) {
+        checkNotNull(name, "name can't be null");
+        checkNotNull(listener, "listener can't be null");
+        checkNotNull(predicate, "predicate can't be null");
+        return queryCacheRegistry.getOrCreate(name, getQueryCacheConfig(name, includeValue), predicate, listener);
+    }
+
+    private QueryCacheConfig findQueryCacheConfig(String name) {
+        final Map<String, QueryCacheConfig> configs = getContext().getClientConfig().getQueryCacheConfigs().get(this.name);
+        return configs == null ? null : configs.get(name);
+    }
+
+    private QueryCacheConfig getQueryCacheConfig(String name, boolean includeValue) {
+        final QueryCacheConfig config = findQueryCacheConfig(name);
+        final QueryCacheConfig copy = config == null ? new QueryCacheConfig(name) : new QueryCacheConfig(config);
+        return copy.setIncludeValue(includeValue);
+    }
+
     protected long getTimeInMillis(final long time, final TimeUnit timeunit) {
         return timeunit != null ? timeunit.toMillis(time) : time;
     }
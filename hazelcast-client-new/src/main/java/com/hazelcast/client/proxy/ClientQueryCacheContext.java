@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.parameters.MapAddQueryCacheListenerParameters;
+import com.hazelcast.client.impl.protocol.parameters.MapQueryCacheSnapshotParameters;
+import com.hazelcast.client.impl.protocol.parameters.MapRemoveEntryListenerParameters;
+import com.hazelcast.client.impl.protocol.parameters.QueryCacheEventParameters;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.EventHandler;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.client.spi.impl.ClientInvocationFuture;
+import com.hazelcast.client.util.ClientDelegatingFuture;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.MembershipListener;
+import com.hazelcast.map.impl.querycache.QueryCacheContext;
+import com.hazelcast.map.impl.querycache.QueryCacheEventBatch;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheEventListener;
+import com.hazelcast.map.impl.querycache.QueryCacheSnapshot;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+
+/**
+ * The {@link QueryCacheContext} of a query cache living on a client.
+ */
+class ClientQueryCacheContext implements QueryCacheContext {
+
+    private final ClientContext context;
+
+    ClientQueryCacheContext(ClientContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public SerializationService getSerializationService() {
+        return context.getSerializationService();
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return context.getPartitionService().getPartitionCount();
+    }
+
+    @Override
+    public ClassLoader getConfigClassLoader() {
+        return context.getClientConfig().getClassLoader();
+    }
+
+    @Override
+    public int getPartitionId(Data key) {
+        return context.getPartitionService().getPartitionId(key);
+    }
+
+    @Override
+    public String registerListener(String mapName, QueryCacheEventFilter filter, final QueryCacheEventListener listener) {
+        final Data filterData = getSerializationService().toData(filter);
+        final ClientMessage request = MapAddQueryCacheListenerParameters.encode(mapName, filterData);
+        final EventHandler<ClientMessage> handler = new EventHandler<ClientMessage>() {
+            @Override
+            public void handle(ClientMessage eventMessage) {
+                QueryCacheEventParameters event = QueryCacheEventParameters.decode(eventMessage);
+                QueryCacheEventBatch batch = getSerializationService().toObject(event.batch);
+                listener.onBatch(batch);
+            }
+
+            @Override
+            public void beforeListenerRegister() {
+            }
+
+            @Override
+            public void onListenerRegister() {
+            }
+        };
+        return context.getListenerService().startListening(request, null, handler);
+    }
+
+    @Override
+    public boolean deregisterListener(String mapName, String registrationId) {
+        final ClientMessage request = MapRemoveEntryListenerParameters.encode(mapName, registrationId);
+        return context.getListenerService().stopListening(request, registrationId);
+    }
+
+    @Override
+    public ICompletableFuture<QueryCacheSnapshot> takeSnapshot(String mapName, String cacheId, int partitionId) {
+        final HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        final ClientMessage request = MapQueryCacheSnapshotParameters.encode(mapName, cacheId, partitionId);
+        final ClientInvocationFuture future = new ClientInvocation(client, request, partitionId).invoke();
+        return new ClientDelegatingFuture<QueryCacheSnapshot>(future, getSerializationService());
+    }
+
+    @Override
+    public String addMembershipListener(MembershipListener listener) {
+        return context.getHazelcastInstance().getCluster().addMembershipListener(listener);
+    }
+
+    @Override
+    public boolean removeMembershipListener(String registrationId) {
+        return context.getHazelcastInstance().getCluster().removeMembershipListener(registrationId);
+    }
+}
@@ -24,13 +24,16 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapEvent;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.QuickTest;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -42,6 +45,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
 import static com.hazelcast.test.HazelcastTestSupport.randomString;
 import static com.hazelcast.test.HazelcastTestSupport.sleepSeconds;
 import static org.junit.Assert.assertEquals;
@@ -1085,6 +1089,66 @@ public class ClientMapBasicTest {
         assertEquals(1, entrySet.size());
     }
 
+    @Test
+    public void testIterator() {
+        final int max = 250;
+        final IMap<Integer, String> map = client.getMap(randomString());
+
+        final Map<Integer, String> expected = new HashMap<Integer, String>();
+        for (int key = 0; key < max; key++) {
+            String value = key + "value";
+            expected.put(key, value);
+            map.put(key, value);
+        }
+        final Map<Integer, String> actual = new HashMap<Integer, String>();
+        final Iterator<Map.Entry<Integer, String>> iterator = map.iterator(7);
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, String> entry = iterator.next();
+            actual.put(entry.getKey(), entry.getValue());
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testIterator_remove() {
+        final IMap<Integer, String> map = client.getMap(randomString());
+        for (int key = 0; key < 10; key++) {
+            map.put(key, key + "value");
+        }
+
+        final Iterator<Map.Entry<Integer, String>> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testQueryCache() {
+        final IMap<Integer, Integer> map = client.getMap(randomString());
+        for (int key = 0; key < 20; key++) {
+            map.put(key, key);
+        }
+
+        final QueryCache<Integer, Integer> cache = map.getQueryCache(randomString(), new SqlPredicate("this >= 10"), true);
+        assertEquals(10, cache.size());
+        assertEquals(15, (int) cache.get(15));
+
+        map.put(20, 20);
+        map.remove(10);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(10, cache.size());
+                assertEquals(20, (int) cache.get(20));
+                assertNull(cache.get(10));
+            }
+        });
+    }
+
     @Test
     public void testMapStatistics_withClientOperations() {
         final String mapName = randomString();
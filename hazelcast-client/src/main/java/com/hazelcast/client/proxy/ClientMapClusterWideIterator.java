@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.map.impl.client.MapFetchEntriesRequest;
+import com.hazelcast.map.impl.iterator.AbstractMapClusterWideIterator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.util.concurrent.Future;
+
+/**
+ * Client side cluster-wide iterator for {@link com.hazelcast.core.IMap}.
+ * <p/>
+ * Note: For more information on the iterator details, see {@link AbstractMapClusterWideIterator}.
+ *
+ * @param <K> the type of key.
+ * @param <V> the type of value.
+ */
+class ClientMapClusterWideIterator<K, V> extends AbstractMapClusterWideIterator<K, V> {
+
+    private final ClientContext context;
+
+    ClientMapClusterWideIterator(ClientMapProxy<K, V> mapProxy, ClientContext context, int fetchSize) {
+        super(mapProxy, context.getPartitionService().getPartitionCount(), fetchSize);
+        this.context = context;
+        advance();
+    }
+
+    @Override
+    protected MapEntriesWithCursor fetch() {
+        MapFetchEntriesRequest request = new MapFetchEntriesRequest(map.getName(), partitionIndex, lastTableIndex, fetchSize);
+        HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        try {
+            Future future = new ClientInvocation(client, request, partitionIndex).invoke();
+            return toObject(future.get());
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    @Override
+    protected <T> T toObject(Object data) {
+        return context.getSerializationService().toObject(data);
+    }
+}
@@ -24,6 +24,7 @@ import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
@@ -39,6 +40,7 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.MapEntrySet;
 import com.hazelcast.map.impl.MapKeySet;
@@ -88,6 +90,8 @@ import com.hazelcast.map.impl.client.MapTryPutRequest;
 import com.hazelcast.map.impl.client.MapTryRemoveRequest;
 import com.hazelcast.map.impl.client.MapUnlockRequest;
 import com.hazelcast.map.impl.client.MapValuesRequest;
+import com.hazelcast.map.impl.iterator.AbstractMapClusterWideIterator;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -118,6 +122,7 @@ import com.hazelcast.util.SortingUtil;
 import com.hazelcast.util.ThreadUtil;
 import com.hazelcast.util.executor.CompletedFuture;
 import com.hazelcast.util.executor.DelegatingFuture;
+import com.hazelcast.util.executor.SettableCompletableFuture;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -145,12 +150,18 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     private final String name;
     private final AtomicBoolean nearCacheInitialized = new AtomicBoolean();
     private volatile ClientHeapNearCache<Data> nearCache;
+    private volatile QueryCacheRegistry queryCacheRegistry;
 
     public ClientMapProxy(String serviceName, String name) {
         super(serviceName, name);
         this.name = name;
     }
 
+    @Override
+    protected void onInitialize() {
+        queryCacheRegistry = new QueryCacheRegistry(name, new ClientQueryCacheContext(getContext()));
+    }
+
     @Override
     public boolean containsKey(Object key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -243,6 +254,15 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         invoke(request, keyData);
     }
 
+    @Override
+    public ICompletableFuture<Void> deleteAsync(Object key) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        invalidateNearCache(keyData);
+        MapDeleteRequest request = new MapDeleteRequest(name, keyData, ThreadUtil.getThreadId());
+        return toVoidFuture(invokeOnKeyOwner(request, keyData));
+    }
+
     @Override
     public void flush() {
         MapFlushRequest request = new MapFlushRequest(name);
@@ -436,6 +456,23 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         invoke(request, keyData);
     }
 
+    @Override
+    public ICompletableFuture<Void> setAsync(K key, V value) {
+        return setAsync(key, value, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ICompletableFuture<Void> setAsync(K key, V value, long ttl, TimeUnit timeunit) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        final Data valueData = toData(value);
+        invalidateNearCache(keyData);
+        MapSetRequest request = new MapSetRequest(name, keyData, valueData,
+                ThreadUtil.getThreadId(), getTimeInMillis(ttl, timeunit));
+        return toVoidFuture(invokeOnKeyOwner(request, keyData));
+    }
+
     @Override
     public void lock(K key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -727,6 +764,58 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         }
         MapGetAllRequest request = new MapGetAllRequest(name, keySet);
         MapEntrySet mapEntrySet = invoke(request);
+        collectGetAllResult(mapEntrySet, result);
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ICompletableFuture<Map<K, V>> getAllAsync(Set<K> keys) {
+        checkNotNull(keys, "Null keys set is not allowed!");
+        initNearCache();
+        Set<Data> keySet = new HashSet<Data>(keys.size());
+        final Map<K, V> result = new HashMap<K, V>();
+        for (Object key : keys) {
+            keySet.add(toData(key));
+        }
+        if (nearCache != null) {
+            final Iterator<Data> iterator = keySet.iterator();
+            while (iterator.hasNext()) {
+                Data key = iterator.next();
+                Object cached = nearCache.get(key);
+                if (cached != null && !ClientHeapNearCache.NULL_OBJECT.equals(cached)) {
+                    result.put((K) toObject(key), (V) cached);
+                    iterator.remove();
+                }
+            }
+        }
+        final SettableCompletableFuture<Map<K, V>> future = newSettableFuture();
+        if (keySet.isEmpty()) {
+            future.setResult(result);
+            return future;
+        }
+        MapGetAllRequest request = new MapGetAllRequest(name, keySet);
+        new ClientInvocation(getClient(), request).invoke().andThen(new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+                try {
+                    collectGetAllResult((MapEntrySet) response, result);
+                } catch (Throwable t) {
+                    future.setError(t);
+                    return;
+                }
+                future.setResult(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                future.setError(t);
+            }
+        });
+        return future;
+    }
+
+    private void collectGetAllResult(MapEntrySet mapEntrySet, Map<K, V> result) {
         Set<Entry<Data, Data>> entrySet = mapEntrySet.getEntrySet();
         for (Entry<Data, Data> dataEntry : entrySet) {
             final V value = toObject(dataEntry.getValue());
@@ -736,7 +825,6 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
                 nearCache.put(dataEntry.getKey(), value);
             }
         }
-        return result;
     }
 
     @Override
@@ -770,6 +858,16 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         return entrySet;
     }
 
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return iterator(AbstractMapClusterWideIterator.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator(int fetchSize) {
+        return new ClientMapClusterWideIterator<K, V>(this, getContext(), fetchSize);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Set<K> keySet(Predicate predicate) {
@@ -969,28 +1067,26 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     public Map<K, Object> executeOnEntries(EntryProcessor entryProcessor) {
         MapExecuteOnAllKeysRequest request = new MapExecuteOnAllKeysRequest(name, entryProcessor);
         MapEntrySet entrySet = invoke(request);
-        Map<K, Object> result = new HashMap<K, Object>();
-        for (Entry<Data, Data> dataEntry : entrySet.getEntrySet()) {
-            final Data keyData = dataEntry.getKey();
-            final Data valueData = dataEntry.getValue();
-            K key = toObject(keyData);
-            result.put(key, toObject(valueData));
-        }
-        return result;
+        return toObjectMap(entrySet);
     }
 
     @Override
     public Map<K, Object> executeOnEntries(EntryProcessor entryProcessor, Predicate predicate) {
         MapExecuteWithPredicateRequest request = new MapExecuteWithPredicateRequest(name, entryProcessor, predicate);
         MapEntrySet entrySet = invoke(request);
-        Map<K, Object> result = new HashMap<K, Object>();
-        for (Entry<Data, Data> dataEntry : entrySet.getEntrySet()) {
-            final Data keyData = dataEntry.getKey();
-            final Data valueData = dataEntry.getValue();
-            K key = toObject(keyData);
-            result.put(key, toObject(valueData));
-        }
-        return result;
+        return toObjectMap(entrySet);
+    }
+
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnEntriesAsync(EntryProcessor entryProcessor) {
+        MapExecuteOnAllKeysRequest request = new MapExecuteOnAllKeysRequest(name, entryProcessor);
+        return invokeForObjectMapAsync(request);
+    }
+
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnEntriesAsync(EntryProcessor entryProcessor, Predicate predicate) {
+        MapExecuteWithPredicateRequest request = new MapExecuteWithPredicateRequest(name, entryProcessor, predicate);
+        return invokeForObjectMapAsync(request);
     }
 
     @Override
@@ -1040,6 +1136,21 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
 
         MapExecuteOnKeysRequest request = new MapExecuteOnKeysRequest(name, entryProcessor, dataKeys);
         MapEntrySet entrySet = invoke(request);
+        return toObjectMap(entrySet);
+    }
+
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnKeysAsync(Set<K> keys, EntryProcessor entryProcessor) {
+        Set<Data> dataKeys = new HashSet<Data>(keys.size());
+        for (K key : keys) {
+            dataKeys.add(toData(key));
+        }
+
+        MapExecuteOnKeysRequest request = new MapExecuteOnKeysRequest(name, entryProcessor, dataKeys);
+        return invokeForObjectMapAsync(request);
+    }
+
+    private Map<K, Object> toObjectMap(MapEntrySet entrySet) {
         Map<K, Object> result = new HashMap<K, Object>();
         for (Entry<Data, Data> dataEntry : entrySet.getEntrySet()) {
             final Data keyData = dataEntry.getKey();
@@ -1048,7 +1159,49 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
             result.put(key, toObject(valueData));
         }
         return result;
+    }
+
+    private ICompletableFuture<Map<K, Object>> invokeForObjectMapAsync(ClientRequest request) {
+        final SettableCompletableFuture<Map<K, Object>> future = newSettableFuture();
+        new ClientInvocation(getClient(), request).invoke().andThen(new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+                Map<K, Object> result;
+                try {
+                    result = toObjectMap((MapEntrySet) response);
+                } catch (Throwable t) {
+                    future.setError(t);
+                    return;
+                }
+                future.setResult(result);
+            }
 
+            @Override
+            public void onFailure(Throwable t) {
+                future.setError(t);
+            }
+        });
+        return future;
+    }
+
+    private ICompletableFuture<Void> toVoidFuture(ICompletableFuture<Object> invocationFuture) {
+        final SettableCompletableFuture<Void> future = newSettableFuture();
+        invocationFuture.andThen(new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+                future.setResult(null);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                future.setError(t);
+            }
+        });
+        return future;
+    }
+
+    private <T> SettableCompletableFuture<T> newSettableFuture() {
+        return new SettableCompletableFuture<T>(getContext().getExecutionService().getAsyncExecutor());
     }
 
     @Override
@@ -1082,6 +1235,19 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         invoke(request);
     }
 
+    @Override
+    public ICompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> m) {
+        checkNotNull(m, "Null map is not allowed!");
+        MapEntrySet entrySet = new MapEntrySet();
+        for (Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            final Data keyData = toData(entry.getKey());
+            invalidateNearCache(keyData);
+            entrySet.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(keyData, toData(entry.getValue())));
+        }
+        MapPutAllRequest request = new MapPutAllRequest(name, entrySet);
+        return toVoidFuture(new ClientInvocation(getClient(), request).invoke());
+    }
+
     @Override
     public void clear() {
         MapClearRequest request = new MapClearRequest(name);
@@ -1092,6 +1258,7 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     @Override
     protected void onDestroy() {
         destroyNearCache();
+        queryCacheRegistry.destroyAll();
     }
 
     private void destroyNearCache() {
@@ -1106,6 +1273,44 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         destroyNearCache();
     }
 
+    @Override
+    public QueryCache<K, V> getQueryCache(String name) {
+        checkNotNull(name, "name can't be null");
+        final QueryCacheConfig config = findQueryCacheConfig(name);
+        if (config == null) {
+            throw new IllegalArgumentException("No query cache configured with name " + name + " for map " + this.name);
+        }
+        final Predicate predicate = QueryCacheRegistry.getPredicate(config, getContext().getClientConfig().getClassLoader());
+        return queryCacheRegistry.getOrCreate(name, config, predicate, null);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(name, "name can't be null");
+        checkNotNull(predicate, "predicate can't be null");
+        return queryCacheRegistry.getOrCreate(name, getQueryCacheConfig(name, includeValue), predicate, null);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate,
+                                          boolean includeValue) {
+        checkNotNull(name, "name can't be null");
+        checkNotNull(listener, "listener can't be null");
+        checkNotNull(predicate, "predicate can't be null");
+        return queryCacheRegistry.getOrCreate(name, getQueryCacheConfig(name, includeValue), predicate, listener);
+    }
+
+    private QueryCacheConfig findQueryCacheConfig(String name) {
+        final Map<String, QueryCacheConfig> configs = getContext().getClientConfig().getQueryCacheConfigs().get(this.name);
+        return configs == null ? null : configs.get(name);
+    }
+
+    private QueryCacheConfig getQueryCacheConfig(String name, boolean includeValue) {
+        final QueryCacheConfig config = findQueryCacheConfig(name);
+        final QueryCacheConfig copy = config == null ? new QueryCacheConfig(name) : new QueryCacheConfig(config);
+        return copy.setIncludeValue(includeValue);
+    }
+
     protected long getTimeInMillis(final long time, final TimeUnit timeunit) {
         return timeunit != null ? timeunit.toMillis(time) : time;
     }
@@ -17,6 +17,9 @@
 package com.hazelcast.client.map;
 
 import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
@@ -24,6 +27,7 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapEvent;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.SqlPredicate;
@@ -1152,6 +1156,47 @@ public class ClientMapBasicTest {
         }
     }
 
+    @Test
+    public void testGetQueryCache_whenConfigured() {
+        final String mapName = randomString();
+        final ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addQueryCacheConfig(mapName, new QueryCacheConfig("cache")
+                .setPredicateConfig(new PredicateConfig(new SqlPredicate("this >= 10"))));
+        final IMap<Integer, Integer> map = HazelcastClient.newHazelcastClient(clientConfig).getMap(mapName);
+        for (int i = 0; i < 20; i++) {
+            map.put(i, i);
+        }
+
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache");
+
+        assertEquals(10, cache.size());
+        assertNull(cache.get(5));
+        assertEquals(15, (int) cache.get(15));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetQueryCache_whenNotConfigured() {
+        client.getMap(randomString()).getQueryCache("cache");
+    }
+
+    @Test
+    public void testGetQueryCache_withPredicate_appliesConfiguredSettings() {
+        final String mapName = randomString();
+        final QueryCacheConfig cacheConfig = new QueryCacheConfig("cache");
+        cacheConfig.getEvictionConfig().setSize(5);
+        final ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addQueryCacheConfig(mapName, cacheConfig);
+        final IMap<Integer, Integer> map = HazelcastClient.newHazelcastClient(clientConfig).getMap(mapName);
+        for (int i = 0; i < 20; i++) {
+            map.put(i, i);
+        }
+
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 0"), true);
+
+        assertTrue(cache.size() <= 5);
+        assertEquals(20, map.size());
+    }
+
     static class DumPredicate implements Predicate {
         public boolean apply(Map.Entry mapEntry) {
             return false;
@@ -18,22 +18,44 @@ package com.hazelcast.client.impl.client;
 
 import com.hazelcast.client.ClientEndpoint;
 import com.hazelcast.client.impl.operations.OperationFactoryWrapper;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.spi.OperationFactory;
 
 import java.util.Collection;
 import java.util.Map;
 
-public abstract class MultiPartitionClientRequest extends ClientRequest {
+/**
+ * Base class for client request that will run on a set of partitions. The request does not wait for the partitions to
+ * respond; the response is sent to the client from the callback which collects the results of the partitions.
+ */
+public abstract class MultiPartitionClientRequest extends ClientRequest implements ExecutionCallback<Map<Integer, Object>> {
 
     @Override
     public final void process() throws Exception {
         ClientEndpoint endpoint = getEndpoint();
         OperationFactory operationFactory = new OperationFactoryWrapper(createOperationFactory(), endpoint.getUuid());
-        Map<Integer, Object> map = operationService.invokeOnPartitions(getServiceName(), operationFactory, getPartitions());
-        Object result = reduce(map);
+        ICompletableFuture<Map<Integer, Object>> future
+                = operationService.invokeOnPartitionsAsync(getServiceName(), operationFactory, getPartitions());
+        future.andThen(this);
+    }
+
+    @Override
+    public final void onResponse(Map<Integer, Object> map) {
+        Object result;
+        try {
+            result = reduce(map);
+        } catch (Throwable t) {
+            result = t;
+        }
         endpoint.sendResponse(result, getCallId());
     }
 
+    @Override
+    public final void onFailure(Throwable t) {
+        endpoint.sendResponse(t, getCallId());
+    }
+
     protected abstract OperationFactory createOperationFactory();
 
     protected abstract Object reduce(Map<Integer, Object> map);
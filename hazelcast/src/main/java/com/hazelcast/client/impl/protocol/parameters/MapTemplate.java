@@ -191,4 +191,13 @@ public interface MapTemplate {
     @EncodeMethod(id = 55)
     void forceUnlock(String name, Data key);
 
+    @EncodeMethod(id = 56)
+    void fetchEntries(String name, int partitionId, int tableIndex, int batch);
+
+    @EncodeMethod(id = 57)
+    void addQueryCacheListener(String name, Data filter);
+
+    @EncodeMethod(id = 58)
+    void queryCacheSnapshot(String name, String cacheId, int partitionId);
+
 }
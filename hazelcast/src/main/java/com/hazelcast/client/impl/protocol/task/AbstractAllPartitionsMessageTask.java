@@ -19,6 +19,8 @@ package com.hazelcast.client.impl.protocol.task;
 import com.hazelcast.client.ClientEndpoint;
 import com.hazelcast.client.impl.operations.OperationFactoryWrapper;
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.instance.Node;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.spi.OperationFactory;
@@ -26,7 +28,8 @@ import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 
 import java.util.Map;
 
-public abstract class AbstractAllPartitionsMessageTask<P> extends AbstractMessageTask<P> {
+public abstract class AbstractAllPartitionsMessageTask<P> extends AbstractMessageTask<P>
+        implements ExecutionCallback<Map<Integer, Object>> {
 
     public AbstractAllPartitionsMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
         super(clientMessage, node, connection);
@@ -37,14 +40,27 @@ public abstract class AbstractAllPartitionsMessageTask<P> extends AbstractMessag
         ClientEndpoint endpoint = getEndpoint();
         OperationFactory operationFactory = new OperationFactoryWrapper(createOperationFactory(), endpoint.getUuid());
         final InternalOperationService operationService = nodeEngine.getOperationService();
+        ICompletableFuture<Map<Integer, Object>> future
+                = operationService.invokeOnAllPartitionsAsync(getServiceName(), operationFactory);
+        future.andThen(this);
+    }
+
+    @Override
+    public final void onResponse(Map<Integer, Object> map) {
+        ClientMessage result;
         try {
-            Map<Integer, Object> map = operationService.invokeOnAllPartitions(getServiceName(), operationFactory);
-            ClientMessage result = reduce(map);
-            sendClientMessage(result);
+            result = reduce(map);
         } catch (Exception e) {
-            clientEngine.getLogger(getClass()).warning(e);
-            sendClientMessage(e);
+            onFailure(e);
+            return;
         }
+        sendClientMessage(result);
+    }
+
+    @Override
+    public final void onFailure(Throwable t) {
+        clientEngine.getLogger(getClass()).warning(t);
+        sendClientMessage(t);
     }
 
     protected abstract OperationFactory createOperationFactory();
@@ -19,6 +19,8 @@ package com.hazelcast.client.impl.protocol.task;
 import com.hazelcast.client.ClientEndpoint;
 import com.hazelcast.client.impl.operations.OperationFactoryWrapper;
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.instance.Node;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.spi.OperationFactory;
@@ -27,22 +29,41 @@ import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import java.util.Collection;
 import java.util.Map;
 
-public abstract class AbstractMultiPartitionMessageTask<P> extends AbstractCallableMessageTask<P> {
+public abstract class AbstractMultiPartitionMessageTask<P> extends AbstractMessageTask<P>
+        implements ExecutionCallback<Map<Integer, Object>> {
 
     protected AbstractMultiPartitionMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
         super(clientMessage, node, connection);
     }
 
     @Override
-    protected ClientMessage call() throws Exception {
+    protected void processMessage() {
         ClientEndpoint endpoint = getEndpoint();
         OperationFactory operationFactory = new OperationFactoryWrapper(createOperationFactory(), endpoint.getUuid());
 
         final InternalOperationService operationService = nodeEngine.getOperationService();
-        Map<Integer, Object> map = operationService.invokeOnPartitions(getServiceName(), operationFactory, getPartitions());
-        return reduce(map);
+        ICompletableFuture<Map<Integer, Object>> future
+                = operationService.invokeOnPartitionsAsync(getServiceName(), operationFactory, getPartitions());
+        future.andThen(this);
     }
 
+    @Override
+    public final void onResponse(Map<Integer, Object> map) {
+        ClientMessage result;
+        try {
+            result = reduce(map);
+        } catch (Exception e) {
+            onFailure(e);
+            return;
+        }
+        sendClientMessage(result);
+    }
+
+    @Override
+    public final void onFailure(Throwable t) {
+        clientEngine.getLogger(getClass()).warning(t);
+        sendClientMessage(t);
+    }
 
     protected abstract OperationFactory createOperationFactory();
 
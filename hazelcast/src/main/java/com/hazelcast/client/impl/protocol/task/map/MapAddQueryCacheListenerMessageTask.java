@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.ClientEndpoint;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.parameters.AddListenerResultParameters;
+import com.hazelcast.client.impl.protocol.parameters.MapAddQueryCacheListenerParameters;
+import com.hazelcast.client.impl.protocol.parameters.QueryCacheEventParameters;
+import com.hazelcast.client.impl.protocol.task.AbstractCallableMessageTask;
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.querycache.QueryCacheEventBatch;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheEventListener;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.EventService;
+
+import java.security.Permission;
+
+/**
+ * Registers the listener of a {@link com.hazelcast.map.QueryCache} living on a client; the batches of events are
+ * forwarded to the client.
+ */
+public class MapAddQueryCacheListenerMessageTask
+        extends AbstractCallableMessageTask<MapAddQueryCacheListenerParameters> {
+
+    private QueryCacheEventFilter filter;
+
+    public MapAddQueryCacheListenerMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected ClientMessage call() {
+        final ClientEndpoint endpoint = getEndpoint();
+        final QueryCacheEventListener listener = new QueryCacheEventListener() {
+            @Override
+            public void onBatch(QueryCacheEventBatch batch) {
+                if (endpoint.isAlive()) {
+                    ClientMessage eventMessage = QueryCacheEventParameters.encode(serializationService.toData(batch));
+                    sendClientMessage(null, eventMessage);
+                }
+            }
+
+            @Override
+            public void onEvent(IMapEvent event) {
+            }
+        };
+
+        final EventService eventService = clientEngine.getEventService();
+        final String registrationId = eventService.registerListener(MapService.SERVICE_NAME, parameters.name,
+                getFilter(), listener).getId();
+        endpoint.setListenerRegistration(MapService.SERVICE_NAME, parameters.name, registrationId);
+        return AddListenerResultParameters.encode(registrationId);
+    }
+
+    private QueryCacheEventFilter getFilter() {
+        if (filter == null) {
+            filter = serializationService.toObject(parameters.filter);
+        }
+        return filter;
+    }
+
+    @Override
+    protected MapAddQueryCacheListenerParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapAddQueryCacheListenerParameters.decode(clientMessage);
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "getQueryCache";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        QueryCacheEventFilter eventFilter = getFilter();
+        return new Object[]{eventFilter.getPredicate(), eventFilter.isIncludeValue()};
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(parameters.name, ActionConstants.ACTION_LISTEN);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+}
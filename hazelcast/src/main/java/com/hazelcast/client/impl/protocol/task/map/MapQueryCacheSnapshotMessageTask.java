@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.parameters.GenericResultParameters;
+import com.hazelcast.client.impl.protocol.parameters.MapQueryCacheSnapshotParameters;
+import com.hazelcast.client.impl.protocol.task.AbstractPartitionMessageTask;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.QueryCacheSnapshotOperation;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.Operation;
+
+import java.security.Permission;
+
+/**
+ * Reads the entries of a partition matching a {@link com.hazelcast.map.QueryCache} living on a client.
+ *
+ * @see QueryCacheSnapshotOperation
+ */
+public class MapQueryCacheSnapshotMessageTask extends AbstractPartitionMessageTask<MapQueryCacheSnapshotParameters> {
+
+    public MapQueryCacheSnapshotMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Operation prepareOperation() {
+        return new QueryCacheSnapshotOperation(parameters.name, parameters.cacheId);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return GenericResultParameters.encode(serializationService.toData(response));
+    }
+
+    @Override
+    protected MapQueryCacheSnapshotParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapQueryCacheSnapshotParameters.decode(clientMessage);
+    }
+
+    public Permission getRequiredPermission() {
+        return new MapPermission(parameters.name, ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "getQueryCache";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return null;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.config;
+
+import java.util.Arrays;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * Configuration for the compression of the values of a map with the {@link InMemoryFormat#BINARY} in-memory format.
+ * <p/>
+ * When enabled, a value whose serialized form is at least {@link #getThresholdBytes()} bytes is stored deflated,
+ * which trades some cpu for less heap and less bytes sent to backups and clients. The value is inflated only when
+ * it is deserialized. Compression can be seeded with a preset dictionary containing byte sequences that are common
+ * to the values; every member and client reading the map must then register the same dictionary using
+ * {@link com.hazelcast.nio.serialization.CompressedValue#registerDictionary(byte[])}.
+ */
+public class CompressionConfig {
+
+    /**
+     * Default minimum size in bytes of a serialized value to be compressed.
+     */
+    public static final int DEFAULT_THRESHOLD_BYTES = 1024;
+
+    /**
+     * Default compression level, a trade-off between speed and compression ratio.
+     */
+    public static final int DEFAULT_LEVEL = 6;
+
+    private static final int MAX_LEVEL = 9;
+
+    private boolean enabled;
+
+    private int thresholdBytes = DEFAULT_THRESHOLD_BYTES;
+
+    private int level = DEFAULT_LEVEL;
+
+    private byte[] dictionary;
+
+    private CompressionConfigReadOnly readOnly;
+
+    public CompressionConfig() {
+    }
+
+    public CompressionConfig(CompressionConfig config) {
+        this.enabled = config.enabled;
+        this.thresholdBytes = config.thresholdBytes;
+        this.level = config.level;
+        this.dictionary = config.dictionary;
+    }
+
+    public CompressionConfigReadOnly getAsReadOnly() {
+        if (readOnly == null) {
+            readOnly = new CompressionConfigReadOnly(this);
+        }
+        return readOnly;
+    }
+
+    /**
+     * Checks if compression is enabled.
+     *
+     * @return true if compression is enabled, false otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables compression.
+     *
+     * @param enabled true to enable compression, false to disable it
+     * @return this CompressionConfig
+     */
+    public CompressionConfig setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * Returns the minimum size in bytes of a serialized value to be compressed.
+     *
+     * @return the minimum size in bytes of a serialized value to be compressed
+     */
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    /**
+     * Sets the minimum size in bytes of a serialized value to be compressed. Small values hardly compress, so
+     * compressing them is a waste of cpu.
+     *
+     * @param thresholdBytes the minimum size in bytes of a serialized value to be compressed
+     * @return this CompressionConfig
+     * @throws IllegalArgumentException if thresholdBytes is negative
+     */
+    public CompressionConfig setThresholdBytes(int thresholdBytes) {
+        this.thresholdBytes = checkNotNegative(thresholdBytes, "thresholdBytes can't be negative");
+        return this;
+    }
+
+    /**
+     * Returns the compression level, from 1 (fastest) to 9 (best compression).
+     *
+     * @return the compression level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the compression level, from 1 (fastest) to 9 (best compression).
+     *
+     * @param level the compression level
+     * @return this CompressionConfig
+     * @throws IllegalArgumentException if level is not between 1 and 9
+     */
+    public CompressionConfig setLevel(int level) {
+        checkTrue(level >= 1 && level <= MAX_LEVEL, "level should be between 1 and " + MAX_LEVEL);
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * Returns the preset dictionary used for compression.
+     *
+     * @return the preset dictionary or null if no dictionary is used
+     */
+    public byte[] getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Sets the preset dictionary used for compression. A dictionary is most useful when the values are small and
+     * share a lot of content, like the field names of JSON documents.
+     *
+     * @param dictionary the preset dictionary or null to not use a dictionary
+     * @return this CompressionConfig
+     */
+    public CompressionConfig setDictionary(byte[] dictionary) {
+        this.dictionary = dictionary == null || dictionary.length == 0 ? null : dictionary;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionConfig{"
+                + "enabled=" + enabled
+                + ", thresholdBytes=" + thresholdBytes
+                + ", level=" + level
+                + ", dictionary=" + (dictionary == null ? "null" : dictionary.length + " bytes")
+                + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompressionConfig)) {
+            return false;
+        }
+        CompressionConfig that = (CompressionConfig) o;
+        return enabled == that.enabled
+                && thresholdBytes == that.thresholdBytes
+                && level == that.level
+                && Arrays.equals(dictionary, that.dictionary);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = enabled ? 1 : 0;
+        result = 31 * result + thresholdBytes;
+        result = 31 * result + level;
+        result = 31 * result + Arrays.hashCode(dictionary);
+        return result;
+    }
+}
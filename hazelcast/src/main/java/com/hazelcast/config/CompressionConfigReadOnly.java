@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.config;
+
+/**
+ * Contains the configuration for the compression of the values of a map.
+ */
+public class CompressionConfigReadOnly extends CompressionConfig {
+
+    public CompressionConfigReadOnly(CompressionConfig config) {
+        super(config);
+    }
+
+    public CompressionConfig setEnabled(boolean enabled) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
+    public CompressionConfig setThresholdBytes(int thresholdBytes) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
+    public CompressionConfig setLevel(int level) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
+    public CompressionConfig setDictionary(byte[] dictionary) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+}
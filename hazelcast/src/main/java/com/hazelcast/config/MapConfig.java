@@ -113,6 +113,10 @@ public class MapConfig {
 
     private boolean optimizeQueries;
 
+    private boolean partitionedIndexes;
+
+    private CompressionConfig compressionConfig = new CompressionConfig();
+
     private String mergePolicy = DEFAULT_MAP_MERGE_POLICY;
 
     private InMemoryFormat inMemoryFormat = DEFAULT_IN_MEMORY_FORMAT;
@@ -158,6 +162,8 @@ public class MapConfig {
         this.nearCacheConfig = config.nearCacheConfig != null ? new NearCacheConfig(config.nearCacheConfig) : null;
         this.readBackupData = config.readBackupData;
         this.optimizeQueries = config.optimizeQueries;
+        this.partitionedIndexes = config.partitionedIndexes;
+        this.compressionConfig = config.compressionConfig != null ? new CompressionConfig(config.compressionConfig) : null;
         this.statisticsEnabled = config.statisticsEnabled;
         this.mergePolicy = config.mergePolicy;
         this.wanReplicationRef = config.wanReplicationRef != null ? new WanReplicationRef(config.wanReplicationRef) : null;
@@ -652,6 +658,50 @@ public class MapConfig {
         return this;
     }
 
+    /**
+     * Checks if the indexes of this map are kept per partition.
+     *
+     * @return true if every partition owns its indexes, false if the indexes are shared by all partitions of a member
+     */
+    public boolean isPartitionedIndexes() {
+        return partitionedIndexes;
+    }
+
+    /**
+     * Sets whether the indexes of this map are kept per partition instead of being shared by all partitions of a member.
+     * <p/>
+     * Partitioned indexes are updated by the partition threads without contending with each other, are queried
+     * partition by partition and are dropped at once when a partition migrates away.
+     *
+     * @param partitionedIndexes true to keep the indexes per partition, false to share them (default)
+     * @return the updated map configuration
+     */
+    public MapConfig setPartitionedIndexes(boolean partitionedIndexes) {
+        this.partitionedIndexes = partitionedIndexes;
+        return this;
+    }
+
+    /**
+     * Returns the value compression configuration of this map. Compression is only applied when the in-memory
+     * format is {@link InMemoryFormat#BINARY}.
+     *
+     * @return the value compression configuration of this map
+     */
+    public CompressionConfig getCompressionConfig() {
+        return compressionConfig;
+    }
+
+    /**
+     * Sets the value compression configuration of this map.
+     *
+     * @param compressionConfig the value compression configuration
+     * @return this map config
+     */
+    public MapConfig setCompressionConfig(CompressionConfig compressionConfig) {
+        this.compressionConfig = compressionConfig;
+        return this;
+    }
+
     public boolean isCompatible(MapConfig other) {
         if (this == other) {
             return true;
@@ -755,7 +805,9 @@ public class MapConfig {
         sb.append(", minEvictionCheckMillis=").append(minEvictionCheckMillis);
         sb.append(", maxSizeConfig=").append(maxSizeConfig);
         sb.append(", readBackupData=").append(readBackupData);
+        sb.append(", partitionedIndexes=").append(partitionedIndexes);
         sb.append(", nearCacheConfig=").append(nearCacheConfig);
+        sb.append(", compressionConfig=").append(compressionConfig);
         sb.append(", mapStoreConfig=").append(mapStoreConfig);
         sb.append(", mergePolicyConfig='").append(mergePolicy).append('\'');
         sb.append(", wanReplicationRef=").append(wanReplicationRef);
@@ -37,6 +37,14 @@ public class MapConfigReadOnly extends MapConfig {
         return maxSizeConfig.getAsReadOnly();
     }
 
+    public CompressionConfig getCompressionConfig() {
+        final CompressionConfig compressionConfig = super.getCompressionConfig();
+        if (compressionConfig == null) {
+            return null;
+        }
+        return compressionConfig.getAsReadOnly();
+    }
+
     public WanReplicationRef getWanReplicationRef() {
         final WanReplicationRef wanReplicationRef = super.getWanReplicationRef();
         if (wanReplicationRef == null) {
@@ -144,6 +152,10 @@ public class MapConfigReadOnly extends MapConfig {
         throw new UnsupportedOperationException("This config is read-only map: " + getName());
     }
 
+    public MapConfig setCompressionConfig(CompressionConfig compressionConfig) {
+        throw new UnsupportedOperationException("This config is read-only map: " + getName());
+    }
+
     public MapConfig setEvictionPolicy(EvictionPolicy evictionPolicy) {
         throw new UnsupportedOperationException("This config is read-only map: " + getName());
     }
@@ -196,4 +208,8 @@ public class MapConfigReadOnly extends MapConfig {
         throw new UnsupportedOperationException("This config is read-only map: " + getName());
     }
 
+    public MapConfig setPartitionedIndexes(boolean partitionedIndexes) {
+        throw new UnsupportedOperationException("This config is read-only map: " + getName());
+    }
+
 }
@@ -27,6 +27,7 @@ public class MapIndexConfig {
 
     private String attribute;
     private boolean ordered;
+    private boolean bitmap;
     private MapIndexConfigReadOnly readOnly;
 
     /**
@@ -51,6 +52,7 @@ public class MapIndexConfig {
     public MapIndexConfig(MapIndexConfig config) {
         attribute = config.getAttribute();
         ordered = config.isOrdered();
+        bitmap = config.isBitmap();
     }
 
     public MapIndexConfigReadOnly getAsReadOnly() {
@@ -71,7 +73,8 @@ public class MapIndexConfig {
     }
 
     /**
-     * Sets the attribute that is going to be indexed.
+     * Sets the attribute that is going to be indexed. A comma separated list of attributes, such as
+     * {@code "customerId, createdAt"}, creates a composite index on all of them.
      *
      * @param attribute the attribute that is going to be indexed.
      * @return the updated MapIndexConfig.
@@ -105,11 +108,36 @@ public class MapIndexConfig {
         return this;
     }
 
+    /**
+     * Checks if the index should be a bitmap index.
+     *
+     * @return true if bitmap, false otherwise.
+     * @see #setBitmap(boolean)
+     */
+    public boolean isBitmap() {
+        return bitmap;
+    }
+
+    /**
+     * Configures the index to be a bitmap index. A bitmap index keeps a compressed bitmap of entries per value,
+     * which makes it much smaller than a regular index for attributes with only a few distinct values, such as
+     * a status or a region. Equal, in, and, or and not predicates on bitmap indexes are evaluated on the bitmaps
+     * before the matching entries are fetched. A bitmap index is never ordered.
+     *
+     * @param bitmap if the index should be a bitmap index.
+     * @return the updated MapIndexConfig.
+     */
+    public MapIndexConfig setBitmap(boolean bitmap) {
+        this.bitmap = bitmap;
+        return this;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("MapIndexConfig{");
         sb.append("attribute='").append(attribute).append('\'');
         sb.append(", ordered=").append(ordered);
+        sb.append(", bitmap=").append(bitmap);
         sb.append('}');
         return sb.toString();
     }
@@ -102,6 +102,14 @@ public class NativeMemoryConfig {
         return pageSize;
     }
 
+    /**
+     * Sets the size of the pages native memory is reserved in. A page is divided into blocks of a single size class.
+     * A value larger than the page size is stored in a block of its own, which is rounded up to a multiple of the page
+     * size and which can only be reused for a value that needs the same number of pages.
+     *
+     * @param pageSize the page size in bytes; rounded up to a power of two.
+     * @return this NativeMemoryConfig.
+     */
     public NativeMemoryConfig setPageSize(int pageSize) {
         this.pageSize = checkPositive(pageSize, "Page size should be positive");
         return this;
@@ -965,6 +965,10 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 mapConfig.setStatisticsEnabled(checkTrue(value));
             } else if ("optimize-queries".equals(nodeName)) {
                 mapConfig.setOptimizeQueries(checkTrue(value));
+            } else if ("partitioned-indexes".equals(nodeName)) {
+                mapConfig.setPartitionedIndexes(checkTrue(value));
+            } else if ("compression".equals(nodeName)) {
+                handleViaReflection(node, mapConfig, new CompressionConfig());
             } else if ("wan-replication-ref".equals(nodeName)) {
                 mapWanReplicationRefHandle(node, mapConfig);
             } else if ("indexes".equals(nodeName)) {
@@ -1140,8 +1144,9 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
             if ("index".equals(cleanNodeName(indexNode))) {
                 final NamedNodeMap attrs = indexNode.getAttributes();
                 boolean ordered = checkTrue(getTextContent(attrs.getNamedItem("ordered")));
+                boolean bitmap = checkTrue(getTextContent(attrs.getNamedItem("bitmap")));
                 String attribute = getTextContent(indexNode);
-                mapConfig.addMapIndexConfig(new MapIndexConfig(attribute, ordered));
+                mapConfig.addMapIndexConfig(new MapIndexConfig(attribute, ordered).setBitmap(bitmap));
             }
         }
     }
@@ -1151,8 +1156,9 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
             if ("index".equals(cleanNodeName(indexNode))) {
                 final NamedNodeMap attrs = indexNode.getAttributes();
                 boolean ordered = checkTrue(getTextContent(attrs.getNamedItem("ordered")));
+                boolean bitmap = checkTrue(getTextContent(attrs.getNamedItem("bitmap")));
                 String attribute = getTextContent(indexNode);
-                queryCacheConfig.addIndexConfig(new MapIndexConfig(attribute, ordered));
+                queryCacheConfig.addIndexConfig(new MapIndexConfig(attribute, ordered).setBitmap(bitmap));
             }
         }
     }
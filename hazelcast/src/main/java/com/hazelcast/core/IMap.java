@@ -19,6 +19,7 @@ package com.hazelcast.core;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.QueryResultSizeExceededException;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
@@ -29,6 +30,7 @@ import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.query.Predicate;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -383,6 +385,93 @@ public interface IMap<K, V>
      */
     Future<V> removeAsync(K key);
 
+    /**
+     * Asynchronously returns the entries for the given keys.
+     * <p/>
+     * The keys are grouped by their owner members and one operation is sent per member; the calling
+     * thread is not blocked while the partitions are queried. The returned future completes once all
+     * partitions have responded.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * The returned map is <b>NOT</b> backed by the original map,
+     * so changes to the original map are <b>NOT</b> reflected in the returned map, and vice-versa.
+     *
+     * @param keys keys to get.
+     * @return an {@link ICompletableFuture} from which the map of entries can be retrieved.
+     * @throws NullPointerException if the specified keys set is null.
+     * @see #getAll(java.util.Set)
+     */
+    ICompletableFuture<Map<K, V>> getAllAsync(Set<K> keys);
+
+    /**
+     * Asynchronously copies all of the mappings from the specified map to this map.
+     * <p/>
+     * The returned future completes once all entries have been stored; it does not block the calling thread.
+     * If a {@link com.hazelcast.core.MapStore} is defined, the entries are stored through it in the same way
+     * as {@link #putAll(java.util.Map)} does.
+     *
+     * @param map mappings to be stored in this map.
+     * @return an {@link ICompletableFuture} which completes when all entries have been stored.
+     * @throws NullPointerException if the specified map is null.
+     * @see #putAll(java.util.Map)
+     */
+    ICompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map);
+
+    /**
+     * Asynchronously puts the given key and value, without returning the old value.
+     * <p/>
+     * This is the asynchronous counterpart of {@link #set(Object, Object)}; since the old value is not
+     * returned, it is not deserialized nor sent over the network.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * This method uses <tt>hashCode</tt> and <tt>equals</tt> of the binary form of
+     * the <tt>key</tt>, not the actual implementations of <tt>hashCode</tt> and <tt>equals</tt>
+     * defined in the <tt>key</tt>'s class.
+     *
+     * @param key   key of the entry.
+     * @param value value of the entry.
+     * @return an {@link ICompletableFuture} which completes when the entry has been stored.
+     * @throws NullPointerException if the specified key or value is null.
+     */
+    ICompletableFuture<Void> setAsync(K key, V value);
+
+    /**
+     * Asynchronously puts the given key and value with a given ttl (time to live) value, without
+     * returning the old value.
+     * <p/>
+     * <p><b>Warning 1:</b></p>
+     * This method uses <tt>hashCode</tt> and <tt>equals</tt> of the binary form of
+     * the <tt>key</tt>, not the actual implementations of <tt>hashCode</tt> and <tt>equals</tt>
+     * defined in the <tt>key</tt>'s class.
+     * <p/>
+     * <p><b>Warning 2:</b></p>
+     * Time resolution for TTL is seconds. The given TTL value is rounded to the next closest second value.
+     *
+     * @param key      key of the entry.
+     * @param value    value of the entry.
+     * @param ttl      maximum time for this entry to stay in the map.
+     *                 0 means infinite.
+     * @param timeunit time unit for the ttl.
+     * @return an {@link ICompletableFuture} which completes when the entry has been stored.
+     * @throws NullPointerException if the specified key or value is null.
+     */
+    ICompletableFuture<Void> setAsync(K key, V value, long ttl, TimeUnit timeunit);
+
+    /**
+     * Asynchronously removes the mapping for a key from this map if it is present,
+     * without returning the old value.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * This method uses <tt>hashCode</tt> and <tt>equals</tt> of the binary form of
+     * the <tt>key</tt>, not the actual implementations of <tt>hashCode</tt> and <tt>equals</tt>
+     * defined in the <tt>key</tt>'s class.
+     *
+     * @param key key whose mapping is to be removed from the map.
+     * @return an {@link ICompletableFuture} which completes when the entry has been removed.
+     * @throws NullPointerException if the specified key is null.
+     */
+    ICompletableFuture<Void> deleteAsync(Object key);
+
     /**
      * Tries to remove the entry with the given key from this map
      * within the specified timeout value. If the key is already locked by another
@@ -1124,6 +1213,33 @@ public interface IMap<K, V>
      */
     Set<Map.Entry<K, V>> entrySet();
 
+    /**
+     * Returns an iterator over the mappings contained in this map, which fetches the mappings
+     * partition by partition in batches of 100 entries.
+     *
+     * @return an iterator over the mappings in this map
+     * @see #iterator(int)
+     */
+    Iterator<Map.Entry<K, V>> iterator();
+
+    /**
+     * Returns an iterator over the mappings contained in this map, which fetches the mappings
+     * partition by partition in batches of the given size.
+     * <p/>
+     * Unlike {@link #entrySet()}, the mappings are not copied to the caller at once, so a map which
+     * doesn't fit in the memory of the caller can be traversed.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * The iterator is weakly consistent: a mapping which is added or removed during the iteration
+     * may or may not be returned, and when a partition migrates during the iteration a mapping may be
+     * missed or returned twice. {@link Iterator#remove()} removes the last returned key from the map.
+     *
+     * @param fetchSize the maximum number of mappings fetched from a partition at once
+     * @return an iterator over the mappings in this map
+     * @throws IllegalArgumentException if fetchSize is not positive
+     */
+    Iterator<Map.Entry<K, V>> iterator(int fetchSize);
+
     /**
      * Queries the map based on the specified predicate and
      * returns the keys of matching entries.
@@ -1265,6 +1381,13 @@ public interface IMap<K, V>
      * You should also make sure to add the indexes before adding
      * entries to this map.
      * <p/>
+     * A comma separated list of attributes creates a composite index, which answers
+     * equality conditions on its leading attributes followed, if ordered, by a range
+     * condition on the next one:
+     * <pre>
+     *   imap.addIndex("name, age", true);  // name = 'Joe' AND age > 30
+     * </pre>
+     * <p/>
      * <h3>Time to Index</h3>
      * Indexing time is executed in parallel on each partition by operation threads. The Map
      * is not blocked during this operation.
@@ -1352,6 +1475,37 @@ public interface IMap<K, V>
      */
     Map<K, Object> executeOnEntries(EntryProcessor entryProcessor, Predicate predicate);
 
+    /**
+     * Asynchronously applies the user defined EntryProcessor to the entries mapped by the collection of keys.
+     * <p/>
+     * The calling thread is not blocked while the partitions process the entries.
+     *
+     * @return an {@link ICompletableFuture} from which the results of the processing can be retrieved.
+     * @see #executeOnKeys(java.util.Set, EntryProcessor)
+     */
+    ICompletableFuture<Map<K, Object>> executeOnKeysAsync(Set<K> keys, EntryProcessor entryProcessor);
+
+    /**
+     * Asynchronously applies the user defined EntryProcessor to all the entries in the map.
+     * <p/>
+     * The calling thread is not blocked while the partitions process the entries.
+     *
+     * @return an {@link ICompletableFuture} from which the results of the processing can be retrieved.
+     * @see #executeOnEntries(EntryProcessor)
+     */
+    ICompletableFuture<Map<K, Object>> executeOnEntriesAsync(EntryProcessor entryProcessor);
+
+    /**
+     * Asynchronously applies the user defined EntryProcessor to the entries in the map which satisfy
+     * the provided predicate.
+     * <p/>
+     * The calling thread is not blocked while the partitions process the entries.
+     *
+     * @return an {@link ICompletableFuture} from which the results of the processing can be retrieved.
+     * @see #executeOnEntries(EntryProcessor, com.hazelcast.query.Predicate)
+     */
+    ICompletableFuture<Map<K, Object>> executeOnEntriesAsync(EntryProcessor entryProcessor, Predicate predicate);
+
     /**
      * Executes a predefined aggregation on the maps data set. The {@link com.hazelcast.mapreduce.aggregation.Supplier}
      * is used to either select or to select and extract a (sub-)value. A predefined set of aggregations can be found in
@@ -1381,4 +1535,49 @@ public interface IMap<K, V>
     <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                              Aggregation<K, SuppliedValue, Result> aggregation,
                                              JobTracker jobTracker);
+
+    /**
+     * Returns the {@link QueryCache} configured with the given name in the {@link com.hazelcast.config.MapConfig}
+     * of this map. The query cache is created, and populated if configured, on the first call; later calls return
+     * the same instance until it is destroyed.
+     *
+     * @param name the name of the query cache.
+     * @return the query cache.
+     * @throws NullPointerException     if the name is null.
+     * @throws IllegalArgumentException if no query cache is configured with the given name.
+     * @see com.hazelcast.config.QueryCacheConfig
+     * @since 3.5
+     */
+    QueryCache<K, V> getQueryCache(String name);
+
+    /**
+     * Returns the {@link QueryCache} with the given name, creating it with the given predicate if it doesn't exist.
+     * The other settings of the query cache are taken from the {@link com.hazelcast.config.QueryCacheConfig} with
+     * the given name in the {@link com.hazelcast.config.MapConfig} of this map, or from the defaults if there is none.
+     *
+     * @param name         the name of the query cache.
+     * @param predicate    the predicate selecting the entries of the query cache.
+     * @param includeValue true if the query cache keeps the values of the entries, false if it only keeps the keys.
+     * @return the query cache.
+     * @throws NullPointerException     if the name or the predicate is null.
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}.
+     * @since 3.5
+     */
+    QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue);
+
+    /**
+     * Returns the {@link QueryCache} with the given name, creating it with the given predicate and listener if it
+     * doesn't exist. The listener is added before the query cache is populated, so it receives the initial entries
+     * as {@link EntryEventType#ADDED} events.
+     *
+     * @param name         the name of the query cache.
+     * @param listener     the listener of the query cache.
+     * @param predicate    the predicate selecting the entries of the query cache.
+     * @param includeValue true if the query cache keeps the values of the entries, false if it only keeps the keys.
+     * @return the query cache.
+     * @throws NullPointerException     if the name, the listener or the predicate is null.
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}.
+     * @since 3.5
+     */
+    QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate, boolean includeValue);
 }
@@ -19,8 +19,12 @@ package com.hazelcast.instance;
 import com.hazelcast.cache.impl.CacheService;
 import com.hazelcast.cache.impl.ICacheService;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.storage.impl.NativeDataStorage;
+import com.hazelcast.internal.storage.impl.NativeMemoryStats;
+import com.hazelcast.internal.storage.impl.PooledMemoryAllocator;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.memory.DefaultMemoryStats;
@@ -57,13 +61,33 @@ public class DefaultNodeExtension implements NodeExtension {
     protected volatile ILogger logger;
     protected volatile ILogger systemLogger;
 
-    private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private volatile MemoryStats memoryStats = new DefaultMemoryStats();
+    private volatile NativeDataStorage nativeDataStorage;
 
     @Override
     public void beforeStart(Node node) {
         this.node = node;
         logger = node.getLogger(NodeExtension.class);
         systemLogger = node.getLogger("com.hazelcast.system");
+        initNativeDataStorage(node.getConfig().getNativeMemoryConfig());
+    }
+
+    private void initNativeDataStorage(NativeMemoryConfig nativeMemoryConfig) {
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            return;
+        }
+
+        if (nativeMemoryConfig.getAllocatorType() != NativeMemoryConfig.MemoryAllocatorType.POOLED) {
+            logger.warning("Native memory allocator type " + nativeMemoryConfig.getAllocatorType()
+                    + " is not supported, the " + NativeMemoryConfig.MemoryAllocatorType.POOLED + " allocator is used.");
+        }
+
+        PooledMemoryAllocator allocator = new PooledMemoryAllocator(nativeMemoryConfig.getSize().bytes(),
+                nativeMemoryConfig.getPageSize(), nativeMemoryConfig.getMinBlockSize());
+        nativeDataStorage = new NativeDataStorage(allocator);
+        memoryStats = new NativeMemoryStats(allocator);
+        logger.info("Native memory is enabled, size: " + nativeMemoryConfig.getSize()
+                + ", page size: " + allocator.getPageSize() + " bytes");
     }
 
     @Override
@@ -92,7 +116,12 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public Storage<DataRef> getNativeDataStorage() {
-        throw new UnsupportedOperationException("Native memory feature is only available on Hazelcast Enterprise!");
+        NativeDataStorage storage = nativeDataStorage;
+        if (storage == null) {
+            throw new IllegalStateException("The NATIVE in-memory format requires native memory to be enabled, "
+                    + "see NativeMemoryConfig.");
+        }
+        return storage;
     }
 
     public SerializationService createSerializationService() {
@@ -184,6 +213,10 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public void destroy() {
         logger.info("Destroying node NodeExtension.");
+        NativeDataStorage storage = nativeDataStorage;
+        if (storage != null) {
+            storage.destroy();
+        }
     }
 
     @Override
@@ -78,12 +78,37 @@ public class GroupProperties {
      *
      */
     public static final String PROP_IO_BALANCER_INTERVAL_SECONDS = "hazelcast.io.balancer.interval.seconds";
+
+    /**
+     * Determines what an IO thread does when there is no IO to process; see
+     * {@link com.hazelcast.nio.tcp.SelectorIdleStrategy}. With 'block', the default, the IO threads block in a select
+     * and need to be woken up for new work. With 'spin', 'yield' or 'backoff' the IO threads busy poll, which removes
+     * the wake up latency of every round trip at the cost of CPU usage.
+     */
+    public static final String PROP_IO_SELECTOR_IDLE_STRATEGY = "hazelcast.io.selector.idle.strategy";
     /**
      * The number of partition threads per Member. If this is less than the number of partitions on a Member, then
      * partition operations will queue behind other operations of different partitions. The default is 4.
      */
     public static final String PROP_PARTITION_OPERATION_THREAD_COUNT = "hazelcast.operation.thread.count";
+    /**
+     * Enables the lock-free multi producer single consumer queue for the partition operation threads. Instead of a lock and a
+     * condition per offered task, producers claim a slot in an array based queue and the partition thread drains the tasks in
+     * batches. When there is no work, a partition thread first spins and yields before it parks; so it consumes a bit more
+     * CPU when idle.
+     * <p/>
+     * The generic operation threads share a single queue and keep using the blocking queue. The default is false.
+     */
+    public static final String PROP_PARTITION_OPERATION_QUEUE_MPSC_ENABLED = "hazelcast.operation.queue.mpsc.enabled";
     public static final String PROP_GENERIC_OPERATION_THREAD_COUNT = "hazelcast.operation.generic.thread.count";
+
+    /**
+     * Processes response packets on the thread that received them, normally an IO thread, instead of handing them over
+     * to the response thread. This removes a thread hand off per remote invocation, but the IO thread needs to
+     * deserialize the response and notify the invocation; so large responses delay the reading of other packets on the
+     * same IO thread. The default is false.
+     */
+    public static final String PROP_OPERATION_RESPONSE_INLINE_ENABLED = "hazelcast.operation.response.inline.enabled";
     public static final String PROP_EVENT_THREAD_COUNT = "hazelcast.event.thread.count";
     public static final String PROP_EVENT_QUEUE_CAPACITY = "hazelcast.event.queue.capacity";
     public static final String PROP_EVENT_QUEUE_TIMEOUT_MILLIS = "hazelcast.event.queue.timeout.millis";
@@ -101,6 +126,13 @@ public class GroupProperties {
      */
     public static final String PROP_OPERATION_BACKUP_TIMEOUT_MILLIS = "hazelcast.operation.backup.timeout.millis";
 
+    /**
+     * Records latency histograms per operation class, per partition operation thread and per remote member. They are
+     * exposed through JMX and written by the performance monitor. Recording doesn't allocate, but it costs a few
+     * timestamps and atomic increments per operation. The default is false.
+     */
+    public static final String PROP_OPERATION_LATENCY_HISTOGRAMS_ENABLED = "hazelcast.operation.latency.histograms.enabled";
+
     public static final String PROP_SOCKET_BIND_ANY = "hazelcast.socket.bind.any";
     public static final String PROP_SOCKET_SERVER_BIND_ANY = "hazelcast.socket.server.bind.any";
     public static final String PROP_SOCKET_CLIENT_BIND_ANY = "hazelcast.socket.client.bind.any";
@@ -118,6 +150,18 @@ public class GroupProperties {
     public static final String PROP_SOCKET_CONNECT_TIMEOUT_SECONDS = "hazelcast.socket.connect.timeout.seconds";
     public static final String PROP_SOCKET_KEEP_ALIVE = "hazelcast.socket.keep.alive";
     public static final String PROP_SOCKET_NO_DELAY = "hazelcast.socket.no.delay";
+    /**
+     * If direct buffers are enabled, member to member connections read from and write to direct buffers that are
+     * leased from a pool instead of heap buffers. This saves the copy between a heap buffer and the temporary direct
+     * buffer the JVM uses for socket IO.
+     */
+    public static final String PROP_SOCKET_BUFFER_DIRECT = "hazelcast.socket.buffer.direct";
+    /**
+     * If gathering writes are enabled, the value of a large packet is not copied into the socket output buffer, but it is
+     * written together with the other pending buffers using a single gathering write. Small packets are still coalesced
+     * in the socket output buffer.
+     */
+    public static final String PROP_SOCKET_WRITE_GATHERING_ENABLED = "hazelcast.socket.write.gathering.enabled";
     public static final String PROP_SHUTDOWNHOOK_ENABLED = "hazelcast.shutdownhook.enabled";
     public static final String PROP_WAIT_SECONDS_BEFORE_JOIN = "hazelcast.wait.seconds.before.join";
     public static final String PROP_MAX_WAIT_SECONDS_BEFORE_JOIN = "hazelcast.max.wait.seconds.before.join";
@@ -151,6 +195,12 @@ public class GroupProperties {
      * you will end up with an unprocessed key.
      */
     public static final String PROP_MAP_EXPIRY_DELAY_SECONDS = "hazelcast.map.expiry.delay.seconds";
+    /**
+     * The strategy used to select the entries to evict when a map reaches its max size. SORTING sorts the
+     * eviction criteria of all entries of the partition and evicts according to the eviction percentage; SAMPLING
+     * evicts the best candidate out of a small random sample per entry, only down to the max size.
+     */
+    public static final String PROP_MAP_EVICTION_STRATEGY = "hazelcast.map.eviction.strategy";
     public static final String PROP_PARTITION_COUNT = "hazelcast.partition.count";
     public static final String PROP_LOGGING_TYPE = "hazelcast.logging.type";
     public static final String PROP_ENABLE_JMX = "hazelcast.jmx";
@@ -318,6 +368,34 @@ public class GroupProperties {
     public static final String PROP_BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION
             = "hazelcast.backpressure.max.concurrent.invocations.per.partition";
 
+    /**
+     * Enables the adaptive mode of back pressure.
+     * <p/>
+     * In the adaptive mode the sync window and the maximum number of concurrent invocations are not fixed, but they are
+     * tuned using additive increase/multiplicative decrease. Periodically the depth of the operation queues of the
+     * partition threads and the latency of the operations executed by these threads are sampled. If either exceeds its
+     * threshold, the sync window and the maximum number of concurrent invocations are halved, else they are increased
+     * step by step again up to the configured {@link #PROP_BACKPRESSURE_SYNCWINDOW} and
+     * {@link #PROP_BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION}.
+     * <p/>
+     * This property only has meaning when backpressure is enabled.
+     */
+    public static final String PROP_BACKPRESSURE_ADAPTIVE_ENABLED = "hazelcast.backpressure.adaptive.enabled";
+
+    /**
+     * The number of pending operations of a single partition thread above which the adaptive back pressure considers
+     * the member to be congested.
+     */
+    public static final String PROP_BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD
+            = "hazelcast.backpressure.adaptive.queue.threshold";
+
+    /**
+     * The average latency in milliseconds of the operations of a partition, measured from the moment of invocation till
+     * the operation has been executed, above which the adaptive back pressure considers the member to be congested.
+     */
+    public static final String PROP_BACKPRESSURE_ADAPTIVE_LATENCY_THRESHOLD_MILLIS
+            = "hazelcast.backpressure.adaptive.latency.threshold.millis";
+
 
     /**
      * Run Query Evaluations for multiple partitions in parallel.
@@ -378,6 +456,9 @@ public class GroupProperties {
     public final GroupProperty CLIENT_ENGINE_THREAD_COUNT;
 
     public final GroupProperty PARTITION_OPERATION_THREAD_COUNT;
+    public final GroupProperty PARTITION_OPERATION_QUEUE_MPSC_ENABLED;
+    public final GroupProperty OPERATION_RESPONSE_INLINE_ENABLED;
+    public final GroupProperty OPERATION_LATENCY_HISTOGRAMS_ENABLED;
 
     public final GroupProperty GENERIC_OPERATION_THREAD_COUNT;
 
@@ -392,6 +473,7 @@ public class GroupProperties {
     public final GroupProperty PERFORMANCE_MONITORING_DELAY_SECONDS;
 
     public final GroupProperty IO_THREAD_COUNT;
+    public final GroupProperty IO_SELECTOR_IDLE_STRATEGY;
 
     public final GroupProperty IO_BALANCER_INTERVAL_SECONDS;
 
@@ -439,6 +521,10 @@ public class GroupProperties {
 
     public final GroupProperty SOCKET_NO_DELAY;
 
+    public final GroupProperty SOCKET_BUFFER_DIRECT;
+
+    public final GroupProperty SOCKET_WRITE_GATHERING_ENABLED;
+
     public final GroupProperty SHUTDOWNHOOK_ENABLED;
 
     public final GroupProperty WAIT_SECONDS_BEFORE_JOIN;
@@ -475,6 +561,8 @@ public class GroupProperties {
 
     public final GroupProperty MAP_EXPIRY_DELAY_SECONDS;
 
+    public final GroupProperty MAP_EVICTION_STRATEGY;
+
     public final GroupProperty PARTITION_COUNT;
 
     public final GroupProperty LOGGING_TYPE;
@@ -554,6 +642,9 @@ public class GroupProperties {
     public final GroupProperty BACKPRESSURE_SYNCWINDOW;
     public final GroupProperty BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS;
     public final GroupProperty BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION;
+    public final GroupProperty BACKPRESSURE_ADAPTIVE_ENABLED;
+    public final GroupProperty BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD;
+    public final GroupProperty BACKPRESSURE_ADAPTIVE_LATENCY_THRESHOLD_MILLIS;
 
     public final GroupProperty QUERY_RESULT_SIZE_LIMIT;
     public final GroupProperty QUERY_MAX_LOCAL_PARTITION_LIMIT_FOR_PRE_CHECK;
@@ -573,9 +664,15 @@ public class GroupProperties {
         PREFER_IPv4_STACK = new GroupProperty(config, PROP_PREFER_IPv4_STACK, "true");
         IO_THREAD_COUNT = new GroupProperty(config, PROP_IO_THREAD_COUNT, "3");
         IO_BALANCER_INTERVAL_SECONDS = new GroupProperty(config, PROP_IO_BALANCER_INTERVAL_SECONDS, "20");
+        IO_SELECTOR_IDLE_STRATEGY = new GroupProperty(config, PROP_IO_SELECTOR_IDLE_STRATEGY, "block");
 
         //-1 means that the value is worked out dynamically.
         PARTITION_OPERATION_THREAD_COUNT = new GroupProperty(config, PROP_PARTITION_OPERATION_THREAD_COUNT, "-1");
+        PARTITION_OPERATION_QUEUE_MPSC_ENABLED
+                = new GroupProperty(config, PROP_PARTITION_OPERATION_QUEUE_MPSC_ENABLED, "false");
+        OPERATION_RESPONSE_INLINE_ENABLED = new GroupProperty(config, PROP_OPERATION_RESPONSE_INLINE_ENABLED, "false");
+        OPERATION_LATENCY_HISTOGRAMS_ENABLED
+                = new GroupProperty(config, PROP_OPERATION_LATENCY_HISTOGRAMS_ENABLED, "false");
         GENERIC_OPERATION_THREAD_COUNT = new GroupProperty(config, PROP_GENERIC_OPERATION_THREAD_COUNT, "-1");
         EVENT_THREAD_COUNT = new GroupProperty(config, PROP_EVENT_THREAD_COUNT, "5");
         EVENT_QUEUE_CAPACITY = new GroupProperty(config, PROP_EVENT_QUEUE_CAPACITY, "1000000");
@@ -601,6 +698,8 @@ public class GroupProperties {
         SOCKET_CONNECT_TIMEOUT_SECONDS = new GroupProperty(config, PROP_SOCKET_CONNECT_TIMEOUT_SECONDS, "0");
         SOCKET_KEEP_ALIVE = new GroupProperty(config, PROP_SOCKET_KEEP_ALIVE, "true");
         SOCKET_NO_DELAY = new GroupProperty(config, PROP_SOCKET_NO_DELAY, "true");
+        SOCKET_BUFFER_DIRECT = new GroupProperty(config, PROP_SOCKET_BUFFER_DIRECT, "false");
+        SOCKET_WRITE_GATHERING_ENABLED = new GroupProperty(config, PROP_SOCKET_WRITE_GATHERING_ENABLED, "false");
         SHUTDOWNHOOK_ENABLED = new GroupProperty(config, PROP_SHUTDOWNHOOK_ENABLED, "true");
         WAIT_SECONDS_BEFORE_JOIN = new GroupProperty(config, PROP_WAIT_SECONDS_BEFORE_JOIN, "5");
         MAX_WAIT_SECONDS_BEFORE_JOIN = new GroupProperty(config, PROP_MAX_WAIT_SECONDS_BEFORE_JOIN, "20");
@@ -622,6 +721,7 @@ public class GroupProperties {
         MAP_REPLICA_SCHEDULED_TASK_DELAY_SECONDS
                 = new GroupProperty(config, PROP_MAP_REPLICA_SCHEDULED_TASK_DELAY_SECONDS, "10");
         MAP_EXPIRY_DELAY_SECONDS = new GroupProperty(config, PROP_MAP_EXPIRY_DELAY_SECONDS, "10");
+        MAP_EVICTION_STRATEGY = new GroupProperty(config, PROP_MAP_EVICTION_STRATEGY, "sorting");
         PARTITION_COUNT = new GroupProperty(config, PROP_PARTITION_COUNT, "271");
         LOGGING_TYPE = new GroupProperty(config, PROP_LOGGING_TYPE, "jdk");
         ENABLE_JMX = new GroupProperty(config, PROP_ENABLE_JMX, "false");
@@ -678,6 +778,12 @@ public class GroupProperties {
                 = new GroupProperty(config, PROP_BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION, "100");
         BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS
                 = new GroupProperty(config, PROP_BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS, "60000");
+        BACKPRESSURE_ADAPTIVE_ENABLED
+                = new GroupProperty(config, PROP_BACKPRESSURE_ADAPTIVE_ENABLED, "false");
+        BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD
+                = new GroupProperty(config, PROP_BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD, "1000");
+        BACKPRESSURE_ADAPTIVE_LATENCY_THRESHOLD_MILLIS
+                = new GroupProperty(config, PROP_BACKPRESSURE_ADAPTIVE_LATENCY_THRESHOLD_MILLIS, "100");
 
         QUERY_RESULT_SIZE_LIMIT = new GroupProperty(config, PROP_QUERY_RESULT_SIZE_LIMIT, "-1");
         QUERY_MAX_LOCAL_PARTITION_LIMIT_FOR_PRE_CHECK
@@ -65,9 +65,11 @@ public interface NodeExtension {
     SecurityContext getSecurityContext();
 
     /**
-     * @deprecated
+     * Returns the storage used by the {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format.
+     *
+     * @return native data storage
+     * @throws IllegalStateException if native memory is not enabled in the {@link com.hazelcast.config.NativeMemoryConfig}
      */
-    @Deprecated
     Storage<DataRef> getNativeDataStorage();
 
     /**
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in microseconds.
+ * <p/>
+ * The buckets are log-linear: every power of 2 is split into 16 linear sub buckets. So the value returned for a
+ * percentile is at most 1/16 (6.25%) higher than the actual value, independent of the magnitude of the latency.
+ * Latencies below 16 microseconds are recorded exactly and latencies above about 12 days are recorded as 12 days.
+ * <p/>
+ * Recording is thread-safe and doesn't allocate; it is an atomic increment of the bucket and, when the maximum
+ * increases, a compare-and-set. So a histogram can be shared between threads and can be used on a hot path.
+ * <p/>
+ * The percentiles are available as {@link Probe} annotated methods, so a histogram can be registered in the
+ * {@link MetricsRegistry} using {@link MetricsRegistry#scanAndRegister(Object, String)}. Reading is best effort; values
+ * recorded while reading may or may not be included.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int MAX_EXPONENT = 40;
+    static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+    private static final double PERCENTILE_50 = 50;
+    private static final double PERCENTILE_99 = 99;
+    private static final double PERCENTILE_99_9 = 99.9;
+    private static final double HUNDRED_PERCENT = 100;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    public void recordNanos(long nanos) {
+        record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Records a latency. A negative latency, e.g. caused by clock differences, is recorded as 0.
+     *
+     * @param micros the latency in microseconds.
+     */
+    public void record(long micros) {
+        long value = micros < 0 ? 0 : Math.min(micros, MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+
+        for (; ; ) {
+            long current = maxValue.get();
+            if (value <= current || maxValue.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & SUB_BUCKET_MASK;
+        return SUB_BUCKET_COUNT + (shift << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    // the highest value that is recorded in the bucket with the given index.
+    static long highestValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+
+        int shift = (bucketIndex - SUB_BUCKET_COUNT) >>> SUB_BUCKET_BITS;
+        int subBucket = bucketIndex & SUB_BUCKET_MASK;
+        long lowestValue = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies.
+     */
+    @Probe
+    public long count() {
+        long count = 0;
+        for (int k = 0; k < BUCKET_COUNT; k++) {
+            count += counts.get(k);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the highest recorded latency in microseconds.
+     *
+     * @return the highest latency, or 0 if nothing has been recorded.
+     */
+    @Probe
+    public long max() {
+        return maxValue.get();
+    }
+
+    @Probe
+    public long p50() {
+        return percentile(PERCENTILE_50);
+    }
+
+    @Probe
+    public long p99() {
+        return percentile(PERCENTILE_99);
+    }
+
+    @Probe(name = "p99.9")
+    public long p999() {
+        return percentile(PERCENTILE_99_9);
+    }
+
+    /**
+     * Returns the latency in microseconds at the given percentile; so the given percentage of the recorded latencies is
+     * equal to or lower than the returned value.
+     *
+     * @param percentile the percentile, e.g. 99.9.
+     * @return the latency at the percentile, or 0 if nothing has been recorded.
+     * @throws IllegalArgumentException if percentile is not in the range (0, 100].
+     */
+    public long percentile(double percentile) {
+        if (percentile <= 0 || percentile > HUNDRED_PERCENT) {
+            throw new IllegalArgumentException("percentile should be in the range (0, 100], but was " + percentile);
+        }
+
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / HUNDRED_PERCENT * count));
+        long max = maxValue.get();
+        long cumulative = 0;
+        for (int k = 0; k < BUCKET_COUNT; k++) {
+            cumulative += counts.get(k);
+            if (cumulative >= rank) {
+                return Math.min(highestValue(k), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Renders the count and the p50, p99, p99.9 and max latencies in microseconds.
+     *
+     * @param sb the StringBuffer to write to.
+     */
+    public void render(StringBuffer sb) {
+        sb.append("count=").append(count())
+                .append(", p50=").append(p50())
+                .append("us, p99=").append(p99())
+                .append("us, p99.9=").append(p999())
+                .append("us, max=").append(max()).append("us");
+    }
+}
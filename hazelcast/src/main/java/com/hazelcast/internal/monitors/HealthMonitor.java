@@ -249,6 +249,8 @@ public class HealthMonitor extends Thread {
                 sb.append("native.memory.free=").append(numberToUnit(memoryStats.getFreeNativeMemory())).append(", ");
                 sb.append("native.memory.total=").append(numberToUnit(memoryStats.getCommittedNativeMemory())).append(", ");
                 sb.append("native.memory.max=").append(numberToUnit(memoryStats.getMaxNativeMemory())).append(", ");
+                sb.append("native.memory.fragmented=")
+                        .append(numberToUnit(memoryStats.getFragmentedNativeMemory())).append(", ");
             }
 
             GarbageCollectorStats gcStats = memoryStats.getGCStats();
@@ -25,9 +25,9 @@ import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import java.util.concurrent.TimeUnit;
 
 /**
- * The PerformanceMonitor is responsible for logging all kinds of performance related information. Currently it only
- * shows the read/write events per selector and the operations executed per operation-thread, but new kinds of behavior
- * will be added.
+ * The PerformanceMonitor is responsible for logging all kinds of performance related information. Currently it
+ * shows the read/write events per selector, the operations executed per operation-thread and, when enabled, the
+ * operation latency histograms, but new kinds of behavior will be added.
  * <p/>
  * This tool is currently used internally. External users should be experts. In the future it will become more useful
  * for regular developers. It is also likely that most of the metrics we collect will be exposed through JMX at some
@@ -63,6 +63,8 @@ public class PerformanceMonitor extends Thread {
             connectionManager.dumpPerformanceMetrics(sb);
             sb.append("OperationService metrics\n");
             operationService.dumpPerformanceMetrics(sb);
+            sb.append("Operation latency histograms\n");
+            operationService.dumpLatencyHistograms(sb);
 
             logger.info(sb.toString());
 
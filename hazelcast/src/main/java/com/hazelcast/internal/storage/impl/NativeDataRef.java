@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.internal.storage.DataRef;
+
+/**
+ * A reference to a {@link com.hazelcast.nio.serialization.Data} stored by the {@link NativeDataStorage}.
+ */
+final class NativeDataRef implements DataRef {
+
+    // object header + address + stamp + size, rounded up to the 8 byte object alignment.
+    private static final int HEAP_COST = 32;
+
+    final long address;
+    final long stamp;
+    final int size;
+
+    NativeDataRef(long address, long stamp, int size) {
+        this.address = address;
+        this.stamp = stamp;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int heapCost() {
+        return HEAP_COST;
+    }
+
+    @Override
+    public String toString() {
+        return "NativeDataRef{address=" + address + ", stamp=" + stamp + ", size=" + size + '}';
+    }
+}
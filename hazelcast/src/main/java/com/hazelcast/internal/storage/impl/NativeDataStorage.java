@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.internal.storage.Storage;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultData;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.nio.UnsafeHelper.BYTE_ARRAY_BASE_OFFSET;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE_AVAILABLE;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link Storage} that stores the bytes of a {@link Data} in native memory allocated by a
+ * {@link PooledMemoryAllocator}, so the stored data doesn't live on the Java heap.
+ * <p/>
+ * A block starts with a stamp that is unique per stored data; the stamp is also kept in the {@link NativeDataRef}. A
+ * record can be read by a thread other than the partition thread while the partition thread replaces its value, so
+ * the block of the old value can be freed, and even reused, while it is being copied. Since the allocator never
+ * releases a page, this copy can't crash; the stamp is checked before and after the copy and {@link #get(int, DataRef)}
+ * returns null if the block has been freed in the meantime. The check after the copy is a compare-and-swap of the stamp
+ * with itself instead of a volatile read: plain loads before a volatile read may be reordered after it, but not after
+ * a compare-and-swap, which is a full fence on all supported JVMs. So a copy that passes the check has only read bytes
+ * that were written before the block was freed. Unsafe.loadFence() would do without the write, but it requires Java 8.
+ * <p/>
+ * This class is thread-safe.
+ */
+public final class NativeDataStorage implements Storage<DataRef> {
+
+    private static final int HEADER_SIZE = Bits.LONG_SIZE_IN_BYTES;
+    private static final long FREED_STAMP = 0;
+
+    private final PooledMemoryAllocator allocator;
+    private final AtomicLong stampGenerator = new AtomicLong(FREED_STAMP);
+
+    /**
+     * Creates a NativeDataStorage.
+     *
+     * @param allocator the allocator to store the data in.
+     * @throws IllegalStateException if sun.misc.Unsafe isn't available.
+     */
+    public NativeDataStorage(PooledMemoryAllocator allocator) {
+        if (!UNSAFE_AVAILABLE) {
+            throw new IllegalStateException("Native memory storage requires sun.misc.Unsafe, which isn't available");
+        }
+        this.allocator = checkNotNull(allocator, "allocator can't be null");
+    }
+
+    @Override
+    public DataRef put(int hash, Data data) {
+        byte[] bytes = data.toByteArray();
+        int size = bytes == null ? 0 : bytes.length;
+
+        long address = allocator.allocate(HEADER_SIZE + size);
+        long stamp = stampGenerator.incrementAndGet();
+        if (size > 0) {
+            UNSAFE.copyMemory(bytes, BYTE_ARRAY_BASE_OFFSET, null, address + HEADER_SIZE, size);
+        }
+        // the stamp is written last, so a racing reader never sees the stamp in combination with stale bytes.
+        UNSAFE.putLongVolatile(null, address, stamp);
+        return new NativeDataRef(address, stamp, size);
+    }
+
+    @Override
+    public Data get(int hash, DataRef ref) {
+        NativeDataRef nativeRef = (NativeDataRef) ref;
+        long address = nativeRef.address;
+        if (UNSAFE.getLongVolatile(null, address) != nativeRef.stamp) {
+            return null;
+        }
+
+        byte[] bytes = new byte[nativeRef.size];
+        if (bytes.length > 0) {
+            UNSAFE.copyMemory(null, address + HEADER_SIZE, bytes, BYTE_ARRAY_BASE_OFFSET, bytes.length);
+        }
+
+        if (!UNSAFE.compareAndSwapLong(null, address, nativeRef.stamp, nativeRef.stamp)) {
+            return null;
+        }
+        return new DefaultData(bytes);
+    }
+
+    @Override
+    public void remove(int hash, DataRef ref) {
+        NativeDataRef nativeRef = (NativeDataRef) ref;
+        UNSAFE.putLongVolatile(null, nativeRef.address, FREED_STAMP);
+        allocator.free(nativeRef.address, HEADER_SIZE + nativeRef.size);
+    }
+
+    @Override
+    public void destroy() {
+        allocator.destroy();
+    }
+
+    public PooledMemoryAllocator getAllocator() {
+        return allocator;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.memory.DefaultMemoryStats;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * MemoryStats that includes the native memory statistics of a {@link PooledMemoryAllocator}.
+ */
+public class NativeMemoryStats extends DefaultMemoryStats {
+
+    private final PooledMemoryAllocator allocator;
+
+    public NativeMemoryStats(PooledMemoryAllocator allocator) {
+        this.allocator = checkNotNull(allocator, "allocator can't be null");
+    }
+
+    @Override
+    public long getMaxNativeMemory() {
+        return allocator.getMaxMemory();
+    }
+
+    @Override
+    public long getCommittedNativeMemory() {
+        return allocator.getCommittedMemory();
+    }
+
+    @Override
+    public long getUsedNativeMemory() {
+        return allocator.getUsedMemory();
+    }
+
+    @Override
+    public long getFreeNativeMemory() {
+        return allocator.getFreeMemory();
+    }
+
+    @Override
+    public long getFragmentedNativeMemory() {
+        return allocator.getFragmentedMemory();
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.memory.MemorySize.toPrettyString;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A slab allocator for native memory.
+ * <p/>
+ * Native memory is reserved in pages of a fixed size and each page is carved into blocks of a single size class; the
+ * size classes are the powers of two between the minimum block size and the page size. An allocation is rounded up to
+ * its size class and is served from the free list of that class; only when the free list is empty a new page is
+ * reserved. A freed block is returned to the free list of its size class, so it can be reused for an allocation of the
+ * same size class but not for another size class. The difference between the committed and the used memory is
+ * reported as fragmented memory.
+ * <p/>
+ * An allocation larger than the page size gets a block of its own, rounded up to a multiple of the page size. These
+ * large size classes are created on demand and work like the regular ones: a freed large block is kept for a later
+ * allocation of the same number of pages.
+ * <p/>
+ * Pages are only released when the allocator is destroyed. So a block that has been freed remains readable; a reader
+ * that races with a free can detect the reuse of a block (see {@link NativeDataStorage}) instead of crashing the JVM.
+ * <p/>
+ * Each size class is guarded by its own lock, so concurrent allocations of different size classes don't contend.
+ * <p/>
+ * This class is thread-safe.
+ */
+public final class PooledMemoryAllocator {
+
+    private static final int INITIAL_FREE_LIST_CAPACITY = 64;
+    private static final int INITIAL_PAGES_CAPACITY = 16;
+
+    private final SizeClass[] sizeClasses;
+    // the size classes of blocks larger than a page, by their number of pages.
+    private final ConcurrentMap<Integer, SizeClass> largeSizeClasses = new ConcurrentHashMap<Integer, SizeClass>();
+    private final ConstructorFunction<Integer, SizeClass> largeSizeClassConstructor
+            = new ConstructorFunction<Integer, SizeClass>() {
+        @Override
+        public SizeClass createNew(Integer pages) {
+            return new SizeClass((long) pages * pageSize);
+        }
+    };
+    private final int minBlockShift;
+    private final int pageSize;
+    private final long maxMemory;
+    private final AtomicLong usedMemory = new AtomicLong();
+
+    // The following fields are guarded by 'this'.
+    private long[] pages = new long[INITIAL_PAGES_CAPACITY];
+    private int pageCount;
+
+    private volatile boolean destroyed;
+    private volatile long committedMemory;
+
+    /**
+     * Creates a PooledMemoryAllocator.
+     *
+     * @param maxMemory    the maximum number of bytes this allocator will reserve.
+     * @param pageSize     the size in bytes of a page; it is rounded up to a power of two.
+     * @param minBlockSize the size in bytes of the smallest size class; it is rounded up to a power of two.
+     * @throws IllegalArgumentException if one of the arguments is not positive, if minBlockSize is larger than the
+     *                                  pageSize, or if maxMemory is smaller than the pageSize.
+     */
+    public PooledMemoryAllocator(long maxMemory, int pageSize, int minBlockSize) {
+        checkPositive(maxMemory, "maxMemory should be positive");
+        checkPositive(pageSize, "pageSize should be positive");
+        checkPositive(minBlockSize, "minBlockSize should be positive");
+
+        int roundedPageSize = nextPowerOfTwo(pageSize);
+        int roundedMinBlockSize = nextPowerOfTwo(minBlockSize);
+        if (roundedMinBlockSize > roundedPageSize) {
+            throw new IllegalArgumentException("minBlockSize " + minBlockSize
+                    + " can't be larger than the pageSize " + pageSize);
+        }
+        if (maxMemory < roundedPageSize) {
+            throw new IllegalArgumentException("maxMemory " + maxMemory
+                    + " can't be smaller than the pageSize " + roundedPageSize);
+        }
+
+        this.maxMemory = maxMemory;
+        this.pageSize = roundedPageSize;
+        this.minBlockShift = log2(roundedMinBlockSize);
+        this.sizeClasses = new SizeClass[log2(roundedPageSize) - minBlockShift + 1];
+        for (int k = 0; k < sizeClasses.length; k++) {
+            sizeClasses[k] = new SizeClass(roundedMinBlockSize << k);
+        }
+    }
+
+    /**
+     * Allocates a block of at least the given size.
+     *
+     * @param size the size in bytes.
+     * @return the address of the block.
+     * @throws IllegalArgumentException if the size is not positive.
+     * @throws NativeOutOfMemoryError   if the block can't be allocated because the maximum memory has been reserved.
+     * @throws IllegalStateException    if the allocator has been destroyed.
+     */
+    public long allocate(int size) {
+        SizeClass sizeClass = sizeClassFor(size);
+        checkNotDestroyed();
+        long address = sizeClass.allocate();
+        usedMemory.addAndGet(sizeClass.blockSize);
+        return address;
+    }
+
+    /**
+     * Frees a block that was allocated with {@link #allocate(int)}.
+     *
+     * @param address the address of the block.
+     * @param size    the size that was passed to {@link #allocate(int)}.
+     */
+    public void free(long address, int size) {
+        SizeClass sizeClass = sizeClassFor(size);
+        if (destroyed) {
+            // the pages are already released.
+            return;
+        }
+        sizeClass.free(address);
+        usedMemory.addAndGet(-sizeClass.blockSize);
+    }
+
+    /**
+     * Returns the block size the given size is rounded up to.
+     *
+     * @param size the size in bytes.
+     * @return the block size in bytes.
+     */
+    public long blockSize(int size) {
+        return sizeClassFor(size).blockSize;
+    }
+
+    private SizeClass sizeClassFor(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Can't allocate " + size + " bytes, the size should be positive");
+        }
+        if (size > pageSize) {
+            int pages = (int) ((size + (long) pageSize - 1) / pageSize);
+            return getOrPutIfAbsent(largeSizeClasses, pages, largeSizeClassConstructor);
+        }
+        int shift = log2(nextPowerOfTwo(size));
+        return sizeClasses[Math.max(0, shift - minBlockShift)];
+    }
+
+    private void checkNotDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("PooledMemoryAllocator is destroyed");
+        }
+    }
+
+    // committedMemory is only updated while holding the allocator lock.
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"VO_VOLATILE_INCREMENT" })
+    private synchronized long reserve(long chunkSize) {
+        checkNotDestroyed();
+        if (committedMemory + chunkSize > maxMemory) {
+            throw new NativeOutOfMemoryError("Not enough native memory; committed " + toPrettyString(committedMemory)
+                    + " of max " + toPrettyString(maxMemory) + ", used " + toPrettyString(usedMemory.get()));
+        }
+
+        long chunk = UNSAFE.allocateMemory(chunkSize);
+        if (pageCount == pages.length) {
+            long[] newPages = new long[pages.length * 2];
+            System.arraycopy(pages, 0, newPages, 0, pageCount);
+            pages = newPages;
+        }
+        pages[pageCount++] = chunk;
+        committedMemory += chunkSize;
+        return chunk;
+    }
+
+    /**
+     * Releases all pages. After destroy no memory can be allocated and the addresses of the allocated blocks are invalid.
+     * <p/>
+     * This method should only be called when no other thread is using the allocator or the blocks allocated by it.
+     */
+    public void destroy() {
+        synchronized (this) {
+            if (destroyed) {
+                return;
+            }
+            destroyed = true;
+        }
+
+        // the size class locks are not acquired while holding the allocator lock, since a size class calls
+        // reserve while holding its own lock.
+        for (SizeClass sizeClass : sizeClasses) {
+            sizeClass.clear();
+        }
+        for (SizeClass sizeClass : largeSizeClasses.values()) {
+            sizeClass.clear();
+        }
+
+        synchronized (this) {
+            for (int k = 0; k < pageCount; k++) {
+                UNSAFE.freeMemory(pages[k]);
+            }
+            pages = new long[0];
+            pageCount = 0;
+            committedMemory = 0;
+            usedMemory.set(0);
+        }
+    }
+
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    public long getCommittedMemory() {
+        return committedMemory;
+    }
+
+    /**
+     * Returns the number of bytes used by allocated blocks.
+     *
+     * @return the used memory.
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * Returns the number of bytes that can still be allocated; this includes the memory of the free blocks.
+     *
+     * @return the free memory.
+     */
+    public long getFreeMemory() {
+        return Math.max(0, maxMemory - usedMemory.get());
+    }
+
+    /**
+     * Returns the number of bytes that is committed, but isn't used; this memory can only be reused for allocations
+     * of the size class it has been reserved for.
+     *
+     * @return the fragmented memory.
+     */
+    public long getFragmentedMemory() {
+        return Math.max(0, committedMemory - usedMemory.get());
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    private final class SizeClass {
+        private final long blockSize;
+        // a stack of the addresses of the free blocks; guarded by 'this'.
+        private long[] freeBlocks = new long[INITIAL_FREE_LIST_CAPACITY];
+        private int freeCount;
+
+        private SizeClass(long blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        private synchronized long allocate() {
+            checkNotDestroyed();
+            if (freeCount == 0) {
+                // a block larger than a page gets a chunk of its own.
+                long chunkSize = Math.max(pageSize, blockSize);
+                long chunk = reserve(chunkSize);
+                int blocksPerChunk = (int) (chunkSize / blockSize);
+                ensureCapacity(blocksPerChunk);
+                // pushed in reverse, so the blocks are handed out in address order.
+                for (int k = blocksPerChunk - 1; k >= 0; k--) {
+                    freeBlocks[freeCount++] = chunk + k * blockSize;
+                }
+            }
+            return freeBlocks[--freeCount];
+        }
+
+        private synchronized void free(long address) {
+            ensureCapacity(1);
+            freeBlocks[freeCount++] = address;
+        }
+
+        private synchronized void clear() {
+            freeBlocks = new long[0];
+            freeCount = 0;
+        }
+
+        private void ensureCapacity(int extra) {
+            int required = freeCount + extra;
+            if (required > freeBlocks.length) {
+                long[] newFreeBlocks = new long[nextPowerOfTwo(required)];
+                System.arraycopy(freeBlocks, 0, newFreeBlocks, 0, freeCount);
+                freeBlocks = newFreeBlocks;
+            }
+        }
+    }
+}
@@ -18,6 +18,8 @@ package com.hazelcast.jmx;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+
 import java.util.Hashtable;
 
 import static com.hazelcast.jmx.ManagementService.quote;
@@ -72,6 +74,19 @@ public class OperationServiceMBean extends HazelcastMBean<OperationService> {
         return managedObject.getExecutedOperationCount();
     }
 
+    @ManagedAnnotation("latencyHistograms")
+    @ManagedDescription("The p50, p99, p99.9 and max latencies in microseconds per operation class, "
+            + "partition operation thread and remote member")
+    public String getLatencyHistograms() {
+        if (!(managedObject instanceof InternalOperationService)) {
+            return "";
+        }
+
+        StringBuffer sb = new StringBuffer();
+        ((InternalOperationService) managedObject).dumpLatencyHistograms(sb);
+        return sb.toString();
+    }
+
     @ManagedAnnotation("operationThreadCount")
     @ManagedDescription("Number of threads executing operations")
     public long getOperationThreadCount() {
@@ -45,8 +45,8 @@ import java.util.Set;
  * </pre>
  * <p/>
  * This cache is evictable. The eviction can be configured with {@link com.hazelcast.config.QueryCacheConfig#evictionConfig
- * evictionConfig}. Events caused by {@code IMap} eviction are not reflected to this cache. But the events published after
- * an explicit call to {@link com.hazelcast.core.IMap#evict} are reflected to this cache.
+ * evictionConfig}. Entries evicted or expired from the {@code IMap} are removed from this cache as well, but entries
+ * loaded from a {@link com.hazelcast.core.MapStore} without an event are not reflected to this cache.
  * <p/>
  * <b>GOTCHAS</b>
  * <ul>
@@ -175,15 +175,12 @@ public interface QueryCache<K, V> {
     /**
      * This method can be used to recover from a possible event loss situation.
      * <p/>
-     * This method tries to make consistent the data in this {@code QueryCache} with the data in the underlying {@code IMap}
-     * by replaying the events after last consistently received ones. As a result of this replaying logic, same event may
-     * appear more than once to the {@code QueryCache} listeners.
-     * <p/>
-     * This method returns {@code false} if the event is not in the buffer of event publisher side. That means recovery is not
-     * possible.
+     * A partition of this {@code QueryCache} is recovered automatically when an event of it is found to be missing, by
+     * reading the matching entries of the partition again. When that fails, the partition is marked as lost; this method
+     * recovers the lost partitions and blocks until they are recovered. As a result of recovery, same event may appear
+     * more than once to the {@code QueryCache} listeners.
      *
-     * @return {@code true} if the {@code QueryCache} content will be eventually consistent, otherwise {@code false}.
-     * @see com.hazelcast.config.QueryCacheConfig#bufferSize
+     * @return {@code true} if no partition of this {@code QueryCache} is lost anymore, otherwise {@code false}.
      */
     boolean tryRecover();
 
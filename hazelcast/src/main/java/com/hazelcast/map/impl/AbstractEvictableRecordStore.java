@@ -20,6 +20,7 @@ import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.map.impl.eviction.EvictionOperator;
+import com.hazelcast.map.impl.eviction.ExpirationWheel;
 import com.hazelcast.map.impl.eviction.MaxSizeChecker;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.serialization.Data;
@@ -27,6 +28,7 @@ import com.hazelcast.spi.NodeEngine;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeUnit;
 
@@ -51,10 +53,9 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     private volatile boolean expirable;
 
     /**
-     * Iterates over a pre-set entry count/percentage in one round.
-     * Used in expiration logic for traversing entries. Initializes lazily.
+     * The keys that are scheduled for expiration (ttl or idle).
      */
-    private Iterator<Record> expirationIterator;
+    private final ExpirationWheel expirationWheel = new ExpirationWheel();
 
     /**
      * If there is no clean-up caused by puts after some time,
@@ -108,21 +109,18 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     }
 
     @Override
-    public void evictExpiredEntries(int percentage, boolean backup) {
+    public void evictExpiredEntries(boolean backup) {
         final long now = getNow();
-        final int size = size();
-        final int maxIterationCount = getMaxIterationCount(size, percentage);
-        final int maxRetry = 3;
-        int loop = 0;
-        int evictedEntryCount = 0;
-        while (true) {
-            evictedEntryCount += evictExpiredEntriesInternal(maxIterationCount, now, backup);
-            if (evictedEntryCount >= maxIterationCount) {
-                break;
+        final List<Data> dueKeys = expirationWheel.advance(now);
+        for (Data key : dueKeys) {
+            final Record record = records.get(key);
+            if (record == null) {
+                continue;
             }
-            loop++;
-            if (loop > maxRetry) {
-                break;
+            if (getOrNullIfExpired(record, now, backup) != null) {
+                // not expired yet, because it has been touched or it is locked or a backup.
+                final long expirationTime = isLocked(key) ? now : getExpirationTime(record, backup);
+                expirationWheel.schedule(key, expirationTime, now);
             }
         }
     }
@@ -132,45 +130,80 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         return expirable;
     }
 
+    @Override
+    public int getScheduledExpirationCount() {
+        return expirationWheel.size();
+    }
+
     /**
-     * Intended to put an upper bound to iterations. Used in evictions.
+     * Schedules the record in the expiration wheel, if this record store is expirable.
+     * Only needs to be called when the expiration time of a record can move backwards in time:
+     * when a record is created or when its TTL is set.
      *
-     * @param size       of iterate-able.
-     * @param percentage percentage of size.
-     * @return 100 If calculated iteration count is less than 100, otherwise returns calculated iteration count.
+     * @param record the record.
+     * @param now    now in millis.
      */
-    private int getMaxIterationCount(int size, int percentage) {
-        final int defaultMaxIterationCount = 100;
-        final float oneHundred = 100F;
-        float maxIterationCount = size * (percentage / oneHundred);
-        if (maxIterationCount <= defaultMaxIterationCount) {
-            return defaultMaxIterationCount;
+    protected void scheduleExpiration(Record record, long now) {
+        if (!expirable) {
+            return;
         }
-        return Math.round(maxIterationCount);
+        expirationWheel.schedule(record.getKey(), getExpirationTime(record, false), now);
     }
 
-    private int evictExpiredEntriesInternal(int maxIterationCount, long now, boolean backup) {
-        int evictedCount = 0;
-        int checkedEntryCount = 0;
-        initExpirationIterator();
-        while (expirationIterator.hasNext()) {
-            if (checkedEntryCount >= maxIterationCount) {
-                break;
-            }
-            checkedEntryCount++;
-            Record record = expirationIterator.next();
-            record = getOrNullIfExpired(record, now, backup);
-            if (record == null) {
-                evictedCount++;
-            }
+    /**
+     * Removes the key from the expiration wheel; called when its record is removed, so the wheel doesn't retain the
+     * key until its expiration time.
+     *
+     * @param key the key of the removed record.
+     */
+    protected void unscheduleExpiration(Data key) {
+        if (!expirable) {
+            return;
         }
-        return evictedCount;
+        expirationWheel.unschedule(key);
+    }
+
+    @Override
+    protected Record createRecord(Data key, Object value, long ttl, long now) {
+        final Record record = super.createRecord(key, value, ttl, now);
+        scheduleExpiration(record, now);
+        return record;
+    }
+
+    @Override
+    protected Record createRecord(Data key, Object value, long now) {
+        final Record record = super.createRecord(key, value, now);
+        scheduleExpiration(record, now);
+        return record;
+    }
+
+    protected void clearExpirationWheel() {
+        expirationWheel.clear();
     }
 
-    private void initExpirationIterator() {
-        if (expirationIterator == null || !expirationIterator.hasNext()) {
-            expirationIterator = records.values().iterator();
+    /**
+     * Calculates the time when a record expires by TTL or max idle time.
+     *
+     * @return the expiration time; {@link Long#MAX_VALUE} if the record doesn't expire.
+     */
+    private long getExpirationTime(Record record, boolean backup) {
+        long expirationTime = Long.MAX_VALUE;
+        final long ttl = record.getTtl();
+        if (ttl > 0L) {
+            final long ttlMillis = calculateExpirationWithDelay(ttl, backupExpiryDelayMillis, backup);
+            expirationTime = sumWithoutOverflow(record.getLastUpdateTime(), ttlMillis);
         }
+        final long maxIdleMillis = mapContainer.getMaxIdleMillis();
+        if (maxIdleMillis > 0L && maxIdleMillis != Long.MAX_VALUE) {
+            final long idleMillis = calculateExpirationWithDelay(maxIdleMillis, backupExpiryDelayMillis, backup);
+            expirationTime = Math.min(expirationTime, sumWithoutOverflow(record.getLastAccessTime(), idleMillis));
+        }
+        return expirationTime;
+    }
+
+    private static long sumWithoutOverflow(long time, long duration) {
+        final long sum = time + duration;
+        return sum < 0L ? Long.MAX_VALUE : sum;
     }
 
     protected void resetAccessSequenceNumber() {
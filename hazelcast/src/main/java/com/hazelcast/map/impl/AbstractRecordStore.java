@@ -22,8 +22,10 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.map.impl.record.RecordHashMap;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.IndexService;
 import com.hazelcast.query.impl.QueryEntry;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -35,8 +37,6 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.map.impl.SizeEstimators.createMapSizeEstimator;
 
@@ -47,8 +47,8 @@ abstract class AbstractRecordStore implements RecordStore {
 
     protected static final long DEFAULT_TTL = -1L;
 
-    // Concurrency level is 1 since at most one thread can write at a time.
-    protected final ConcurrentMap<Data, Record> records = new ConcurrentHashMap<Data, Record>(1000, 0.75f, 1);
+    // Only the partition thread writes, other threads can read.
+    protected final RecordHashMap records = new RecordHashMap();
 
     protected final RecordFactory recordFactory;
 
@@ -62,6 +62,8 @@ abstract class AbstractRecordStore implements RecordStore {
 
     protected final int partitionId;
 
+    protected final IndexService indexService;
+
     private SizeEstimator sizeEstimator;
 
     protected AbstractRecordStore(MapContainer mapContainer, int partitionId) {
@@ -72,6 +74,25 @@ abstract class AbstractRecordStore implements RecordStore {
         this.name = mapContainer.getName();
         this.recordFactory = mapContainer.getRecordFactory();
         this.sizeEstimator = createMapSizeEstimator();
+        this.indexService = mapContainer.isPartitionedIndexes()
+                ? createPartitionIndexService() : mapContainer.getIndexService();
+    }
+
+    /**
+     * Creates the indexes of this partition for all the indexes which are currently defined on the map.
+     * Indexes which are added later are created by the {@link com.hazelcast.map.impl.operation.AddIndexOperation}.
+     */
+    private IndexService createPartitionIndexService() {
+        IndexService partitionIndexService = new IndexService();
+        for (Index index : mapContainer.getIndexService().getIndexes()) {
+            partitionIndexService.addOrGetIndex(index.getAttributeName(), index.isOrdered(), index.isBitmap());
+        }
+        return partitionIndexService;
+    }
+
+    @Override
+    public IndexService getIndexService() {
+        return indexService;
     }
 
     @Override
@@ -152,7 +173,6 @@ abstract class AbstractRecordStore implements RecordStore {
 
     protected void saveIndex(Record record) {
         Data dataKey = record.getKey();
-        final IndexService indexService = mapContainer.getIndexService();
         if (indexService.hasIndex()) {
             SerializationService ss = mapServiceContext.getNodeEngine().getSerializationService();
             QueryableEntry queryableEntry = new QueryEntry(ss, dataKey, dataKey, record.getValue());
@@ -162,14 +182,12 @@ abstract class AbstractRecordStore implements RecordStore {
 
 
     protected void removeIndex(Data key) {
-        final IndexService indexService = mapContainer.getIndexService();
         if (indexService.hasIndex()) {
             indexService.removeEntryIndex(key);
         }
     }
 
     protected void removeIndex(Set<Data> keys) {
-        final IndexService indexService = mapContainer.getIndexService();
         if (indexService.hasIndex()) {
             for (Data key : keys) {
                 indexService.removeEntryIndex(key);
@@ -184,7 +202,6 @@ abstract class AbstractRecordStore implements RecordStore {
      * @param keysToPreserve do not remove these keys.
      */
     protected void removeIndexByPreservingKeys(Set<Data> keysToRemove, Set<Data> keysToPreserve) {
-        final IndexService indexService = mapContainer.getIndexService();
         if (indexService.hasIndex()) {
             for (Data key : keysToRemove) {
                 if (!keysToPreserve.contains(key)) {
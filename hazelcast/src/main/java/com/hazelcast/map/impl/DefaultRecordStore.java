@@ -21,13 +21,13 @@ import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.concurrent.lock.LockStore;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.MapStoreManager;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.merge.MapMergePolicy;
 import com.hazelcast.nio.serialization.Data;
-import com.hazelcast.query.impl.IndexService;
 import com.hazelcast.spi.DefaultObjectNamespace;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
@@ -154,7 +154,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
 
         final Record existingRecord = records.put(key, record);
         updateSizeEstimator(-calculateRecordHeapCost(existingRecord));
+        if (existingRecord != null && existingRecord != record) {
+            // releases the native memory of the replaced value
+            existingRecord.invalidate();
+        }
         updateSizeEstimator(calculateRecordHeapCost(record));
+        scheduleExpiration(record, getNow());
     }
 
     @Override
@@ -202,6 +207,11 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         return iterator(now, backup);
     }
 
+    @Override
+    public List<Record> getRandomSamples(int sampleCount) {
+        return records.getRandomSamples(sampleCount);
+    }
+
     @Override
     public Map<Data, Record> getRecordMap() {
         return records;
@@ -215,13 +225,15 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             final DefaultObjectNamespace namespace = new DefaultObjectNamespace(MapService.SERVICE_NAME, name);
             lockService.clearLockStore(partitionId, namespace);
         }
-        final IndexService indexService = mapContainer.getIndexService();
-        if (indexService.hasIndex()) {
+        if (mapContainer.isPartitionedIndexes()) {
+            indexService.clearIndexes();
+        } else if (indexService.hasIndex()) {
             for (Data key : records.keySet()) {
                 indexService.removeEntryIndex(key);
             }
         }
         clearRecordsMap(Collections.<Data, Record>emptyMap());
+        clearExpirationWheel();
         resetSizeEstimator();
         resetAccessSequenceNumber();
         mapDataStore.clear();
@@ -330,6 +342,26 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         return tempMap.entrySet();
     }
 
+    @Override
+    public MapEntriesWithCursor fetchEntries(int tableIndex, int size) {
+        checkIfLoaded();
+        final long now = getNow();
+
+        final List<Record> fetchedRecords = new ArrayList<Record>(size);
+        final int nextTableIndex = records.fetch(tableIndex, size, fetchedRecords);
+        final List<Map.Entry<Data, Data>> entries = new ArrayList<Map.Entry<Data, Data>>(fetchedRecords.size());
+        for (Record record : fetchedRecords) {
+            record = getOrNullIfExpired(record, now, false);
+            if (record == null) {
+                continue;
+            }
+            final Data key = record.getKey();
+            final Data value = toData(record.getValue());
+            entries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(key, value));
+        }
+        return new MapEntriesWithCursor(entries, nextTableIndex);
+    }
+
     @Override
     public Map.Entry<Data, Object> getMapEntry(Data key, long now) {
         checkIfLoaded();
@@ -430,6 +462,9 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
 
         final int numOfClearedEntries = keysToDelete.size();
         removeIndex(keysToDelete);
+        for (Data key : keysToDelete) {
+            unscheduleExpiration(key);
+        }
 
         clearRecordsMap(lockedRecords);
         resetAccessSequenceNumber();
@@ -440,6 +475,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
     @Override
     public void reset() {
         clearRecordsMap(Collections.<Data, Record>emptyMap());
+        clearExpirationWheel();
         resetSizeEstimator();
         resetAccessSequenceNumber();
         mapDataStore.clear();
@@ -480,6 +516,11 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
 
         flush(recordsToPreserve, backup);
         removeIndexByPreservingKeys(records.keySet(), recordsToPreserve.keySet());
+        for (Data key : records.keySet()) {
+            if (!recordsToPreserve.containsKey(key)) {
+                unscheduleExpiration(key);
+            }
+        }
         clearRecordsMap(recordsToPreserve);
 
         return sizeBeforeEviction - recordsToPreserve.size();
@@ -767,6 +808,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             // then increase size.
             updateSizeEstimator(calculateRecordHeapCost(record));
             updateExpiryTime(record, ttl, mapContainer.getMaxIdleMillis());
+            scheduleExpiration(record, now);
             saveIndex(record);
         }
         return oldValue;
@@ -797,6 +839,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             // then increase size.
             updateSizeEstimator(calculateRecordHeapCost(record));
             updateExpiryTime(record, ttl, mapContainer.getMaxIdleMillis());
+            scheduleExpiration(record, now);
         }
         saveIndex(record);
         return newRecord;
@@ -915,6 +958,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             updateRecord(record, value, now);
             updateSizeEstimator(calculateRecordHeapCost(record));
             updateExpiryTime(record, ttl, mapContainer.getMaxIdleMillis());
+            scheduleExpiration(record, now);
         }
         saveIndex(record);
         mapDataStore.addTransient(key, now);
@@ -948,6 +992,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             updateRecord(record, value, now);
             updateSizeEstimator(calculateRecordHeapCost(record));
             updateExpiryTime(record, ttl, mapContainer.getMaxIdleMillis());
+            scheduleExpiration(record, now);
         }
         saveIndex(record);
 
@@ -975,6 +1020,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             updateRecord(record, value, now);
             updateSizeEstimator(calculateRecordHeapCost(record));
             updateExpiryTime(record, ttl, mapContainer.getMaxIdleMillis());
+            scheduleExpiration(record, now);
         }
         saveIndex(record);
         return true;
@@ -1007,6 +1053,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             records.put(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
             updateExpiryTime(record, ttl, mapContainer.getMaxIdleMillis());
+            scheduleExpiration(record, now);
         }
         saveIndex(record);
         return oldValue;
@@ -1051,6 +1098,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         Record record = records.remove(key);
         if (record != null) {
             record.invalidate();
+            unscheduleExpiration(key);
         }
     }
 }
@@ -85,6 +85,8 @@ public class MapContainer {
 
     private final String quorumName;
 
+    private final boolean partitionedIndexes;
+
     private final IFunction<Object, Data> toDataFunction = new IFunction<Object, Data>() {
         @Override
         public Data apply(Object input) {
@@ -106,6 +108,7 @@ public class MapContainer {
         this.mapServiceContext = mapServiceContext;
         this.partitioningStrategy = createPartitioningStrategy();
         this.quorumName = mapConfig.getQuorumName();
+        this.partitionedIndexes = mapConfig.isPartitionedIndexes();
         final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         recordFactory = createRecordFactory(nodeEngine);
         initWanReplication(nodeEngine);
@@ -163,10 +166,21 @@ public class MapContainer {
         return strategy;
     }
 
+    /**
+     * Returns the member wide index service of this map. When {@link #isPartitionedIndexes()} is true, it only
+     * holds the index definitions and every record store keeps the index contents of its partition.
+     *
+     * @return the member wide index service.
+     * @see RecordStore#getIndexService()
+     */
     public IndexService getIndexService() {
         return indexService;
     }
 
+    public boolean isPartitionedIndexes() {
+        return partitionedIndexes;
+    }
+
     public WanReplicationPublisher getWanReplicationPublisher() {
         return wanReplicationPublisher;
     }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.operation.GetOperation;
 import com.hazelcast.map.impl.operation.PutBackupOperation;
 import com.hazelcast.map.impl.operation.PutOperation;
@@ -49,8 +50,9 @@ public final class MapDataSerializerHook implements DataSerializerHook {
 //    public static final int MAP_STATS = 12;
     public static final int QUERY_RESULT_ENTRY = 13;
     public static final int QUERY_RESULT_SET = 14;
+    public static final int ENTRIES_WITH_CURSOR = 15;
 
-    private static final int LEN = QUERY_RESULT_SET + 1;
+    private static final int LEN = ENTRIES_WITH_CURSOR + 1;
 
     public int getFactoryId() {
         return F_ID;
@@ -120,6 +122,11 @@ public final class MapDataSerializerHook implements DataSerializerHook {
                 return new QueryResultSet();
             }
         };
+        constructors[ENTRIES_WITH_CURSOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapEntriesWithCursor();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
 import com.hazelcast.map.impl.wan.MapReplicationRemove;
 import com.hazelcast.map.impl.wan.MapReplicationUpdate;
 import com.hazelcast.nio.Address;
@@ -67,7 +68,8 @@ class MapEventPublisherImpl implements MapEventPublisher {
                                 int numberOfEntriesAffected) {
         final Collection<EventRegistration> registrations = new LinkedList<EventRegistration>();
         for (EventRegistration registration : getRegistrations(mapName)) {
-            if (!(registration.getFilter() instanceof MapPartitionLostEventFilter)) {
+            final EventFilter filter = registration.getFilter();
+            if (!(filter instanceof MapPartitionLostEventFilter || filter instanceof QueryCacheEventFilter)) {
                 registrations.add(registration);
             }
         }
@@ -109,6 +111,11 @@ class MapEventPublisherImpl implements MapEventPublisher {
 
         for (final EventRegistration candidate : registrations) {
             final EventFilter filter = candidate.getFilter();
+            if (filter instanceof QueryCacheEventFilter) {
+                mapServiceContext.getQueryCachePublisher()
+                        .publish(mapName, candidate, eventType, dataKey, dataOldValue, dataValue);
+                continue;
+            }
             final Result result = applyEventFilter(filter, syntheticEvent, dataKey, dataOldValue, dataValue, eventType);
 
             registrationsWithValue = initRegistrationsWithValue(registrationsWithValue, result);
@@ -157,7 +164,10 @@ class MapEventPublisherImpl implements MapEventPublisher {
     @Override
     public void hintMapEvent(Address caller, String mapName, EntryEventType eventType,
                              int numberOfEntriesAffected, int partitionId) {
-        // NOP
+        // the query caches of the map drop the entries of the cleared partition
+        if (eventType == EntryEventType.CLEAR_ALL || eventType == EntryEventType.EVICT_ALL) {
+            mapServiceContext.getQueryCachePublisher().publishClear(mapName, partitionId);
+        }
     }
 
     private List<EventRegistration> initRegistrationsWithoutValue(List<EventRegistration> registrationsWithoutValue,
@@ -192,7 +202,7 @@ class MapEventPublisherImpl implements MapEventPublisher {
     protected Result applyEventFilter(EventFilter filter, boolean syntheticEvent, Data dataKey,
                                       Data dataOldValue, Data dataValue, EntryEventType eventType) {
 
-        if (filter instanceof MapPartitionLostEventFilter) {
+        if (filter instanceof MapPartitionLostEventFilter || filter instanceof QueryCacheEventFilter) {
             return Result.NONE;
         }
 
@@ -20,6 +20,8 @@ import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.IMapEvent;
 import com.hazelcast.core.MapEvent;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.impl.querycache.QueryCacheEventBatch;
+import com.hazelcast.map.impl.querycache.QueryCacheEventListener;
 import com.hazelcast.core.Member;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.spi.EventPublishingService;
@@ -56,6 +58,11 @@ class MapEventPublishingService implements EventPublishingService<EventData, Lis
             return;
         }
 
+        if (eventData instanceof QueryCacheEventBatch) {
+            ((QueryCacheEventListener) listener).onBatch((QueryCacheEventBatch) eventData);
+            return;
+        }
+
         throw new IllegalArgumentException("Unknown map event data");
     }
 
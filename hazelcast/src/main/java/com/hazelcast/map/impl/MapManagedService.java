@@ -47,6 +47,7 @@ class MapManagedService implements ManagedService {
                     new ObjectNamespaceLockStoreInfoConstructorFunction());
         }
         mapServiceContext.getExpirationManager().start();
+        mapServiceContext.getQueryCachePublisher().start();
     }
 
     @Override
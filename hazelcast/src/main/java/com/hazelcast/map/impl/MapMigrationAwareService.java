@@ -87,8 +87,11 @@ class MapMigrationAwareService implements MigrationAwareService {
         final PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
         for (RecordStore recordStore : container.getMaps().values()) {
             final MapContainer mapContainer = mapServiceContext.getMapContainer(recordStore.getName());
-            final IndexService indexService = mapContainer.getIndexService();
-            if (indexService.hasIndex()) {
+            final IndexService indexService = recordStore.getIndexService();
+            if (mapContainer.isPartitionedIndexes() && event.getMigrationEndpoint() == MigrationEndpoint.SOURCE) {
+                // the indexes of the partition are owned by its record store, they can be dropped at once
+                indexService.clearIndexes();
+            } else if (indexService.hasIndex()) {
                 final Iterator<Record> iterator = recordStore.iterator(now, false);
                 while (iterator.hasNext()) {
                     final Record record = iterator.next();
@@ -22,6 +22,7 @@ import com.hazelcast.map.impl.client.MapAddIndexRequest;
 import com.hazelcast.map.impl.client.MapAddInterceptorRequest;
 import com.hazelcast.map.impl.client.MapAddNearCacheEntryListenerRequest;
 import com.hazelcast.map.impl.client.MapAddPartitionLostListenerRequest;
+import com.hazelcast.map.impl.client.MapAddQueryCacheListenerRequest;
 import com.hazelcast.map.impl.client.MapClearRequest;
 import com.hazelcast.map.impl.client.MapContainsKeyRequest;
 import com.hazelcast.map.impl.client.MapContainsValueRequest;
@@ -33,6 +34,7 @@ import com.hazelcast.map.impl.client.MapExecuteOnAllKeysRequest;
 import com.hazelcast.map.impl.client.MapExecuteOnKeyRequest;
 import com.hazelcast.map.impl.client.MapExecuteOnKeysRequest;
 import com.hazelcast.map.impl.client.MapExecuteWithPredicateRequest;
+import com.hazelcast.map.impl.client.MapFetchEntriesRequest;
 import com.hazelcast.map.impl.client.MapFlushRequest;
 import com.hazelcast.map.impl.client.MapGetAllRequest;
 import com.hazelcast.map.impl.client.MapGetEntryViewRequest;
@@ -47,6 +49,7 @@ import com.hazelcast.map.impl.client.MapPutAllRequest;
 import com.hazelcast.map.impl.client.MapPutIfAbsentRequest;
 import com.hazelcast.map.impl.client.MapPutRequest;
 import com.hazelcast.map.impl.client.MapPutTransientRequest;
+import com.hazelcast.map.impl.client.MapQueryCacheSnapshotRequest;
 import com.hazelcast.map.impl.client.MapQueryRequest;
 import com.hazelcast.map.impl.client.MapRemoveEntryListenerRequest;
 import com.hazelcast.map.impl.client.MapRemoveIfSameRequest;
@@ -125,6 +128,9 @@ public class MapPortableHook implements PortableHook {
     public static final int ADD_NEAR_CACHE_ENTRY_LISTENER = 50;
     public static final int ADD_MAP_PARTITION_LOST_LISTENER = 51;
     public static final int REMOVE_MAP_PARTITION_LOST_LISTENER = 52;
+    public static final int ADD_QUERY_CACHE_LISTENER = 53;
+    public static final int QUERY_CACHE_SNAPSHOT = 54;
+    public static final int FETCH_ENTRIES = 55;
 
     public int getFactoryId() {
         return F_ID;
@@ -133,7 +139,7 @@ public class MapPortableHook implements PortableHook {
     public PortableFactory createFactory() {
         return new PortableFactory() {
             final ConstructorFunction<Integer, Portable>[] constructors
-                    = new ConstructorFunction[REMOVE_MAP_PARTITION_LOST_LISTENER + 1];
+                    = new ConstructorFunction[FETCH_ENTRIES + 1];
 
             {
                 constructors[GET] = new ConstructorFunction<Integer, Portable>() {
@@ -422,6 +428,24 @@ public class MapPortableHook implements PortableHook {
                         return new MapRemovePartitionLostListenerRequest();
                     }
                 };
+
+                constructors[ADD_QUERY_CACHE_LISTENER] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapAddQueryCacheListenerRequest();
+                    }
+                };
+
+                constructors[QUERY_CACHE_SNAPSHOT] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapQueryCacheSnapshotRequest();
+                    }
+                };
+
+                constructors[FETCH_ENTRIES] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapFetchEntriesRequest();
+                    }
+                };
             }
 
             public Portable create(int classId) {
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.map.impl.eviction.EvictionOperator;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
+import com.hazelcast.map.impl.querycache.QueryCachePublisher;
 import com.hazelcast.map.merge.MergePolicyProvider;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.NodeEngine;
@@ -100,6 +101,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     MapContextQuerySupport getMapContextQuerySupport();
 
+    QueryCachePublisher getQueryCachePublisher();
+
     LocalMapStatsProvider getLocalMapStatsProvider();
 
     /**
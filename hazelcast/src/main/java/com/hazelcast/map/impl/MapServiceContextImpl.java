@@ -22,6 +22,7 @@ import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.impl.eviction.EvictionOperator;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
+import com.hazelcast.map.impl.querycache.QueryCachePublisher;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.map.merge.MergePolicyProvider;
 import com.hazelcast.nio.serialization.Data;
@@ -75,6 +76,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final LocalMapStatsProvider localMapStatsProvider;
     private final MergePolicyProvider mergePolicyProvider;
     private final MapContextQuerySupport mapContextQuerySupport;
+    private final QueryCachePublisher queryCachePublisher;
     private MapEventPublisher mapEventPublisher;
     private EvictionOperator evictionOperator;
     private MapService mapService;
@@ -92,6 +94,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
         this.mapEventPublisher = createMapEventPublisherSupport();
         this.mapContextQuerySupport = new BasicMapContextQuerySupport(this);
+        this.queryCachePublisher = new QueryCachePublisher(this);
     }
 
     MapEventPublisherImpl createMapEventPublisherSupport() {
@@ -259,6 +262,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return mapContextQuerySupport;
     }
 
+    @Override
+    public QueryCachePublisher getQueryCachePublisher() {
+        return queryCachePublisher;
+    }
+
     @Override
     public LocalMapStatsProvider getLocalMapStatsProvider() {
         return localMapStatsProvider;
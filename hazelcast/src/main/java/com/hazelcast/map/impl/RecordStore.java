@@ -17,10 +17,12 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.core.EntryView;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.merge.MapMergePolicy;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.IndexService;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 
 import java.util.Collection;
@@ -178,6 +180,15 @@ public interface RecordStore {
      */
     Iterator<Record> loadAwareIterator(long now, boolean backup);
 
+    /**
+     * Returns a small number of records picked at a random position of the record store. Used for sampling
+     * based eviction, so no full iteration over the records is needed to find eviction candidates.
+     *
+     * @param sampleCount the maximum number of records to return.
+     * @return the sampled records; empty if the record store is empty.
+     */
+    List<Record> getRandomSamples(int sampleCount);
+
     /**
      * Returns records map.
      *
@@ -221,6 +232,28 @@ public interface RecordStore {
 
     Set<Map.Entry<Data, Data>> entrySetData();
 
+    /**
+     * Fetches a batch of non-expired entries, walking down the records map from the given table index. Used by the
+     * iterator of {@link com.hazelcast.core.IMap} to traverse a partition in batches instead of copying all its
+     * entries at once.
+     *
+     * @param tableIndex the table index to start at; {@link Integer#MAX_VALUE} to start a new traversal.
+     * @param size       the maximum number of entries to fetch.
+     * @return the fetched entries and the table index to continue at.
+     * @see com.hazelcast.map.impl.record.RecordHashMap#fetch(int, int, List)
+     */
+    MapEntriesWithCursor fetchEntries(int tableIndex, int size);
+
+    /**
+     * Returns the indexes which the entries of this record store are saved into. That is the member wide
+     * index service of the map, unless the map is configured with partitioned indexes; then every record store
+     * owns its indexes.
+     *
+     * @return the index service of this record store.
+     * @see com.hazelcast.config.MapConfig#isPartitionedIndexes()
+     */
+    IndexService getIndexService();
+
     Map.Entry<Data, Object> getMapEntry(Data dataKey, long now);
 
     void flush();
@@ -242,12 +275,19 @@ public interface RecordStore {
     boolean isEmpty();
 
     /**
-     * Do expiration operations.
+     * Do expiration operations: evicts the records that are scheduled for expiration and whose TTL or
+     * max idle time has passed.
+     *
+     * @param backup <code>true</code> if a backup partition, otherwise <code>false</code>.
+     */
+    void evictExpiredEntries(boolean backup);
+
+    /**
+     * Returns the number of keys that are scheduled for expiration. Can be called by any thread.
      *
-     * @param percentage of max expirables according to the record store size.
-     * @param backup     <code>true</code> if a backup partition, otherwise <code>false</code>.
+     * @return the number of scheduled keys.
      */
-    void evictExpiredEntries(int percentage, boolean backup);
+    int getScheduledExpirationCount();
 
     /**
      * @return <code>true</code> if record store has at least one candidate entry
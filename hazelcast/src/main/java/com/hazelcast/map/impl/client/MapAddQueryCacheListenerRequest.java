@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.client;
+
+import com.hazelcast.client.ClientEndpoint;
+import com.hazelcast.client.impl.client.CallableClientRequest;
+import com.hazelcast.client.impl.client.RetryableRequest;
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.map.impl.MapPortableHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.querycache.QueryCacheEventBatch;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheEventListener;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.EventService;
+
+import java.io.IOException;
+import java.security.Permission;
+
+/**
+ * Registers the listener of a {@link com.hazelcast.map.QueryCache} living on a client; the batches of events are
+ * forwarded to the client.
+ */
+public class MapAddQueryCacheListenerRequest extends CallableClientRequest implements RetryableRequest {
+
+    private String name;
+    private QueryCacheEventFilter filter;
+
+    public MapAddQueryCacheListenerRequest() {
+    }
+
+    public MapAddQueryCacheListenerRequest(String name, QueryCacheEventFilter filter) {
+        this.name = name;
+        this.filter = filter;
+    }
+
+    @Override
+    public Object call() {
+        final ClientEndpoint endpoint = getEndpoint();
+        final QueryCacheEventListener listener = new QueryCacheEventListener() {
+            @Override
+            public void onBatch(QueryCacheEventBatch batch) {
+                if (endpoint.isAlive()) {
+                    endpoint.sendEvent(null, batch, getCallId());
+                }
+            }
+
+            @Override
+            public void onEvent(IMapEvent event) {
+            }
+        };
+
+        final EventService eventService = getClientEngine().getEventService();
+        final String registrationId = eventService.registerListener(MapService.SERVICE_NAME, name, filter, listener).getId();
+        endpoint.setListenerRegistration(MapService.SERVICE_NAME, name, registrationId);
+        return registrationId;
+    }
+
+    @Override
+    public void write(PortableWriter writer) throws IOException {
+        writer.writeUTF("name", name);
+        writer.getRawDataOutput().writeObject(filter);
+    }
+
+    @Override
+    public void read(PortableReader reader) throws IOException {
+        name = reader.readUTF("name");
+        filter = reader.getRawDataInput().readObject();
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "getQueryCache";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{filter.getPredicate(), filter.isIncludeValue()};
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapPortableHook.ADD_QUERY_CACHE_LISTENER;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(name, ActionConstants.ACTION_LISTEN);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return name;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.client;
+
+import com.hazelcast.client.impl.client.PartitionClientRequest;
+import com.hazelcast.client.impl.client.RetryableRequest;
+import com.hazelcast.client.impl.client.SecureRequest;
+import com.hazelcast.map.impl.MapPortableHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.MapFetchEntriesOperation;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.security.Permission;
+
+/**
+ * Fetches a batch of entries of a partition for the iterator of a client side {@link com.hazelcast.core.IMap}.
+ *
+ * @see MapFetchEntriesOperation
+ */
+public class MapFetchEntriesRequest extends PartitionClientRequest implements Portable, RetryableRequest, SecureRequest {
+
+    private String name;
+    private int partitionId;
+    private int tableIndex;
+    private int fetchSize;
+
+    public MapFetchEntriesRequest() {
+    }
+
+    public MapFetchEntriesRequest(String name, int partitionId, int tableIndex, int fetchSize) {
+        this.name = name;
+        this.partitionId = partitionId;
+        this.tableIndex = tableIndex;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    protected Operation prepareOperation() {
+        return new MapFetchEntriesOperation(name, tableIndex, fetchSize);
+    }
+
+    @Override
+    protected int getPartition() {
+        return partitionId;
+    }
+
+    @Override
+    public void write(PortableWriter writer) throws IOException {
+        writer.writeUTF("n", name);
+        writer.writeInt("p", partitionId);
+        writer.writeInt("t", tableIndex);
+        writer.writeInt("f", fetchSize);
+    }
+
+    @Override
+    public void read(PortableReader reader) throws IOException {
+        name = reader.readUTF("n");
+        partitionId = reader.readInt("p");
+        tableIndex = reader.readInt("t");
+        fetchSize = reader.readInt("f");
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "iterator";
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapPortableHook.FETCH_ENTRIES;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(name, ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return name;
+    }
+}
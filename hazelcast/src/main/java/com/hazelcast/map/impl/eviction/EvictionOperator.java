@@ -20,6 +20,7 @@ import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MaxSizeConfig;
 import com.hazelcast.core.EntryEventType;
+import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.map.impl.MapEventPublisher;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.RecordStore;
@@ -30,9 +31,6 @@ import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.util.MemoryInfoAccessor;
 
-import java.util.Arrays;
-import java.util.Iterator;
-
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 
 /**
@@ -43,6 +41,7 @@ public final class EvictionOperator {
     private static final int ONE_HUNDRED_PERCENT = 100;
     private MapServiceContext mapServiceContext;
     private MaxSizeChecker maxSizeChecker;
+    private MapEvictionStrategy evictionStrategy;
 
     private EvictionOperator() {
     }
@@ -52,6 +51,7 @@ public final class EvictionOperator {
         final MaxSizeChecker maxSizeChecker = new MaxSizeChecker(mapServiceContext);
         evictionOperator.setMaxSizeChecker(maxSizeChecker);
         evictionOperator.setMapServiceContext(mapServiceContext);
+        evictionOperator.setEvictionStrategy(createEvictionStrategy(evictionOperator, mapServiceContext));
 
         return evictionOperator;
     }
@@ -61,6 +61,7 @@ public final class EvictionOperator {
         final MaxSizeChecker maxSizeChecker = new MaxSizeChecker(memoryInfoAccessor, mapServiceContext);
         evictionOperator.setMaxSizeChecker(maxSizeChecker);
         evictionOperator.setMapServiceContext(mapServiceContext);
+        evictionOperator.setEvictionStrategy(createEvictionStrategy(evictionOperator, mapServiceContext));
 
         return evictionOperator;
     }
@@ -69,6 +70,24 @@ public final class EvictionOperator {
         this.mapServiceContext = mapServiceContext;
     }
 
+    private static MapEvictionStrategy createEvictionStrategy(EvictionOperator evictionOperator,
+                                                              MapServiceContext mapServiceContext) {
+        final GroupProperties groupProperties = mapServiceContext.getNodeEngine().getGroupProperties();
+        final MapEvictionStrategyType type = MapEvictionStrategyType.parse(groupProperties.MAP_EVICTION_STRATEGY.getString());
+        switch (type) {
+            case SORTING:
+                return new SortingMapEvictionStrategy(evictionOperator);
+            case SAMPLING:
+                return new SamplingMapEvictionStrategy(evictionOperator);
+            default:
+                throw new IllegalArgumentException("Not an appropriate eviction strategy [" + type + ']');
+        }
+    }
+
+    public void setEvictionStrategy(MapEvictionStrategy evictionStrategy) {
+        this.evictionStrategy = evictionStrategy;
+    }
+
     public void setMaxSizeChecker(MaxSizeChecker maxSizeChecker) {
         this.maxSizeChecker = maxSizeChecker;
     }
@@ -77,79 +96,32 @@ public final class EvictionOperator {
         return maxSizeChecker;
     }
 
+    public MapEvictionStrategy getEvictionStrategy() {
+        return evictionStrategy;
+    }
+
     public void removeEvictableRecords(RecordStore recordStore, int evictableSize, MapConfig mapConfig, boolean backup) {
-        final MapServiceContext mapServiceContext = this.mapServiceContext;
-        final EvictionPolicy evictionPolicy = mapConfig.getEvictionPolicy();
-        // criteria is a long value, like last access times or hits,
-        // used for calculating LFU or LRU.
-        final long[] criterias = createAndPopulateEvictionCriteriaArray(recordStore, evictionPolicy);
-        if (criterias == null) {
-            return;
-        }
-        Arrays.sort(criterias);
-        // check in case record store size may be smaller than evictable size.
-        final int evictableBaseIndex = getEvictionStartIndex(criterias, evictableSize);
-        final long criteriaValue = criterias[evictableBaseIndex];
-        int evictedRecordCounter = 0;
-        String mapName = recordStore.getName();
-        final Iterator<Record> iterator = recordStore.iterator();
-        while (iterator.hasNext()) {
-            final Record record = iterator.next();
-            final long value = getEvictionCriteriaValue(record, evictionPolicy);
-            if (value <= criteriaValue) {
-                final Data tmpKey = record.getKey();
-                final Object tmpValue = record.getValue();
-                if (evictIfNotLocked(tmpKey, recordStore, backup)) {
-                    evictedRecordCounter++;
-                    if (!backup) {
-                        mapServiceContext.interceptAfterRemove(mapName, value);
-                        fireEvent(tmpKey, tmpValue, mapName, mapServiceContext);
-                    }
-                }
-            }
-            if (evictedRecordCounter >= evictableSize) {
-                break;
-            }
-        }
+        evictionStrategy.removeEvictableRecords(recordStore, evictableSize, mapConfig, backup);
     }
 
-    private long[] createAndPopulateEvictionCriteriaArray(RecordStore recordStore,
-                                                          EvictionPolicy evictionPolicy) {
-        final int size = recordStore.size();
-        long[] criterias = null;
-        int index = 0;
-        final Iterator<Record> iterator = recordStore.iterator();
-        while (iterator.hasNext()) {
-            final Record record = iterator.next();
-            if (criterias == null) {
-                criterias = new long[size];
-            }
-            criterias[index] = getEvictionCriteriaValue(record, evictionPolicy);
-            index++;
-            //in case size may change (increase or decrease) when iterating.
-            if (index == size) {
-                break;
-            }
-        }
-        if (criterias == null) {
-            return null;
+    /**
+     * Evicts the record if its key is not locked and, if the record store is not a backup, notifies the interceptors
+     * and listeners of the map.
+     *
+     * @return true if the record is evicted.
+     */
+    boolean evictRecord(RecordStore recordStore, Record record, boolean backup) {
+        final Data key = record.getKey();
+        final Object value = record.getValue();
+        if (!evictIfNotLocked(key, recordStore, backup)) {
+            return false;
         }
-        // just in case there may be unassigned indexes in criterias array due to size variances
-        // assign them to Long.MAX_VALUE so when sorting asc they will locate
-        // in the upper array indexes and we wont care about them.
-        if (index < criterias.length) {
-            for (int i = index; i < criterias.length; i++) {
-                criterias[i] = Long.MAX_VALUE;
-            }
+        if (!backup) {
+            final String mapName = recordStore.getName();
+            mapServiceContext.interceptAfterRemove(mapName, value);
+            fireEvent(key, value, mapName, mapServiceContext);
         }
-        return criterias;
-    }
-
-    private int getEvictionStartIndex(long[] criterias, int evictableSize) {
-        final int length = criterias.length;
-        final int sizeToEvict = Math.min(evictableSize, length);
-        final int index = sizeToEvict - 1;
-        return index < 0 ? 0 : index;
+        return true;
     }
 
     public void fireEvent(Data key, Object value, String mapName, MapServiceContext mapServiceContext) {
@@ -179,6 +151,13 @@ public final class EvictionOperator {
 
 
     public int evictableSize(int currentPartitionSize, MapConfig mapConfig) {
+        return evictionStrategy.evictableSize(currentPartitionSize, mapConfig);
+    }
+
+    /**
+     * Calculates the number of records to evict from a partition according to the eviction percentage of the map.
+     */
+    int percentageEvictableSize(int currentPartitionSize, MapConfig mapConfig) {
         final int maxSize = mapConfig.getMaxSizeConfig().getSize();
         int evictableSize;
         final MaxSizeConfig.MaxSizePolicy maxSizePolicy = mapConfig.getMaxSizeConfig().getMaxSizePolicy();
@@ -214,7 +193,7 @@ public final class EvictionOperator {
         return evictableSize;
     }
 
-    private long getEvictionCriteriaValue(Record record, EvictionPolicy evictionPolicy) {
+    long getEvictionCriteriaValue(Record record, EvictionPolicy evictionPolicy) {
         long value;
         switch (evictionPolicy) {
             case LRU:
@@ -42,9 +42,9 @@ import java.util.concurrent.TimeUnit;
  */
 public class ExpirationManager {
 
-    private static final long INITIAL_DELAY = 5;
+    private static final long INITIAL_DELAY = 1;
 
-    private static final long PERIOD = 5;
+    private static final long PERIOD = 1;
 
     private static final TimeUnit UNIT = TimeUnit.SECONDS;
 
@@ -66,12 +66,12 @@ public class ExpirationManager {
      * Periodically clears expired entries.(ttl & idle)
      * This task provides per partition expiration operation logic. (not per map, not per record store).
      * Fires cleanup operations at most partition operation thread count or some factor of it in one round.
+     * A cleanup operation only processes the keys that are due in the {@link ExpirationWheel} of a record store,
+     * so running every second is cheap and entries are removed shortly after they expire.
      */
     private class ClearExpiredRecordsTask implements Runnable {
 
-        private static final int EXPIRATION_PERCENTAGE = 10;
-
-        private static final long MIN_MILLIS_DIFF_BETWEEN_TWO_RUNS = 1000;
+        private static final long MIN_MILLIS_DIFF_BETWEEN_TWO_RUNS = 500;
 
         private final Comparator<PartitionContainer> partitionContainerComparator = new Comparator<PartitionContainer>() {
             @Override
@@ -139,13 +139,12 @@ public class ExpirationManager {
                 // mark partition container as has on going expiration operation.
                 container.setHasRunningCleanup(true);
                 OperationService operationService = ExpirationManager.this.nodeEngine.getOperationService();
-                operationService.executeOperation(createExpirationOperation(EXPIRATION_PERCENTAGE,
-                        container.getPartitionId()));
+                operationService.executeOperation(createExpirationOperation(container.getPartitionId()));
             }
         }
 
         private boolean expirable(RecordStore recordStore) {
-            return recordStore.isExpirable();
+            return recordStore.getScheduledExpirationCount() > 0;
         }
 
         private boolean hasRunningCleanup(PartitionContainer partitionContainer) {
@@ -174,8 +173,8 @@ public class ExpirationManager {
         }
 
         /**
-         * Here we check if that partition has any expirable record or not,
-         * if no expirable record exists in that partition no need to fire an expiration operation.
+         * Here we check if that partition has any record that is scheduled for expiration or not,
+         * if no such record exists in that partition no need to fire an expiration operation.
          *
          * @param partitionContainer corresponding partition container.
          * @return <code>true</code> if no expirable record in that partition <code>false</code> otherwise.
@@ -193,8 +192,8 @@ public class ExpirationManager {
         }
     }
 
-    private Operation createExpirationOperation(int expirationPercentage, int partitionId) {
-        final ClearExpiredOperation clearExpiredOperation = new ClearExpiredOperation(expirationPercentage);
+    private Operation createExpirationOperation(int partitionId) {
+        final ClearExpiredOperation clearExpiredOperation = new ClearExpiredOperation();
         clearExpiredOperation
                 .setNodeEngine(nodeEngine)
                 .setCallerUuid(nodeEngine.getLocalMember().getUuid())
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+
+/**
+ * A hashed timing wheel with the keys of a record store that are scheduled for expiration.
+ * <p/>
+ * Time is divided in ticks; a key is put in the slot of the tick of its expiration time. Advancing the wheel only
+ * visits the slots of the ticks that passed, so the cost of finding the expired keys is proportional to the number
+ * of keys that expire, and not to the number of records. A slot can also contain keys that expire a number of
+ * revolutions later; they are skipped until their tick is reached.
+ * <p/>
+ * The wheel is lazy: the expiration time of a record moves forward on every update and access, but that doesn't
+ * require rescheduling. A key that is returned by {@link #advance(long)} should be checked against its record,
+ * and scheduled again if the record didn't expire yet. Only an expiration time earlier than the scheduled one
+ * reschedules the key. A key whose record is removed should be {@link #unschedule(Data) unscheduled}, so the wheel
+ * doesn't retain it until its expiration time.
+ * <p/>
+ * This class is not thread-safe; it is only accessed by the partition thread. Only {@link #size()} can be called
+ * by other threads.
+ */
+public final class ExpirationWheel {
+
+    /**
+     * The default duration of a tick in milliseconds.
+     */
+    public static final long DEFAULT_TICK_MILLIS = 1000;
+
+    /**
+     * The default number of slots; with the default tick a revolution takes a little over 4 minutes.
+     */
+    public static final int DEFAULT_SLOT_COUNT = 256;
+
+    private final long tickMillis;
+    private final int mask;
+    private final Map<Data, Entry> scheduled = new HashMap<Data, Entry>();
+    private List<Entry>[] slots;
+    // the last tick that has been processed; -1 if the wheel has not been used yet.
+    private long processedTick = -1;
+    private volatile int size;
+
+    public ExpirationWheel() {
+        this(DEFAULT_TICK_MILLIS, DEFAULT_SLOT_COUNT);
+    }
+
+    /**
+     * Creates an ExpirationWheel.
+     *
+     * @param tickMillis the duration of a tick in milliseconds.
+     * @param slotCount  the number of slots; should be a power of two.
+     * @throws IllegalArgumentException if tickMillis or slotCount is not positive or slotCount is not a power of two.
+     */
+    public ExpirationWheel(long tickMillis, int slotCount) {
+        checkPositive(tickMillis, "tickMillis should be positive");
+        checkPositive(slotCount, "slotCount should be positive");
+        if (!isPowerOfTwo(slotCount)) {
+            throw new IllegalArgumentException("slotCount should be a power of 2, but was " + slotCount);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Schedules the key for expiration. If the key already is scheduled at an earlier or the same tick, the call
+     * is ignored.
+     *
+     * @param key            the key.
+     * @param expirationTime the expiration time in milliseconds; {@link Long#MAX_VALUE} if the key never expires.
+     * @param now            the current time in milliseconds.
+     */
+    @SuppressWarnings("unchecked")
+    public void schedule(Data key, long expirationTime, long now) {
+        if (expirationTime == Long.MAX_VALUE) {
+            return;
+        }
+        if (processedTick < 0) {
+            processedTick = toTick(now) - 1;
+            slots = new List[mask + 1];
+        }
+
+        // round up so a key is never returned before its expiration time.
+        long tick = toTick(expirationTime) + 1;
+        if (tick <= processedTick) {
+            tick = processedTick + 1;
+        }
+
+        Entry current = scheduled.get(key);
+        if (current != null) {
+            if (current.tick <= tick) {
+                return;
+            }
+            removeFromSlot(current);
+        }
+
+        Entry entry = new Entry(key, tick);
+        scheduled.put(key, entry);
+        int slotIndex = (int) (tick & mask);
+        List<Entry> slot = slots[slotIndex];
+        if (slot == null) {
+            slot = new ArrayList<Entry>();
+            slots[slotIndex] = slot;
+        }
+        entry.index = slot.size();
+        slot.add(entry);
+        size = scheduled.size();
+    }
+
+    /**
+     * Removes the key from the wheel, if it is scheduled.
+     *
+     * @param key the key.
+     */
+    public void unschedule(Data key) {
+        Entry entry = scheduled.remove(key);
+        if (entry == null) {
+            return;
+        }
+        removeFromSlot(entry);
+        size = scheduled.size();
+    }
+
+    /**
+     * Advances the wheel to the given time and removes the keys that are due.
+     *
+     * @param now the current time in milliseconds.
+     * @return the keys that are due; they are no longer scheduled.
+     */
+    public List<Data> advance(long now) {
+        long nowTick = toTick(now);
+        if (processedTick < 0 || nowTick <= processedTick) {
+            return Collections.emptyList();
+        }
+        if (scheduled.isEmpty()) {
+            // drops the slot lists, so an idle wheel doesn't retain their capacity.
+            clear();
+            return Collections.emptyList();
+        }
+
+        // when more than a revolution has passed, every slot is visited once.
+        long firstTick = Math.max(processedTick + 1, nowTick - mask);
+        List<Data> due = null;
+        for (long tick = firstTick; tick <= nowTick; tick++) {
+            due = drainSlot(slots[(int) (tick & mask)], nowTick, due);
+        }
+        processedTick = nowTick;
+        size = scheduled.size();
+        return due == null ? Collections.<Data>emptyList() : due;
+    }
+
+    private List<Data> drainSlot(List<Entry> slot, long nowTick, List<Data> due) {
+        if (slot == null) {
+            return due;
+        }
+
+        int k = 0;
+        while (k < slot.size()) {
+            Entry entry = slot.get(k);
+            if (entry.tick > nowTick) {
+                k++;
+                continue;
+            }
+
+            removeFromSlot(slot, entry);
+            scheduled.remove(entry.key);
+            if (due == null) {
+                due = new ArrayList<Data>();
+            }
+            due.add(entry.key);
+        }
+        return due;
+    }
+
+    private void removeFromSlot(Entry entry) {
+        removeFromSlot(slots[(int) (entry.tick & mask)], entry);
+    }
+
+    // the order within a slot doesn't matter, so the last entry is moved into the gap.
+    private static void removeFromSlot(List<Entry> slot, Entry entry) {
+        int last = slot.size() - 1;
+        Entry lastEntry = slot.remove(last);
+        if (lastEntry != entry) {
+            slot.set(entry.index, lastEntry);
+            lastEntry.index = entry.index;
+        }
+    }
+
+    /**
+     * Removes all scheduled keys.
+     */
+    public void clear() {
+        scheduled.clear();
+        slots = null;
+        processedTick = -1;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of scheduled keys. Can be called by any thread.
+     *
+     * @return the number of scheduled keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    private long toTick(long timeMillis) {
+        return timeMillis / tickMillis;
+    }
+
+    private static final class Entry {
+        private final Data key;
+        private final long tick;
+        // the position of the entry in its slot.
+        private int index;
+
+        private Entry(Data key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+}
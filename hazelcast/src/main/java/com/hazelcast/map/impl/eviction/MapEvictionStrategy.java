@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.impl.RecordStore;
+
+/**
+ * Selects and evicts records of a {@link RecordStore} when the max size of its map is reached.
+ *
+ * @see MapEvictionStrategyType
+ * @see com.hazelcast.instance.GroupProperties#PROP_MAP_EVICTION_STRATEGY
+ */
+public interface MapEvictionStrategy {
+
+    /**
+     * Calculates the number of records to evict from a partition.
+     *
+     * @param currentPartitionSize the number of records in the partition.
+     * @param mapConfig            the config of the map.
+     * @return the number of records to evict.
+     */
+    int evictableSize(int currentPartitionSize, MapConfig mapConfig);
+
+    /**
+     * Evicts up to evictableSize records according to the eviction policy of the map. Locked records are not evicted.
+     *
+     * @param recordStore   the record store to evict from.
+     * @param evictableSize the number of records to evict.
+     * @param mapConfig     the config of the map.
+     * @param backup        true if the record store is a backup.
+     * @return the number of evicted records.
+     */
+    int removeEvictableRecords(RecordStore recordStore, int evictableSize, MapConfig mapConfig, boolean backup);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+/**
+ * Types of {@link MapEvictionStrategy}.
+ *
+ * @see com.hazelcast.instance.GroupProperties#PROP_MAP_EVICTION_STRATEGY
+ */
+public enum MapEvictionStrategyType {
+
+    /**
+     * Sorts the eviction criteria of all records of the partition and evicts the records below the threshold
+     * that follows from the eviction percentage. This is the default; the eviction is exact, but its cost is
+     * proportional to the size of the partition.
+     */
+    SORTING,
+
+    /**
+     * Evicts the least recently or least frequently used record out of a small random sample, once per evicted
+     * record, and only evicts down to the max size. The cost is proportional to the number of evicted records and
+     * not to the size of the partition, but the eviction is approximate.
+     */
+    SAMPLING;
+
+    /**
+     * Parses the eviction strategy type case insensitively.
+     *
+     * @param value the name of the eviction strategy type.
+     * @return the eviction strategy type.
+     * @throws IllegalArgumentException if the value is not the name of an eviction strategy type.
+     */
+    public static MapEvictionStrategyType parse(String value) {
+        for (MapEvictionStrategyType type : values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown map eviction strategy: '" + value + "'");
+    }
+}
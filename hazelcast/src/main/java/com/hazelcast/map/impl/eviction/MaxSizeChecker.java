@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.eviction;
 
+import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MaxSizeConfig;
 import com.hazelcast.config.MaxSizeConfig.MaxSizePolicy;
 import com.hazelcast.map.impl.MapContainer;
@@ -232,6 +233,28 @@ public class MaxSizeChecker {
         return -1;
     }
 
+    /**
+     * Get the approximate max number of entries of a single partition, using the same threshold as is used
+     * when deciding evictable or not.
+     *
+     * @return max partition size or -1 if the max size policy is not entry count based
+     */
+    public int getApproximateMaxPartitionSize(MapConfig mapConfig) {
+        final MaxSizeConfig maxSizeConfig = mapConfig.getMaxSizeConfig();
+        final int maxSize = getApproximateMaxSize(maxSizeConfig.getSize());
+        switch (maxSizeConfig.getMaxSizePolicy()) {
+            case PER_PARTITION:
+                return maxSize;
+            case PER_NODE:
+                final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+                final int memberCount = nodeEngine.getClusterService().getMembers().size();
+                final int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+                return (int) ((long) maxSize * memberCount / partitionCount);
+            default:
+                return -1;
+        }
+    }
+
     private List<Integer> findPartitionIds() {
         final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         final InternalPartitionService partitionService = nodeEngine.getPartitionService();
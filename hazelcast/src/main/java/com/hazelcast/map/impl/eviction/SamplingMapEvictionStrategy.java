@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.impl.RecordStore;
+import com.hazelcast.map.impl.record.Record;
+
+import java.util.List;
+
+/**
+ * {@link MapEvictionStrategy} that evicts the record with the lowest eviction criteria out of a small random sample
+ * of the records, like the sampling based eviction of the JCache implementation
+ * ({@link com.hazelcast.cache.impl.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy}).
+ * <p/>
+ * For the entry count based max size policies only the records above the max size are evicted and the eviction
+ * percentage is not used; so the cost of an eviction is proportional to the number of puts since the last eviction
+ * and not to the size of the partition. For the heap based policies the eviction percentage is used.
+ */
+final class SamplingMapEvictionStrategy implements MapEvictionStrategy {
+
+    static final int SAMPLE_COUNT = 15;
+
+    // bounds the number of samples taken when most of the sampled records are locked.
+    private static final int MAX_SAMPLES_PER_EVICTION = 2;
+
+    private final EvictionOperator evictionOperator;
+
+    SamplingMapEvictionStrategy(EvictionOperator evictionOperator) {
+        this.evictionOperator = evictionOperator;
+    }
+
+    @Override
+    public int evictableSize(int currentPartitionSize, MapConfig mapConfig) {
+        final MaxSizeChecker maxSizeChecker = evictionOperator.getMaxSizeChecker();
+        final int maxPartitionSize = maxSizeChecker.getApproximateMaxPartitionSize(mapConfig);
+        if (maxPartitionSize < 0) {
+            return evictionOperator.percentageEvictableSize(currentPartitionSize, mapConfig);
+        }
+        // evict to just below the max size, so the next put doesn't trigger an eviction again.
+        return Math.max(currentPartitionSize - maxPartitionSize + 1, 1);
+    }
+
+    @Override
+    public int removeEvictableRecords(RecordStore recordStore, int evictableSize, MapConfig mapConfig, boolean backup) {
+        final EvictionPolicy evictionPolicy = mapConfig.getEvictionPolicy();
+        final long maxSamples = (long) evictableSize * MAX_SAMPLES_PER_EVICTION;
+        int evictedRecordCounter = 0;
+        for (long samples = 0; samples < maxSamples && evictedRecordCounter < evictableSize; samples++) {
+            final List<Record> sample = recordStore.getRandomSamples(SAMPLE_COUNT);
+            if (sample.isEmpty()) {
+                break;
+            }
+            final Record candidate = selectEvictionCandidate(recordStore, sample, evictionPolicy);
+            if (candidate != null && evictionOperator.evictRecord(recordStore, candidate, backup)) {
+                evictedRecordCounter++;
+            }
+        }
+        return evictedRecordCounter;
+    }
+
+    private Record selectEvictionCandidate(RecordStore recordStore, List<Record> sample, EvictionPolicy evictionPolicy) {
+        Record candidate = null;
+        long candidateValue = Long.MAX_VALUE;
+        for (Record record : sample) {
+            final long value = evictionOperator.getEvictionCriteriaValue(record, evictionPolicy);
+            if ((candidate == null || value < candidateValue) && !recordStore.isLocked(record.getKey())) {
+                candidate = record;
+                candidateValue = value;
+            }
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.impl.RecordStore;
+import com.hazelcast.map.impl.record.Record;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * {@link MapEvictionStrategy} that sorts the eviction criteria of all records of the partition to find the
+ * threshold below which records are evicted.
+ */
+final class SortingMapEvictionStrategy implements MapEvictionStrategy {
+
+    private final EvictionOperator evictionOperator;
+
+    SortingMapEvictionStrategy(EvictionOperator evictionOperator) {
+        this.evictionOperator = evictionOperator;
+    }
+
+    @Override
+    public int evictableSize(int currentPartitionSize, MapConfig mapConfig) {
+        return evictionOperator.percentageEvictableSize(currentPartitionSize, mapConfig);
+    }
+
+    @Override
+    public int removeEvictableRecords(RecordStore recordStore, int evictableSize, MapConfig mapConfig, boolean backup) {
+        final EvictionPolicy evictionPolicy = mapConfig.getEvictionPolicy();
+        // criteria is a long value, like last access times or hits,
+        // used for calculating LFU or LRU.
+        final long[] criterias = createAndPopulateEvictionCriteriaArray(recordStore, evictionPolicy);
+        if (criterias == null) {
+            return 0;
+        }
+        Arrays.sort(criterias);
+        // check in case record store size may be smaller than evictable size.
+        final int evictableBaseIndex = getEvictionStartIndex(criterias, evictableSize);
+        final long criteriaValue = criterias[evictableBaseIndex];
+        int evictedRecordCounter = 0;
+        final Iterator<Record> iterator = recordStore.iterator();
+        while (iterator.hasNext()) {
+            final Record record = iterator.next();
+            final long value = evictionOperator.getEvictionCriteriaValue(record, evictionPolicy);
+            if (value <= criteriaValue && evictionOperator.evictRecord(recordStore, record, backup)) {
+                evictedRecordCounter++;
+            }
+            if (evictedRecordCounter >= evictableSize) {
+                break;
+            }
+        }
+        return evictedRecordCounter;
+    }
+
+    private long[] createAndPopulateEvictionCriteriaArray(RecordStore recordStore,
+                                                          EvictionPolicy evictionPolicy) {
+        final int size = recordStore.size();
+        long[] criterias = null;
+        int index = 0;
+        final Iterator<Record> iterator = recordStore.iterator();
+        while (iterator.hasNext()) {
+            final Record record = iterator.next();
+            if (criterias == null) {
+                criterias = new long[size];
+            }
+            criterias[index] = evictionOperator.getEvictionCriteriaValue(record, evictionPolicy);
+            index++;
+            //in case size may change (increase or decrease) when iterating.
+            if (index == size) {
+                break;
+            }
+        }
+        if (criterias == null) {
+            return null;
+        }
+        // just in case there may be unassigned indexes in criterias array due to size variances
+        // assign them to Long.MAX_VALUE so when sorting asc they will locate
+        // in the upper array indexes and we wont care about them.
+        if (index < criterias.length) {
+            for (int i = index; i < criterias.length; i++) {
+                criterias[i] = Long.MAX_VALUE;
+            }
+        }
+        return criterias;
+    }
+
+    private int getEvictionStartIndex(long[] criterias, int evictableSize) {
+        final int length = criterias.length;
+        final int sizeToEvict = Math.min(evictableSize, length);
+        final int index = sizeToEvict - 1;
+        return index < 0 ? 0 : index;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * {@link AbstractMapClusterWideIterator} provides the core iterator functionality shared by the member and the client
+ * side iterators of {@link IMap}.
+ * <p/>
+ * The iterator traverses the partitions one by one. Within a partition it fetches batches of at most
+ * {@code fetchSize} entries from the record store of the partition owner, using the table index returned with the
+ * previous batch as a cursor. So unlike {@link IMap#entrySet()}, which copies the whole map to the caller, the
+ * caller only holds a single batch at a time.
+ * <p/>
+ * <h2>Notes:</h2>
+ * <ul>
+ * <li>The keys and values are fetched together, so no extra call is made per entry.</li>
+ * <li>The iterator is weakly consistent. An entry which is added or removed during the iteration may or may not be
+ * returned. When the records map of a partition is rebuilt or the partition migrates between two fetches, an entry
+ * may be missed or returned twice.</li>
+ * <li>{@link #remove()} removes the last returned key from the map.</li>
+ * </ul>
+ *
+ * @param <K> the type of key.
+ * @param <V> the type of value.
+ * @see com.hazelcast.map.impl.RecordStore#fetchEntries(int, int)
+ * @see MapEntriesWithCursor
+ */
+public abstract class AbstractMapClusterWideIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    /**
+     * The default number of entries fetched at once.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 100;
+
+    protected final IMap<K, V> map;
+    protected final int partitionCount;
+    protected final int fetchSize;
+
+    protected int partitionIndex = -1;
+    protected int lastTableIndex;
+    protected MapEntriesWithCursor result;
+
+    protected int index;
+    protected Data lastKey;
+
+    public AbstractMapClusterWideIterator(IMap<K, V> map, int partitionCount, int fetchSize) {
+        this.map = map;
+        this.partitionCount = partitionCount;
+        this.fetchSize = checkPositive(fetchSize, "fetchSize should be positive");
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (result != null && index < result.getCount()) {
+            return true;
+        }
+        return advance();
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Map.Entry<Data, Data> entry = result.getEntry(index);
+        index++;
+        lastKey = entry.getKey();
+        final K key = toObject(entry.getKey());
+        final V value = toObject(entry.getValue());
+        return new AbstractMap.SimpleImmutableEntry<K, V>(key, value);
+    }
+
+    @Override
+    public void remove() {
+        if (lastKey == null) {
+            throw new IllegalStateException("Iterator.next() must be called before remove()!");
+        }
+        final K key = toObject(lastKey);
+        map.delete(key);
+        lastKey = null;
+    }
+
+    protected boolean advance() {
+        while (partitionIndex < partitionCount) {
+            if (result == null || lastTableIndex < 0) {
+                partitionIndex++;
+                lastTableIndex = Integer.MAX_VALUE;
+                result = null;
+                if (partitionIndex == partitionCount) {
+                    return false;
+                }
+            }
+            result = fetch();
+            lastTableIndex = result.getTableIndex();
+            // all records of a batch may have expired, so an empty batch does not mean that the partition is done.
+            if (result.getCount() > 0) {
+                index = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected abstract MapEntriesWithCursor fetch();
+
+    protected abstract <T> T toObject(Object data);
+}
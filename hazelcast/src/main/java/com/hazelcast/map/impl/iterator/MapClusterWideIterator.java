@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.MapFetchEntriesOperation;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+
+/**
+ * Cluster-wide iterator for {@link com.hazelcast.core.IMap}.
+ * <p/>
+ * This implementation is used for server or embedded mode.
+ * Note: For more information on the iterator details, see {@link AbstractMapClusterWideIterator}.
+ *
+ * @param <K> the type of key.
+ * @param <V> the type of value.
+ * @see AbstractMapClusterWideIterator
+ */
+public class MapClusterWideIterator<K, V> extends AbstractMapClusterWideIterator<K, V> {
+
+    private final NodeEngine nodeEngine;
+    private final SerializationService serializationService;
+
+    public MapClusterWideIterator(MapProxyImpl<K, V> mapProxy, int fetchSize) {
+        super(mapProxy, mapProxy.getNodeEngine().getPartitionService().getPartitionCount(), fetchSize);
+        this.nodeEngine = mapProxy.getNodeEngine();
+        this.serializationService = nodeEngine.getSerializationService();
+        advance();
+    }
+
+    @Override
+    protected MapEntriesWithCursor fetch() {
+        Operation operation = new MapFetchEntriesOperation(map.getName(), lastTableIndex, fetchSize);
+        OperationService operationService = nodeEngine.getOperationService();
+        InternalCompletableFuture<MapEntriesWithCursor> future = operationService
+                .invokeOnPartition(MapService.SERVICE_NAME, operation, partitionIndex);
+        return future.getSafely();
+    }
+
+    @Override
+    protected <T> T toObject(Object data) {
+        return serializationService.toObject(data);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Response data object returned by {@link com.hazelcast.map.impl.operation.MapFetchEntriesOperation}.</p>
+ * It contains a batch of entries of a partition and the table index to continue at with the next fetch.
+ *
+ * @see AbstractMapClusterWideIterator
+ * @see com.hazelcast.map.impl.RecordStore#fetchEntries(int, int)
+ */
+public class MapEntriesWithCursor implements IdentifiedDataSerializable {
+
+    private int tableIndex;
+    private List<Map.Entry<Data, Data>> entries;
+
+    public MapEntriesWithCursor() {
+    }
+
+    public MapEntriesWithCursor(List<Map.Entry<Data, Data>> entries, int tableIndex) {
+        this.entries = entries;
+        this.tableIndex = tableIndex;
+    }
+
+    /**
+     * Returns the table index to continue at with the next fetch.
+     *
+     * @return the table index, or a negative value if the partition has no more entries.
+     */
+    public int getTableIndex() {
+        return tableIndex;
+    }
+
+    public List<Map.Entry<Data, Data>> getEntries() {
+        return entries;
+    }
+
+    public int getCount() {
+        return entries != null ? entries.size() : 0;
+    }
+
+    public Map.Entry<Data, Data> getEntry(int index) {
+        return entries != null ? entries.get(index) : null;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.ENTRIES_WITH_CURSOR;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(tableIndex);
+        int size = entries.size();
+        out.writeInt(size);
+        for (Map.Entry<Data, Data> entry : entries) {
+            out.writeData(entry.getKey());
+            out.writeData(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        tableIndex = in.readInt();
+        int size = in.readInt();
+        entries = new ArrayList<Map.Entry<Data, Data>>(size);
+        for (int i = 0; i < size; i++) {
+            Data key = in.readData();
+            Data value = in.readData();
+            entries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(key, value));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MapEntriesWithCursor{tableIndex=" + tableIndex + ", count=" + getCount() + '}';
+    }
+}
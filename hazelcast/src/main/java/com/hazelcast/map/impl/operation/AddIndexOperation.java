@@ -38,14 +38,20 @@ public class AddIndexOperation extends AbstractNamedOperation implements Partiti
 
     private String attributeName;
     private boolean ordered;
+    private boolean bitmap;
 
     public AddIndexOperation() {
     }
 
     public AddIndexOperation(String name, String attributeName, boolean ordered) {
+        this(name, attributeName, ordered, false);
+    }
+
+    public AddIndexOperation(String name, String attributeName, boolean ordered, boolean bitmap) {
         super(name);
         this.attributeName = attributeName;
         this.ordered = ordered;
+        this.bitmap = bitmap;
     }
 
     @Override
@@ -61,7 +67,9 @@ public class AddIndexOperation extends AbstractNamedOperation implements Partiti
                 .getPartitionContainer(getPartitionId()).getRecordStore(name);
         IndexService indexService = mapContainer.getIndexService();
         SerializationService ss = getNodeEngine().getSerializationService();
-        Index index = indexService.addOrGetIndex(attributeName, ordered);
+        // registers the index on the map; with partitioned indexes the record store keeps a separate one
+        indexService.addOrGetIndex(attributeName, ordered, bitmap);
+        Index index = recordStore.getIndexService().addOrGetIndex(attributeName, ordered, bitmap);
         final long now = getNow();
         final Iterator<Record> iterator = recordStore.iterator(now, false);
         while (iterator.hasNext()) {
@@ -86,6 +94,7 @@ public class AddIndexOperation extends AbstractNamedOperation implements Partiti
         super.writeInternal(out);
         out.writeUTF(attributeName);
         out.writeBoolean(ordered);
+        out.writeBoolean(bitmap);
     }
 
     @Override
@@ -93,5 +102,6 @@ public class AddIndexOperation extends AbstractNamedOperation implements Partiti
         super.readInternal(in);
         attributeName = in.readUTF();
         ordered = in.readBoolean();
+        bitmap = in.readBoolean();
     }
 }
@@ -24,6 +24,7 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordInfo;
+import com.hazelcast.nio.serialization.CompressedValue;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.BackupAwareOperation;
 import com.hazelcast.spi.Operation;
@@ -97,9 +98,12 @@ public abstract class BasePutOperation extends LockAwareOperation implements Bac
         MapDataStore<Data, Object> mapDataStore = recordStore.getMapDataStore();
         Data dataValueForBackup = dataValue;
         // if data-store is post processing, then we need to retrieve the 'processed' value from record
-        // not the value initially provided
-        if (mapDataStore.isPostProcessingMapStore()) {
-            dataValueForBackup = mapService.getMapServiceContext().toData(record.getValue());
+        // not the value initially provided. a compressed value is also taken from the record, so the
+        // backup receives and stores it compressed.
+        final Object recordValue = record.getValue();
+        if (mapDataStore.isPostProcessingMapStore()
+                || (recordValue instanceof Data && CompressedValue.isCompressed((Data) recordValue))) {
+            dataValueForBackup = mapService.getMapServiceContext().toData(recordValue);
         }
         return new PutBackupOperation(name, dataKey, dataValueForBackup, replicationInfo, putTransient);
     }
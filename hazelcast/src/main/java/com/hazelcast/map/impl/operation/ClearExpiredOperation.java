@@ -36,10 +36,7 @@ import java.util.concurrent.ConcurrentMap;
  */
 public class ClearExpiredOperation extends AbstractOperation implements PartitionAwareOperation, MutatingOperation {
 
-    private int expirationPercentage;
-
-    public ClearExpiredOperation(int expirationPercentage) {
-        this.expirationPercentage = expirationPercentage;
+    public ClearExpiredOperation() {
     }
 
     @Override
@@ -55,8 +52,8 @@ public class ClearExpiredOperation extends AbstractOperation implements Partitio
         final ConcurrentMap<String, RecordStore> recordStores = partitionContainer.getMaps();
         final boolean backup = !isOwner();
         for (final RecordStore recordStore : recordStores.values()) {
-            if (recordStore.size() > 0 && recordStore.isExpirable()) {
-                recordStore.evictExpiredEntries(expirationPercentage, backup);
+            if (recordStore.getScheduledExpirationCount() > 0) {
+                recordStore.evictExpiredEntries(backup);
             }
         }
     }
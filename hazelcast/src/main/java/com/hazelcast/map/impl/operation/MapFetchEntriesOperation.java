@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.LocalMapStatsProvider;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.RecordStore;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+
+/**
+ * Fetches a batch of entries of a partition, starting at the given table index of its record store.
+ *
+ * @see com.hazelcast.map.impl.RecordStore#fetchEntries(int, int)
+ * @see com.hazelcast.map.impl.iterator.MapClusterWideIterator
+ */
+public class MapFetchEntriesOperation extends AbstractMapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private int tableIndex;
+    private int fetchSize;
+    private transient MapEntriesWithCursor response;
+
+    public MapFetchEntriesOperation() {
+    }
+
+    public MapFetchEntriesOperation(String name, int tableIndex, int fetchSize) {
+        super(name);
+        this.tableIndex = tableIndex;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void run() {
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        RecordStore recordStore = mapServiceContext.getRecordStore(getPartitionId(), name);
+        response = recordStore.fetchEntries(tableIndex, fetchSize);
+        if (mapContainer.getMapConfig().isStatisticsEnabled()) {
+            LocalMapStatsProvider localMapStatsProvider = mapServiceContext.getLocalMapStatsProvider();
+            LocalMapStatsImpl localMapStatsImpl = localMapStatsProvider.getLocalMapStatsImpl(name);
+            localMapStatsImpl.incrementOtherOperations();
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(tableIndex);
+        out.writeInt(fetchSize);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        tableIndex = in.readInt();
+        fetchSize = in.readInt();
+    }
+}
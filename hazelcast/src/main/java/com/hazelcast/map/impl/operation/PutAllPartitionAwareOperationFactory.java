@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.MapEntrySet;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionAwareOperationFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Creates the {@link PutAllOperation} of every partition of a putAll, so that all the entries owned by a member are sent
+ * in a single packet.
+ */
+public class PutAllPartitionAwareOperationFactory implements PartitionAwareOperationFactory {
+
+    private String name;
+    private int[] partitions;
+    private MapEntrySet[] entrySets;
+
+    public PutAllPartitionAwareOperationFactory() {
+    }
+
+    /**
+     * @param name       the name of the map.
+     * @param partitions the ids of the partitions.
+     * @param entrySets  the entries of the partitions; the entries at index i belong to the partition at index i.
+     */
+    public PutAllPartitionAwareOperationFactory(String name, int[] partitions, MapEntrySet[] entrySets) {
+        if (partitions.length != entrySets.length) {
+            throw new IllegalArgumentException("partitions and entrySets should have the same length");
+        }
+        this.name = name;
+        this.partitions = partitions;
+        this.entrySets = entrySets;
+    }
+
+    @Override
+    public Operation createOperation() {
+        throw new UnsupportedOperationException("The operation depends on the partition");
+    }
+
+    @Override
+    public Operation createPartitionOperation(int partitionId) {
+        return new PutAllOperation(name, entrySets[indexOf(partitionId)]);
+    }
+
+    @Override
+    public PartitionAwareOperationFactory createFactoryFor(List<Integer> partitions) {
+        int[] subsetPartitions = new int[partitions.size()];
+        MapEntrySet[] subsetEntrySets = new MapEntrySet[partitions.size()];
+        for (int k = 0; k < subsetPartitions.length; k++) {
+            int partitionId = partitions.get(k);
+            subsetPartitions[k] = partitionId;
+            subsetEntrySets[k] = entrySets[indexOf(partitionId)];
+        }
+        return new PutAllPartitionAwareOperationFactory(name, subsetPartitions, subsetEntrySets);
+    }
+
+    private int indexOf(int partitionId) {
+        for (int k = 0; k < partitions.length; k++) {
+            if (partitions[k] == partitionId) {
+                return k;
+            }
+        }
+        throw new IllegalArgumentException("No entries for partition " + partitionId);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(partitions.length);
+        for (int k = 0; k < partitions.length; k++) {
+            out.writeInt(partitions[k]);
+            entrySets[k].writeData(out);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        int size = in.readInt();
+        partitions = new int[size];
+        entrySets = new MapEntrySet[size];
+        for (int k = 0; k < size; k++) {
+            partitions[k] = in.readInt();
+            MapEntrySet entrySet = new MapEntrySet();
+            entrySet.readData(in);
+            entrySets[k] = entrySet;
+        }
+    }
+}
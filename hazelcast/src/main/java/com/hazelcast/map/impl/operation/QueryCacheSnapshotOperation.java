@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.querycache.QueryCacheSnapshot;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+
+/**
+ * Reads the entries of a partition matching a {@link com.hazelcast.map.QueryCache}, used to populate and to recover
+ * the query cache.
+ *
+ * @see com.hazelcast.map.impl.querycache.QueryCachePublisher#takeSnapshot(String, String, int)
+ */
+public class QueryCacheSnapshotOperation extends AbstractMapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private String cacheId;
+    private transient QueryCacheSnapshot snapshot;
+
+    public QueryCacheSnapshotOperation() {
+    }
+
+    public QueryCacheSnapshotOperation(String name, String cacheId) {
+        super(name);
+        this.cacheId = cacheId;
+    }
+
+    @Override
+    public void run() {
+        snapshot = mapService.getMapServiceContext().getQueryCachePublisher()
+                .takeSnapshot(name, cacheId, getPartitionId());
+        if (snapshot == null) {
+            throw new IllegalStateException("No query cache registered with id " + cacheId + " on map " + name);
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return snapshot;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeUTF(cacheId);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        cacheId = in.readUTF();
+    }
+}
@@ -21,12 +21,14 @@ import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.map.impl.MapContextQuerySupport;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.QueryResult;
+import com.hazelcast.map.impl.RecordStore;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryResultEntry;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.ExceptionAction;
 import com.hazelcast.spi.ExecutionService;
@@ -38,7 +40,10 @@ import com.hazelcast.util.FutureUtil;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -82,20 +87,37 @@ public class QueryOperation extends AbstractMapOperation implements ReadonlyOper
 
         int partitionStateVersion = partitionService.getPartitionStateVersion();
         Collection<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
+        boolean migrating = partitionService.hasOnGoingMigrationLocal();
+        // the partitions migrating at the start are left out, the caller queries them again on their new owner
+        Collection<Integer> queriedPartitions = migrating
+                ? getStablePartitions(partitionService, initialPartitions, initialPartitions) : initialPartitions;
 
         Set<QueryableEntry> entries = null;
-        if (!partitionService.hasOnGoingMigrationLocal()) {
-            entries = mapContainer.getIndexService().query(predicate);
+        boolean indexed = false;
+        if (mapContainer.isPartitionedIndexes()) {
+            indexed = mapContainer.getIndexService().isIndexed(predicate);
+        } else {
+            entries = mapContainer.getIndexService().query(predicate, true);
         }
 
-        result = mapQuerySupport.newQueryResult(initialPartitions.size());
+        result = mapQuerySupport.newQueryResult(queriedPartitions.size());
         if (entries != null) {
             result.addAll(entries);
+        } else if (indexed) {
+            queryPartitionIndexes(queriedPartitions, nodeEngine.getGroupProperties());
         } else {
-            fullTableScan(initialPartitions, nodeEngine.getGroupProperties());
+            fullTableScan(queriedPartitions, nodeEngine.getGroupProperties());
         }
         Collection<Integer> finalPartitions = mapServiceContext.getOwnedPartitions();
-        if (initialPartitions.equals(finalPartitions)) {
+        if (migrating || partitionService.hasOnGoingMigrationLocal()
+                || partitionStateVersion != partitionService.getPartitionStateVersion()
+                || !initialPartitions.equals(finalPartitions)) {
+            // only the partitions owned and not migrating during the whole query are reported as queried,
+            // the entries of the others (e.g. found in a shared index while migrating in) are dropped
+            Collection<Integer> stablePartitions = getStablePartitions(partitionService, queriedPartitions, finalPartitions);
+            retainEntriesOfPartitions(partitionService, stablePartitions);
+            result.setPartitionIds(stablePartitions);
+        } else {
             result.setPartitionIds(finalPartitions);
         }
         if (mapContainer.getMapConfig().isStatisticsEnabled()) {
@@ -106,6 +128,69 @@ public class QueryOperation extends AbstractMapOperation implements ReadonlyOper
         checkPartitionStateChanges(partitionService, partitionStateVersion);
     }
 
+    /**
+     * Returns the given partitions which are still owned and not migrating.
+     */
+    private static Collection<Integer> getStablePartitions(InternalPartitionService partitionService,
+                                                           Collection<Integer> partitions, Collection<Integer> ownedPartitions) {
+        List<Integer> stablePartitions = new ArrayList<Integer>(partitions.size());
+        for (Integer partitionId : partitions) {
+            if (ownedPartitions.contains(partitionId) && !partitionService.getPartition(partitionId).isMigrating()) {
+                stablePartitions.add(partitionId);
+            }
+        }
+        return stablePartitions;
+    }
+
+    private void retainEntriesOfPartitions(InternalPartitionService partitionService, Collection<Integer> partitions) {
+        Set<Integer> partitionIds = new HashSet<Integer>(partitions);
+        Iterator<QueryResultEntry> iterator = result.getResult().iterator();
+        while (iterator.hasNext()) {
+            if (!partitionIds.contains(partitionService.getPartitionId(iterator.next().getKeyData()))) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void queryPartitionIndexes(Collection<Integer> initialPartitions, GroupProperties groupProperties)
+            throws InterruptedException, ExecutionException {
+        boolean parallelEvaluation = groupProperties.QUERY_PREDICATE_PARALLEL_EVALUATION.getBoolean();
+        if (parallelEvaluation) {
+            NodeEngine nodeEngine = getNodeEngine();
+            ExecutorService executor = nodeEngine.getExecutionService().getExecutor(ExecutionService.QUERY_EXECUTOR);
+            List<Future<Collection<QueryableEntry>>> lsFutures = new ArrayList<Future<Collection<QueryableEntry>>>(
+                    initialPartitions.size());
+            for (Integer partitionId : initialPartitions) {
+                Future<Collection<QueryableEntry>> future = executor.submit(new PartitionIndexCallable(partitionId));
+                lsFutures.add(future);
+            }
+            for (Collection<QueryableEntry> returnedResult : getResult(lsFutures)) {
+                result.addAll(returnedResult);
+            }
+        } else {
+            for (Integer partitionId : initialPartitions) {
+                result.addAll(queryPartitionIndex(partitionId));
+            }
+        }
+    }
+
+    /**
+     * Queries the indexes of a single partition. Falls back to scanning the partition if its record store
+     * does not have the indexes yet, e.g. while an index is being added.
+     */
+    private Collection<QueryableEntry> queryPartitionIndex(int partitionId) {
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        RecordStore recordStore = mapServiceContext.getExistingRecordStore(partitionId, name);
+        if (recordStore == null) {
+            return Collections.emptySet();
+        }
+        Set<QueryableEntry> entries = recordStore.getIndexService().query(predicate, true);
+        if (entries != null) {
+            return entries;
+        }
+        return mapServiceContext.getMapContextQuerySupport().queryOnPartition(name, predicate, partitionId);
+    }
+
     private void fullTableScan(Collection<Integer> initialPartitions, GroupProperties groupProperties)
             throws InterruptedException, ExecutionException {
         if (pagingPredicate != null) {
@@ -230,6 +315,20 @@ public class QueryOperation extends AbstractMapOperation implements ReadonlyOper
         }
     }
 
+    private final class PartitionIndexCallable implements Callable<Collection<QueryableEntry>> {
+
+        private final int partition;
+
+        private PartitionIndexCallable(int partitionId) {
+            this.partition = partitionId;
+        }
+
+        @Override
+        public Collection<QueryableEntry> call() throws Exception {
+            return queryPartitionIndex(partition);
+        }
+    }
+
     private final class PartitionCallable implements Callable<Collection<QueryableEntry>> {
 
         private final int partition;
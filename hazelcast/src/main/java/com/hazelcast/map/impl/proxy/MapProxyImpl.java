@@ -17,6 +17,7 @@
 
 package com.hazelcast.map.impl.proxy;
 
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.core.ExecutionCallback;
@@ -26,8 +27,13 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.iterator.AbstractMapClusterWideIterator;
+import com.hazelcast.map.impl.iterator.MapClusterWideIterator;
+import com.hazelcast.map.impl.querycache.NodeQueryCacheContext;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -52,6 +58,7 @@ import com.hazelcast.util.executor.DelegatingFuture;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
@@ -70,8 +77,11 @@ import static com.hazelcast.util.Preconditions.isNotNull;
  */
 public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, InitializingObject {
 
+    private final QueryCacheRegistry queryCacheRegistry;
+
     public MapProxyImpl(final String name, final MapService mapService, final NodeEngine nodeEngine) {
         super(name, mapService, nodeEngine);
+        this.queryCacheRegistry = new QueryCacheRegistry(name, new NodeQueryCacheContext(nodeEngine));
     }
 
     @Override
@@ -291,6 +301,29 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         return new DelegatingFuture<V>(removeAsyncInternal(k), getNodeEngine().getSerializationService());
     }
 
+    @Override
+    public ICompletableFuture<Void> setAsync(K key, V value) {
+        return setAsync(key, value, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ICompletableFuture<Void> setAsync(final K k, final V v, final long ttl, final TimeUnit timeunit) {
+        checkNotNull(k, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(v, NULL_VALUE_IS_NOT_ALLOWED);
+
+        final Data key = toData(k, partitionStrategy);
+        final Data value = toData(v);
+        return setAsyncInternal(key, value, ttl, timeunit);
+    }
+
+    @Override
+    public ICompletableFuture<Void> deleteAsync(Object k) {
+        checkNotNull(k, NULL_KEY_IS_NOT_ALLOWED);
+
+        final Data key = toData(k, partitionStrategy);
+        return deleteAsyncInternal(key);
+    }
+
     @Override
     public Map<K, V> getAll(final Set<K> keys) {
         Set<Data> ks = new HashSet(keys.size());
@@ -309,6 +342,28 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         putAllInternal(m);
     }
 
+    @Override
+    public ICompletableFuture<Map<K, V>> getAllAsync(final Set<K> keys) {
+        checkNotNull(keys, "Null keys set is not allowed!");
+
+        Set<Data> ks = new HashSet(keys.size());
+        for (K key : keys) {
+            checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+
+            Data k = toData(key, partitionStrategy);
+            ks.add(k);
+        }
+        return (ICompletableFuture) getAllObjectAsyncInternal(ks);
+    }
+
+    @Override
+    public ICompletableFuture<Void> putAllAsync(final Map<? extends K, ? extends V> m) {
+        checkNotNull(m, "Null map is not allowed!");
+
+        // Note, putAllAsyncInternal() will take care of the null key/value checks.
+        return putAllAsyncInternal(m);
+    }
+
     @Override
     public boolean tryLock(final K key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -560,6 +615,16 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         return entrySet(TruePredicate.INSTANCE);
     }
 
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return iterator(AbstractMapClusterWideIterator.DEFAULT_FETCH_SIZE);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator(int fetchSize) {
+        return new MapClusterWideIterator<K, V>(this, fetchSize);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Set<K> keySet(final Predicate predicate) {
@@ -616,6 +681,30 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         return executeOnKeysInternal(dataKeys, entryProcessor);
     }
 
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnKeysAsync(Set<K> keys, EntryProcessor entryProcessor) {
+        if (keys == null || keys.size() == 0) {
+            throw new NullPointerException(NULL_KEY_IS_NOT_ALLOWED);
+        }
+        Set<Data> dataKeys = new HashSet<Data>(keys.size());
+        for (K key : keys) {
+            dataKeys.add(toData(key, partitionStrategy));
+        }
+        return (ICompletableFuture) executeOnKeysAsyncInternal(dataKeys, entryProcessor);
+    }
+
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnEntriesAsync(EntryProcessor entryProcessor) {
+        return executeOnEntriesAsync(entryProcessor, TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public ICompletableFuture<Map<K, Object>> executeOnEntriesAsync(EntryProcessor entryProcessor, Predicate predicate) {
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        return (ICompletableFuture) executeOnEntriesAsyncInternal(entryProcessor, predicate);
+    }
+
     @Override
     public void submitToKey(K key, EntryProcessor entryProcessor, ExecutionCallback callback) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -674,6 +763,45 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         }
     }
 
+    @Override
+    public QueryCache<K, V> getQueryCache(String name) {
+        checkNotNull(name, "name can't be null");
+        final QueryCacheConfig config = QueryCacheRegistry.findConfig(getMapConfig().getQueryCacheConfigs(), name);
+        if (config == null) {
+            throw new IllegalArgumentException("No query cache configured with name " + name + " for map " + this.name);
+        }
+        final Predicate predicate = QueryCacheRegistry.getPredicate(config, getNodeEngine().getConfigClassLoader());
+        return queryCacheRegistry.getOrCreate(name, config, predicate, null);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(name, "name can't be null");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        return queryCacheRegistry.getOrCreate(name, getQueryCacheConfig(name, includeValue), predicate, null);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate,
+                                          boolean includeValue) {
+        checkNotNull(name, "name can't be null");
+        checkNotNull(listener, NULL_LISTENER_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        return queryCacheRegistry.getOrCreate(name, getQueryCacheConfig(name, includeValue), predicate, listener);
+    }
+
+    private QueryCacheConfig getQueryCacheConfig(String name, boolean includeValue) {
+        final QueryCacheConfig config = QueryCacheRegistry.findConfig(getMapConfig().getQueryCacheConfigs(), name);
+        final QueryCacheConfig copy = config == null ? new QueryCacheConfig(name) : new QueryCacheConfig(config);
+        return copy.setIncludeValue(includeValue);
+    }
+
+    @Override
+    protected void postDestroy() {
+        queryCacheRegistry.destroyAll();
+        super.postDestroy();
+    }
+
     protected Object invoke(Operation operation, int partitionId) throws Throwable {
         NodeEngine nodeEngine = getNodeEngine();
         Future f = nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
@@ -70,7 +70,7 @@ import com.hazelcast.map.impl.operation.MapGetAllOperationFactory;
 import com.hazelcast.map.impl.operation.MultipleEntryOperationFactory;
 import com.hazelcast.map.impl.operation.PartitionCheckIfLoadedOperationFactory;
 import com.hazelcast.map.impl.operation.PartitionWideEntryWithPredicateOperationFactory;
-import com.hazelcast.map.impl.operation.PutAllOperation;
+import com.hazelcast.map.impl.operation.PutAllPartitionAwareOperationFactory;
 import com.hazelcast.map.impl.operation.PutIfAbsentOperation;
 import com.hazelcast.map.impl.operation.PutOperation;
 import com.hazelcast.map.impl.operation.PutTransientOperation;
@@ -113,8 +113,8 @@ import com.hazelcast.util.IterableUtil;
 import com.hazelcast.util.IterationType;
 import com.hazelcast.util.ThreadUtil;
 import com.hazelcast.util.executor.CompletedFuture;
+import com.hazelcast.util.executor.SettableCompletableFuture;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -122,7 +122,6 @@ import java.util.EventListener;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -179,7 +178,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
     private void initializeIndexes() {
         for (MapIndexConfig index : getMapConfig().getMapIndexConfigs()) {
             if (index.getAttribute() != null) {
-                addIndex(index.getAttribute(), index.isOrdered());
+                addIndex(index.getAttribute(), index.isOrdered(), index.isBitmap());
             }
         }
     }
@@ -488,6 +487,12 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         invalidateNearCache(key);
     }
 
+    protected ICompletableFuture<Void> setAsyncInternal(final Data key, final Data value, final long ttl,
+                                                        final TimeUnit timeunit) {
+        SetOperation operation = new SetOperation(name, key, value, timeunit.toMillis(ttl));
+        return invokeWithoutResponseAsync(key, operation);
+    }
+
     protected boolean evictInternal(final Data key) {
         EvictOperation operation = new EvictOperation(name, key, false);
         final boolean evictSuccess = (Boolean) invokeOperation(key, operation);
@@ -576,6 +581,42 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         invalidateNearCache(key);
     }
 
+    protected ICompletableFuture<Void> deleteAsyncInternal(Data key) {
+        DeleteOperation operation = new DeleteOperation(name, key);
+        return invokeWithoutResponseAsync(key, operation);
+    }
+
+    /**
+     * Invokes the operation on the partition of the key and completes the returned future, without any result, when
+     * the operation finishes. The near cache entry of the key is invalidated before the future is completed.
+     */
+    private ICompletableFuture<Void> invokeWithoutResponseAsync(final Data key, KeyBasedMapOperation operation) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+        operation.setThreadId(ThreadUtil.getThreadId());
+        final SettableCompletableFuture<Void> future = newSettableFuture();
+        try {
+            ICompletableFuture<Object> operationFuture
+                    = nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
+            operationFuture.andThen(new ExecutionCallback<Object>() {
+                @Override
+                public void onResponse(Object response) {
+                    invalidateNearCache(key);
+                    future.setResult(null);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    invalidateNearCache(key);
+                    future.setError(t);
+                }
+            });
+        } catch (Throwable t) {
+            throw ExceptionUtil.rethrow(t);
+        }
+        return future;
+    }
+
     protected boolean removeInternal(final Data key, final Data value) {
         RemoveIfSameOperation operation = new RemoveIfSameOperation(name, key, value);
         boolean removed = (Boolean) invokeOperation(key, operation);
@@ -738,7 +779,6 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
             return Collections.emptyMap();
         }
         final NodeEngine nodeEngine = getNodeEngine();
-        final MapService mapService = getService();
         Map<Object, Object> result = new HashMap<Object, Object>();
         final boolean nearCacheEnabled = getMapConfig().isNearCacheEnabled();
         if (nearCacheEnabled) {
@@ -752,25 +792,59 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         try {
             responses = nodeEngine.getOperationService()
                     .invokeOnPartitions(SERVICE_NAME, new MapGetAllOperationFactory(name, keys), partitions);
-            for (Object response : responses.values()) {
-                Set<Map.Entry<Data, Data>> entries
-                        = ((MapEntrySet) mapService.getMapServiceContext().toObject(response)).getEntrySet();
-                for (Entry<Data, Data> entry : entries) {
-                    result.put(mapService.getMapServiceContext().toObject(entry.getKey()),
-                            mapService.getMapServiceContext().toObject(entry.getValue()));
-                    if (nearCacheEnabled) {
-                        if (notOwnerPartitionForKey(entry.getKey())
-                                || cacheKeyAnyway()) {
-                            putNearCache(entry.getKey(), entry.getValue());
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+        collectGetAllResponses(responses, result);
+        return result;
+    }
+
+    protected ICompletableFuture<Map<Object, Object>> getAllObjectAsyncInternal(final Set<Data> keys) {
+        final SettableCompletableFuture<Map<Object, Object>> future = newSettableFuture();
+        final Map<Object, Object> result = new HashMap<Object, Object>();
+        if (keys.isEmpty()) {
+            future.setResult(result);
+            return future;
+        }
+        if (getMapConfig().isNearCacheEnabled()) {
+            getFromNearCache(result, keys);
+        }
+        if (keys.isEmpty()) {
+            future.setResult(result);
+            return future;
+        }
+        Collection<Integer> partitions = getPartitionsForKeys(keys);
+        try {
+            getNodeEngine().getOperationService()
+                    .invokeOnPartitionsAsync(SERVICE_NAME, new MapGetAllOperationFactory(name, keys), partitions)
+                    .andThen(new ConvertingCallback<Map<Object, Object>>(future) {
+                        @Override
+                        Map<Object, Object> convert(Map<Integer, Object> responses) {
+                            collectGetAllResponses(responses, result);
+                            return result;
                         }
-                    }
-                }
-            }
+                    });
         } catch (Exception e) {
             throw ExceptionUtil.rethrow(e);
         }
+        return future;
+    }
 
-        return result;
+    private void collectGetAllResponses(Map<Integer, Object> responses, Map<Object, Object> result) {
+        final MapServiceContext mapServiceContext = getService().getMapServiceContext();
+        final boolean nearCacheEnabled = getMapConfig().isNearCacheEnabled();
+        for (Object response : responses.values()) {
+            Set<Map.Entry<Data, Data>> entries = ((MapEntrySet) mapServiceContext.toObject(response)).getEntrySet();
+            for (Entry<Data, Data> entry : entries) {
+                result.put(mapServiceContext.toObject(entry.getKey()), mapServiceContext.toObject(entry.getValue()));
+                if (nearCacheEnabled) {
+                    if (notOwnerPartitionForKey(entry.getKey())
+                            || cacheKeyAnyway()) {
+                        putNearCache(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
     }
 
     private Collection<Integer> getPartitionsForKeys(Set<Data> keys) {
@@ -810,60 +884,91 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
     }
 
     protected void putAllInternal(final Map<? extends Object, ? extends Object> entries) {
-        final NodeEngine nodeEngine = getNodeEngine();
-        final MapService mapService = getService();
-        int factor = 3;
-        InternalPartitionService partitionService = nodeEngine.getPartitionService();
-        OperationService operationService = nodeEngine.getOperationService();
-        int partitionCount = partitionService.getPartitionCount();
-        boolean tooManyEntries = entries.size() > (partitionCount * factor);
+        OperationService operationService = getNodeEngine().getOperationService();
+        Map<Integer, MapEntrySet> entrySets = new HashMap<Integer, MapEntrySet>();
+        List<Data> keys = new ArrayList<Data>(entries.size());
+        groupByPartition(entries, entrySets, keys);
+        if (entrySets.isEmpty()) {
+            return;
+        }
+
+        OperationFactory factory = createPutAllOperationFactory(entrySets);
         try {
-            if (tooManyEntries) {
-                List<Future> futures = new LinkedList<Future>();
-                Map<Integer, MapEntrySet> entryMap
-                        = new HashMap<Integer, MapEntrySet>(nodeEngine.getPartitionService().getPartitionCount());
-                for (Entry entry : entries.entrySet()) {
-                    checkNotNull(entry.getKey(), NULL_KEY_IS_NOT_ALLOWED);
-                    checkNotNull(entry.getValue(), NULL_VALUE_IS_NOT_ALLOWED);
-
-                    int partitionId = partitionService.getPartitionId(entry.getKey());
-                    if (!entryMap.containsKey(partitionId)) {
-                        entryMap.put(partitionId, new MapEntrySet());
-                    }
-                    entryMap.get(partitionId).add(
-                            new AbstractMap.SimpleImmutableEntry<Data, Data>(mapService.getMapServiceContext().toData(
-                                    entry.getKey(),
-                                    partitionStrategy),
-                                    mapService.getMapServiceContext()
-                                            .toData(entry.getValue())
-                            ));
-                }
+            operationService.invokeOnPartitions(SERVICE_NAME, factory, entrySets.keySet());
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        } finally {
+            invalidateNearCache(keys);
+        }
+    }
 
-                for (final Map.Entry<Integer, MapEntrySet> entry : entryMap.entrySet()) {
-                    final Integer partitionId = entry.getKey();
-                    final PutAllOperation op = new PutAllOperation(name, entry.getValue());
-                    op.setPartitionId(partitionId);
-                    futures.add(operationService.invokeOnPartition(SERVICE_NAME, op, partitionId));
-                }
+    protected ICompletableFuture<Void> putAllAsyncInternal(final Map<? extends Object, ? extends Object> entries) {
+        OperationService operationService = getNodeEngine().getOperationService();
+        Map<Integer, MapEntrySet> entrySets = new HashMap<Integer, MapEntrySet>();
+        final List<Data> keys = new ArrayList<Data>(entries.size());
+        groupByPartition(entries, entrySets, keys);
+        final SettableCompletableFuture<Void> future = newSettableFuture();
+        if (entrySets.isEmpty()) {
+            future.setResult(null);
+            return future;
+        }
 
-                for (Future future : futures) {
-                    future.get();
-                }
+        OperationFactory factory = createPutAllOperationFactory(entrySets);
+        try {
+            operationService.invokeOnPartitionsAsync(SERVICE_NAME, factory, entrySets.keySet())
+                    .andThen(new ExecutionCallback<Map<Integer, Object>>() {
+                        @Override
+                        public void onResponse(Map<Integer, Object> response) {
+                            invalidateNearCache(keys);
+                            future.setResult(null);
+                        }
 
-            } else {
-                for (Entry entry : entries.entrySet()) {
-                    checkNotNull(entry.getKey(), NULL_KEY_IS_NOT_ALLOWED);
-                    checkNotNull(entry.getValue(), NULL_VALUE_IS_NOT_ALLOWED);
-
-                    putInternal(mapService.getMapServiceContext().toData(entry.getKey(), partitionStrategy),
-                            mapService.getMapServiceContext().toData(entry.getValue()),
-                            -1,
-                            TimeUnit.MILLISECONDS);
-                }
-            }
+                        @Override
+                        public void onFailure(Throwable t) {
+                            invalidateNearCache(keys);
+                            future.setError(t);
+                        }
+                    });
         } catch (Exception e) {
+            invalidateNearCache(keys);
             throw ExceptionUtil.rethrow(e);
         }
+        return future;
+    }
+
+    private void groupByPartition(Map<? extends Object, ? extends Object> entries,
+                                  Map<Integer, MapEntrySet> entrySets, List<Data> keys) {
+        final MapServiceContext mapServiceContext = getService().getMapServiceContext();
+        InternalPartitionService partitionService = getNodeEngine().getPartitionService();
+        for (Entry entry : entries.entrySet()) {
+            checkNotNull(entry.getKey(), NULL_KEY_IS_NOT_ALLOWED);
+            checkNotNull(entry.getValue(), NULL_VALUE_IS_NOT_ALLOWED);
+
+            Data key = mapServiceContext.toData(entry.getKey(), partitionStrategy);
+            int partitionId = partitionService.getPartitionId(key);
+            MapEntrySet entrySet = entrySets.get(partitionId);
+            if (entrySet == null) {
+                entrySet = new MapEntrySet();
+                entrySets.put(partitionId, entrySet);
+            }
+            entrySet.add(key, mapServiceContext.toData(entry.getValue()));
+            keys.add(key);
+        }
+    }
+
+    private OperationFactory createPutAllOperationFactory(Map<Integer, MapEntrySet> entrySets) {
+        int[] partitions = new int[entrySets.size()];
+        MapEntrySet[] partitionEntrySets = new MapEntrySet[entrySets.size()];
+        int index = 0;
+        for (Map.Entry<Integer, MapEntrySet> entry : entrySets.entrySet()) {
+            partitions[index] = entry.getKey();
+            partitionEntrySets[index] = entry.getValue();
+            index++;
+        }
+
+        // The partitions are grouped by owner, so every member receives all its entries in a single packet and
+        // executes the PutAllOperations of its partitions in parallel.
+        return new PutAllPartitionAwareOperationFactory(name, partitions, partitionEntrySets);
     }
 
     public void flush() {
@@ -1026,16 +1131,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
             MultipleEntryOperationFactory operationFactory = new MultipleEntryOperationFactory(name, keys, entryProcessor);
             Map<Integer, Object> results = nodeEngine.getOperationService()
                     .invokeOnPartitions(SERVICE_NAME, operationFactory, partitionsForKeys);
-            for (Object o : results.values()) {
-                if (o != null) {
-                    final MapService service = getService();
-                    final MapEntrySet mapEntrySet = (MapEntrySet) o;
-                    for (Entry<Data, Data> entry : mapEntrySet.getEntrySet()) {
-                        result.put(service.getMapServiceContext().toObject(entry.getKey()),
-                                service.getMapServiceContext().toObject(entry.getValue()));
-                    }
-                }
-            }
+            collectEntryProcessorResults(results, result, false);
             invalidateNearCache(keys);
         } catch (Throwable t) {
             throw ExceptionUtil.rethrow(t);
@@ -1043,6 +1139,28 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         return result;
     }
 
+    public ICompletableFuture<Map> executeOnKeysAsyncInternal(final Set<Data> keys, EntryProcessor entryProcessor) {
+        final SettableCompletableFuture<Map> future = newSettableFuture();
+        final Collection<Integer> partitionsForKeys = getPartitionsForKeys(keys);
+        try {
+            MultipleEntryOperationFactory operationFactory = new MultipleEntryOperationFactory(name, keys, entryProcessor);
+            getNodeEngine().getOperationService()
+                    .invokeOnPartitionsAsync(SERVICE_NAME, operationFactory, partitionsForKeys)
+                    .andThen(new ConvertingCallback<Map>(future) {
+                        @Override
+                        Map convert(Map<Integer, Object> results) {
+                            Map result = new HashMap();
+                            collectEntryProcessorResults(results, result, false);
+                            invalidateNearCache(keys);
+                            return result;
+                        }
+                    });
+        } catch (Throwable t) {
+            throw ExceptionUtil.rethrow(t);
+        }
+        return future;
+    }
+
     public ICompletableFuture executeOnKeyInternal(Data key, EntryProcessor entryProcessor, ExecutionCallback callback) {
         final NodeEngine nodeEngine = getNodeEngine();
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
@@ -1086,22 +1204,88 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
                                     entryProcessor,
                                     predicate)
                     );
-            for (Object o : results.values()) {
-                if (o != null) {
-                    final MapService service = getService();
-                    final MapEntrySet mapEntrySet = (MapEntrySet) o;
-                    for (Entry<Data, Data> entry : mapEntrySet.getEntrySet()) {
-                        final Data key = entry.getKey();
-                        result.put(service.getMapServiceContext().toObject(key),
-                                service.getMapServiceContext().toObject(entry.getValue()));
+            collectEntryProcessorResults(results, result, true);
+        } catch (Throwable t) {
+            throw ExceptionUtil.rethrow(t);
+        }
+        return result;
+    }
+
+    /**
+     * {@link IMap#executeOnEntriesAsync(EntryProcessor, Predicate)}
+     */
+    public ICompletableFuture<Map> executeOnEntriesAsyncInternal(EntryProcessor entryProcessor, Predicate predicate) {
+        final SettableCompletableFuture<Map> future = newSettableFuture();
+        try {
+            getNodeEngine().getOperationService()
+                    .invokeOnAllPartitionsAsync(SERVICE_NAME,
+                            new PartitionWideEntryWithPredicateOperationFactory(name, entryProcessor, predicate))
+                    .andThen(new ConvertingCallback<Map>(future) {
+                        @Override
+                        Map convert(Map<Integer, Object> results) {
+                            Map result = new HashMap();
+                            collectEntryProcessorResults(results, result, true);
+                            return result;
+                        }
+                    });
+        } catch (Throwable t) {
+            throw ExceptionUtil.rethrow(t);
+        }
+        return future;
+    }
+
+    private void collectEntryProcessorResults(Map<Integer, Object> results, Map result, boolean invalidateNearCache) {
+        final MapServiceContext mapServiceContext = getService().getMapServiceContext();
+        for (Object o : results.values()) {
+            if (o != null) {
+                final MapEntrySet mapEntrySet = (MapEntrySet) o;
+                for (Entry<Data, Data> entry : mapEntrySet.getEntrySet()) {
+                    final Data key = entry.getKey();
+                    result.put(mapServiceContext.toObject(key), mapServiceContext.toObject(entry.getValue()));
+                    if (invalidateNearCache) {
                         invalidateNearCache(key);
                     }
                 }
             }
-        } catch (Throwable t) {
-            throw ExceptionUtil.rethrow(t);
         }
-        return result;
+    }
+
+    private <T> SettableCompletableFuture<T> newSettableFuture() {
+        ExecutionService executionService = getNodeEngine().getExecutionService();
+        return new SettableCompletableFuture<T>(executionService.getExecutor(ExecutionService.ASYNC_EXECUTOR));
+    }
+
+    /**
+     * Completes a {@link SettableCompletableFuture} with the converted responses of a multi partition invocation.
+     *
+     * @param <T> the type of the converted result.
+     */
+    private abstract static class ConvertingCallback<T> implements ExecutionCallback<Map<Integer, Object>> {
+
+        private final SettableCompletableFuture<T> future;
+
+        ConvertingCallback(SettableCompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        abstract T convert(Map<Integer, Object> responses);
+
+        @Override
+        public final void onResponse(Map<Integer, Object> responses) {
+            T result;
+            try {
+                result = convert(responses);
+            } catch (Throwable t) {
+                future.setError(t);
+                return;
+            }
+            future.setResult(result);
+        }
+
+        @Override
+        public final void onFailure(Throwable t) {
+            future.setError(t);
+        }
     }
 
     protected Object toObject(Object obj) {
@@ -1131,12 +1315,16 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
     }
 
     public void addIndex(final String attribute, final boolean ordered) {
+        addIndex(attribute, ordered, false);
+    }
+
+    private void addIndex(String attribute, boolean ordered, boolean bitmap) {
         final NodeEngine nodeEngine = getNodeEngine();
         if (attribute == null) {
             throw new IllegalArgumentException("Attribute name cannot be null");
         }
         try {
-            AddIndexOperation addIndexOperation = new AddIndexOperation(name, attribute, ordered);
+            AddIndexOperation addIndexOperation = new AddIndexOperation(name, attribute, ordered, bitmap);
             nodeEngine.getOperationService()
                     .invokeOnAllPartitions(SERVICE_NAME, new BinaryOperationFactory(addIndexOperation, nodeEngine));
         } catch (Throwable t) {
@@ -1205,7 +1393,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
 
     }
 
-    private MapConfig getMapConfig() {
+    protected MapConfig getMapConfig() {
         final MapService mapService = getService();
         final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         final MapContainer mapContainer = mapServiceContext.getMapContainer(name);
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.MembershipListener;
+import com.hazelcast.map.impl.operation.QueryCacheSnapshotOperation;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.NodeEngine;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+
+/**
+ * The {@link QueryCacheContext} of a query cache living on a member.
+ */
+public class NodeQueryCacheContext implements QueryCacheContext {
+
+    private final NodeEngine nodeEngine;
+
+    public NodeQueryCacheContext(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+    }
+
+    @Override
+    public SerializationService getSerializationService() {
+        return nodeEngine.getSerializationService();
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return nodeEngine.getPartitionService().getPartitionCount();
+    }
+
+    @Override
+    public ClassLoader getConfigClassLoader() {
+        return nodeEngine.getConfigClassLoader();
+    }
+
+    @Override
+    public int getPartitionId(Data key) {
+        return nodeEngine.getPartitionService().getPartitionId(key);
+    }
+
+    @Override
+    public String registerListener(String mapName, QueryCacheEventFilter filter, QueryCacheEventListener listener) {
+        return nodeEngine.getEventService().registerListener(SERVICE_NAME, mapName, filter, listener).getId();
+    }
+
+    @Override
+    public boolean deregisterListener(String mapName, String registrationId) {
+        return nodeEngine.getEventService().deregisterListener(SERVICE_NAME, mapName, registrationId);
+    }
+
+    @Override
+    public ICompletableFuture<QueryCacheSnapshot> takeSnapshot(String mapName, String cacheId, int partitionId) {
+        final QueryCacheSnapshotOperation operation = new QueryCacheSnapshotOperation(mapName, cacheId);
+        return nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
+    }
+
+    @Override
+    public String addMembershipListener(MembershipListener listener) {
+        return nodeEngine.getHazelcastInstance().getCluster().addMembershipListener(listener);
+    }
+
+    @Override
+    public boolean removeMembershipListener(String registrationId) {
+        return nodeEngine.getHazelcastInstance().getCluster().removeMembershipListener(registrationId);
+    }
+}
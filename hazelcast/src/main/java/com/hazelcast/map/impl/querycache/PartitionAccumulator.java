@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collects the events of a single partition for a single {@link com.hazelcast.map.QueryCache} until they are sent
+ * as a batch.
+ * <p/>
+ * When coalescing, a pending event of a key is replaced by a newer event of the same key, so only the latest change
+ * of a key is sent. The events are numbered when they are taken, so coalescing doesn't leave gaps in the sequence.
+ * <p/>
+ * This class is not thread-safe; the {@link QueryCachePublisher} synchronizes on the accumulator.
+ */
+final class PartitionAccumulator {
+
+    private final int partitionId;
+    private final long streamId = UUID.randomUUID().getLeastSignificantBits();
+    private final boolean coalesce;
+    private final Collection<QueryCacheEventData> list;
+    private final Map<Data, QueryCacheEventData> map;
+    private long sequence;
+    private long oldestPendingMillis;
+
+    PartitionAccumulator(int partitionId, boolean coalesce) {
+        this.partitionId = partitionId;
+        this.coalesce = coalesce;
+        if (coalesce) {
+            this.map = new LinkedHashMap<Data, QueryCacheEventData>();
+            this.list = null;
+        } else {
+            this.map = null;
+            this.list = new LinkedList<QueryCacheEventData>();
+        }
+    }
+
+    int getPartitionId() {
+        return partitionId;
+    }
+
+    long getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * Returns the sequence of the last event taken from this accumulator.
+     *
+     * @return the last sequence, 0 if no event has been taken yet.
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    void add(QueryCacheEventData event) {
+        if (size() == 0) {
+            oldestPendingMillis = Clock.currentTimeMillis();
+        }
+        if (event.getType() == QueryCacheEventData.CLEAR) {
+            // a clear supersedes whatever is pending
+            clearPending();
+            oldestPendingMillis = Clock.currentTimeMillis();
+        }
+        if (coalesce) {
+            // re-insert so the coalesced event keeps the position of the latest change
+            map.remove(event.getKey());
+            map.put(event.getKey(), event);
+        } else {
+            list.add(event);
+        }
+    }
+
+    int size() {
+        return coalesce ? map.size() : list.size();
+    }
+
+    /**
+     * Checks if the pending events should be sent.
+     *
+     * @param batchSize   the number of events sent at once.
+     * @param delayMillis the maximum time an event waits for the batch to fill up.
+     * @param now         the current time in milliseconds.
+     * @return true if the pending events should be sent, false otherwise.
+     */
+    boolean isDue(int batchSize, long delayMillis, long now) {
+        final int size = size();
+        return size > 0 && (size >= batchSize || now - oldestPendingMillis >= delayMillis);
+    }
+
+    /**
+     * Takes and numbers the pending events.
+     *
+     * @return the pending events, in order of their sequence.
+     */
+    List<QueryCacheEventData> take() {
+        final Collection<QueryCacheEventData> pending = coalesce ? map.values() : list;
+        final List<QueryCacheEventData> events = new ArrayList<QueryCacheEventData>(pending);
+        for (QueryCacheEventData event : events) {
+            event.setSequence(++sequence);
+        }
+        clearPending();
+        return events;
+    }
+
+    private void clearPending() {
+        if (coalesce) {
+            map.clear();
+        } else {
+            list.clear();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.MembershipListener;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+
+/**
+ * The services a {@link QueryCacheImpl} needs from the member or the client it lives on.
+ */
+public interface QueryCacheContext {
+
+    SerializationService getSerializationService();
+
+    int getPartitionCount();
+
+    ClassLoader getConfigClassLoader();
+
+    int getPartitionId(Data key);
+
+    /**
+     * Registers the listener receiving the events of a query cache.
+     *
+     * @param mapName  the name of the map.
+     * @param filter   the filter of the query cache.
+     * @param listener the listener.
+     * @return the id of the registration.
+     */
+    String registerListener(String mapName, QueryCacheEventFilter filter, QueryCacheEventListener listener);
+
+    boolean deregisterListener(String mapName, String registrationId);
+
+    /**
+     * Reads the entries of a partition matching a query cache.
+     *
+     * @param mapName     the name of the map.
+     * @param cacheId     the id of the query cache.
+     * @param partitionId the partition to read.
+     * @return the future of the snapshot.
+     * @see QueryCacheEventFilter#getCacheId()
+     */
+    ICompletableFuture<QueryCacheSnapshot> takeSnapshot(String mapName, String cacheId, int partitionId);
+
+    String addMembershipListener(MembershipListener listener);
+
+    boolean removeMembershipListener(String registrationId);
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The events of a partition sent at once to a {@link com.hazelcast.map.QueryCache}.
+ * <p/>
+ * The events are numbered without gaps within a stream. A stream is the sequence of events sent by the member
+ * owning the partition; when the partition moves to another member, a new stream begins.
+ */
+public class QueryCacheEventBatch implements EventData {
+
+    private String source;
+    private String mapName;
+    private int partitionId;
+    private long streamId;
+    private List<QueryCacheEventData> events;
+
+    public QueryCacheEventBatch() {
+    }
+
+    public QueryCacheEventBatch(String source, String mapName, int partitionId, long streamId,
+                                List<QueryCacheEventData> events) {
+        this.source = source;
+        this.mapName = mapName;
+        this.partitionId = partitionId;
+        this.streamId = streamId;
+        this.events = events;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String getMapName() {
+        return mapName;
+    }
+
+    @Override
+    public Address getCaller() {
+        return null;
+    }
+
+    @Override
+    public int getEventType() {
+        return 0;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public long getStreamId() {
+        return streamId;
+    }
+
+    public List<QueryCacheEventData> getEvents() {
+        return events;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(source);
+        out.writeUTF(mapName);
+        out.writeInt(partitionId);
+        out.writeLong(streamId);
+        out.writeInt(events.size());
+        for (QueryCacheEventData event : events) {
+            event.writeData(out);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        source = in.readUTF();
+        mapName = in.readUTF();
+        partitionId = in.readInt();
+        streamId = in.readLong();
+        final int size = in.readInt();
+        events = new ArrayList<QueryCacheEventData>(size);
+        for (int i = 0; i < size; i++) {
+            final QueryCacheEventData event = new QueryCacheEventData();
+            event.readData(in);
+            events.add(event);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheEventBatch{"
+                + "source='" + source + '\''
+                + ", mapName='" + mapName + '\''
+                + ", partitionId=" + partitionId
+                + ", streamId=" + streamId
+                + ", events=" + events.size()
+                + '}';
+    }
+}
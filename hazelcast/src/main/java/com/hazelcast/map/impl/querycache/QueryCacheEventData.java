@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+
+/**
+ * A change of a {@link com.hazelcast.map.QueryCache}: an entry that entered or changed in the query cache, an entry
+ * that left it or the clearing of a partition.
+ * <p/>
+ * The events of a partition are numbered by the {@link QueryCachePublisher} when they are sent, so the subscriber
+ * can detect lost events.
+ */
+public class QueryCacheEventData implements DataSerializable {
+
+    /**
+     * The entry entered or changed.
+     */
+    public static final int PUT = 1;
+
+    /**
+     * The entry left the query cache.
+     */
+    public static final int REMOVE = 2;
+
+    /**
+     * All entries of the partition left the query cache.
+     */
+    public static final int CLEAR = 3;
+
+    private long sequence;
+    private int type;
+    private Data key;
+    private Data value;
+
+    public QueryCacheEventData() {
+    }
+
+    public QueryCacheEventData(int type, Data key, Data value) {
+        this.type = type;
+        this.key = key;
+        this.value = value;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public Data getKey() {
+        return key;
+    }
+
+    public Data getValue() {
+        return value;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(sequence);
+        out.writeByte(type);
+        out.writeData(key);
+        out.writeData(value);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        sequence = in.readLong();
+        type = in.readByte();
+        key = in.readData();
+        value = in.readData();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheEventData{"
+                + "sequence=" + sequence
+                + ", type=" + type
+                + '}';
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.spi.EventFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The filter of the event registration of a {@link com.hazelcast.map.QueryCache}. Events matching this filter are
+ * not published one by one; they are handed to the {@link QueryCachePublisher}, which batches them per partition.
+ */
+public class QueryCacheEventFilter implements EventFilter, DataSerializable {
+
+    private String cacheId;
+    private Predicate predicate;
+    private boolean includeValue;
+    private int batchSize;
+    private long delayMillis;
+    private boolean coalesce;
+
+    public QueryCacheEventFilter() {
+    }
+
+    public QueryCacheEventFilter(String cacheId, QueryCacheConfig config, Predicate predicate) {
+        this.cacheId = cacheId;
+        this.predicate = predicate;
+        this.includeValue = config.isIncludeValue();
+        this.batchSize = config.getBatchSize();
+        this.delayMillis = TimeUnit.SECONDS.toMillis(config.getDelaySeconds());
+        this.coalesce = config.isCoalesce();
+    }
+
+    /**
+     * Checks if an entry belongs to the query cache.
+     *
+     * @param entry the entry to check.
+     * @return true if the entry matches the predicate of the query cache, false otherwise.
+     */
+    public boolean matches(QueryEntry entry) {
+        return predicate.apply(entry);
+    }
+
+    @Override
+    public boolean eval(Object arg) {
+        // the events are evaluated by the QueryCachePublisher.
+        return false;
+    }
+
+    /**
+     * Returns the id of the query cache. Unlike the id of the registration, it doesn't change when a client
+     * registers the listener again after losing the member it was registered on.
+     *
+     * @return the id of the query cache.
+     */
+    public String getCacheId() {
+        return cacheId;
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    public boolean isIncludeValue() {
+        return includeValue;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getDelayMillis() {
+        return delayMillis;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(cacheId);
+        out.writeObject(predicate);
+        out.writeBoolean(includeValue);
+        out.writeInt(batchSize);
+        out.writeLong(delayMillis);
+        out.writeBoolean(coalesce);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        cacheId = in.readUTF();
+        predicate = in.readObject();
+        includeValue = in.readBoolean();
+        batchSize = in.readInt();
+        delayMillis = in.readLong();
+        coalesce = in.readBoolean();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheEventFilter{"
+                + "cacheId='" + cacheId + '\''
+                + ", predicate=" + predicate
+                + ", includeValue=" + includeValue
+                + ", batchSize=" + batchSize
+                + ", delayMillis=" + delayMillis
+                + ", coalesce=" + coalesce
+                + '}';
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.map.impl.ListenerAdapter;
+
+/**
+ * Receives the batches of events published to a {@link com.hazelcast.map.QueryCache}.
+ * <p/>
+ * It is a {@link ListenerAdapter} only so it can be registered with the map service; it receives no
+ * {@link com.hazelcast.core.IMapEvent}.
+ */
+public interface QueryCacheEventListener extends ListenerAdapter {
+
+    /**
+     * Handles a batch of events of a single partition.
+     *
+     * @param batch the batch of events.
+     */
+    void onBatch(QueryCacheEventBatch batch);
+}
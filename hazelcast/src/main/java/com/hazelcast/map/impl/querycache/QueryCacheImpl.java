@@ -0,0 +1,784 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.EntryListenerConfig;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.MemberAttributeEvent;
+import com.hazelcast.core.MembershipEvent;
+import com.hazelcast.core.MembershipListener;
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.ListenerAdapters;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexService;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.util.ExceptionUtil;
+import com.hazelcast.util.SampleableConcurrentHashMap;
+import com.hazelcast.util.UuidUtil;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link QueryCache} kept up to date by the batches of events published by the {@link QueryCachePublisher} of
+ * the members owning the partitions.
+ * <p/>
+ * The events of each partition are numbered. When an event is missing, or when the partition starts a new stream
+ * because it moved to another member, the partition is recovered: the incoming batches are buffered while a snapshot
+ * of the partition is read, then the snapshot replaces the entries of the partition and the buffered events that
+ * aren't reflected in the snapshot are applied. When a snapshot can't be read, the partition is marked as lost until
+ * it is recovered by the next batch or by {@link #tryRecover()}.
+ * <p/>
+ * When the size of the query cache exceeds the configured entry count, the entries above it are evicted, each one
+ * being the least recently or least frequently used entry of a small random sample, like the sampling based eviction
+ * of the maps.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class QueryCacheImpl<K, V> implements QueryCache<K, V> {
+
+    private static final long UNKNOWN_SEQUENCE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int EVICTION_SAMPLE_COUNT = 15;
+    // bounds the number of samples taken when the sampled records are removed concurrently
+    private static final int MAX_SAMPLES_PER_EVICTION = 2;
+
+    private final ILogger logger = Logger.getLogger(QueryCacheImpl.class);
+    private final String name;
+    private final String mapName;
+    private final QueryCacheConfig config;
+    private final Predicate predicate;
+    private final QueryCacheContext context;
+    private final SerializationService serializationService;
+    private final boolean objectFormat;
+    private final SampleableConcurrentHashMap<Data, QueryCacheRecord> records
+            = new SampleableConcurrentHashMap<Data, QueryCacheRecord>(INITIAL_CAPACITY);
+    private final IndexService indexService = new IndexService();
+    private final ConcurrentMap<String, LocalListener> listeners = new ConcurrentHashMap<String, LocalListener>();
+    private final PartitionState[] partitions;
+    private final Object evictionMutex = new Object();
+    private final String cacheId = UuidUtil.buildRandomUuidString();
+    private volatile String registrationId;
+    private volatile String membershipListenerId;
+    private volatile boolean destroyed;
+
+    public QueryCacheImpl(String name, String mapName, QueryCacheConfig config, Predicate predicate,
+                          QueryCacheContext context) {
+        this.name = checkNotNull(name, "name can't be null");
+        this.mapName = mapName;
+        this.config = config;
+        this.predicate = checkNotNull(predicate, "predicate can't be null");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("A QueryCache can't be created with a PagingPredicate");
+        }
+        this.context = context;
+        this.serializationService = context.getSerializationService();
+        this.objectFormat = config.getInMemoryFormat() == InMemoryFormat.OBJECT;
+        this.partitions = new PartitionState[context.getPartitionCount()];
+        for (int partitionId = 0; partitionId < partitions.length; partitionId++) {
+            partitions[partitionId] = new PartitionState(partitionId);
+        }
+    }
+
+    /**
+     * Applies the configured indexes and listeners, subscribes to the events of the map and, if configured,
+     * populates this query cache. Blocks until all partitions are populated.
+     */
+    public void init() {
+        for (MapIndexConfig indexConfig : config.getIndexConfigs()) {
+            addIndex(indexConfig.getAttribute(), indexConfig.isOrdered(), indexConfig.isBitmap());
+        }
+        for (EntryListenerConfig listenerConfig : config.getEntryListenerConfigs()) {
+            addLocalListener(createListener(listenerConfig), null, null, listenerConfig.isIncludeValue());
+        }
+
+        final boolean populate = config.isPopulate();
+        if (populate) {
+            // the events received before the snapshots are read are buffered
+            for (PartitionState state : partitions) {
+                synchronized (state) {
+                    state.recovering = true;
+                    state.buffered = new LinkedList<QueryCacheEventBatch>();
+                }
+            }
+        }
+        final QueryCacheEventFilter filter = new QueryCacheEventFilter(cacheId, config, predicate);
+        registrationId = context.registerListener(mapName, filter, new BatchListener());
+        membershipListenerId = context.addMembershipListener(new RecoveringMembershipListener());
+        if (populate) {
+            final List<ICompletableFuture<QueryCacheSnapshot>> futures
+                    = new ArrayList<ICompletableFuture<QueryCacheSnapshot>>(partitions.length);
+            for (PartitionState state : partitions) {
+                futures.add(context.takeSnapshot(mapName, cacheId, state.partitionId));
+            }
+            for (int partitionId = 0; partitionId < partitions.length; partitionId++) {
+                awaitSnapshot(partitions[partitionId], futures.get(partitionId));
+            }
+        }
+    }
+
+    private Object createListener(EntryListenerConfig listenerConfig) {
+        if (listenerConfig.getImplementation() != null) {
+            return listenerConfig.getImplementation();
+        }
+        try {
+            return ClassLoaderUtil.newInstance(context.getConfigClassLoader(), listenerConfig.getClassName());
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        checkNotNull(key, "key can't be null");
+        final QueryCacheRecord record = records.get(serializationService.toData(key));
+        if (record == null) {
+            return null;
+        }
+        record.onAccess();
+        return toValue(record);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        checkNotNull(key, "key can't be null");
+        return records.containsKey(serializationService.toData(key));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        checkNotNull(value, "value can't be null");
+        final Object target = objectFormat ? value : serializationService.toData(value);
+        for (QueryCacheRecord record : records.values()) {
+            if (target.equals(record.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public void addIndex(String attribute, boolean ordered) {
+        addIndex(attribute, ordered, false);
+    }
+
+    private void addIndex(String attribute, boolean ordered, boolean bitmap) {
+        checkNotNull(attribute, "attribute can't be null");
+        final Index index = indexService.addOrGetIndex(attribute, ordered, bitmap);
+        for (QueryCacheRecord record : records.values()) {
+            if (record.getValue() != null) {
+                index.saveEntryIndex(toQueryEntry(record.getKey(), record.getValue()));
+            }
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+        checkNotNull(keys, "keys can't be null");
+        final Map<K, V> result = new HashMap<K, V>();
+        for (K key : keys) {
+            final QueryCacheRecord record = records.get(serializationService.toData(key));
+            if (record != null) {
+                record.onAccess();
+                result.put(key, this.<V>toValue(record));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        final Set<K> result = new HashSet<K>();
+        for (Data key : records.keySet()) {
+            result.add(serializationService.<K>toObject(key));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        final Set<Map.Entry<K, V>> result = new HashSet<Map.Entry<K, V>>();
+        for (QueryCacheRecord record : records.values()) {
+            final K key = serializationService.toObject(record.getKey());
+            result.add(new AbstractMap.SimpleImmutableEntry<K, V>(key, this.<V>toValue(record)));
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<V> values() {
+        final List<V> result = new ArrayList<V>(records.size());
+        for (QueryCacheRecord record : records.values()) {
+            result.add(this.<V>toValue(record));
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<K> keySet(Predicate predicate) {
+        final Set<K> result = new HashSet<K>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add((K) entry.getKey());
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Map.Entry<K, V>> entrySet(Predicate predicate) {
+        final Set<Map.Entry<K, V>> result = new HashSet<Map.Entry<K, V>>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add(new AbstractMap.SimpleImmutableEntry<K, V>((K) entry.getKey(), (V) entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values(Predicate predicate) {
+        final List<V> result = new ArrayList<V>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add((V) entry.getValue());
+        }
+        return result;
+    }
+
+    private Collection<QueryableEntry> query(Predicate predicate) {
+        checkNotNull(predicate, "predicate can't be null");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("PagingPredicate is not supported by a QueryCache");
+        }
+        final Set<QueryableEntry> indexed = indexService.query(predicate, true);
+        if (indexed != null) {
+            return indexed;
+        }
+        final List<QueryableEntry> result = new LinkedList<QueryableEntry>();
+        for (QueryCacheRecord record : records.values()) {
+            final QueryEntry entry = toQueryEntry(record.getKey(), record.getValue());
+            if (predicate.apply(entry)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, boolean includeValue) {
+        checkNotNull(listener, "listener can't be null");
+        return addLocalListener(listener, null, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, K key, boolean includeValue) {
+        checkNotNull(listener, "listener can't be null");
+        checkNotNull(key, "key can't be null");
+        return addLocalListener(listener, null, key, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(listener, "listener can't be null");
+        checkNotNull(predicate, "predicate can't be null");
+        return addLocalListener(listener, predicate, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, K key, boolean includeValue) {
+        checkNotNull(listener, "listener can't be null");
+        checkNotNull(predicate, "predicate can't be null");
+        checkNotNull(key, "key can't be null");
+        return addLocalListener(listener, predicate, key, includeValue);
+    }
+
+    private String addLocalListener(Object listener, Predicate predicate, Object key, boolean includeValue) {
+        final Data keyData = key == null ? null : serializationService.toData(key);
+        final ListenerAdapter adapter = ListenerAdapters.createListenerAdapter(listener);
+        final String id = UuidUtil.buildRandomUuidString();
+        listeners.put(id, new LocalListener(adapter, predicate, keyData, includeValue));
+        return id;
+    }
+
+    @Override
+    public boolean removeEntryListener(String id) {
+        checkNotNull(id, "id can't be null");
+        return listeners.remove(id) != null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    /**
+     * Recovers the partitions marked as lost by reading a snapshot of them. Blocks until the snapshots are applied.
+     *
+     * @return true if no partition is lost anymore, false otherwise.
+     */
+    @Override
+    public boolean tryRecover() {
+        final Map<PartitionState, ICompletableFuture<QueryCacheSnapshot>> futures
+                = new HashMap<PartitionState, ICompletableFuture<QueryCacheSnapshot>>();
+        for (PartitionState state : partitions) {
+            synchronized (state) {
+                if (state.lost && !state.recovering) {
+                    futures.put(state, startRecovery(state));
+                }
+            }
+        }
+        boolean recovered = true;
+        for (Map.Entry<PartitionState, ICompletableFuture<QueryCacheSnapshot>> entry : futures.entrySet()) {
+            recovered &= awaitSnapshot(entry.getKey(), entry.getValue());
+        }
+        return recovered;
+    }
+
+    @Override
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        destroyed = true;
+        context.deregisterListener(mapName, registrationId);
+        context.removeMembershipListener(membershipListenerId);
+        listeners.clear();
+        for (PartitionState state : partitions) {
+            synchronized (state) {
+                state.recovering = false;
+                state.buffered = null;
+                state.keys.clear();
+            }
+        }
+        records.clear();
+        indexService.clearIndexes();
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    private void onBatch(QueryCacheEventBatch batch) {
+        if (destroyed || batch.getEvents().isEmpty()) {
+            return;
+        }
+        final PartitionState state = partitions[batch.getPartitionId()];
+        synchronized (state) {
+            applyBatch(state, batch);
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Applies the events of a batch which follow the last applied event, or starts the recovery of the partition
+     * when an event is missing. Called while holding the lock of the partition state.
+     */
+    private void applyBatch(PartitionState state, QueryCacheEventBatch batch) {
+        if (state.recovering) {
+            state.buffered.add(batch);
+            return;
+        }
+        final List<QueryCacheEventData> events = batch.getEvents();
+        if (state.sequence == UNKNOWN_SEQUENCE) {
+            // a query cache that isn't populated starts from the first event it receives
+            state.streamId = batch.getStreamId();
+            state.sequence = events.get(0).getSequence() - 1;
+        }
+        if (state.streamId != batch.getStreamId()) {
+            recoverAsync(state, batch);
+            return;
+        }
+        for (QueryCacheEventData event : events) {
+            final long sequence = event.getSequence();
+            if (sequence <= state.sequence) {
+                // already reflected by the snapshot
+                continue;
+            }
+            if (sequence != state.sequence + 1) {
+                recoverAsync(state, batch);
+                return;
+            }
+            applyEvent(state, event);
+            state.sequence = sequence;
+        }
+    }
+
+    private void applyEvent(PartitionState state, QueryCacheEventData event) {
+        switch (event.getType()) {
+            case QueryCacheEventData.PUT:
+                putRecord(state, event.getKey(), event.getValue());
+                break;
+            case QueryCacheEventData.REMOVE:
+                removeRecord(state, records.get(event.getKey()), EntryEventType.REMOVED);
+                break;
+            case QueryCacheEventData.CLEAR:
+                removePartitionRecords(state, null);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown query cache event type " + event.getType());
+        }
+    }
+
+    private void recoverAsync(final PartitionState state, QueryCacheEventBatch pending) {
+        if (state.recovering) {
+            if (pending != null) {
+                state.buffered.add(pending);
+            }
+            return;
+        }
+        final ICompletableFuture<QueryCacheSnapshot> future = startRecovery(state);
+        if (pending != null) {
+            state.buffered.add(pending);
+        }
+        future.andThen(new ExecutionCallback<QueryCacheSnapshot>() {
+            @Override
+            public void onResponse(QueryCacheSnapshot snapshot) {
+                applySnapshot(state, snapshot);
+                evictIfNeeded();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                onRecoveryFailure(state, t);
+            }
+        });
+    }
+
+    /**
+     * Starts reading a snapshot of a partition. Called while holding the lock of the partition state.
+     */
+    private ICompletableFuture<QueryCacheSnapshot> startRecovery(PartitionState state) {
+        state.recovering = true;
+        state.buffered = new LinkedList<QueryCacheEventBatch>();
+        return context.takeSnapshot(mapName, cacheId, state.partitionId);
+    }
+
+    private boolean awaitSnapshot(PartitionState state, ICompletableFuture<QueryCacheSnapshot> future) {
+        final QueryCacheSnapshot snapshot;
+        try {
+            snapshot = future.get();
+        } catch (Exception e) {
+            onRecoveryFailure(state, e);
+            return false;
+        }
+        applySnapshot(state, snapshot);
+        evictIfNeeded();
+        return true;
+    }
+
+    private void applySnapshot(PartitionState state, QueryCacheSnapshot snapshot) {
+        synchronized (state) {
+            if (!state.recovering) {
+                return;
+            }
+            final List<Data> keys = snapshot.getKeys();
+            final List<Data> values = snapshot.getValues();
+            removePartitionRecords(state, new HashSet<Data>(keys));
+            for (int i = 0; i < keys.size(); i++) {
+                putRecord(state, keys.get(i), values.get(i));
+            }
+
+            final List<QueryCacheEventBatch> buffered = state.buffered;
+            state.streamId = snapshot.getStreamId();
+            state.sequence = snapshot.getSequence();
+            state.recovering = false;
+            state.lost = false;
+            state.buffered = null;
+            for (QueryCacheEventBatch batch : buffered) {
+                applyBatch(state, batch);
+            }
+        }
+    }
+
+    private void onRecoveryFailure(PartitionState state, Throwable t) {
+        synchronized (state) {
+            if (!state.recovering) {
+                return;
+            }
+            state.recovering = false;
+            state.lost = true;
+            state.buffered = null;
+        }
+        if (!destroyed) {
+            logger.log(Level.WARNING, "Failed to recover partition " + state.partitionId + " of query cache " + name
+                    + ", call tryRecover() to recover it", t);
+        }
+    }
+
+    /**
+     * Called while holding the lock of the partition state, like all the modifications of the records.
+     */
+    private void putRecord(PartitionState state, Data key, Data valueData) {
+        final Object value = objectFormat ? serializationService.toObject(valueData) : valueData;
+        final QueryCacheRecord record = new QueryCacheRecord(key, value, state.partitionId);
+        final QueryCacheRecord oldRecord = records.put(key, record);
+        state.keys.add(key);
+        if (value != null) {
+            indexService.saveEntryIndex(toQueryEntry(key, value));
+        }
+        if (!listeners.isEmpty()) {
+            final EntryEventType eventType = oldRecord == null ? EntryEventType.ADDED : EntryEventType.UPDATED;
+            publishLocalEvent(eventType, key, valueData, oldRecord == null ? null : toData(oldRecord.getValue()));
+        }
+    }
+
+    /**
+     * Called while holding the lock of the partition state of the record.
+     *
+     * @return true if the record has been removed, false if it has been replaced or removed meanwhile.
+     */
+    private boolean removeRecord(PartitionState state, QueryCacheRecord record, EntryEventType eventType) {
+        if (record == null || !records.remove(record.getKey(), record)) {
+            return false;
+        }
+        state.keys.remove(record.getKey());
+        indexService.removeEntryIndex(record.getKey());
+        if (!listeners.isEmpty()) {
+            publishLocalEvent(eventType, record.getKey(), null, toData(record.getValue()));
+        }
+        return true;
+    }
+
+    /**
+     * Removes the entries of a partition, except for the given keys. Called while holding the lock of the partition
+     * state.
+     */
+    private void removePartitionRecords(PartitionState state, Set<Data> retainedKeys) {
+        for (Data key : new ArrayList<Data>(state.keys)) {
+            if (retainedKeys == null || !retainedKeys.contains(key)) {
+                removeRecord(state, records.get(key), EntryEventType.REMOVED);
+            }
+        }
+    }
+
+    private void evictIfNeeded() {
+        final EvictionConfig evictionConfig = config.getEvictionConfig();
+        final EvictionPolicy evictionPolicy = evictionConfig.getEvictionPolicy();
+        if (evictionPolicy == EvictionPolicy.NONE
+                || evictionConfig.getMaximumSizePolicy() != EvictionConfig.MaxSizePolicy.ENTRY_COUNT) {
+            return;
+        }
+        final int maxSize = evictionConfig.getSize();
+        if (records.size() <= maxSize) {
+            return;
+        }
+        synchronized (evictionMutex) {
+            final int evictionCount = records.size() - maxSize;
+            final long maxSamples = (long) evictionCount * MAX_SAMPLES_PER_EVICTION;
+            int evicted = 0;
+            for (long samples = 0; samples < maxSamples && evicted < evictionCount; samples++) {
+                final QueryCacheRecord candidate = selectEvictionCandidate(evictionPolicy);
+                if (candidate == null) {
+                    break;
+                }
+                final PartitionState state = partitions[candidate.getPartitionId()];
+                synchronized (state) {
+                    if (removeRecord(state, candidate, EntryEventType.EVICTED)) {
+                        evicted++;
+                    }
+                }
+            }
+        }
+    }
+
+    private QueryCacheRecord selectEvictionCandidate(EvictionPolicy evictionPolicy) {
+        final Iterable<SampleableConcurrentHashMap<Data, QueryCacheRecord>.SamplingEntry> samples
+                = records.getRandomSamples(EVICTION_SAMPLE_COUNT);
+        QueryCacheRecord candidate = null;
+        long candidateValue = Long.MAX_VALUE;
+        for (SampleableConcurrentHashMap<Data, QueryCacheRecord>.SamplingEntry sample : samples) {
+            final QueryCacheRecord record = sample.getValue();
+            final long value = getEvictionCriteriaValue(record, evictionPolicy);
+            if (candidate == null || value < candidateValue) {
+                candidate = record;
+                candidateValue = value;
+            }
+        }
+        return candidate;
+    }
+
+    private static long getEvictionCriteriaValue(QueryCacheRecord record, EvictionPolicy evictionPolicy) {
+        switch (evictionPolicy) {
+            case LRU:
+                return record.getLastAccessTime();
+            case LFU:
+                return record.getHits();
+            default:
+                // the sample starts at a random record, which is the one evicted
+                return 0;
+        }
+    }
+
+    private void publishLocalEvent(EntryEventType eventType, Data key, Data newValue, Data oldValue) {
+        final boolean removal = eventType == EntryEventType.REMOVED || eventType == EntryEventType.EVICTED;
+        for (LocalListener listener : listeners.values()) {
+            if (listener.key != null && !listener.key.equals(key)) {
+                continue;
+            }
+            if (listener.predicate != null
+                    && !listener.predicate.apply(new QueryEntry(serializationService, key, key,
+                    removal ? oldValue : newValue))) {
+                continue;
+            }
+            final DataAwareEntryEvent event = new DataAwareEntryEvent(null, eventType.getType(), name, key,
+                    listener.includeValue ? newValue : null, listener.includeValue ? oldValue : null, null,
+                    serializationService);
+            try {
+                listener.adapter.onEvent(event);
+            } catch (Exception e) {
+                logger.warning("Failed to notify a listener of query cache " + name, e);
+            }
+        }
+    }
+
+    private QueryEntry toQueryEntry(Data key, Object value) {
+        return new QueryEntry(serializationService, key, key, value);
+    }
+
+    private <T> T toValue(QueryCacheRecord record) {
+        return serializationService.toObject(record.getValue());
+    }
+
+    private Data toData(Object value) {
+        return value == null ? null : serializationService.toData(value);
+    }
+
+    /**
+     * The position of this query cache in the event stream of a partition.
+     */
+    private static final class PartitionState {
+
+        private final int partitionId;
+        // the keys of the records of the partition
+        private final Set<Data> keys = new HashSet<Data>();
+        private long streamId;
+        private long sequence = UNKNOWN_SEQUENCE;
+        private boolean recovering;
+        private boolean lost;
+        private List<QueryCacheEventBatch> buffered;
+
+        private PartitionState(int partitionId) {
+            this.partitionId = partitionId;
+        }
+    }
+
+    /**
+     * A listener added to this query cache.
+     */
+    private static final class LocalListener {
+
+        private final ListenerAdapter adapter;
+        private final Predicate predicate;
+        private final Data key;
+        private final boolean includeValue;
+
+        private LocalListener(ListenerAdapter adapter, Predicate predicate, Data key, boolean includeValue) {
+            this.adapter = adapter;
+            this.predicate = predicate;
+            this.key = key;
+            this.includeValue = includeValue;
+        }
+    }
+
+    /**
+     * Receives the batches published to this query cache.
+     */
+    private class BatchListener implements QueryCacheEventListener {
+
+        @Override
+        public void onBatch(QueryCacheEventBatch batch) {
+            QueryCacheImpl.this.onBatch(batch);
+        }
+
+        @Override
+        public void onEvent(IMapEvent event) {
+            // the query cache only receives batches.
+        }
+    }
+
+    /**
+     * Recovers all partitions when a member leaves, since the batches of its partitions it didn't send yet are lost.
+     */
+    private class RecoveringMembershipListener implements MembershipListener {
+
+        @Override
+        public void memberAdded(MembershipEvent membershipEvent) {
+        }
+
+        @Override
+        public void memberRemoved(MembershipEvent membershipEvent) {
+            if (destroyed) {
+                return;
+            }
+            for (PartitionState state : partitions) {
+                synchronized (state) {
+                    recoverAsync(state, null);
+                }
+            }
+        }
+
+        @Override
+        public void memberAttributeChanged(MemberAttributeEvent memberAttributeEvent) {
+        }
+    }
+}
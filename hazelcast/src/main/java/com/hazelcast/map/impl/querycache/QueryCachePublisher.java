@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.CompressedValue;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.EventFilter;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+
+/**
+ * Publishes the changes of the partitions owned by this member to the {@link com.hazelcast.map.QueryCache}
+ * instances listening to them.
+ * <p/>
+ * Each query cache registers a listener with a {@link QueryCacheEventFilter}. The map events of such a registration
+ * are evaluated against the predicate of the query cache and collected per partition in a
+ * {@link PartitionAccumulator}. The accumulated events are sent as a {@link QueryCacheEventBatch} when the batch
+ * is full or when the oldest event has waited for the configured delay; a background task sends the batches that
+ * are due and drops the state of removed listeners and of partitions that moved to another member.
+ */
+public class QueryCachePublisher {
+
+    private static final long FLUSH_PERIOD_MILLIS = 1000;
+
+    private final MapServiceContext mapServiceContext;
+    private final NodeEngine nodeEngine;
+    private final ConcurrentMap<String, Publisher> publishers = new ConcurrentHashMap<String, Publisher>();
+
+    public QueryCachePublisher(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+    }
+
+    public void start() {
+        nodeEngine.getExecutionService()
+                .scheduleAtFixedRate(new FlushTask(), FLUSH_PERIOD_MILLIS, FLUSH_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Publishes a change of an entry to a query cache. Called on the partition thread of the key.
+     *
+     * @param mapName      the name of the map.
+     * @param registration the registration of the query cache.
+     * @param eventType    the type of the change.
+     * @param key          the key of the entry.
+     * @param oldValue     the old value of the entry, or null if not known.
+     * @param newValue     the new value of the entry, or null if the entry has been removed.
+     */
+    public void publish(String mapName, EventRegistration registration, EntryEventType eventType,
+                        Data key, Data oldValue, Data newValue) {
+        final Publisher publisher = getOrCreatePublisher(mapName, registration);
+        final QueryCacheEventFilter filter = publisher.filter;
+        final SerializationService ss = nodeEngine.getSerializationService();
+        final boolean removed = eventType == EntryEventType.REMOVED || eventType == EntryEventType.EVICTED;
+
+        QueryCacheEventData event = null;
+        if (!removed && newValue != null) {
+            final Data value = uncompressed(ss, newValue);
+            if (filter.matches(new QueryEntry(ss, key, key, value))) {
+                event = new QueryCacheEventData(QueryCacheEventData.PUT, key, filter.isIncludeValue() ? value : null);
+            }
+        }
+        if (event == null && (oldValue == null || filter.matches(new QueryEntry(ss, key, key, uncompressed(ss, oldValue))))) {
+            // the entry left the query cache, or it may have been in the query cache if the old value isn't known
+            event = new QueryCacheEventData(QueryCacheEventData.REMOVE, key, null);
+        }
+        if (event == null) {
+            return;
+        }
+
+        final int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+        publisher.add(partitionId, event);
+    }
+
+    /**
+     * Publishes the clearing of a partition to all query caches of a map.
+     *
+     * @param mapName     the name of the map.
+     * @param partitionId the cleared partition.
+     */
+    public void publishClear(String mapName, int partitionId) {
+        for (Publisher publisher : publishers.values()) {
+            if (publisher.mapName.equals(mapName)) {
+                publisher.add(partitionId, new QueryCacheEventData(QueryCacheEventData.CLEAR, null, null));
+            }
+        }
+    }
+
+    /**
+     * Reads the entries of a partition matching a query cache. Called on the partition thread, so no change
+     * of the partition can be published while the snapshot is taken.
+     *
+     * @param mapName     the name of the map.
+     * @param cacheId     the id of the query cache.
+     * @param partitionId the partition to read.
+     * @return the snapshot, or null if the query cache isn't registered.
+     */
+    public QueryCacheSnapshot takeSnapshot(String mapName, String cacheId, int partitionId) {
+        final EventRegistration registration = getRegistrationOfCache(mapName, cacheId);
+        if (registration == null) {
+            return null;
+        }
+
+        final Publisher publisher = getOrCreatePublisher(mapName, registration);
+        final PartitionAccumulator accumulator = publisher.getOrCreateAccumulator(partitionId);
+        final long streamId;
+        final long sequence;
+        synchronized (accumulator) {
+            publisher.flush(accumulator);
+            streamId = accumulator.getStreamId();
+            sequence = accumulator.getSequence();
+        }
+
+        final SerializationService ss = nodeEngine.getSerializationService();
+        final Collection<QueryableEntry> entries = mapServiceContext.getMapContextQuerySupport()
+                .queryOnPartition(mapName, publisher.filter.getPredicate(), partitionId);
+        final List<Data> keys = new ArrayList<Data>(entries.size());
+        final List<Data> values = new ArrayList<Data>(entries.size());
+        for (QueryableEntry entry : entries) {
+            keys.add(entry.getKeyData());
+            values.add(publisher.filter.isIncludeValue() ? uncompressed(ss, entry.getValueData()) : null);
+        }
+        return new QueryCacheSnapshot(partitionId, streamId, sequence, keys, values);
+    }
+
+    private Publisher getOrCreatePublisher(String mapName, EventRegistration registration) {
+        Publisher publisher = publishers.get(registration.getId());
+        if (publisher == null) {
+            final int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+            final Publisher newPublisher = new Publisher(mapName, registration, partitionCount);
+            publisher = publishers.putIfAbsent(registration.getId(), newPublisher);
+            if (publisher == null) {
+                publisher = newPublisher;
+            }
+        }
+        return publisher;
+    }
+
+    private EventRegistration getRegistration(String mapName, String registrationId) {
+        final EventService eventService = nodeEngine.getEventService();
+        for (EventRegistration registration : eventService.getRegistrations(SERVICE_NAME, mapName)) {
+            if (registration.getId().equals(registrationId)) {
+                return registration;
+            }
+        }
+        return null;
+    }
+
+    private EventRegistration getRegistrationOfCache(String mapName, String cacheId) {
+        final EventService eventService = nodeEngine.getEventService();
+        for (EventRegistration registration : eventService.getRegistrations(SERVICE_NAME, mapName)) {
+            final EventFilter filter = registration.getFilter();
+            if (filter instanceof QueryCacheEventFilter && ((QueryCacheEventFilter) filter).getCacheId().equals(cacheId)) {
+                return registration;
+            }
+        }
+        return null;
+    }
+
+    private static Data uncompressed(SerializationService ss, Data data) {
+        return CompressedValue.isCompressed(data) ? CompressedValue.decompress(ss, data) : data;
+    }
+
+    /**
+     * The state of a single query cache registration.
+     */
+    private final class Publisher {
+
+        private final String mapName;
+        private final EventRegistration registration;
+        private final QueryCacheEventFilter filter;
+        private final AtomicReferenceArray<PartitionAccumulator> accumulators;
+
+        private Publisher(String mapName, EventRegistration registration, int partitionCount) {
+            this.mapName = mapName;
+            this.registration = registration;
+            this.filter = (QueryCacheEventFilter) registration.getFilter();
+            this.accumulators = new AtomicReferenceArray<PartitionAccumulator>(partitionCount);
+        }
+
+        private PartitionAccumulator getOrCreateAccumulator(int partitionId) {
+            PartitionAccumulator accumulator = accumulators.get(partitionId);
+            if (accumulator == null) {
+                accumulator = new PartitionAccumulator(partitionId, filter.isCoalesce());
+                if (!accumulators.compareAndSet(partitionId, null, accumulator)) {
+                    accumulator = accumulators.get(partitionId);
+                }
+            }
+            return accumulator;
+        }
+
+        private void add(int partitionId, QueryCacheEventData event) {
+            final PartitionAccumulator accumulator = getOrCreateAccumulator(partitionId);
+            synchronized (accumulator) {
+                accumulator.add(event);
+                flushIfDue(accumulator, Clock.currentTimeMillis());
+            }
+        }
+
+        private void flushIfDue(PartitionAccumulator accumulator, long now) {
+            if (accumulator.isDue(filter.getBatchSize(), filter.getDelayMillis(), now)) {
+                flush(accumulator);
+            }
+        }
+
+        /**
+         * Sends the pending events of a partition. Called while holding the lock of the accumulator, so the
+         * batches of a partition are handed to the event service in order of their sequence.
+         */
+        private void flush(PartitionAccumulator accumulator) {
+            if (accumulator.size() == 0) {
+                return;
+            }
+            final List<QueryCacheEventData> events = accumulator.take();
+            final int partitionId = accumulator.getPartitionId();
+            final QueryCacheEventBatch batch = new QueryCacheEventBatch(nodeEngine.getThisAddress().toString(),
+                    mapName, partitionId, accumulator.getStreamId(), events);
+            nodeEngine.getEventService().publishEvent(SERVICE_NAME, registration, batch, partitionId);
+        }
+    }
+
+    /**
+     * Sends the batches that are due and cleans up the state that isn't needed anymore.
+     */
+    private class FlushTask implements Runnable {
+
+        @Override
+        public void run() {
+            final Address thisAddress = nodeEngine.getThisAddress();
+            final long now = Clock.currentTimeMillis();
+            final Iterator<Publisher> iterator = publishers.values().iterator();
+            while (iterator.hasNext()) {
+                final Publisher publisher = iterator.next();
+                if (getRegistration(publisher.mapName, publisher.registration.getId()) == null) {
+                    iterator.remove();
+                    continue;
+                }
+                for (int partitionId = 0; partitionId < publisher.accumulators.length(); partitionId++) {
+                    final PartitionAccumulator accumulator = publisher.accumulators.get(partitionId);
+                    if (accumulator == null) {
+                        continue;
+                    }
+                    synchronized (accumulator) {
+                        if (thisAddress.equals(nodeEngine.getPartitionService().getPartitionOwner(partitionId))) {
+                            publisher.flushIfDue(accumulator, now);
+                            continue;
+                        }
+                        // the new owner starts a new stream; the subscriber recovers the partition from it
+                        publisher.flush(accumulator);
+                        publisher.accumulators.compareAndSet(partitionId, accumulator, null);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.counters.Counter;
+
+import static com.hazelcast.util.counters.MwCounter.newMwCounter;
+
+/**
+ * An entry of a {@link QueryCacheImpl}. The value is kept as {@link Data} or as a deserialized object, depending on
+ * the in-memory format of the query cache.
+ */
+final class QueryCacheRecord {
+
+    private final Data key;
+    private final Object value;
+    private final int partitionId;
+    private volatile long lastAccessTime;
+    private final Counter hits = newMwCounter();
+
+    QueryCacheRecord(Data key, Object value, int partitionId) {
+        this.key = key;
+        this.value = value;
+        this.partitionId = partitionId;
+        this.lastAccessTime = Clock.currentTimeMillis();
+    }
+
+    Data getKey() {
+        return key;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    int getPartitionId() {
+        return partitionId;
+    }
+
+    long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Records a read of this entry; entries can be read by any thread.
+     */
+    void onAccess() {
+        lastAccessTime = Clock.currentTimeMillis();
+        hits.inc();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * The query caches created through a map proxy.
+ */
+public final class QueryCacheRegistry {
+
+    private final String mapName;
+    private final QueryCacheContext context;
+    private final ConcurrentMap<String, QueryCacheImpl> caches = new ConcurrentHashMap<String, QueryCacheImpl>();
+
+    public QueryCacheRegistry(String mapName, QueryCacheContext context) {
+        this.mapName = mapName;
+        this.context = context;
+    }
+
+    /**
+     * Returns the query cache with the given name, creating it if it doesn't exist or has been destroyed. A new query
+     * cache is populated before it is returned.
+     *
+     * @param name      the name of the query cache.
+     * @param config    the configuration of the query cache.
+     * @param predicate the predicate selecting the entries of the query cache.
+     * @param listener  the listener to add before the query cache is populated, or null.
+     * @return the query cache.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> QueryCache<K, V> getOrCreate(String name, QueryCacheConfig config, Predicate predicate,
+                                               MapListener listener) {
+        checkNotNull(name, "name can't be null");
+        QueryCacheImpl cache = caches.get(name);
+        if (cache != null && !cache.isDestroyed()) {
+            return cache;
+        }
+        synchronized (caches) {
+            cache = caches.get(name);
+            if (cache != null && !cache.isDestroyed()) {
+                return cache;
+            }
+            cache = new QueryCacheImpl(name, mapName, config, predicate, context);
+            if (listener != null) {
+                cache.addEntryListener(listener, config.isIncludeValue());
+            }
+            try {
+                cache.init();
+            } catch (RuntimeException e) {
+                cache.destroy();
+                throw e;
+            }
+            caches.put(name, cache);
+            return cache;
+        }
+    }
+
+    /**
+     * Destroys all query caches created through the map proxy.
+     */
+    public void destroyAll() {
+        for (QueryCacheImpl cache : caches.values()) {
+            cache.destroy();
+        }
+        caches.clear();
+    }
+
+    /**
+     * Finds the configuration of a query cache.
+     *
+     * @param configs the query cache configurations of the map.
+     * @param name    the name of the query cache.
+     * @return the configuration, or null if there is no query cache configured with the given name.
+     */
+    public static QueryCacheConfig findConfig(List<QueryCacheConfig> configs, String name) {
+        for (QueryCacheConfig config : configs) {
+            if (name.equals(config.getName())) {
+                return config;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the predicate of a configured query cache.
+     *
+     * @param config      the configuration of the query cache.
+     * @param classLoader the class loader of the predicate class.
+     * @return the predicate.
+     * @throws IllegalArgumentException if no predicate is configured.
+     */
+    public static Predicate getPredicate(QueryCacheConfig config, ClassLoader classLoader) {
+        final PredicateConfig predicateConfig = config.getPredicateConfig();
+        if (predicateConfig.getImplementation() != null) {
+            return predicateConfig.getImplementation();
+        }
+        if (predicateConfig.getSql() != null) {
+            return new SqlPredicate(predicateConfig.getSql());
+        }
+        if (predicateConfig.getClassName() != null) {
+            try {
+                return ClassLoaderUtil.newInstance(classLoader, predicateConfig.getClassName());
+            } catch (Exception e) {
+                throw ExceptionUtil.rethrow(e);
+            }
+        }
+        throw new IllegalArgumentException("No predicate is configured for query cache " + config.getName());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The entries of a partition matching the predicate of a {@link com.hazelcast.map.QueryCache}, together with the
+ * position in the event stream of the partition at which they were read. Events up to and including that position
+ * are reflected in the snapshot.
+ */
+public class QueryCacheSnapshot implements DataSerializable {
+
+    private int partitionId;
+    private long streamId;
+    private long sequence;
+    private List<Data> keys;
+    private List<Data> values;
+
+    public QueryCacheSnapshot() {
+    }
+
+    public QueryCacheSnapshot(int partitionId, long streamId, long sequence, List<Data> keys, List<Data> values) {
+        this.partitionId = partitionId;
+        this.streamId = streamId;
+        this.sequence = sequence;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public long getStreamId() {
+        return streamId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public List<Data> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the values of the entries, in the order of the keys. The values are null if the query cache doesn't
+     * include values.
+     *
+     * @return the values of the entries.
+     */
+    public List<Data> getValues() {
+        return values;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(partitionId);
+        out.writeLong(streamId);
+        out.writeLong(sequence);
+        out.writeInt(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            out.writeData(keys.get(i));
+            out.writeData(values.get(i));
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        partitionId = in.readInt();
+        streamId = in.readLong();
+        sequence = in.readLong();
+        final int size = in.readInt();
+        keys = new ArrayList<Data>(size);
+        values = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(in.readData());
+            values.add(in.readData());
+        }
+    }
+}
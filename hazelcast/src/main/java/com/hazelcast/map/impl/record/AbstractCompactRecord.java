@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Base class of the compact records; used for maps that have no statistics, no eviction and no map wide TTL or
+ * max idle time, see {@link #isApplicable(MapConfig)}.
+ * <p/>
+ * Instead of six longs, a compact record stores its version, TTL and timestamps in five ints: the timestamps are
+ * seconds relative to {@link #EPOCH_MILLIS} and the TTL is in seconds. So the timestamps have a granularity of a
+ * second; the TTL and the last update time are rounded up, so a TTL that is set per entry never expires an entry
+ * early. The eviction criteria number is not stored since eviction is disabled.
+ *
+ * @param <V> the type of the value.
+ */
+abstract class AbstractCompactRecord<V> implements Record<V> {
+
+    /**
+     * 2015-01-01T00:00:00Z; timestamps in seconds relative to it fit in an int until 2083.
+     */
+    static final long EPOCH_MILLIS = 1420070400000L;
+
+    private static final int MILLIS_PER_SECOND = 1000;
+    private static final int TTL_INFINITE = Integer.MAX_VALUE;
+    private static final int NUMBER_OF_INTS = 5;
+    private static final int OBJECT_REFERENCE_IN_BYTES = 4;
+
+    protected Data key;
+    protected V value;
+
+    private int version;
+    private int ttlSeconds;
+    private int creationSeconds;
+    private int lastAccessSeconds;
+    private int lastUpdateSeconds;
+
+    AbstractCompactRecord(Data key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    AbstractCompactRecord() {
+    }
+
+    /**
+     * Checks whether the compact record layout can be used for a map: the layout doesn't store statistics and
+     * the eviction criteria number, and it is not precise enough for map wide expiration.
+     *
+     * @param mapConfig the map config.
+     * @return true if compact records can be used.
+     */
+    static boolean isApplicable(MapConfig mapConfig) {
+        return !mapConfig.isStatisticsEnabled()
+                && mapConfig.getEvictionPolicy() == EvictionPolicy.NONE
+                && mapConfig.getTimeToLiveSeconds() == 0
+                && mapConfig.getMaxIdleSeconds() == 0;
+    }
+
+    @Override
+    public final Data getKey() {
+        return key;
+    }
+
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(V value) {
+        this.value = value;
+    }
+
+    @Override
+    public void invalidate() {
+        value = null;
+    }
+
+    @Override
+    public RecordStatistics getStatistics() {
+        return null;
+    }
+
+    @Override
+    public void setStatistics(RecordStatistics stats) {
+    }
+
+    @Override
+    public void onAccess() {
+    }
+
+    @Override
+    public void onUpdate() {
+        version++;
+    }
+
+    @Override
+    public void onStore() {
+    }
+
+    @Override
+    public long getCost() {
+        // the key and value references and the ints.
+        return OBJECT_REFERENCE_IN_BYTES + key.getHeapCost() + OBJECT_REFERENCE_IN_BYTES
+                + NUMBER_OF_INTS * (Integer.SIZE / Byte.SIZE);
+    }
+
+    @Override
+    public final long getVersion() {
+        return version;
+    }
+
+    @Override
+    public final void setVersion(long version) {
+        // the version is only compared for equality, so wrapping around is fine.
+        this.version = (int) version;
+    }
+
+    @Override
+    public long getEvictionCriteriaNumber() {
+        return 0L;
+    }
+
+    @Override
+    public void setEvictionCriteriaNumber(long evictionCriteriaNumber) {
+    }
+
+    @Override
+    public Object getCachedValue() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public void setCachedValue(Object cachedValue) {
+    }
+
+    @Override
+    public long getTtl() {
+        return ttlSeconds == TTL_INFINITE ? Long.MAX_VALUE : (long) ttlSeconds * MILLIS_PER_SECOND;
+    }
+
+    @Override
+    public void setTtl(long ttl) {
+        if (ttl <= 0L) {
+            ttlSeconds = 0;
+        } else if (ttl >= (long) TTL_INFINITE * MILLIS_PER_SECOND) {
+            ttlSeconds = TTL_INFINITE;
+        } else {
+            ttlSeconds = (int) ((ttl + MILLIS_PER_SECOND - 1) / MILLIS_PER_SECOND);
+        }
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return toMillis(lastAccessSeconds);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        this.lastAccessSeconds = toSeconds(lastAccessTime, false);
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return toMillis(lastUpdateSeconds);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        this.lastUpdateSeconds = toSeconds(lastUpdateTime, true);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return toMillis(creationSeconds);
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        this.creationSeconds = toSeconds(creationTime, false);
+    }
+
+    static int toSeconds(long millis, boolean roundUp) {
+        long relativeMillis = millis - EPOCH_MILLIS;
+        if (roundUp) {
+            relativeMillis += MILLIS_PER_SECOND - 1;
+        }
+        long seconds = relativeMillis / MILLIS_PER_SECOND;
+        if (seconds > Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        if (seconds < Integer.MIN_VALUE) {
+            return Integer.MIN_VALUE;
+        }
+        return (int) seconds;
+    }
+
+    static long toMillis(int seconds) {
+        return EPOCH_MILLIS + (long) seconds * MILLIS_PER_SECOND;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AbstractCompactRecord that = (AbstractCompactRecord) o;
+        return key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Record{" + "key=" + key + '}';
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Compact record for the OBJECT in-memory format.
+ *
+ * @see AbstractCompactRecord
+ */
+class CompactObjectRecord extends AbstractCompactRecord<Object> {
+
+    CompactObjectRecord(Data key, Object value) {
+        super(key, value);
+    }
+
+    CompactObjectRecord() {
+    }
+
+    // as there is no easy way to calculate the size of Object cost is not implemented for object records
+    @Override
+    public long getCost() {
+        return 0L;
+    }
+}
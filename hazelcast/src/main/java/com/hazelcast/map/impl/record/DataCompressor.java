@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.CompressionConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.nio.serialization.CompressedValue;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.util.counters.Counter;
+
+import static com.hazelcast.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Compresses the values of a map according to its {@link CompressionConfig} and keeps track of how well and how
+ * fast the values compress.
+ * <p/>
+ * Values are only decompressed here when the map itself needs the serialized value, e.g. to compare it; reading a
+ * value inflates it as part of deserialization on the member or client that reads it.
+ * <p/>
+ * This class is thread-safe.
+ */
+public final class DataCompressor {
+
+    private final SerializationService serializationService;
+    private final int thresholdBytes;
+    private final int level;
+    private final byte[] dictionary;
+
+    @Probe
+    private final Counter compressedCount = newMwCounter();
+    @Probe
+    private final Counter incompressibleCount = newMwCounter();
+    @Probe
+    private final Counter originalBytes = newMwCounter();
+    @Probe
+    private final Counter compressedBytes = newMwCounter();
+    @Probe
+    private final Counter compressNanos = newMwCounter();
+    @Probe
+    private final Counter decompressedCount = newMwCounter();
+    @Probe
+    private final Counter decompressNanos = newMwCounter();
+
+    public DataCompressor(CompressionConfig config, SerializationService serializationService) {
+        this.serializationService = serializationService;
+        this.thresholdBytes = config.getThresholdBytes();
+        this.level = config.getLevel();
+        this.dictionary = config.getDictionary();
+        if (dictionary != null) {
+            CompressedValue.registerDictionary(dictionary);
+        }
+    }
+
+    /**
+     * Creates the DataCompressor for the given map.
+     *
+     * @param mapConfig            the configuration of the map.
+     * @param serializationService the serialization service.
+     * @return the DataCompressor or null if compression is not enabled for the map.
+     */
+    public static DataCompressor newDataCompressor(MapConfig mapConfig, SerializationService serializationService) {
+        final CompressionConfig config = mapConfig.getCompressionConfig();
+        if (config == null || !config.isEnabled()) {
+            return null;
+        }
+        return new DataCompressor(config, serializationService);
+    }
+
+    /**
+     * Compresses the given data if it is at least as large as the threshold and deflating makes it smaller.
+     *
+     * @param data the data to compress.
+     * @return the compressed data, or the given data if it isn't compressed.
+     */
+    public Data compress(Data data) {
+        if (data == null || data.totalSize() < thresholdBytes || CompressedValue.isCompressed(data)) {
+            return data;
+        }
+
+        final long startNanos = System.nanoTime();
+        final CompressedValue compressedValue = CompressedValue.compress(data, level, dictionary);
+        if (compressedValue == null) {
+            compressNanos.inc((int) (System.nanoTime() - startNanos));
+            incompressibleCount.inc();
+            return data;
+        }
+        final Data compressed = serializationService.toData(compressedValue);
+        compressNanos.inc((int) (System.nanoTime() - startNanos));
+        compressedCount.inc();
+        originalBytes.inc(data.totalSize());
+        compressedBytes.inc(compressed.totalSize());
+        return compressed;
+    }
+
+    /**
+     * Decompresses the given data if it is compressed.
+     *
+     * @param data the data to decompress.
+     * @return the decompressed data, or the given data if it isn't compressed.
+     */
+    public Data decompress(Data data) {
+        if (!CompressedValue.isCompressed(data)) {
+            return data;
+        }
+
+        final long startNanos = System.nanoTime();
+        final Data decompressed = CompressedValue.decompress(serializationService, data);
+        decompressNanos.inc((int) (System.nanoTime() - startNanos));
+        decompressedCount.inc();
+        return decompressed;
+    }
+
+    /**
+     * Returns the size of the compressed values relative to their original size. Values that were not compressed
+     * are not taken into account.
+     *
+     * @return the compression ratio, or 1 if no value has been compressed yet.
+     */
+    @Probe
+    public double compressionRatio() {
+        final long original = originalBytes.get();
+        return original == 0 ? 1D : (double) compressedBytes.get() / original;
+    }
+
+    public long getCompressedCount() {
+        return compressedCount.get();
+    }
+
+    public long getIncompressibleCount() {
+        return incompressibleCount.get();
+    }
+
+    public long getOriginalBytes() {
+        return originalBytes.get();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    public long getCompressNanos() {
+        return compressNanos.get();
+    }
+
+    public long getDecompressedCount() {
+        return decompressedCount.get();
+    }
+
+    public long getDecompressNanos() {
+        return decompressNanos.get();
+    }
+}
@@ -28,6 +28,8 @@ public class DataRecordFactory implements RecordFactory<Data> {
     private final PartitioningStrategy partitionStrategy;
     private final boolean optimizeQuery;
     private final boolean statisticsEnabled;
+    private final boolean compact;
+    private final DataCompressor compressor;
 
     public DataRecordFactory(MapConfig config, SerializationService serializationService,
                              PartitioningStrategy partitionStrategy) {
@@ -35,6 +37,17 @@ public class DataRecordFactory implements RecordFactory<Data> {
         this.partitionStrategy = partitionStrategy;
         this.statisticsEnabled = config.isStatisticsEnabled();
         this.optimizeQuery = config.isOptimizeQueries();
+        this.compact = !optimizeQuery && AbstractCompactRecord.isApplicable(config);
+        this.compressor = DataCompressor.newDataCompressor(config, serializationService);
+    }
+
+    /**
+     * Returns the compressor of the values of the map.
+     *
+     * @return the compressor or null if the values are not compressed.
+     */
+    public DataCompressor getCompressor() {
+        return compressor;
     }
 
     @Override
@@ -44,7 +57,10 @@ public class DataRecordFactory implements RecordFactory<Data> {
 
     @Override
     public Record<Data> newRecord(Data key, Object value) {
-        final Data data = serializationService.toData(value, partitionStrategy);
+        final Data data = compress(serializationService.toData(value, partitionStrategy));
+        if (compact) {
+            return new CompactDataRecord(key, data);
+        }
         if (optimizeQuery) {
             return statisticsEnabled ? new CachedDataRecordWithStats(key, data)
                     : new CachedDataRecord(key, data);
@@ -60,11 +76,20 @@ public class DataRecordFactory implements RecordFactory<Data> {
         } else {
             v = serializationService.toData(value, partitionStrategy);
         }
-        record.setValue(v);
+        record.setValue(compress(v));
     }
 
     @Override
     public boolean isEquals(Object value1, Object value2) {
-        return serializationService.toData(value1).equals(serializationService.toData(value2));
+        if (compressor == null) {
+            return serializationService.toData(value1).equals(serializationService.toData(value2));
+        }
+        final Data data1 = compressor.decompress(serializationService.toData(value1));
+        final Data data2 = compressor.decompress(serializationService.toData(value2));
+        return data1.equals(data2);
+    }
+
+    private Data compress(Data data) {
+        return compressor == null ? data : compressor.compress(data);
     }
 }
@@ -23,7 +23,8 @@ import com.hazelcast.internal.storage.Storage;
 class NativeRecordWithStats extends AbstractRecordWithStats<Data> {
 
     private Storage<DataRef> storage;
-    private DataRef valueRef;
+    // the value can be read by other threads than the partition thread.
+    private volatile DataRef valueRef;
 
     public NativeRecordWithStats() {
     }
@@ -47,23 +48,36 @@ class NativeRecordWithStats extends AbstractRecordWithStats<Data> {
     }
 
     public Data getValue() {
-        if (valueRef != null) {
-            return storage.get(key.getPartitionHash(), valueRef);
+        DataRef ref = valueRef;
+        while (ref != null) {
+            Data value = storage.get(key.getPartitionHash(), ref);
+            if (value != null) {
+                return value;
+            }
+            // the value has been replaced concurrently and the old one has been freed.
+            DataRef current = valueRef;
+            if (current == ref) {
+                return null;
+            }
+            ref = current;
         }
         return null;
     }
 
     public void setValue(Data value) {
-        invalidate();
-        if (value != null) {
-            valueRef = storage.put(key.getPartitionHash(), value);
+        // the new value is published before the old one is freed, so a concurrent reader always finds a value.
+        DataRef oldRef = valueRef;
+        valueRef = value == null ? null : storage.put(key.getPartitionHash(), value);
+        if (oldRef != null) {
+            storage.remove(key.getPartitionHash(), oldRef);
         }
     }
 
     public void invalidate() {
-        if (valueRef != null) {
-            storage.remove(key.getPartitionHash(), valueRef);
-        }
+        DataRef ref = valueRef;
         valueRef = null;
+        if (ref != null) {
+            storage.remove(key.getPartitionHash(), ref);
+        }
     }
 }
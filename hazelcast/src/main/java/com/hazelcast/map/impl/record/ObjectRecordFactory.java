@@ -25,10 +25,12 @@ public class ObjectRecordFactory implements RecordFactory<Object> {
 
     private final SerializationService serializationService;
     private final boolean statisticsEnabled;
+    private final boolean compact;
 
     public ObjectRecordFactory(MapConfig config, SerializationService serializationService) {
         this.serializationService = serializationService;
         this.statisticsEnabled = config.isStatisticsEnabled();
+        this.compact = AbstractCompactRecord.isApplicable(config);
     }
 
     @Override
@@ -39,6 +41,9 @@ public class ObjectRecordFactory implements RecordFactory<Object> {
     @Override
     public Record<Object> newRecord(Data key, Object value) {
         Object objectValue = serializationService.toObject(value);
+        if (compact) {
+            return new CompactObjectRecord(key, objectValue);
+        }
         return statisticsEnabled ? new ObjectRecordWithStats(key, objectValue) : new ObjectRecord(key, objectValue);
     }
 
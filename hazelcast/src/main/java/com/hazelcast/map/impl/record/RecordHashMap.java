@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
+
+/**
+ * An open addressing hash map with linear probing from {@link Data} keys to {@link Record}s, for a record store that
+ * is only modified by its partition thread.
+ * <p/>
+ * The keys, their hashes and the records are stored in parallel arrays, so an entry doesn't need a node object and the
+ * hash of a key is computed only once. A removed entry leaves its key behind as a tombstone, so entries never move
+ * within a table and a put of a key that was removed before reuses its slot. The tombstones are dropped when the table
+ * is rebuilt; this happens when the table gets too full or when more than half of the used slots are tombstones.
+ * <p/>
+ * Only a single thread may modify the map; an update is published with an ordered write of the record, so other
+ * threads can safely call {@link #get(Object)}, {@link #size()} and iterate over the map. Iteration is weakly
+ * consistent: an iterator traverses the table that was current when it was created, it never throws a
+ * {@link java.util.ConcurrentModificationException}, but it can miss or return entries that were concurrently added or
+ * removed. {@link Iterator#remove()} is supported, but only for the modifying thread.
+ * <p/>
+ * Null keys and null records are not allowed.
+ */
+public final class RecordHashMap extends AbstractMap<Data, Record> implements ConcurrentMap<Data, Record> {
+
+    /**
+     * The default initial capacity.
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_FILL_PERCENTAGE = 60;
+    private static final int PERCENTAGE = 100;
+    private static final AtomicIntegerFieldUpdater<RecordHashMap> SIZE = newUpdater(RecordHashMap.class, "size");
+
+    private final int initialCapacity;
+    private final Random random = new Random();
+
+    private volatile Table table;
+    // only written by the modifying thread, with ordered writes like the records.
+    private volatile int size;
+
+    public RecordHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a RecordHashMap.
+     *
+     * @param initialCapacity the expected number of entries; the map grows when needed.
+     * @throws IllegalArgumentException if initialCapacity is not positive.
+     */
+    public RecordHashMap(int initialCapacity) {
+        checkPositive(initialCapacity, "initialCapacity should be positive");
+        this.initialCapacity = initialCapacity;
+        this.table = new Table(capacityFor(initialCapacity));
+    }
+
+    private static int capacityFor(int entries) {
+        long capacity = nextPowerOfTwo((long) entries * PERCENTAGE / MAX_FILL_PERCENTAGE + 1);
+        return (int) Math.min(Math.max(capacity, MIN_CAPACITY), 1 << (Integer.SIZE - 2));
+    }
+
+    // linear probing is sensitive to clustering, so the hash is mixed to protect against poorly distributed hashes.
+    private static int hash(Object key) {
+        return MurmurHash3_fmix(key.hashCode());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Record get(Object key) {
+        checkNotNull(key, "key can't be null");
+
+        int hash = hash(key);
+        Table table = this.table;
+        int mask = table.mask;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            // the record needs to be read before the key; the ordered write of the record publishes the key and hash.
+            Record record = table.records.get(slot);
+            Data slotKey = table.keys[slot];
+            if (slotKey == null) {
+                return null;
+            }
+            if (table.hashes[slot] == hash && (slotKey == key || slotKey.equals(key))) {
+                return record;
+            }
+        }
+    }
+
+    @Override
+    public Record put(Data key, Record record) {
+        checkNotNull(key, "key can't be null");
+        checkNotNull(record, "record can't be null");
+
+        int hash = hash(key);
+        Table table = this.table;
+        int slot = table.findSlot(key, hash);
+        if (table.keys[slot] != null) {
+            Record old = table.records.get(slot);
+            table.records.lazySet(slot, record);
+            if (old == null) {
+                table.tombstones--;
+                SIZE.lazySet(this, size + 1);
+            }
+            return old;
+        }
+
+        if ((table.used + 1) * PERCENTAGE > table.length() * MAX_FILL_PERCENTAGE) {
+            table = rebuild(size + 1);
+            slot = table.findSlot(key, hash);
+        }
+        table.insert(slot, key, hash, record);
+        SIZE.lazySet(this, size + 1);
+        return null;
+    }
+
+    @Override
+    public Record remove(Object key) {
+        checkNotNull(key, "key can't be null");
+
+        int hash = hash(key);
+        Table table = this.table;
+        int slot = table.findSlot(key, hash);
+        if (table.keys[slot] == null) {
+            return null;
+        }
+
+        Record old = table.records.get(slot);
+        if (old != null) {
+            table.records.lazySet(slot, null);
+            table.tombstones++;
+            SIZE.lazySet(this, size - 1);
+            if (table.tombstones > MIN_CAPACITY && table.tombstones * 2 > table.used) {
+                rebuild(size);
+            }
+        }
+        return old;
+    }
+
+    private Table rebuild(int entries) {
+        Table oldTable = table;
+        Table newTable = new Table(capacityFor(Math.max(entries, initialCapacity)));
+        for (int k = 0; k < oldTable.length(); k++) {
+            Record record = oldTable.records.get(k);
+            if (record != null) {
+                Data key = oldTable.keys[k];
+                int hash = oldTable.hashes[k];
+                newTable.insert(newTable.findSlot(key, hash), key, hash, record);
+            }
+        }
+        table = newTable;
+        return newTable;
+    }
+
+    @Override
+    public void clear() {
+        table = new Table(capacityFor(initialCapacity));
+        size = 0;
+    }
+
+    @Override
+    public Record putIfAbsent(Data key, Record record) {
+        Record current = get(key);
+        return current == null ? put(key, record) : current;
+    }
+
+    @Override
+    public boolean remove(Object key, Object record) {
+        Record current = get(key);
+        if (current != null && current.equals(record)) {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean replace(Data key, Record oldRecord, Record newRecord) {
+        checkNotNull(newRecord, "newRecord can't be null");
+
+        Record current = get(key);
+        if (current != null && current.equals(oldRecord)) {
+            put(key, newRecord);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Record replace(Data key, Record record) {
+        checkNotNull(record, "record can't be null");
+
+        return containsKey(key) ? put(key, record) : null;
+    }
+
+    /**
+     * Returns up to sampleCount records starting at a random position in the table. The samples are
+     * consecutive in the table, but since the position of an entry is determined by the hash of its key, the sampled
+     * records are in random order of insertion and access.
+     * <p/>
+     * This method can be called by any thread.
+     *
+     * @param sampleCount the maximum number of samples.
+     * @return the sampled records; fewer than sampleCount if the map contains fewer records.
+     */
+    public List<Record> getRandomSamples(int sampleCount) {
+        checkPositive(sampleCount, "sampleCount should be positive");
+
+        Table table = this.table;
+        int length = table.length();
+        List<Record> samples = new ArrayList<Record>(Math.min(sampleCount, Math.max(size, 1)));
+        int start = random.nextInt(length);
+        for (int k = 0; k < length && samples.size() < sampleCount; k++) {
+            Record record = table.records.get((start + k) & table.mask);
+            if (record != null) {
+                samples.add(record);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Fetches up to size records, walking down the table from the given table index. The returned table index is the
+     * cursor to pass to the next fetch, so a large map can be traversed in batches without holding an iterator.
+     * <p/>
+     * The cursor is a position in the table, so when the table is rebuilt between two fetches, an entry can be
+     * missed or fetched twice.
+     *
+     * @param tableIndex the table index to start at; a negative value or a value beyond the end of the table starts
+     *                   at the end of the table.
+     * @param size       the maximum number of records to fetch.
+     * @param records    the list the fetched records are added to.
+     * @return the table index to continue at, or -1 if the end of the table is reached.
+     */
+    public int fetch(int tableIndex, int size, List<Record> records) {
+        checkPositive(size, "size should be positive");
+
+        Table table = this.table;
+        int slot = tableIndex >= 0 && tableIndex < table.length() ? tableIndex : table.length() - 1;
+        int fetched = 0;
+        while (slot >= 0 && fetched < size) {
+            Record record = table.records.get(slot--);
+            if (record != null) {
+                records.add(record);
+                fetched++;
+            }
+        }
+        return slot;
+    }
+
+    @Override
+    public Set<Entry<Data, Record>> entrySet() {
+        return new AbstractSet<Entry<Data, Record>>() {
+            @Override
+            public Iterator<Entry<Data, Record>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Data> keySet() {
+        return new AbstractSet<Data>() {
+            @Override
+            public Iterator<Data> iterator() {
+                return new KeyIterator();
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+
+            @Override
+            public boolean remove(Object key) {
+                return RecordHashMap.this.remove(key) != null;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<Record> values() {
+        return new AbstractCollection<Record>() {
+            @Override
+            public Iterator<Record> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static final class Table {
+        private final Data[] keys;
+        private final int[] hashes;
+        private final AtomicReferenceArray<Record> records;
+        private final int mask;
+        // The following fields are only accessed by the modifying thread.
+        // the number of slots with a key; this includes the tombstones.
+        private int used;
+        private int tombstones;
+
+        private Table(int capacity) {
+            keys = new Data[capacity];
+            hashes = new int[capacity];
+            records = new AtomicReferenceArray<Record>(capacity);
+            mask = capacity - 1;
+        }
+
+        private int length() {
+            return keys.length;
+        }
+
+        // Returns the slot of the key, or the empty slot where it should be inserted.
+        private int findSlot(Object key, int hash) {
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                Data slotKey = keys[slot];
+                if (slotKey == null || (hashes[slot] == hash && (slotKey == key || slotKey.equals(key)))) {
+                    return slot;
+                }
+            }
+        }
+
+        private void insert(int slot, Data key, int hash, Record record) {
+            keys[slot] = key;
+            hashes[slot] = hash;
+            records.lazySet(slot, record);
+            used++;
+        }
+    }
+
+    private abstract class TableIterator<E> implements Iterator<E> {
+        private final Table table = RecordHashMap.this.table;
+        private int nextSlot;
+        private Record next;
+        private Data nextKey;
+        private Data lastKey;
+
+        TableIterator() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            nextKey = null;
+            while (nextSlot < table.length()) {
+                int slot = nextSlot++;
+                Record record = table.records.get(slot);
+                if (record != null) {
+                    next = record;
+                    nextKey = table.keys[slot];
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        Record nextRecord() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Record record = next;
+            lastKey = nextKey;
+            advance();
+            return record;
+        }
+
+        Data lastKey() {
+            return lastKey;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            RecordHashMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    private final class ValueIterator extends TableIterator<Record> {
+        @Override
+        public Record next() {
+            return nextRecord();
+        }
+    }
+
+    private final class KeyIterator extends TableIterator<Data> {
+        @Override
+        public Data next() {
+            nextRecord();
+            return lastKey();
+        }
+    }
+
+    private final class EntryIterator extends TableIterator<Entry<Data, Record>> {
+        @Override
+        public Entry<Data, Record> next() {
+            Record record = nextRecord();
+            return new SimpleImmutableEntry<Data, Record>(lastKey(), record);
+        }
+    }
+}
@@ -76,6 +76,11 @@ public class DefaultMemoryStats implements MemoryStats {
         return 0;
     }
 
+    @Override
+    public long getFragmentedNativeMemory() {
+        return 0;
+    }
+
     @Override
     public GarbageCollectorStats getGCStats() {
         GCStatsSupport.fill(gcStats);
@@ -92,6 +97,13 @@ public class DefaultMemoryStats implements MemoryStats {
         sb.append(", Committed Heap: ").append(MemorySize.toPrettyString(getCommittedHeap()));
         sb.append(", Used Heap: ").append(MemorySize.toPrettyString(getUsedHeap()));
         sb.append(", Free Heap: ").append(MemorySize.toPrettyString(getFreeHeap()));
+        if (getMaxNativeMemory() > 0) {
+            sb.append(", Max Native: ").append(MemorySize.toPrettyString(getMaxNativeMemory()));
+            sb.append(", Committed Native: ").append(MemorySize.toPrettyString(getCommittedNativeMemory()));
+            sb.append(", Used Native: ").append(MemorySize.toPrettyString(getUsedNativeMemory()));
+            sb.append(", Free Native: ").append(MemorySize.toPrettyString(getFreeNativeMemory()));
+            sb.append(", Fragmented Native: ").append(MemorySize.toPrettyString(getFragmentedNativeMemory()));
+        }
         sb.append(", ");
         sb.append(getGCStats());
         sb.append('}');
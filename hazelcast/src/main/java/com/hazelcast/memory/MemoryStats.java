@@ -112,6 +112,14 @@ public interface MemoryStats {
      */
     long getFreeNativeMemory();
 
+    /**
+     * Returns the amount of native memory in current HazelcastInstance in bytes that is committed, but not used
+     * and that can only be reused for allocations of a similar size.
+     *
+     * @return the amount of fragmented native memory in bytes
+     */
+    long getFragmentedNativeMemory();
+
     /**
      * Returns the garbage collector statistics for the JVM
      * @return GC statistics
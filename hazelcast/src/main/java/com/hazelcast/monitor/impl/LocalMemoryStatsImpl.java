@@ -40,6 +40,8 @@ public class LocalMemoryStatsImpl implements LocalMemoryStats {
 
     private long freeNativeMemory;
 
+    private long fragmentedNativeMemory;
+
     private long maxHeap;
 
     private long committedHeap;
@@ -58,6 +60,7 @@ public class LocalMemoryStatsImpl implements LocalMemoryStats {
         setCommittedNativeMemory(memoryStats.getCommittedNativeMemory());
         setUsedNativeMemory(memoryStats.getUsedNativeMemory());
         setFreeNativeMemory(memoryStats.getFreeNativeMemory());
+        setFragmentedNativeMemory(memoryStats.getFragmentedNativeMemory());
         setMaxHeap(memoryStats.getMaxHeap());
         setCommittedHeap(memoryStats.getCommittedHeap());
         setUsedHeap(memoryStats.getUsedHeap());
@@ -118,6 +121,15 @@ public class LocalMemoryStatsImpl implements LocalMemoryStats {
         this.freeNativeMemory = freeNativeMemory;
     }
 
+    @Override
+    public long getFragmentedNativeMemory() {
+        return fragmentedNativeMemory;
+    }
+
+    public void setFragmentedNativeMemory(long fragmentedNativeMemory) {
+        this.fragmentedNativeMemory = fragmentedNativeMemory;
+    }
+
     @Override
     public long getMaxHeap() {
         return maxHeap;
@@ -167,6 +179,7 @@ public class LocalMemoryStatsImpl implements LocalMemoryStats {
         sb.append(", maxNativeMemory=").append(maxNativeMemory);
         sb.append(", committedNativeMemory=").append(committedNativeMemory);
         sb.append(", usedNativeMemory=").append(usedNativeMemory);
+        sb.append(", fragmentedNativeMemory=").append(fragmentedNativeMemory);
         sb.append(", maxHeap=").append(maxHeap);
         sb.append(", committedHeap=").append(committedHeap);
         sb.append(", usedHeap=").append(usedHeap);
@@ -190,6 +203,7 @@ public class LocalMemoryStatsImpl implements LocalMemoryStats {
         root.add("committedNativeMemory", committedNativeMemory);
         root.add("usedNativeMemory", usedNativeMemory);
         root.add("freeNativeMemory", freeNativeMemory);
+        root.add("fragmentedNativeMemory", fragmentedNativeMemory);
         root.add("maxHeap", maxHeap);
         root.add("committedHeap", committedHeap);
         root.add("usedHeap", usedHeap);
@@ -209,6 +223,7 @@ public class LocalMemoryStatsImpl implements LocalMemoryStats {
         committedNativeMemory = getLong(json, "committedNativeMemory", -1L);
         usedNativeMemory = getLong(json, "usedNativeMemory", -1L);
         freeNativeMemory = getLong(json, "freeNativeMemory", -1L);
+        fragmentedNativeMemory = getLong(json, "fragmentedNativeMemory", -1L);
         maxHeap = getLong(json, "maxHeap", -1L);
         committedHeap = getLong(json, "committedHeap", -1L);
         usedHeap = getLong(json, "usedHeap", -1L);
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * A pool of direct {@link ByteBuffer} instances of a fixed size.
+ * <p/>
+ * Allocating a direct buffer is expensive and its memory is only freed when the buffer is garbage collected, so
+ * the buffers of a closed connection are returned to the pool to be reused by a next connection. The number of
+ * idle buffers retained is bounded; a buffer that is released when the pool is full is left to the garbage collector.
+ * <p/>
+ * This class is thread-safe.
+ */
+public final class DirectBufferPool {
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxPooled;
+
+    /**
+     * Creates a DirectBufferPool.
+     *
+     * @param bufferSize the capacity in bytes of the buffers.
+     * @param maxPooled  the maximum number of idle buffers retained by this pool.
+     * @throws IllegalArgumentException if bufferSize or maxPooled is not positive.
+     */
+    public DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = checkPositive(bufferSize, "bufferSize should be positive");
+        this.maxPooled = checkPositive(maxPooled, "maxPooled should be positive");
+    }
+
+    /**
+     * Leases a cleared direct buffer. If no buffer is available in the pool, a new one is allocated.
+     *
+     * @return the leased buffer.
+     */
+    public ByteBuffer take() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer that was leased by {@link #take()}. The buffer should not be used anymore after it has been
+     * released.
+     *
+     * @param buffer the buffer to release.
+     * @throws NullPointerException     if buffer is null.
+     * @throws IllegalArgumentException if buffer is not a direct buffer of the size of this pool.
+     */
+    public void release(ByteBuffer buffer) {
+        checkNotNull(buffer, "buffer can't be null");
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            throw new IllegalArgumentException("buffer is not a direct buffer with capacity " + bufferSize);
+        }
+
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    /**
+     * Returns the number of idle buffers in this pool.
+     *
+     * @return the number of idle buffers.
+     */
+    public int size() {
+        return pooled.get();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -26,6 +26,7 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.nio.tcp.PacketReader;
 import com.hazelcast.nio.tcp.PacketWriter;
+import com.hazelcast.nio.tcp.SelectorIdleStrategy;
 import com.hazelcast.nio.tcp.SocketChannelWrapperFactory;
 import com.hazelcast.nio.tcp.TcpIpConnection;
 import com.hazelcast.spi.EventService;
@@ -92,8 +93,14 @@ public interface IOService {
 
     boolean getSocketNoDelay();
 
+    boolean isSocketWriteGatheringEnabled();
+
+    boolean isSocketBufferDirect();
+
     int getSelectorThreadCount();
 
+    SelectorIdleStrategy getSelectorIdleStrategy();
+
     long getConnectionMonitorInterval();
 
     int getConnectionMonitorMaxFaults();
@@ -31,6 +31,7 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.nio.tcp.PacketReader;
 import com.hazelcast.nio.tcp.PacketWriter;
+import com.hazelcast.nio.tcp.SelectorIdleStrategy;
 import com.hazelcast.nio.tcp.SocketChannelWrapperFactory;
 import com.hazelcast.nio.tcp.TcpIpConnection;
 import com.hazelcast.spi.EventService;
@@ -220,11 +221,26 @@ public class NodeIOService implements IOService {
         return this.node.getGroupProperties().SOCKET_NO_DELAY.getBoolean();
     }
 
+    @Override
+    public boolean isSocketWriteGatheringEnabled() {
+        return this.node.getGroupProperties().SOCKET_WRITE_GATHERING_ENABLED.getBoolean();
+    }
+
+    @Override
+    public boolean isSocketBufferDirect() {
+        return this.node.getGroupProperties().SOCKET_BUFFER_DIRECT.getBoolean();
+    }
+
     @Override
     public int getSelectorThreadCount() {
         return node.groupProperties.IO_THREAD_COUNT.getInteger();
     }
 
+    @Override
+    public SelectorIdleStrategy getSelectorIdleStrategy() {
+        return SelectorIdleStrategy.parse(node.groupProperties.IO_SELECTOR_IDLE_STRATEGY.getString());
+    }
+
     @Override
     public void onDisconnect(final Address endpoint) {
     }
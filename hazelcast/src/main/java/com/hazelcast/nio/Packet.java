@@ -37,6 +37,11 @@ public final class Packet implements SocketWritable, SocketReadable {
     public static final int HEADER_URGENT = 4;
     public static final int HEADER_BIND = 5;
 
+    /**
+     * The number of bytes written in front of the value: the version, the header, the partition id and the size.
+     */
+    public static final int FRAME_HEADER_SIZE = 1 + Bits.SHORT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
     // The value of these constants is important. The order needs to match the order in the read/write process
     private static final short PERSIST_VERSION = 1;
     private static final short PERSIST_HEADER = 2;
@@ -148,6 +153,26 @@ public final class Packet implements SocketWritable, SocketReadable {
         return true;
     }
 
+    /**
+     * Writes everything in front of the value, so that the value can be written without copying it into the destination;
+     * e.g. by a gathering write. The Packet will not be usable for {@link #writeTo(ByteBuffer)} afterwards.
+     *
+     * @param destination the ByteBuffer to write to.
+     * @return true if the frame header was written, false if the Packet already is being written or if there is not
+     * enough space in the destination.
+     */
+    public boolean writeFrameHeaderTo(ByteBuffer destination) {
+        if (persistStatus != 0 || destination.remaining() < FRAME_HEADER_SIZE) {
+            return false;
+        }
+
+        writeVersion(destination);
+        writeHeader(destination);
+        writePartition(destination);
+        writeSize(destination);
+        return true;
+    }
+
     @Override
     public boolean readFrom(ByteBuffer source) {
         if (!readVersion(source)) {
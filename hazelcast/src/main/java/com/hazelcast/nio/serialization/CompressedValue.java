@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.nio.BufferObjectDataInput;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.writeIntB;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.serialization.SerializationConstants.DEFAULT_TYPE_COMPRESSED_VALUE;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * A deflated {@link Data}.
+ * <p/>
+ * A CompressedValue is serialized with its own type id, and deserializing it inflates the wrapped data and
+ * deserializes that, so a compressed {@link Data} can be passed around and converted to an object like any other
+ * data; only the code that compares or inspects serialized values needs to {@link #decompress(SerializationService, Data)}
+ * it first.
+ * <p/>
+ * The payload is the length of the original data followed by a zlib stream. When the data has been deflated with
+ * a preset dictionary, the zlib stream refers to the dictionary by its Adler-32 checksum and the dictionary needs
+ * to be {@link #registerDictionary(byte[]) registered} on every member and client that inflates the data.
+ */
+public final class CompressedValue {
+
+    // the header of the data and the length of the payload byte array.
+    private static final int SERIALIZED_OVERHEAD = DefaultData.DATA_OFFSET + INT_SIZE_IN_BYTES;
+
+    private static final ConcurrentMap<Integer, byte[]> DICTIONARIES = new ConcurrentHashMap<Integer, byte[]>();
+
+    // creating a deflater or inflater allocates native memory, so they are reused by the thread that created them.
+    private static final ThreadLocal<Deflater> DEFLATER = new ThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater();
+        }
+    };
+
+    private static final ThreadLocal<Inflater> INFLATER = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+
+    private final byte[] payload;
+
+    public CompressedValue(byte[] payload) {
+        this.payload = checkNotNull(payload, "payload can't be null");
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Returns the length of the original data.
+     *
+     * @return the length of the original data.
+     */
+    public int getOriginalLength() {
+        return readIntB(payload, 0);
+    }
+
+    /**
+     * Inflates the original data.
+     *
+     * @return the original data.
+     * @throws HazelcastSerializationException if the payload is corrupt or if the dictionary it was deflated with
+     *                                         has not been registered.
+     */
+    public Data inflate() {
+        final int length = getOriginalLength();
+        final byte[] bytes = new byte[length];
+        final Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(payload, INT_SIZE_IN_BYTES, payload.length - INT_SIZE_IN_BYTES);
+        try {
+            int offset = 0;
+            while (offset < length) {
+                final int inflated = inflater.inflate(bytes, offset, length - offset);
+                if (inflated == 0) {
+                    if (!inflater.needsDictionary()) {
+                        throw new HazelcastSerializationException("Compressed value is corrupt");
+                    }
+                    inflater.setDictionary(getDictionary(inflater.getAdler()));
+                }
+                offset += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new HazelcastSerializationException("Compressed value is corrupt", e);
+        }
+        return new DefaultData(bytes);
+    }
+
+    /**
+     * Deflates the given data.
+     *
+     * @param data       the data to deflate.
+     * @param level      the compression level, from 1 (fastest) to 9 (best compression).
+     * @param dictionary the preset dictionary, or null to deflate without a dictionary.
+     * @return the compressed value, or null if deflating doesn't make the serialized value smaller.
+     */
+    public static CompressedValue compress(Data data, int level, byte[] dictionary) {
+        final byte[] bytes = data.toByteArray();
+        // there is no point in keeping a payload that doesn't make the serialized value smaller.
+        final int maxPayloadLength = bytes == null ? 0 : bytes.length - SERIALIZED_OVERHEAD;
+        if (maxPayloadLength <= INT_SIZE_IN_BYTES) {
+            return null;
+        }
+
+        final Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setLevel(level);
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(bytes);
+        deflater.finish();
+
+        final byte[] buffer = new byte[maxPayloadLength];
+        int offset = INT_SIZE_IN_BYTES;
+        while (!deflater.finished() && offset < buffer.length) {
+            offset += deflater.deflate(buffer, offset, buffer.length - offset);
+        }
+        if (!deflater.finished()) {
+            return null;
+        }
+        writeIntB(buffer, 0, bytes.length);
+        return new CompressedValue(Arrays.copyOf(buffer, offset));
+    }
+
+    /**
+     * Checks if the given data is a serialized CompressedValue.
+     *
+     * @param data the data to check.
+     * @return true if the data is compressed, false otherwise.
+     */
+    public static boolean isCompressed(Data data) {
+        return data != null && data.dataSize() > 0 && data.getType() == DEFAULT_TYPE_COMPRESSED_VALUE;
+    }
+
+    /**
+     * Returns the original data of the given data if it is compressed, or the given data itself otherwise.
+     *
+     * @param serializationService the serialization service the data was created with.
+     * @param data                 the data to decompress.
+     * @return the decompressed data.
+     */
+    public static Data decompress(SerializationService serializationService, Data data) {
+        if (!isCompressed(data)) {
+            return data;
+        }
+        final BufferObjectDataInput in = serializationService.createObjectDataInput(data);
+        try {
+            return new CompressedValue(in.readByteArray()).inflate();
+        } catch (IOException e) {
+            throw new HazelcastSerializationException(e);
+        } finally {
+            closeResource(in);
+        }
+    }
+
+    /**
+     * Registers a preset dictionary so values deflated with it can be inflated.
+     *
+     * @param dictionary the dictionary.
+     * @return the id of the dictionary, which is its Adler-32 checksum.
+     * @throws IllegalStateException if a different dictionary with the same id has already been registered.
+     */
+    public static int registerDictionary(byte[] dictionary) {
+        checkNotNull(dictionary, "dictionary can't be null");
+        final Adler32 adler32 = new Adler32();
+        adler32.update(dictionary);
+        final int id = (int) adler32.getValue();
+        final byte[] copy = Arrays.copyOf(dictionary, dictionary.length);
+        final byte[] current = DICTIONARIES.putIfAbsent(id, copy);
+        if (current != null && !Arrays.equals(current, copy)) {
+            throw new IllegalStateException("A different compression dictionary with id " + id + " is already registered");
+        }
+        return id;
+    }
+
+    private static byte[] getDictionary(int id) {
+        final byte[] dictionary = DICTIONARIES.get(id);
+        if (dictionary == null) {
+            throw new HazelcastSerializationException("Compressed value needs a dictionary with id " + id
+                    + ", but no such dictionary is registered");
+        }
+        return dictionary;
+    }
+}
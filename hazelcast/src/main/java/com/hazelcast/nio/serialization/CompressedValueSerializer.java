@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+import static com.hazelcast.nio.serialization.SerializationConstants.DEFAULT_TYPE_COMPRESSED_VALUE;
+
+/**
+ * Serializes a {@link CompressedValue}. Reading does not return the CompressedValue, but the object it wraps.
+ */
+final class CompressedValueSerializer implements StreamSerializer<Object> {
+
+    private final SerializationServiceImpl serializationService;
+
+    CompressedValueSerializer(SerializationServiceImpl serializationService) {
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public int getTypeId() {
+        return DEFAULT_TYPE_COMPRESSED_VALUE;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Object object) throws IOException {
+        out.writeByteArray(((CompressedValue) object).getPayload());
+    }
+
+    @Override
+    public Object read(ObjectDataInput in) throws IOException {
+        final Data data = new CompressedValue(in.readByteArray()).inflate();
+        final SerializerAdapter serializer = serializationService.serializerFor(data.getType());
+        if (serializer == null) {
+            throw new HazelcastSerializationException("There is no suitable de-serializer for type " + data.getType());
+        }
+        final BufferObjectDataInput dataInput = serializationService.createObjectDataInput(data);
+        try {
+            return serializer.read(dataInput);
+        } finally {
+            IOUtil.closeResource(dataInput);
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -79,6 +79,8 @@ public final class SerializationConstants {
 
     public static final int DEFAULT_TYPE_ENUM = -25;
 
+    public static final int DEFAULT_TYPE_COMPRESSED_VALUE = -26;
+
     // ------------------------------------------------------------
     // AUTOMATICALLY REGISTERED SERIALIZERS
 
@@ -141,6 +141,7 @@ public class SerializationServiceImpl implements SerializationService {
         safeRegister(Serializable.class, new ObjectSerializer(enableSharedObject, enableCompression));
         safeRegister(Class.class, new ClassSerializer());
         safeRegister(Enum.class, new EnumSerializer());
+        safeRegister(CompressedValue.class, new CompressedValueSerializer(this));
     }
 
     private void registerConstantSerializers() {
@@ -17,8 +17,10 @@
 package com.hazelcast.nio.tcp;
 
 import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
+import com.hazelcast.util.counters.SwCounter;
 
 import java.io.IOException;
 import java.nio.channels.SelectionKey;
@@ -29,12 +31,31 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
+
+/**
+ * The base class of the IO threads. An AbstractIOSelector processes its task queue and the selected keys of its
+ * Selector in a loop.
+ * <p/>
+ * By default the selector blocks in {@link Selector#select(long)}, so a thread that adds a task needs to call
+ * {@link #wakeup()}. With any other {@link SelectorIdleStrategy} the selector busy polls with
+ * {@link Selector#selectNow()}; then a wakeup is only needed when the selector is parked by the
+ * {@link SelectorIdleStrategy#BACKOFF} strategy and it is an unpark instead of a wakeup of the Selector.
+ * <p/>
+ * The time spent on processing tasks and selected keys is tracked, so the ratio between busy and idle time is known.
+ */
 public abstract class AbstractIOSelector extends Thread implements IOSelector {
 
     private static final int SHUTDOWN_TIMEOUT_SECONDS = 3;
     private static final int SELECT_WAIT_TIME_MILLIS = 5000;
     private static final int SELECT_FAILURE_PAUSE_MILLIS = 1000;
+    private static final int BACKOFF_MAX_SPINS = 1000;
+    private static final int BACKOFF_MAX_YIELDS = BACKOFF_MAX_SPINS + 100;
+    private static final long BACKOFF_MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long BACKOFF_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int BACKOFF_MAX_PARK_SHIFT = 10;
 
     protected final ILogger logger;
 
@@ -50,11 +71,30 @@ public abstract class AbstractIOSelector extends Thread implements IOSelector {
 
     private final CountDownLatch shutdownLatch = new CountDownLatch(1);
 
+    private final SelectorIdleStrategy idleStrategy;
+
+    private final boolean selectNow;
+
+    private volatile boolean parked;
+
+    // The following fields are only written by the selector thread; they can be read by any thread.
+    private volatile long startNanos;
+
+    @Probe
+    private final SwCounter busyNanos = newSwCounter();
+
     public AbstractIOSelector(ThreadGroup threadGroup, String tname, ILogger logger,
                               IOSelectorOutOfMemoryHandler oomeHandler) {
+        this(threadGroup, tname, logger, oomeHandler, SelectorIdleStrategy.BLOCK);
+    }
+
+    public AbstractIOSelector(ThreadGroup threadGroup, String tname, ILogger logger,
+                              IOSelectorOutOfMemoryHandler oomeHandler, SelectorIdleStrategy idleStrategy) {
         super(threadGroup, tname);
         this.logger = logger;
         this.oomeHandler = oomeHandler;
+        this.idleStrategy = idleStrategy;
+        this.selectNow = idleStrategy != SelectorIdleStrategy.BLOCK;
         // WARNING: This value has significant effect on idle CPU usage!
         this.waitTime = SELECT_WAIT_TIME_MILLIS;
         try {
@@ -95,15 +135,51 @@ public abstract class AbstractIOSelector extends Thread implements IOSelector {
         selectorQueue.add(runnable);
     }
 
-    private void processSelectionQueue() {
+    public SelectorIdleStrategy getIdleStrategy() {
+        return idleStrategy;
+    }
+
+    /**
+     * Returns the time in nanoseconds this selector has spent on processing tasks and selected keys.
+     *
+     * This method is thread-safe.
+     *
+     * @return the busy time.
+     */
+    public long getBusyNanos() {
+        return busyNanos.get();
+    }
+
+    /**
+     * Returns the time in nanoseconds this selector has been running, but wasn't busy processing tasks and selected keys.
+     *
+     * This method is thread-safe.
+     *
+     * @return the idle time, or 0 if the selector hasn't started yet.
+     */
+    @Probe
+    public long getIdleNanos() {
+        long startNanos = this.startNanos;
+        if (startNanos == 0) {
+            return 0;
+        }
+        return Math.max(0, System.nanoTime() - startNanos - busyNanos.get());
+    }
+
+    private boolean processSelectionQueue() {
+        Runnable runnable = selectorQueue.poll();
+        if (runnable == null) {
+            return false;
+        }
+
+        long start = System.nanoTime();
         //noinspection WhileLoopSpinsOnField
-        while (live) {
-            final Runnable runnable = selectorQueue.poll();
-            if (runnable == null) {
-                return;
-            }
+        while (live && runnable != null) {
             executeTask(runnable);
+            runnable = selectorQueue.poll();
         }
+        busyNanos.inc((int) (System.nanoTime() - start));
+        return true;
     }
 
     private void executeTask(Runnable runnable) {
@@ -125,10 +201,12 @@ public abstract class AbstractIOSelector extends Thread implements IOSelector {
 
     @Override
     public final void run() {
+        startNanos = System.nanoTime();
         try {
+            long idleCount = 0;
             //noinspection WhileLoopSpinsOnField
             while (live) {
-                processSelectionQueue();
+                boolean tasksProcessed = processSelectionQueue();
                 if (!live || isInterrupted()) {
                     if (logger.isFinestEnabled()) {
                         logger.finest(getName() + " is interrupted!");
@@ -138,15 +216,20 @@ public abstract class AbstractIOSelector extends Thread implements IOSelector {
                 }
                 int selectedKeyCount;
                 try {
-                    selectedKeyCount = selector.select(waitTime);
+                    selectedKeyCount = selectNow ? selector.selectNow() : selector.select(waitTime);
                 } catch (Throwable e) {
                     handleSelectFailure(e);
                     continue;
                 }
-                if (selectedKeyCount == 0) {
-                    continue;
+                if (selectedKeyCount > 0) {
+                    handleSelectionKeys();
+                    idleCount = 0;
+                } else if (tasksProcessed) {
+                    idleCount = 0;
+                } else if (selectNow) {
+                    idle(idleCount);
+                    idleCount++;
                 }
-                handleSelectionKeys();
             }
         } catch (OutOfMemoryError e) {
             oomeHandler.handle(e);
@@ -164,9 +247,44 @@ public abstract class AbstractIOSelector extends Thread implements IOSelector {
         }
     }
 
+    private void idle(long idleCount) {
+        switch (idleStrategy) {
+            case YIELD:
+                Thread.yield();
+                break;
+            case BACKOFF:
+                backoff(idleCount);
+                break;
+            default:
+                // spin
+                break;
+        }
+    }
+
+    private void backoff(long idleCount) {
+        if (idleCount < BACKOFF_MAX_SPINS) {
+            return;
+        }
+
+        if (idleCount < BACKOFF_MAX_YIELDS) {
+            Thread.yield();
+            return;
+        }
+
+        int shift = (int) Math.min(idleCount - BACKOFF_MAX_YIELDS, BACKOFF_MAX_PARK_SHIFT);
+        long parkNanos = Math.min(BACKOFF_MIN_PARK_NANOS << shift, BACKOFF_MAX_PARK_NANOS);
+        parked = true;
+        // the queue needs to be checked after setting parked, else a wakeup for a new task could get lost.
+        if (selectorQueue.isEmpty()) {
+            LockSupport.parkNanos(this, parkNanos);
+        }
+        parked = false;
+    }
+
     protected abstract void handleSelectionKey(SelectionKey sk);
 
     private void handleSelectionKeys() {
+        long start = System.nanoTime();
         final Set<SelectionKey> setSelectedKeys = selector.selectedKeys();
         final Iterator<SelectionKey> it = setSelectedKeys.iterator();
         while (it.hasNext()) {
@@ -178,6 +296,7 @@ public abstract class AbstractIOSelector extends Thread implements IOSelector {
                 handleSelectionKeyFailure(e);
             }
         }
+        busyNanos.inc((int) (System.nanoTime() - start));
     }
 
     public void handleSelectionKeyFailure(final Throwable e) {
@@ -195,7 +314,11 @@ public abstract class AbstractIOSelector extends Thread implements IOSelector {
 
     @Override
     public final void wakeup() {
-        selector.wakeup();
+        if (!selectNow) {
+            selector.wakeup();
+        } else if (parked) {
+            LockSupport.unpark(this);
+        }
     }
 
     private void handleSelectFailure(Throwable e) {
@@ -21,12 +21,13 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 
-public class DefaultSocketChannelWrapper implements SocketChannelWrapper {
+public class DefaultSocketChannelWrapper implements SocketChannelWrapper, GatheringByteChannel {
 
     protected final SocketChannel socketChannel;
 
@@ -64,6 +65,30 @@ public class DefaultSocketChannelWrapper implements SocketChannelWrapper {
         return socketChannel.write(byteBuffer);
     }
 
+    @Override
+    public long write(ByteBuffer[] byteBuffers) throws IOException {
+        return write(byteBuffers, 0, byteBuffers.length);
+    }
+
+    @Override
+    public long write(ByteBuffer[] byteBuffers, int offset, int length) throws IOException {
+        if (getClass() == DefaultSocketChannelWrapper.class) {
+            return socketChannel.write(byteBuffers, offset, length);
+        }
+
+        // A subclass can transform the bytes in write(ByteBuffer), e.g. for encryption, so the buffers need to be written
+        // one by one.
+        long written = 0;
+        for (int k = offset; k < offset + length; k++) {
+            ByteBuffer byteBuffer = byteBuffers[k];
+            written += write(byteBuffer);
+            if (byteBuffer.hasRemaining()) {
+                break;
+            }
+        }
+        return written;
+    }
+
     @Override
     public SelectableChannel configureBlocking(boolean b) throws IOException {
         return socketChannel.configureBlocking(b);
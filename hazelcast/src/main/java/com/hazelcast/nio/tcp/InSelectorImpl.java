@@ -29,6 +29,11 @@ public final class InSelectorImpl extends AbstractIOSelector {
         super(threadGroup, tname, logger, oomeHandler);
     }
 
+    public InSelectorImpl(ThreadGroup threadGroup, String tname, ILogger logger, IOSelectorOutOfMemoryHandler oomeHandler,
+                          SelectorIdleStrategy idleStrategy) {
+        super(threadGroup, tname, logger, oomeHandler, idleStrategy);
+    }
+
     /**
      * Returns the current number of read events that have been processed by this InSelectorImpl.
      *
@@ -29,6 +29,11 @@ public final class OutSelectorImpl extends AbstractIOSelector {
         super(threadGroup, tname, logger, oomeHandler);
     }
 
+    public OutSelectorImpl(ThreadGroup threadGroup, String tname, ILogger logger, IOSelectorOutOfMemoryHandler oomeHandler,
+                           SelectorIdleStrategy idleStrategy) {
+        super(threadGroup, tname, logger, oomeHandler, idleStrategy);
+    }
+
     /**
      * Returns the current number of write events that have been processed by this OutSelectorImpl.
      *
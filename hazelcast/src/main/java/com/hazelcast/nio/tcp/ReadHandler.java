@@ -17,6 +17,7 @@
 package com.hazelcast.nio.tcp;
 
 import com.hazelcast.nio.ConnectionType;
+import com.hazelcast.nio.DirectBufferPool;
 import com.hazelcast.nio.Protocols;
 import com.hazelcast.nio.ascii.SocketTextReader;
 import com.hazelcast.util.Clock;
@@ -33,7 +34,8 @@ import static com.hazelcast.util.StringUtil.bytesToString;
  */
 public final class ReadHandler extends AbstractSelectionHandler {
 
-    private final ByteBuffer inputBuffer;
+    // created when the protocol is known; only accessed by the IO thread.
+    private ByteBuffer inputBuffer;
 
     private SocketReader socketReader;
 
@@ -45,7 +47,6 @@ public final class ReadHandler extends AbstractSelectionHandler {
     public ReadHandler(TcpIpConnection connection, IOSelector ioSelector) {
         super(connection, ioSelector, SelectionKey.OP_READ);
         this.ioSelector = ioSelector;
-        this.inputBuffer = ByteBuffer.allocate(connectionManager.socketReceiveBufferSize);
     }
 
     public void start() {
@@ -126,15 +127,20 @@ public final class ReadHandler extends AbstractSelectionHandler {
                 if (Protocols.CLUSTER.equals(protocol)) {
                     connection.setType(ConnectionType.MEMBER);
                     writeHandler.setProtocol(Protocols.CLUSTER);
-                    socketReader = new SocketPacketReader(connection);
+                    SocketPacketReader packetReader = new SocketPacketReader(connection);
+                    socketReader = packetReader;
+                    inputBuffer = newInputBuffer(packetReader.isPlain());
                 } else if (Protocols.CLIENT_BINARY.equals(protocol)) {
                     writeHandler.setProtocol(Protocols.CLIENT_BINARY);
                     socketReader = new SocketClientDataReader(connection);
+                    inputBuffer = newInputBuffer(false);
                 } else if (Protocols.CLIENT_BINARY_NEW.equals(protocol)) {
                     writeHandler.setProtocol(Protocols.CLIENT_BINARY_NEW);
                     socketReader = new SocketClientMessageReader(connection, socketChannel);
+                    inputBuffer = newInputBuffer(false);
                 } else {
                     writeHandler.setProtocol(Protocols.TEXT);
+                    inputBuffer = newInputBuffer(false);
                     inputBuffer.put(protocolBuffer.array());
                     socketReader = new SocketTextReader(connection);
                     connection.getConnectionManager().incrementTextConnections();
@@ -146,6 +152,28 @@ public final class ReadHandler extends AbstractSelectionHandler {
         }
     }
 
+    /**
+     * Creates the inputBuffer. A direct buffer is only leased from the pool if the reader can deal with it; e.g. the
+     * text protocol and an SSL wrapper access the backing array of the buffer.
+     *
+     * @param direct true if the SocketReader can read from a direct buffer.
+     * @return the created inputBuffer.
+     */
+    private ByteBuffer newInputBuffer(boolean direct) {
+        DirectBufferPool pool = connectionManager.receiveBufferPool;
+        if (direct && pool != null && !connectionManager.isSSLEnabled()) {
+            return pool.take();
+        }
+        return ByteBuffer.allocate(connectionManager.socketReceiveBufferSize);
+    }
+
+    private void releaseInputBuffer() {
+        if (inputBuffer != null && inputBuffer.isDirect()) {
+            connectionManager.receiveBufferPool.release(inputBuffer);
+        }
+        inputBuffer = null;
+    }
+
     long getLastHandle() {
         return lastHandle;
     }
@@ -158,6 +186,8 @@ public final class ReadHandler extends AbstractSelectionHandler {
                     socketChannel.closeInbound();
                 } catch (IOException e) {
                     logger.finest("Error while closing inbound", e);
+                } finally {
+                    releaseInputBuffer();
                 }
             }
         });
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+/**
+ * Determines what an {@link AbstractIOSelector} does when there is no IO to process.
+ *
+ * @see com.hazelcast.instance.GroupProperties#PROP_IO_SELECTOR_IDLE_STRATEGY
+ */
+public enum SelectorIdleStrategy {
+
+    /**
+     * Blocks in {@link java.nio.channels.Selector#select(long)}. This is the default; it doesn't burn CPU when idle, but
+     * a thread that hands over work to the selector needs to wake it up, which adds latency.
+     */
+    BLOCK,
+
+    /**
+     * Busy polls with {@link java.nio.channels.Selector#selectNow()} without pausing. Gives the lowest latency, but
+     * an IO thread will fully use a core, also when idle.
+     */
+    SPIN,
+
+    /**
+     * Busy polls with {@link java.nio.channels.Selector#selectNow()} and yields the thread when idle.
+     */
+    YIELD,
+
+    /**
+     * Busy polls with {@link java.nio.channels.Selector#selectNow()}; when idle it first spins, then yields and then
+     * parks with an exponentially increasing park time up to a bounded maximum.
+     */
+    BACKOFF;
+
+    /**
+     * Parses the idle strategy case insensitively.
+     *
+     * @param value the name of the idle strategy.
+     * @return the idle strategy.
+     * @throws IllegalArgumentException if the value is not the name of an idle strategy.
+     */
+    public static SelectorIdleStrategy parse(String value) {
+        for (SelectorIdleStrategy strategy : values()) {
+            if (strategy.name().equalsIgnoreCase(value)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown selector idle strategy: '" + value + "'");
+    }
+}
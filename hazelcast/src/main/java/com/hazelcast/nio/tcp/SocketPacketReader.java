@@ -40,4 +40,13 @@ class SocketPacketReader implements SocketReader {
     public void read(ByteBuffer inBuffer) throws Exception {
         packetReader.readPacket(inBuffer);
     }
+
+    /**
+     * Checks if the packets are read as is, so the packets can be read from any kind of ByteBuffer.
+     *
+     * @return true if the packets are not transformed, false otherwise.
+     */
+    boolean isPlain() {
+        return packetReader.getClass() == DefaultPacketReader.class;
+    }
 }
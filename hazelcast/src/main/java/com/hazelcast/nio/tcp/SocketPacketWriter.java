@@ -43,4 +43,13 @@ class SocketPacketWriter implements SocketWriter<Packet> {
         return packetWriter.writePacket(socketWritable, socketBuffer);
     }
 
+    /**
+     * Checks if the packets are written as is, so the value of a packet can be written directly to the socket.
+     *
+     * @return true if the packets are not transformed, false otherwise.
+     */
+    boolean isPlain() {
+        return packetWriter.getClass() == DefaultPacketWriter.class;
+    }
+
 }
@@ -25,6 +25,7 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.ConnectionListener;
 import com.hazelcast.nio.ConnectionManager;
+import com.hazelcast.nio.DirectBufferPool;
 import com.hazelcast.nio.IOService;
 import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.MemberSocketInterceptor;
@@ -52,12 +53,23 @@ public class TcpIpConnectionManager implements ConnectionManager {
 
     private static final int DEFAULT_KILL_THREAD_MILLIS = 1000 * 10;
 
+    // the maximum number of idle direct buffers retained per pool.
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final double HUNDRED_PERCENT = 100d;
+
     final int socketReceiveBufferSize;
 
     final IOService ioService;
 
     final int socketSendBufferSize;
 
+    final boolean socketWriteGatheringEnabled;
+
+    // The pools are null if direct buffers are disabled.
+    final DirectBufferPool receiveBufferPool;
+
+    final DirectBufferPool sendBufferPool;
+
     private final ConstructorFunction<Address, TcpIpConnectionMonitor> monitorConstructor
             = new ConstructorFunction<Address, TcpIpConnectionMonitor>() {
         public TcpIpConnectionMonitor createNew(Address endpoint) {
@@ -132,6 +144,14 @@ public class TcpIpConnectionManager implements ConnectionManager {
         this.logger = loggingService.getLogger(TcpIpConnectionManager.class.getName());
         this.socketReceiveBufferSize = ioService.getSocketReceiveBufferSize() * IOService.KILO_BYTE;
         this.socketSendBufferSize = ioService.getSocketSendBufferSize() * IOService.KILO_BYTE;
+        this.socketWriteGatheringEnabled = ioService.isSocketWriteGatheringEnabled();
+        if (ioService.isSocketBufferDirect()) {
+            this.receiveBufferPool = new DirectBufferPool(socketReceiveBufferSize, MAX_POOLED_BUFFERS);
+            this.sendBufferPool = new DirectBufferPool(socketSendBufferSize, MAX_POOLED_BUFFERS);
+        } else {
+            this.receiveBufferPool = null;
+            this.sendBufferPool = null;
+        }
         this.socketLingerSeconds = ioService.getSocketLingerSeconds();
         this.socketConnectTimeoutSeconds = ioService.getSocketConnectTimeoutSeconds();
         this.socketKeepAlive = ioService.getSocketKeepAlive();
@@ -430,17 +450,23 @@ public class TcpIpConnectionManager implements ConnectionManager {
                 ioService.onOutOfMemory(error);
             }
         };
+        SelectorIdleStrategy idleStrategy = ioService.getSelectorIdleStrategy();
+        if (idleStrategy != SelectorIdleStrategy.BLOCK) {
+            log(Level.INFO, "IO selectors are busy polling with idle strategy " + idleStrategy);
+        }
         for (int i = 0; i < inSelectors.length; i++) {
             inSelectors[i] = new InSelectorImpl(
                     ioService.getThreadGroup(),
                     ioService.getThreadPrefix() + "in-" + i,
                     ioService.getLogger(InSelectorImpl.class.getName()),
-                    oomeHandler);
+                    oomeHandler,
+                    idleStrategy);
             outSelectors[i] = new OutSelectorImpl(
                     ioService.getThreadGroup(),
                     ioService.getThreadPrefix() + "out-" + i,
                     ioService.getLogger(OutSelectorImpl.class.getName()),
-                    oomeHandler);
+                    oomeHandler,
+                    idleStrategy);
             inSelectors[i].start();
             outSelectors[i].start();
         }
@@ -601,15 +627,25 @@ public class TcpIpConnectionManager implements ConnectionManager {
             InSelectorImpl inSelector = inSelectors[k];
             sb.append(inSelector.getName()).append(".readEvents=")
                     .append(inSelector.getReadEvents()).append("\n");
+            dumpBusyPercentage(sb, inSelector);
         }
 
         for (int k = 0; k < outSelectors.length; k++) {
             OutSelectorImpl outSelector = outSelectors[k];
             sb.append(outSelector.getName()).append(".writeEvents=")
                     .append(outSelector.getWriteEvents()).append("\n");
+            dumpBusyPercentage(sb, outSelector);
         }
     }
 
+    private static void dumpBusyPercentage(StringBuffer sb, AbstractIOSelector selector) {
+        long busyNanos = selector.getBusyNanos();
+        long totalNanos = busyNanos + selector.getIdleNanos();
+        double busyPercentage = totalNanos == 0 ? 0 : (HUNDRED_PERCENT * busyNanos) / totalNanos;
+        sb.append(selector.getName()).append(".busy=")
+                .append(String.format("%.2f", busyPercentage)).append("%\n");
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("Connections {");
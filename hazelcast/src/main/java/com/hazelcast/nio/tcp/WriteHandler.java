@@ -16,15 +16,21 @@
 
 package com.hazelcast.nio.tcp;
 
+import com.hazelcast.nio.DirectBufferPool;
+import com.hazelcast.nio.IOService;
+import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.Protocols;
 import com.hazelcast.nio.SocketWritable;
 import com.hazelcast.nio.ascii.SocketTextWriter;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.EmptyStatement;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.SelectionKey;
+import java.util.Arrays;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
@@ -36,24 +42,39 @@ import static com.hazelcast.util.StringUtil.stringToBytes;
 
 /**
  * The writing side of the {@link TcpIpConnection}.
+ * <p/>
+ * Normally every packet is copied into the outputBuffer and the outputBuffer is written to the socket. If gathering writes
+ * are enabled, see {@link com.hazelcast.instance.GroupProperties#PROP_SOCKET_WRITE_GATHERING_ENABLED}, the value of a
+ * large packet is not copied; only its frame header is written to the outputBuffer and the value is written directly
+ * from the packet. The segments of the outputBuffer and the values are written using a single gathering write. Small
+ * packets are still coalesced in the outputBuffer.
  */
 public final class WriteHandler extends AbstractSelectionHandler implements Runnable {
 
     private static final long TIMEOUT = 3;
+    // the minimum size of a packet value for it to be written by a gathering write instead of being copied.
+    private static final int GATHERING_VALUE_THRESHOLD = 8 * IOService.KILO_BYTE;
+    private static final int MAX_GATHERING_BUFFERS = 64;
 
     private final Queue<SocketWritable> writeQueue = new ConcurrentLinkedQueue<SocketWritable>();
     private final Queue<SocketWritable> urgentWriteQueue = new ConcurrentLinkedQueue<SocketWritable>();
     private final AtomicBoolean scheduled = new AtomicBoolean(false);
-    private final ByteBuffer outputBuffer;
     private SocketWritable currentPacket;
     private SocketWriter socketWriter;
+    // The following fields are only accessed by the IO thread.
+    // created when the protocol is known.
+    private ByteBuffer outputBuffer;
+    private boolean gatheringWrites;
+    // the buffers that are pending to be written by a gathering write; segments of the outputBuffer and packet values.
+    private final ByteBuffer[] gatheringBuffers = new ByteBuffer[MAX_GATHERING_BUFFERS];
+    private int gatheringOffset;
+    private int gatheringCount;
     private volatile long lastHandle;
     //This field will be incremented by a single thread. It can be read by multiple threads.
     private volatile long eventCount;
 
     WriteHandler(TcpIpConnection connection, IOSelector ioSelector) {
         super(connection, ioSelector, SelectionKey.OP_WRITE);
-        this.outputBuffer = ByteBuffer.allocate(connectionManager.socketSendBufferSize);
     }
 
     long getLastHandle() {
@@ -84,19 +105,53 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
     private void createWriter(String protocol) {
         if (socketWriter == null) {
             if (Protocols.CLUSTER.equals(protocol)) {
-                socketWriter = new SocketPacketWriter(connection);
+                SocketPacketWriter packetWriter = new SocketPacketWriter(connection);
+                socketWriter = packetWriter;
+                outputBuffer = newOutputBuffer(packetWriter.isPlain());
                 outputBuffer.put(stringToBytes(Protocols.CLUSTER));
+                gatheringWrites = connectionManager.socketWriteGatheringEnabled
+                        && packetWriter.isPlain()
+                        && socketChannel instanceof GatheringByteChannel;
                 registerOp(SelectionKey.OP_WRITE);
             } else if (Protocols.CLIENT_BINARY.equals(protocol)) {
                 socketWriter = new SocketClientDataWriter();
+                outputBuffer = newOutputBuffer(false);
             } else if (Protocols.CLIENT_BINARY_NEW.equals(protocol)) {
                 socketWriter = new SocketClientMessageWriter();
+                outputBuffer = newOutputBuffer(false);
             } else {
                 socketWriter = new SocketTextWriter(connection);
+                outputBuffer = newOutputBuffer(false);
             }
         }
     }
 
+    /**
+     * Creates the outputBuffer. A direct buffer is only leased from the pool if the writer can deal with it; e.g. the
+     * text protocol and an SSL wrapper access the backing array of the buffer.
+     *
+     * @param direct true if the SocketWriter can write to a direct buffer.
+     * @return the created outputBuffer.
+     */
+    private ByteBuffer newOutputBuffer(boolean direct) {
+        DirectBufferPool pool = connectionManager.sendBufferPool;
+        if (direct && pool != null && !connectionManager.isSSLEnabled()) {
+            return pool.take();
+        }
+        return ByteBuffer.allocate(connectionManager.socketSendBufferSize);
+    }
+
+    private void releaseOutputBuffer() {
+        Arrays.fill(gatheringBuffers, null);
+        gatheringOffset = 0;
+        gatheringCount = 0;
+
+        if (outputBuffer != null && outputBuffer.isDirect()) {
+            connectionManager.sendBufferPool.release(outputBuffer);
+        }
+        outputBuffer = null;
+    }
+
     public void offer(SocketWritable packet) {
         if (packet.isUrgent()) {
             urgentWriteQueue.offer(packet);
@@ -213,10 +268,20 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         }
 
         try {
-            fillOutputBuffer();
+            if (gatheringWrites) {
+                if (gatheringCount == 0) {
+                    fillGatheringBuffers();
+                }
+
+                if (gatheringCount > 0) {
+                    writeGatheringBuffersToSocket();
+                }
+            } else {
+                fillOutputBuffer();
 
-            if (dirtyOutputBuffer()) {
-                writeOutputBufferToSocket();
+                if (dirtyOutputBuffer()) {
+                    writeOutputBufferToSocket();
+                }
             }
         } catch (Throwable t) {
             logger.severe("Fatal Error at WriteHandler for endPoint: " + connection.getEndPoint(), t);
@@ -292,6 +357,95 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         }
     }
 
+    /**
+     * Fills the gatheringBuffers. Small packets are written to the outputBuffer like in {@link #fillOutputBuffer()}, but
+     * of a large packet only the frame header is written to the outputBuffer and its value is added as separate buffer.
+     * <p/>
+     * The outputBuffer is not compacted or cleared till all gatheringBuffers have been written since they contain
+     * segments of the outputBuffer.
+     *
+     * @throws Exception
+     */
+    private void fillGatheringBuffers() throws Exception {
+        int segmentStart = 0;
+        // there always needs to be space for a segment, a value and the final segment.
+        while (outputBuffer.hasRemaining() && gatheringCount + 3 <= gatheringBuffers.length) {
+            if (currentPacket == null) {
+                currentPacket = poll();
+                if (currentPacket == null) {
+                    break;
+                }
+
+                if (gatherValue((Packet) currentPacket, segmentStart)) {
+                    segmentStart = outputBuffer.position();
+                    currentPacket = null;
+                    continue;
+                }
+            }
+
+            if (!socketWriter.write(currentPacket, outputBuffer)) {
+                break;
+            }
+
+            currentPacket = null;
+        }
+
+        if (outputBuffer.position() > segmentStart) {
+            gatheringBuffers[gatheringCount++] = segment(segmentStart, outputBuffer.position());
+        }
+    }
+
+    private boolean gatherValue(Packet packet, int segmentStart) {
+        Data data = packet.getData();
+        if (data == null || data.totalSize() < GATHERING_VALUE_THRESHOLD) {
+            return false;
+        }
+
+        if (!packet.writeFrameHeaderTo(outputBuffer)) {
+            // not enough space for the frame header; so the packet will be copied into the outputBuffer.
+            return false;
+        }
+
+        gatheringBuffers[gatheringCount++] = segment(segmentStart, outputBuffer.position());
+        gatheringBuffers[gatheringCount++] = ByteBuffer.wrap(data.toByteArray(), 0, data.totalSize());
+        return true;
+    }
+
+    private ByteBuffer segment(int start, int end) {
+        ByteBuffer segment = outputBuffer.duplicate();
+        segment.limit(end);
+        segment.position(start);
+        return segment;
+    }
+
+    /**
+     * Writes the pending gatheringBuffers to the socket using a single gathering write.
+     *
+     * @throws Exception
+     */
+    private void writeGatheringBuffersToSocket() throws Exception {
+        try {
+            GatheringByteChannel channel = (GatheringByteChannel) socketChannel;
+            channel.write(gatheringBuffers, gatheringOffset, gatheringCount - gatheringOffset);
+        } catch (Exception e) {
+            currentPacket = null;
+            handleSocketException(e);
+            return;
+        }
+
+        while (gatheringOffset < gatheringCount && !gatheringBuffers[gatheringOffset].hasRemaining()) {
+            gatheringBuffers[gatheringOffset] = null;
+            gatheringOffset++;
+        }
+
+        if (gatheringOffset == gatheringCount) {
+            // Everything has been written, so the outputBuffer can be reused.
+            gatheringOffset = 0;
+            gatheringCount = 0;
+            outputBuffer.clear();
+        }
+    }
+
     @Override
     public void run() {
         try {
@@ -314,6 +468,7 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
                 } catch (IOException e) {
                     logger.finest("Error while closing outbound", e);
                 } finally {
+                    releaseOutputBuffer();
                     latch.countDown();
                 }
             }
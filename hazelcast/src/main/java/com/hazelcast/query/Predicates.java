@@ -22,7 +22,12 @@ import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.query.impl.AndResultSet;
 import com.hazelcast.query.impl.AttributeType;
+import com.hazelcast.query.impl.Bitmap;
+import com.hazelcast.query.impl.BitmapIndexAwarePredicate;
+import com.hazelcast.query.impl.BitmapResultSet;
 import com.hazelcast.query.impl.ComparisonType;
+import com.hazelcast.query.impl.CompositeIndex;
+import com.hazelcast.query.impl.CostAwarePredicate;
 import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.IndexImpl;
 import com.hazelcast.query.impl.OrResultSet;
@@ -30,7 +35,11 @@ import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +52,8 @@ import java.util.regex.Pattern;
  */
 public final class Predicates {
 
+    private static final String PLAN_INDENT = "  ";
+
     //we don't want instances. private constructor.
     private Predicates() {
     }
@@ -51,6 +62,229 @@ public final class Predicates {
         return new InstanceOfPredicate(klass);
     }
 
+    private static boolean isIndexed(Predicate predicate, QueryContext queryContext) {
+        return predicate instanceof IndexAwarePredicate && ((IndexAwarePredicate) predicate).isIndexed(queryContext);
+    }
+
+    private static boolean isBitmapIndexed(Predicate predicate, QueryContext queryContext) {
+        return predicate instanceof BitmapIndexAwarePredicate
+                && ((BitmapIndexAwarePredicate) predicate).isBitmapIndexed(queryContext);
+    }
+
+    /**
+     * Looks for the composite index answering the most conjuncts of the given predicate: equalities on a prefix
+     * of its attributes followed, if the index is ordered, by a range on the next attribute.
+     *
+     * @return the best match, or null if no composite index answers more than a single conjunct.
+     */
+    private static CompositeIndexMatch matchCompositeIndex(List<Predicate> conjuncts, QueryContext queryContext) {
+        CompositeIndex[] indexes = queryContext.getCompositeIndexes();
+        if (indexes.length == 0) {
+            return null;
+        }
+        Map<String, EqualPredicate> equalities = new HashMap<String, EqualPredicate>();
+        Map<String, AbstractPredicate> ranges = new HashMap<String, AbstractPredicate>();
+        for (Predicate predicate : conjuncts) {
+            if (predicate.getClass() == EqualPredicate.class) {
+                EqualPredicate equalPredicate = (EqualPredicate) predicate;
+                if (!equalities.containsKey(equalPredicate.attribute)) {
+                    equalities.put(equalPredicate.attribute, equalPredicate);
+                }
+            } else if (predicate instanceof GreaterLessPredicate || predicate instanceof BetweenPredicate) {
+                AbstractPredicate rangePredicate = (AbstractPredicate) predicate;
+                if (!ranges.containsKey(rangePredicate.attribute)) {
+                    ranges.put(rangePredicate.attribute, rangePredicate);
+                }
+            }
+        }
+        CompositeIndexMatch best = null;
+        for (CompositeIndex index : indexes) {
+            String[] attributes = index.getAttributeNames();
+            int prefixLength = 0;
+            while (prefixLength < attributes.length && equalities.containsKey(attributes[prefixLength])) {
+                prefixLength++;
+            }
+            AbstractPredicate range = null;
+            if (prefixLength < attributes.length) {
+                if (!index.isOrdered()) {
+                    continue;
+                }
+                range = ranges.get(attributes[prefixLength]);
+            }
+            int matched = prefixLength + (range != null ? 1 : 0);
+            // a single conjunct is answered as well by a single attribute index
+            if (matched > 1 && (best == null || matched > best.matched.size())) {
+                Comparable[] prefix = new Comparable[prefixLength];
+                List<Predicate> matchedPredicates = new ArrayList<Predicate>(matched);
+                List<Predicate> remaining = new ArrayList<Predicate>(conjuncts);
+                for (int i = 0; i < prefixLength; i++) {
+                    EqualPredicate equalPredicate = equalities.get(attributes[i]);
+                    prefix[i] = equalPredicate.value;
+                    matchedPredicates.add(equalPredicate);
+                    removeInstance(remaining, equalPredicate);
+                }
+                if (range != null) {
+                    matchedPredicates.add(range);
+                    removeInstance(remaining, range);
+                }
+                best = new CompositeIndexMatch(index, prefix, range, matchedPredicates, remaining);
+            }
+        }
+        return best;
+    }
+
+    private static void removeInstance(List<Predicate> predicates, Predicate predicate) {
+        for (Iterator<Predicate> iterator = predicates.iterator(); iterator.hasNext();) {
+            if (iterator.next() == predicate) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
+    /**
+     * The conjuncts of an {@link AndPredicate} answered by a single {@link CompositeIndex} lookup.
+     */
+    private static final class CompositeIndexMatch {
+        private final CompositeIndex index;
+        private final Comparable[] prefix;
+        private final AbstractPredicate range;
+        private final List<Predicate> matched;
+        private final List<Predicate> remaining;
+
+        private CompositeIndexMatch(CompositeIndex index, Comparable[] prefix, AbstractPredicate range,
+                                    List<Predicate> matched, List<Predicate> remaining) {
+            this.index = index;
+            this.prefix = prefix;
+            this.range = range;
+            this.matched = matched;
+            this.remaining = remaining;
+        }
+
+        private Set<QueryableEntry> filter() {
+            if (range instanceof BetweenPredicate) {
+                BetweenPredicate between = (BetweenPredicate) range;
+                return index.getRecords(prefix, between.from, true, between.to, true);
+            } else if (range instanceof GreaterLessPredicate) {
+                GreaterLessPredicate greaterLess = (GreaterLessPredicate) range;
+                if (greaterLess.less) {
+                    return index.getRecords(prefix, null, false, greaterLess.value, greaterLess.equal);
+                }
+                return index.getRecords(prefix, greaterLess.value, greaterLess.equal, null, false);
+            }
+            return index.getRecords(prefix, null, false, null, false);
+        }
+
+        private long estimateSize() {
+            if (range instanceof BetweenPredicate) {
+                BetweenPredicate between = (BetweenPredicate) range;
+                return index.estimateRecords(prefix, between.from, true, between.to, true);
+            } else if (range instanceof GreaterLessPredicate) {
+                GreaterLessPredicate greaterLess = (GreaterLessPredicate) range;
+                if (greaterLess.less) {
+                    return index.estimateRecords(prefix, null, false, greaterLess.value, greaterLess.equal);
+                }
+                return index.estimateRecords(prefix, greaterLess.value, greaterLess.equal, null, false);
+            }
+            return index.estimateRecords(prefix, null, false, null, false);
+        }
+    }
+
+    /**
+     * An index lookup answering some conjuncts of an {@link AndPredicate}, with its estimated result size.
+     */
+    private static final class IndexLookup {
+        private final List<Predicate> predicates;
+        private final long estimate;
+        private final CompositeIndexMatch compositeMatch;
+        // the result of the lookups cheap enough to be evaluated while planning, null for the others
+        private final Set<QueryableEntry> result;
+
+        private IndexLookup(List<Predicate> predicates, long estimate, CompositeIndexMatch compositeMatch,
+                            Set<QueryableEntry> result) {
+            this.predicates = predicates;
+            this.estimate = estimate;
+            this.compositeMatch = compositeMatch;
+            this.result = result;
+        }
+
+        private Set<QueryableEntry> evaluate(QueryContext queryContext) {
+            if (result != null) {
+                return result;
+            }
+            if (compositeMatch != null) {
+                return compositeMatch.filter();
+            }
+            return ((IndexAwarePredicate) predicates.get(0)).filter(queryContext);
+        }
+
+        private String explain(QueryContext queryContext) {
+            if (compositeMatch != null) {
+                return "COMPOSITE INDEX " + compositeMatch.index.getAttributeName() + ": " + conjunction(predicates)
+                        + " (estimated " + estimate + ")";
+            }
+            if (result instanceof BitmapResultSet) {
+                return "BITMAP " + conjunction(predicates) + " (estimated " + estimate + ")";
+            }
+            if (result != null) {
+                return "INDEX " + predicates.get(0) + " (size " + estimate + ")";
+            }
+            return ((CostAwarePredicate) predicates.get(0)).explain(queryContext);
+        }
+
+        private static String conjunction(List<Predicate> predicates) {
+            StringBuilder sb = new StringBuilder();
+            for (Predicate predicate : predicates) {
+                if (sb.length() > 0) {
+                    sb.append(" AND ");
+                }
+                sb.append(predicate);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * The evaluation of an {@link AndPredicate}: only its most selective index lookup is evaluated, then its
+     * entries are checked against the lookups already evaluated while planning and the remaining conjuncts.
+     */
+    private static final class ConjunctionPlan {
+        private final IndexLookup lookup;
+        private final List<IndexLookup> intersectedLookups = new ArrayList<IndexLookup>();
+        private final List<Predicate> filters = new ArrayList<Predicate>();
+
+        private ConjunctionPlan(IndexLookup lookup) {
+            this.lookup = lookup;
+        }
+    }
+
+    private static String explainIndexLookup(CostAwarePredicate predicate, QueryContext queryContext) {
+        String access = isBitmapIndexed(predicate, queryContext) ? "BITMAP " : "INDEX ";
+        return access + predicate + " (estimated " + predicate.estimateSize(queryContext) + ")";
+    }
+
+    /**
+     * Estimates the size of an indexed predicate, evaluating it if it cannot estimate itself.
+     */
+    private static long estimateSize(IndexAwarePredicate predicate, QueryContext queryContext) {
+        if (predicate instanceof CostAwarePredicate) {
+            return ((CostAwarePredicate) predicate).estimateSize(queryContext);
+        }
+        Set<QueryableEntry> result = predicate.filter(queryContext);
+        return result == null ? 0 : result.size();
+    }
+
+    private static String explain(IndexAwarePredicate predicate, QueryContext queryContext) {
+        if (predicate instanceof CostAwarePredicate) {
+            return ((CostAwarePredicate) predicate).explain(queryContext);
+        }
+        return "INDEX " + predicate;
+    }
+
+    private static String indent(String plan) {
+        return PLAN_INDENT + plan.replace("\n", "\n" + PLAN_INDENT);
+    }
+
     private static Comparable readAttribute(Map.Entry entry, String attribute) {
         QueryableEntry queryableEntry = (QueryableEntry) entry;
         Comparable value = queryableEntry.getAttribute(attribute);
@@ -125,7 +359,7 @@ public final class Predicates {
     /**
      * Between Predicate
      */
-    public static class BetweenPredicate extends AbstractPredicate {
+    public static class BetweenPredicate extends AbstractPredicate implements CostAwarePredicate {
         private Comparable to;
         private Comparable from;
 
@@ -161,6 +395,16 @@ public final class Predicates {
             return index.getSubRecordsBetween(from, to);
         }
 
+        @Override
+        public long estimateSize(QueryContext queryContext) {
+            return getIndex(queryContext).estimateSubRecordsBetween(from, to);
+        }
+
+        @Override
+        public String explain(QueryContext queryContext) {
+            return explainIndexLookup(this, queryContext);
+        }
+
         @Override
         public void writeData(ObjectDataOutput out) throws IOException {
             super.writeData(out);
@@ -184,7 +428,7 @@ public final class Predicates {
     /**
      * Not Predicate
      */
-    public static class NotPredicate implements Predicate, DataSerializable {
+    public static class NotPredicate implements BitmapIndexAwarePredicate, CostAwarePredicate, DataSerializable {
         private Predicate predicate;
 
         public NotPredicate(Predicate predicate) {
@@ -199,6 +443,38 @@ public final class Predicates {
             return !predicate.apply(mapEntry);
         }
 
+        @Override
+        public Set<QueryableEntry> filter(QueryContext queryContext) {
+            return queryContext.newBitmapResultSet(filterBitmap(queryContext));
+        }
+
+        @Override
+        public boolean isIndexed(QueryContext queryContext) {
+            // only a bitmap can be negated without scanning the entries
+            return isBitmapIndexed(queryContext);
+        }
+
+        @Override
+        public boolean isBitmapIndexed(QueryContext queryContext) {
+            return Predicates.isBitmapIndexed(predicate, queryContext);
+        }
+
+        @Override
+        public Bitmap filterBitmap(QueryContext queryContext) {
+            Bitmap matching = ((BitmapIndexAwarePredicate) predicate).filterBitmap(queryContext);
+            return queryContext.getEntryOrdinals().getOrdinals().andNot(matching);
+        }
+
+        @Override
+        public long estimateSize(QueryContext queryContext) {
+            return filterBitmap(queryContext).cardinality();
+        }
+
+        @Override
+        public String explain(QueryContext queryContext) {
+            return explainIndexLookup(this, queryContext);
+        }
+
         @Override
         public void writeData(ObjectDataOutput out) throws IOException {
             out.writeObject(predicate);
@@ -218,7 +494,7 @@ public final class Predicates {
     /**
      * In Predicate
      */
-    public static class InPredicate extends AbstractPredicate {
+    public static class InPredicate extends AbstractPredicate implements BitmapIndexAwarePredicate, CostAwarePredicate {
         private Comparable[] values;
         private volatile Set<Comparable> convertedInValues;
 
@@ -261,6 +537,27 @@ public final class Predicates {
             }
         }
 
+        @Override
+        public boolean isBitmapIndexed(QueryContext queryContext) {
+            Index index = getIndex(queryContext);
+            return index != null && index.isBitmap();
+        }
+
+        @Override
+        public Bitmap filterBitmap(QueryContext queryContext) {
+            return getIndex(queryContext).getBitmap(values);
+        }
+
+        @Override
+        public long estimateSize(QueryContext queryContext) {
+            return getIndex(queryContext).estimateRecords(values);
+        }
+
+        @Override
+        public String explain(QueryContext queryContext) {
+            return explainIndexLookup(this, queryContext);
+        }
+
         @Override
         public void writeData(ObjectDataOutput out) throws IOException {
             super.writeData(out);
@@ -452,7 +749,10 @@ public final class Predicates {
     /**
      * And Predicate
      */
-    public static class AndPredicate implements IndexAwarePredicate, DataSerializable {
+    public static class AndPredicate implements BitmapIndexAwarePredicate, CostAwarePredicate, DataSerializable {
+
+        // marks a predicate without indexed conjuncts in the plans of the query context
+        private static final Object NO_PLAN = new Object();
 
         protected Predicate[] predicates;
 
@@ -465,37 +765,156 @@ public final class Predicates {
 
         @Override
         public Set<QueryableEntry> filter(QueryContext queryContext) {
-            Set<QueryableEntry> smallestIndexedResult = null;
-            List<Set<QueryableEntry>> otherIndexedResults = new LinkedList<Set<QueryableEntry>>();
-            List<Predicate> lsNoIndexPredicates = null;
-            for (Predicate predicate : predicates) {
-                boolean indexed = false;
-                if (predicate instanceof IndexAwarePredicate) {
+            ConjunctionPlan plan = plan(queryContext);
+            if (plan == null) {
+                return null;
+            }
+            Set<QueryableEntry> result = plan.lookup.evaluate(queryContext);
+            if (plan.intersectedLookups.isEmpty() && plan.filters.isEmpty()) {
+                return result;
+            }
+            List<Set<QueryableEntry>> otherIndexedResults = new ArrayList<Set<QueryableEntry>>(plan.intersectedLookups.size());
+            for (IndexLookup lookup : plan.intersectedLookups) {
+                otherIndexedResults.add(lookup.result);
+            }
+            return new AndResultSet(result, otherIndexedResults, plan.filters.isEmpty() ? null : plan.filters);
+        }
+
+        @Override
+        public long estimateSize(QueryContext queryContext) {
+            ConjunctionPlan plan = plan(queryContext);
+            return plan == null ? 0 : plan.lookup.estimate;
+        }
+
+        @Override
+        public String explain(QueryContext queryContext) {
+            ConjunctionPlan plan = plan(queryContext);
+            StringBuilder sb = new StringBuilder();
+            sb.append("AND (estimated ").append(plan.lookup.estimate).append(")");
+            sb.append('\n').append(indent(plan.lookup.explain(queryContext)));
+            for (IndexLookup lookup : plan.intersectedLookups) {
+                sb.append('\n').append(indent("INTERSECT " + lookup.explain(queryContext)));
+            }
+            for (Predicate predicate : plan.filters) {
+                sb.append('\n').append(PLAN_INDENT).append("FILTER ").append(predicate);
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Returns the plan of this predicate for the query; it is built once per query, so the cost estimation and the
+         * evaluation share the index lookups done while planning.
+         *
+         * @return the plan, or null if none of the conjuncts is indexed.
+         */
+        private ConjunctionPlan plan(QueryContext queryContext) {
+            Object plan = queryContext.getPlan(this);
+            if (plan == null) {
+                plan = buildPlan(queryContext);
+                queryContext.setPlan(this, plan == null ? NO_PLAN : plan);
+            }
+            return plan == NO_PLAN ? null : (ConjunctionPlan) plan;
+        }
+
+        /**
+         * Estimates the size of each index lookup answering some of the conjuncts and picks the smallest one.
+         *
+         * @return the plan, or null if none of the conjuncts is indexed.
+         */
+        private ConjunctionPlan buildPlan(QueryContext queryContext) {
+            List<Predicate> conjuncts = new ArrayList<Predicate>();
+            collectConjuncts(conjuncts);
+            List<IndexLookup> lookups = new ArrayList<IndexLookup>();
+            List<Predicate> filters = new ArrayList<Predicate>();
+            CompositeIndexMatch compositeMatch = matchCompositeIndex(conjuncts, queryContext);
+            if (compositeMatch != null) {
+                // the conjuncts answered by the composite index are replaced by a single lookup
+                lookups.add(new IndexLookup(compositeMatch.matched, compositeMatch.estimateSize(), compositeMatch, null));
+                conjuncts = compositeMatch.remaining;
+            }
+            // the predicates on bitmap indexes are intersected on their ordinals right away, which is cheap
+            Bitmap bitmap = null;
+            List<Predicate> bitmapPredicates = new ArrayList<Predicate>();
+            for (Predicate predicate : conjuncts) {
+                if (Predicates.isBitmapIndexed(predicate, queryContext)) {
+                    Bitmap predicateBitmap = ((BitmapIndexAwarePredicate) predicate).filterBitmap(queryContext);
+                    bitmap = bitmap == null ? predicateBitmap : bitmap.and(predicateBitmap);
+                    bitmapPredicates.add(predicate);
+                } else if (Predicates.isIndexed(predicate, queryContext)) {
                     IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
-                    if (iap.isIndexed(queryContext)) {
-                        indexed = true;
-                        Set<QueryableEntry> s = iap.filter(queryContext);
-                        if (smallestIndexedResult == null) {
-                            smallestIndexedResult = s;
-                        } else if (s.size() < smallestIndexedResult.size()) {
-                            otherIndexedResults.add(smallestIndexedResult);
-                            smallestIndexedResult = s;
+                    if (iap instanceof CostAwarePredicate) {
+                        long estimate = ((CostAwarePredicate) iap).estimateSize(queryContext);
+                        lookups.add(new IndexLookup(Collections.singletonList(predicate), estimate, null, null));
+                    } else {
+                        // a predicate which cannot estimate its size is evaluated to know it
+                        Set<QueryableEntry> result = iap.filter(queryContext);
+                        if (result != null) {
+                            lookups.add(new IndexLookup(Collections.singletonList(predicate), result.size(), null, result));
                         } else {
-                            otherIndexedResults.add(s);
+                            filters.add(predicate);
                         }
                     }
+                } else {
+                    filters.add(predicate);
                 }
-                if (!indexed) {
-                    if (lsNoIndexPredicates == null) {
-                        lsNoIndexPredicates = new LinkedList<Predicate>();
-                    }
-                    lsNoIndexPredicates.add(predicate);
-                }
             }
-            if (smallestIndexedResult == null) {
+            if (bitmap != null) {
+                lookups.add(new IndexLookup(bitmapPredicates, bitmap.cardinality(), null,
+                        queryContext.newBitmapResultSet(bitmap)));
+            }
+            if (lookups.isEmpty()) {
                 return null;
             }
-            return new AndResultSet(smallestIndexedResult, otherIndexedResults, lsNoIndexPredicates);
+            IndexLookup smallest = lookups.get(0);
+            for (IndexLookup lookup : lookups) {
+                if (lookup.estimate < smallest.estimate) {
+                    smallest = lookup;
+                }
+            }
+            ConjunctionPlan plan = new ConjunctionPlan(smallest);
+            for (IndexLookup lookup : lookups) {
+                if (lookup == smallest) {
+                    continue;
+                }
+                if (lookup.result != null) {
+                    plan.intersectedLookups.add(lookup);
+                } else {
+                    // checking the entries is cheaper than looking up a less selective index
+                    plan.filters.addAll(lookup.predicates);
+                }
+            }
+            plan.filters.addAll(filters);
+            return plan;
+        }
+
+        private void collectConjuncts(List<Predicate> conjuncts) {
+            for (Predicate predicate : predicates) {
+                if (predicate instanceof AndPredicate) {
+                    ((AndPredicate) predicate).collectConjuncts(conjuncts);
+                } else {
+                    conjuncts.add(predicate);
+                }
+            }
+        }
+
+        @Override
+        public boolean isBitmapIndexed(QueryContext queryContext) {
+            for (Predicate predicate : predicates) {
+                if (!Predicates.isBitmapIndexed(predicate, queryContext)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Bitmap filterBitmap(QueryContext queryContext) {
+            Bitmap result = null;
+            for (Predicate predicate : predicates) {
+                Bitmap bitmap = ((BitmapIndexAwarePredicate) predicate).filterBitmap(queryContext);
+                result = result == null ? bitmap : result.and(bitmap);
+            }
+            return result;
         }
 
         @Override
@@ -508,7 +927,9 @@ public final class Predicates {
                     }
                 }
             }
-            return false;
+            List<Predicate> conjuncts = new ArrayList<Predicate>();
+            collectConjuncts(conjuncts);
+            return matchCompositeIndex(conjuncts, queryContext) != null;
         }
 
         @Override
@@ -557,7 +978,7 @@ public final class Predicates {
     /**
      * Or Predicate
      */
-    public static class OrPredicate implements IndexAwarePredicate, DataSerializable {
+    public static class OrPredicate implements BitmapIndexAwarePredicate, CostAwarePredicate, DataSerializable {
 
         private Predicate[] predicates;
 
@@ -570,6 +991,9 @@ public final class Predicates {
 
         @Override
         public Set<QueryableEntry> filter(QueryContext queryContext) {
+            if (isBitmapIndexed(queryContext)) {
+                return queryContext.newBitmapResultSet(filterBitmap(queryContext));
+            }
             List<Set<QueryableEntry>> indexedResults = new LinkedList<Set<QueryableEntry>>();
             for (Predicate predicate : predicates) {
                 if (predicate instanceof IndexAwarePredicate) {
@@ -587,6 +1011,31 @@ public final class Predicates {
             return indexedResults.isEmpty() ? null : new OrResultSet(indexedResults);
         }
 
+        @Override
+        public long estimateSize(QueryContext queryContext) {
+            if (isBitmapIndexed(queryContext)) {
+                return filterBitmap(queryContext).cardinality();
+            }
+            long estimate = 0;
+            for (Predicate predicate : predicates) {
+                estimate += Predicates.estimateSize((IndexAwarePredicate) predicate, queryContext);
+            }
+            return estimate;
+        }
+
+        @Override
+        public String explain(QueryContext queryContext) {
+            if (isBitmapIndexed(queryContext)) {
+                return explainIndexLookup(this, queryContext);
+            }
+            StringBuilder sb = new StringBuilder();
+            sb.append("OR (estimated ").append(estimateSize(queryContext)).append(")");
+            for (Predicate predicate : predicates) {
+                sb.append('\n').append(indent(Predicates.explain((IndexAwarePredicate) predicate, queryContext)));
+            }
+            return sb.toString();
+        }
+
         @Override
         public boolean isIndexed(QueryContext queryContext) {
             for (Predicate predicate : predicates) {
@@ -602,6 +1051,26 @@ public final class Predicates {
             return true;
         }
 
+        @Override
+        public boolean isBitmapIndexed(QueryContext queryContext) {
+            for (Predicate predicate : predicates) {
+                if (!Predicates.isBitmapIndexed(predicate, queryContext)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Bitmap filterBitmap(QueryContext queryContext) {
+            Bitmap result = null;
+            for (Predicate predicate : predicates) {
+                Bitmap bitmap = ((BitmapIndexAwarePredicate) predicate).filterBitmap(queryContext);
+                result = result == null ? bitmap : result.or(bitmap);
+            }
+            return result;
+        }
+
         @Override
         public boolean apply(Map.Entry mapEntry) {
             for (Predicate predicate : predicates) {
@@ -682,13 +1151,25 @@ public final class Predicates {
         @Override
         public Set<QueryableEntry> filter(QueryContext queryContext) {
             Index index = getIndex(queryContext);
-            final ComparisonType comparisonType;
+            return index.getSubRecords(getComparisonType(), value);
+        }
+
+        @Override
+        public long estimateSize(QueryContext queryContext) {
+            return getIndex(queryContext).estimateSubRecords(getComparisonType(), value);
+        }
+
+        private ComparisonType getComparisonType() {
             if (less) {
-                comparisonType = equal ? ComparisonType.LESSER_EQUAL : ComparisonType.LESSER;
+                return equal ? ComparisonType.LESSER_EQUAL : ComparisonType.LESSER;
             } else {
-                comparisonType = equal ? ComparisonType.GREATER_EQUAL : ComparisonType.GREATER;
+                return equal ? ComparisonType.GREATER_EQUAL : ComparisonType.GREATER;
             }
-            return index.getSubRecords(comparisonType, value);
+        }
+
+        @Override
+        public boolean isBitmapIndexed(QueryContext queryContext) {
+            return false;
         }
 
         @Override
@@ -749,6 +1230,18 @@ public final class Predicates {
             }
         }
 
+        @Override
+        public Bitmap filterBitmap(QueryContext queryContext) {
+            // null attributes do not match either, see apply
+            Bitmap excluded = getIndex(queryContext).getBitmap(value, IndexImpl.NULL);
+            return queryContext.getEntryOrdinals().getOrdinals().andNot(excluded);
+        }
+
+        @Override
+        public long estimateSize(QueryContext queryContext) {
+            return getIndex(queryContext).estimateSubRecords(ComparisonType.NOT_EQUAL, value);
+        }
+
         @Override
         public String toString() {
             return attribute + " != " + value;
@@ -758,7 +1251,7 @@ public final class Predicates {
     /**
      * Equal Predicate
      */
-    public static class EqualPredicate extends AbstractPredicate {
+    public static class EqualPredicate extends AbstractPredicate implements BitmapIndexAwarePredicate, CostAwarePredicate {
         protected Comparable value;
 
         public EqualPredicate() {
@@ -779,6 +1272,27 @@ public final class Predicates {
             return index.getRecords(value);
         }
 
+        @Override
+        public boolean isBitmapIndexed(QueryContext queryContext) {
+            Index index = getIndex(queryContext);
+            return index != null && index.isBitmap();
+        }
+
+        @Override
+        public Bitmap filterBitmap(QueryContext queryContext) {
+            return getIndex(queryContext).getBitmap(value);
+        }
+
+        @Override
+        public long estimateSize(QueryContext queryContext) {
+            return getIndex(queryContext).estimateRecords(new Comparable[]{value});
+        }
+
+        @Override
+        public String explain(QueryContext queryContext) {
+            return explainIndexLookup(this, queryContext);
+        }
+
         @Override
         public boolean apply(Map.Entry mapEntry) {
             Comparable entryValue = readAttribute(mapEntry);
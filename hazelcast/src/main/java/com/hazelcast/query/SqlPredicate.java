@@ -18,6 +18,9 @@ package com.hazelcast.query;
 
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.impl.Bitmap;
+import com.hazelcast.query.impl.BitmapIndexAwarePredicate;
+import com.hazelcast.query.impl.CostAwarePredicate;
 import com.hazelcast.query.impl.IndexImpl;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -47,7 +50,7 @@ import static com.hazelcast.query.Predicates.regex;
  * This class contains methods related to conversion of sql query to predicate.
  */
 
-public class SqlPredicate extends AbstractPredicate implements IndexAwarePredicate {
+public class SqlPredicate extends AbstractPredicate implements BitmapIndexAwarePredicate, CostAwarePredicate {
 
     private static final long serialVersionUID = 1;
 
@@ -80,6 +83,35 @@ public class SqlPredicate extends AbstractPredicate implements IndexAwarePredica
         return ((IndexAwarePredicate) predicate).filter(queryContext);
     }
 
+    @Override
+    public boolean isBitmapIndexed(QueryContext queryContext) {
+        if (predicate instanceof BitmapIndexAwarePredicate) {
+            return ((BitmapIndexAwarePredicate) predicate).isBitmapIndexed(queryContext);
+        }
+        return false;
+    }
+
+    @Override
+    public Bitmap filterBitmap(QueryContext queryContext) {
+        return ((BitmapIndexAwarePredicate) predicate).filterBitmap(queryContext);
+    }
+
+    @Override
+    public long estimateSize(QueryContext queryContext) {
+        if (predicate instanceof CostAwarePredicate) {
+            return ((CostAwarePredicate) predicate).estimateSize(queryContext);
+        }
+        return filter(queryContext).size();
+    }
+
+    @Override
+    public String explain(QueryContext queryContext) {
+        if (predicate instanceof CostAwarePredicate) {
+            return ((CostAwarePredicate) predicate).explain(queryContext);
+        }
+        return "INDEX " + predicate;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(sql);
@@ -16,6 +16,8 @@
 
 package com.hazelcast.query.impl;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -25,12 +27,23 @@ public abstract class BaseIndexStore implements IndexStore {
 
     protected static final float LOAD_FACTOR = 0.75F;
 
+    // the statistics are rebuilt once the modifications since they were built exceed a tenth of the entries
+    private static final int STALE_STATISTICS_DIVISOR = 10;
+    private static final int MIN_STALE_STATISTICS_MODIFICATIONS = 100;
+
     protected ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     protected ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
     protected ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
 
+    private final AtomicLong modificationCount = new AtomicLong();
+    // only one thread rebuilds the statistics; the others keep using the stale ones meanwhile.
+    private final ReentrantLock statisticsLock = new ReentrantLock();
+    private volatile long statisticsModificationCount;
+    private volatile IndexStatistics statistics;
+
     protected void takeWriteLock() {
         writeLock.lock();
+        modificationCount.incrementAndGet();
     }
 
     protected void releaseWriteLock() {
@@ -44,4 +57,43 @@ public abstract class BaseIndexStore implements IndexStore {
     protected void releaseReadLock() {
         readLock.unlock();
     }
+
+    @Override
+    public IndexStatistics getStatistics() {
+        IndexStatistics current = statistics;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+        // there is nothing to fall back on before the first statistics are built, so then wait for them.
+        if (current == null) {
+            statisticsLock.lock();
+        } else if (!statisticsLock.tryLock()) {
+            return current;
+        }
+        try {
+            current = statistics;
+            if (current == null || isStale(current)) {
+                long modifications = modificationCount.get();
+                current = buildStatistics();
+                statisticsModificationCount = modifications;
+                statistics = current;
+            }
+            return current;
+        } finally {
+            statisticsLock.unlock();
+        }
+    }
+
+    private boolean isStale(IndexStatistics current) {
+        long staleModifications = Math.max(MIN_STALE_STATISTICS_MODIFICATIONS,
+                current.getEntryCount() / STALE_STATISTICS_DIVISOR);
+        return modificationCount.get() - statisticsModificationCount > staleModifications;
+    }
+
+    /**
+     * Builds the statistics of this store. It is called without holding the index lock, so updates of the index are
+     * not blocked while the statistics are built; a store should only take the read lock when its data structures
+     * can't be read concurrently with updates. The statistics may reflect some of the concurrent updates.
+     */
+    protected abstract IndexStatistics buildStatistics();
 }
@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+
+/**
+ * A compressed set of non-negative int ordinals, used by the bitmap indexes to evaluate predicates
+ * before any entry is materialized.
+ * <p/>
+ * The ordinals are split into chunks of 2^16 values by their high 16 bits. A chunk holding only a few ordinals
+ * keeps them in a sorted {@code char[]}, a dense chunk is a plain bitset of 1024 words. So rare values cost
+ * two bytes per entry while frequent values cost a single bit per entry.
+ * <p/>
+ * This class is not thread-safe; the {@link BitmapIndexStore} guards its bitmaps with its own lock and
+ * {@link #and(Bitmap)}, {@link #or(Bitmap)} and {@link #andNot(Bitmap)} always return new instances.
+ */
+public final class Bitmap {
+
+    /**
+     * Max number of ordinals kept in a sorted array chunk; beyond this a bitset chunk is smaller.
+     */
+    static final int ARRAY_CHUNK_MAX_SIZE = 4096;
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_MASK = 0xFFFF;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORDS_PER_CHUNK = 1 << (CHUNK_SHIFT - WORD_SHIFT);
+    private static final int INITIAL_ARRAY_CHUNK_CAPACITY = 4;
+    private static final Chunk[] EMPTY_CHUNKS = {};
+
+    private Chunk[] chunks;
+
+    public Bitmap() {
+        this(EMPTY_CHUNKS);
+    }
+
+    private Bitmap(Chunk[] chunks) {
+        this.chunks = chunks;
+    }
+
+    public void add(int ordinal) {
+        int high = ordinal >>> CHUNK_SHIFT;
+        if (high >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, high + 1);
+        }
+        Chunk chunk = chunks[high];
+        if (chunk == null) {
+            chunk = new ArrayChunk();
+        }
+        chunks[high] = chunk.add((char) (ordinal & CHUNK_MASK));
+    }
+
+    public void remove(int ordinal) {
+        int high = ordinal >>> CHUNK_SHIFT;
+        if (high >= chunks.length || chunks[high] == null) {
+            return;
+        }
+        Chunk chunk = chunks[high].remove((char) (ordinal & CHUNK_MASK));
+        chunks[high] = chunk.cardinality() == 0 ? null : chunk;
+    }
+
+    public boolean contains(int ordinal) {
+        int high = ordinal >>> CHUNK_SHIFT;
+        if (high >= chunks.length || chunks[high] == null) {
+            return false;
+        }
+        return chunks[high].contains((char) (ordinal & CHUNK_MASK));
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk != null) {
+                cardinality += chunk.cardinality();
+            }
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        for (Chunk chunk : chunks) {
+            if (chunk != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the smallest ordinal in this bitmap which is equal to or greater than the given one.
+     *
+     * @param from the ordinal to start from.
+     * @return the next ordinal, or -1 if there is none.
+     */
+    public int nextOrdinal(int from) {
+        int low = from & CHUNK_MASK;
+        for (int high = from >>> CHUNK_SHIFT; high < chunks.length; high++, low = 0) {
+            Chunk chunk = chunks[high];
+            if (chunk != null) {
+                int next = chunk.next(low);
+                if (next >= 0) {
+                    return (high << CHUNK_SHIFT) | next;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public Bitmap and(Bitmap other) {
+        Chunk[] result = new Chunk[Math.min(chunks.length, other.chunks.length)];
+        for (int i = 0; i < result.length; i++) {
+            if (chunks[i] != null && other.chunks[i] != null) {
+                result[i] = nonEmpty(chunks[i].and(other.chunks[i]));
+            }
+        }
+        return new Bitmap(result);
+    }
+
+    public Bitmap or(Bitmap other) {
+        Chunk[] result = new Chunk[Math.max(chunks.length, other.chunks.length)];
+        for (int i = 0; i < result.length; i++) {
+            Chunk chunk = i < chunks.length ? chunks[i] : null;
+            Chunk otherChunk = i < other.chunks.length ? other.chunks[i] : null;
+            if (chunk == null) {
+                result[i] = otherChunk == null ? null : otherChunk.copy();
+            } else {
+                result[i] = otherChunk == null ? chunk.copy() : chunk.or(otherChunk);
+            }
+        }
+        return new Bitmap(result);
+    }
+
+    public Bitmap andNot(Bitmap other) {
+        Chunk[] result = new Chunk[chunks.length];
+        for (int i = 0; i < result.length; i++) {
+            Chunk chunk = chunks[i];
+            if (chunk != null) {
+                Chunk otherChunk = i < other.chunks.length ? other.chunks[i] : null;
+                result[i] = otherChunk == null ? chunk.copy() : nonEmpty(chunk.andNot(otherChunk));
+            }
+        }
+        return new Bitmap(result);
+    }
+
+    public Bitmap copy() {
+        Chunk[] result = new Chunk[chunks.length];
+        for (int i = 0; i < result.length; i++) {
+            if (chunks[i] != null) {
+                result[i] = chunks[i].copy();
+            }
+        }
+        return new Bitmap(result);
+    }
+
+    private static Chunk nonEmpty(Chunk chunk) {
+        return chunk.cardinality() == 0 ? null : chunk;
+    }
+
+    @Override
+    public String toString() {
+        return "Bitmap{cardinality=" + cardinality() + '}';
+    }
+
+    /**
+     * Holds the ordinals sharing the same high 16 bits; the values are the low 16 bits.
+     * Mutators return the chunk to use from then on, which is a new one if the representation changed.
+     */
+    private abstract static class Chunk {
+
+        abstract Chunk add(char value);
+
+        abstract Chunk remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        /**
+         * @return the smallest value equal to or greater than {@code from}, or -1 if there is none.
+         */
+        abstract int next(int from);
+
+        abstract Chunk copy();
+
+        abstract Chunk and(Chunk other);
+
+        abstract Chunk or(Chunk other);
+
+        abstract Chunk andNot(Chunk other);
+    }
+
+    /**
+     * Sparse chunk, keeps the values in a sorted array.
+     */
+    private static final class ArrayChunk extends Chunk {
+
+        private char[] values;
+        private int size;
+
+        ArrayChunk() {
+            this(new char[INITIAL_ARRAY_CHUNK_CAPACITY], 0);
+        }
+
+        ArrayChunk(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        Chunk add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_CHUNK_MAX_SIZE) {
+                return toBitsetChunk().add(value);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                int capacity = Math.min(Math.max(size * 2, INITIAL_ARRAY_CHUNK_CAPACITY), ARRAY_CHUNK_MAX_SIZE);
+                values = Arrays.copyOf(values, capacity);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        int next(int from) {
+            int index = Arrays.binarySearch(values, 0, size, (char) from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < size ? values[index] : -1;
+        }
+
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            char[] result = new char[size];
+            int resultSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i])) {
+                    result[resultSize++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, resultSize);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            if (other instanceof BitsetChunk) {
+                return other.or(this);
+            }
+            ArrayChunk otherChunk = (ArrayChunk) other;
+            char[] result = new char[size + otherChunk.size];
+            int resultSize = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < otherChunk.size) {
+                char value = values[i];
+                char otherValue = otherChunk.values[j];
+                if (value < otherValue) {
+                    result[resultSize++] = value;
+                    i++;
+                } else if (value > otherValue) {
+                    result[resultSize++] = otherValue;
+                    j++;
+                } else {
+                    result[resultSize++] = value;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < size) {
+                result[resultSize++] = values[i++];
+            }
+            while (j < otherChunk.size) {
+                result[resultSize++] = otherChunk.values[j++];
+            }
+            ArrayChunk merged = new ArrayChunk(result, resultSize);
+            return resultSize > ARRAY_CHUNK_MAX_SIZE ? merged.toBitsetChunk() : merged;
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            char[] result = new char[size];
+            int resultSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (!other.contains(values[i])) {
+                    result[resultSize++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, resultSize);
+        }
+
+        BitsetChunk toBitsetChunk() {
+            BitsetChunk chunk = new BitsetChunk();
+            for (int i = 0; i < size; i++) {
+                chunk.add(values[i]);
+            }
+            return chunk;
+        }
+    }
+
+    /**
+     * Dense chunk, keeps the values as a bitset.
+     */
+    private static final class BitsetChunk extends Chunk {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitsetChunk() {
+            this(new long[WORDS_PER_CHUNK], 0);
+        }
+
+        BitsetChunk(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Chunk add(char value) {
+            int index = value >>> WORD_SHIFT;
+            long mask = 1L << value;
+            if ((words[index] & mask) == 0) {
+                words[index] |= mask;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            int index = value >>> WORD_SHIFT;
+            long mask = 1L << value;
+            if ((words[index] & mask) != 0) {
+                words[index] &= ~mask;
+                cardinality--;
+            }
+            // converts back only well below the max array size, so that adding and removing
+            // around the threshold does not flip the representation each time
+            return cardinality < ARRAY_CHUNK_MAX_SIZE / 2 ? toArrayChunk() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> WORD_SHIFT] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int next(int from) {
+            int index = from >>> WORD_SHIFT;
+            long word = words[index] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    return (index << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                }
+                if (++index == WORDS_PER_CHUNK) {
+                    return -1;
+                }
+                word = words[index];
+            }
+        }
+
+        @Override
+        Chunk copy() {
+            return new BitsetChunk(words.clone(), cardinality);
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitsetChunk) other).words;
+            long[] result = new long[WORDS_PER_CHUNK];
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                result[i] = words[i] & otherWords[i];
+            }
+            return normalize(result);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayChunk) {
+                ArrayChunk otherChunk = (ArrayChunk) other;
+                for (int i = 0; i < otherChunk.size; i++) {
+                    char value = otherChunk.values[i];
+                    result[value >>> WORD_SHIFT] |= 1L << value;
+                }
+            } else {
+                long[] otherWords = ((BitsetChunk) other).words;
+                for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                    result[i] |= otherWords[i];
+                }
+            }
+            return new BitsetChunk(result, bitCount(result));
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayChunk) {
+                ArrayChunk otherChunk = (ArrayChunk) other;
+                for (int i = 0; i < otherChunk.size; i++) {
+                    char value = otherChunk.values[i];
+                    result[value >>> WORD_SHIFT] &= ~(1L << value);
+                }
+            } else {
+                long[] otherWords = ((BitsetChunk) other).words;
+                for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                    result[i] &= ~otherWords[i];
+                }
+            }
+            return normalize(result);
+        }
+
+        ArrayChunk toArrayChunk() {
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[size++] = (char) ((i << WORD_SHIFT) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayChunk(values, size);
+        }
+
+        private static Chunk normalize(long[] words) {
+            BitsetChunk chunk = new BitsetChunk(words, bitCount(words));
+            return chunk.cardinality > ARRAY_CHUNK_MAX_SIZE ? chunk : chunk.toArrayChunk();
+        }
+
+        private static int bitCount(long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+}
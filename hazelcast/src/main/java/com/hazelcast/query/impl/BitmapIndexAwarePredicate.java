@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.query.IndexAwarePredicate;
+
+/**
+ * Implemented by predicates which can be evaluated on the bitmap indexes as {@link Bitmap}s of entry ordinals.
+ * Conjunctions, disjunctions and negations of such predicates are then computed on the bitmaps and only the
+ * final result is materialized as entries.
+ */
+public interface BitmapIndexAwarePredicate extends IndexAwarePredicate {
+
+    /**
+     * @param queryContext the query context.
+     * @return true if this predicate can be evaluated by {@link #filterBitmap(QueryContext)}.
+     */
+    boolean isBitmapIndexed(QueryContext queryContext);
+
+    /**
+     * Evaluates this predicate on the bitmap indexes. Must only be called if
+     * {@link #isBitmapIndexed(QueryContext)} returned true.
+     *
+     * @param queryContext the query context.
+     * @return the ordinals of the matching entries, see {@link QueryContext#getEntryOrdinals()}.
+     */
+    Bitmap filterBitmap(QueryContext queryContext);
+}
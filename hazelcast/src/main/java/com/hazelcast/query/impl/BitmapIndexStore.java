@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Store indexes as a {@link Bitmap} of entry ordinals per value.
+ * <p/>
+ * Meant for attributes with few distinct values: instead of a map of entries per value, each value costs a
+ * compressed bitmap and each entry a single ordinal shared by all bitmap indexes of the {@link IndexService}.
+ * Equality lookups can be combined on the bitmaps by the predicates, see
+ * {@link com.hazelcast.query.impl.BitmapIndexAwarePredicate}.
+ */
+public class BitmapIndexStore extends BaseIndexStore {
+
+    private final Map<Comparable, Bitmap> bitmaps = new HashMap<Comparable, Bitmap>();
+    private final EntryOrdinals entryOrdinals;
+
+    public BitmapIndexStore(EntryOrdinals entryOrdinals) {
+        this.entryOrdinals = entryOrdinals;
+    }
+
+    @Override
+    public void newIndex(Comparable newValue, QueryableEntry entry) {
+        takeWriteLock();
+        try {
+            addOrdinal(newValue, entryOrdinals.acquire(entry));
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void updateIndex(Comparable oldValue, Comparable newValue, QueryableEntry entry) {
+        takeWriteLock();
+        try {
+            int ordinal = entryOrdinals.acquire(entry);
+            removeOrdinal(oldValue, ordinal);
+            addOrdinal(newValue, ordinal);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void removeIndex(Comparable oldValue, Data indexKey) {
+        takeWriteLock();
+        try {
+            // the ordinal itself is released by the index service once all indexes dropped the entry
+            int ordinal = entryOrdinals.getOrdinal(indexKey);
+            if (ordinal >= 0) {
+                removeOrdinal(oldValue, ordinal);
+            }
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    private void addOrdinal(Comparable value, int ordinal) {
+        Bitmap bitmap = bitmaps.get(value);
+        if (bitmap == null) {
+            bitmap = new Bitmap();
+            bitmaps.put(value, bitmap);
+        }
+        bitmap.add(ordinal);
+    }
+
+    private void removeOrdinal(Comparable value, int ordinal) {
+        Bitmap bitmap = bitmaps.get(value);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(value);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            bitmaps.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    /**
+     * Returns the ordinals of the entries whose value is equal to any of the given values.
+     *
+     * @param values the values to look up.
+     * @return a new bitmap of the matching ordinals.
+     */
+    public Bitmap getBitmap(Collection<Comparable> values) {
+        takeReadLock();
+        try {
+            Bitmap result = null;
+            for (Comparable value : values) {
+                Bitmap bitmap = bitmaps.get(value);
+                if (bitmap != null) {
+                    result = result == null ? bitmap.copy() : result.or(bitmap);
+                }
+            }
+            return result == null ? new Bitmap() : result;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        long version = entryOrdinals.getVersion();
+        Bitmap result = new Bitmap();
+        takeReadLock();
+        try {
+            Comparable paramFrom = from;
+            Comparable paramTo = to;
+            if (paramFrom.compareTo(paramTo) > 0) {
+                paramFrom = to;
+                paramTo = from;
+            }
+            for (Map.Entry<Comparable, Bitmap> entry : bitmaps.entrySet()) {
+                Comparable value = entry.getKey();
+                if (!(value instanceof IndexImpl.NullObject)
+                        && value.compareTo(paramFrom) >= 0 && value.compareTo(paramTo) <= 0) {
+                    result = result.or(entry.getValue());
+                }
+            }
+        } finally {
+            releaseReadLock();
+        }
+        return new BitmapResultSet(result, entryOrdinals, version);
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        long version = entryOrdinals.getVersion();
+        Bitmap result = new Bitmap();
+        takeReadLock();
+        try {
+            for (Map.Entry<Comparable, Bitmap> entry : bitmaps.entrySet()) {
+                Comparable value = entry.getKey();
+                if (value instanceof IndexImpl.NullObject) {
+                    continue;
+                }
+                boolean valid;
+                int comparison = searchedValue.compareTo(value);
+                switch (comparisonType) {
+                    case LESSER:
+                        valid = comparison > 0;
+                        break;
+                    case LESSER_EQUAL:
+                        valid = comparison >= 0;
+                        break;
+                    case GREATER:
+                        valid = comparison < 0;
+                        break;
+                    case GREATER_EQUAL:
+                        valid = comparison <= 0;
+                        break;
+                    case NOT_EQUAL:
+                        valid = comparison != 0;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unrecognized comparisonType: " + comparisonType);
+                }
+                if (valid) {
+                    result = result.or(entry.getValue());
+                }
+            }
+        } finally {
+            releaseReadLock();
+        }
+        return new BitmapResultSet(result, entryOrdinals, version);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        long version = entryOrdinals.getVersion();
+        return new BitmapResultSet(getBitmap(Collections.singleton(value)), entryOrdinals, version);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        long version = entryOrdinals.getVersion();
+        return new BitmapResultSet(getBitmap(values), entryOrdinals, version);
+    }
+
+    @Override
+    public ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable value) {
+        takeReadLock();
+        try {
+            Bitmap bitmap = bitmaps.get(value);
+            if (bitmap == null) {
+                return null;
+            }
+            ConcurrentMap<Data, QueryableEntry> records = new ConcurrentHashMap<Data, QueryableEntry>();
+            // no ordinal of the bitmap can be reassigned while the read lock is held
+            for (QueryableEntry entry : entryOrdinals.getEntries(bitmap, entryOrdinals.getVersion())) {
+                records.put(entry.getIndexKey(), entry);
+            }
+            return records;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    protected IndexStatistics buildStatistics() {
+        long nullCount = 0;
+        long entryCount = 0;
+        long distinctCount;
+        // the bitmaps are few, but they are not safe for reads concurrent with updates
+        takeReadLock();
+        try {
+            for (Map.Entry<Comparable, Bitmap> entry : bitmaps.entrySet()) {
+                int cardinality = entry.getValue().cardinality();
+                if (entry.getKey() instanceof IndexImpl.NullObject) {
+                    nullCount = cardinality;
+                }
+                entryCount += cardinality;
+            }
+            distinctCount = nullCount > 0 ? bitmaps.size() - 1 : bitmaps.size();
+        } finally {
+            releaseReadLock();
+        }
+        return new IndexStatistics(entryCount, nullCount, distinctCount);
+    }
+
+    @Override
+    public String toString() {
+        return "BitmapIndexStore{"
+                + "bitmaps=" + bitmaps.size()
+                + '}';
+    }
+}
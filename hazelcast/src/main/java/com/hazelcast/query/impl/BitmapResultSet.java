@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Result set of a predicate evaluated on bitmap indexes. The entries are materialized from their ordinals
+ * only when the set is iterated, skipping the ordinals which have been reassigned since the bitmap has been read,
+ * see {@link EntryOrdinals#getVersion()}.
+ */
+public class BitmapResultSet extends AbstractSet<QueryableEntry> {
+
+    private final Bitmap bitmap;
+    private final EntryOrdinals entryOrdinals;
+    private final long version;
+    private List<QueryableEntry> entries;
+
+    /**
+     * @param bitmap        the ordinals of the entries.
+     * @param entryOrdinals the ordinals the bitmap refers to.
+     * @param version       the version of the ordinals taken before the bitmap has been read.
+     */
+    public BitmapResultSet(Bitmap bitmap, EntryOrdinals entryOrdinals, long version) {
+        this.bitmap = bitmap;
+        this.entryOrdinals = entryOrdinals;
+        this.version = version;
+    }
+
+    @Override
+    public boolean contains(Object mapEntry) {
+        int ordinal = entryOrdinals.getOrdinal(((QueryableEntry) mapEntry).getIndexKey(), version);
+        return ordinal >= 0 && bitmap.contains(ordinal);
+    }
+
+    @Override
+    public Iterator<QueryableEntry> iterator() {
+        return getEntries().iterator();
+    }
+
+    @Override
+    public int size() {
+        return entries != null ? entries.size() : bitmap.cardinality();
+    }
+
+    private List<QueryableEntry> getEntries() {
+        if (entries == null) {
+            entries = Collections.unmodifiableList(entryOrdinals.getEntries(bitmap, version));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.TypeConverters.TypeConverter;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Index over a tuple of attributes, declared as a comma separated attribute list such as
+ * {@code "customerId, createdAt"}.
+ * <p/>
+ * The entries are stored by their {@link CompositeValue}. An ordered composite index answers equalities on
+ * a prefix of its attributes, optionally followed by a range on the next attribute, with a single sub map
+ * lookup. An unordered one only answers equalities on all of its attributes.
+ */
+public class CompositeIndex implements Index {
+
+    /**
+     * Separates the attributes in the name of a composite index.
+     */
+    public static final String ATTRIBUTE_SEPARATOR = ",";
+
+    // indexKey -- indexValue
+    private final ConcurrentMap<Data, CompositeValue> recordValues = new ConcurrentHashMap<Data, CompositeValue>(1000);
+    private final IndexStore indexStore;
+    private final String name;
+    private final String[] attributes;
+    private final boolean ordered;
+
+    private volatile TypeConverter[] converters;
+
+    public CompositeIndex(String[] attributes, boolean ordered) {
+        this.attributes = attributes;
+        this.name = toName(attributes);
+        this.ordered = ordered;
+        indexStore = ordered ? new SortedIndexStore() : new UnsortedIndexStore();
+    }
+
+    /**
+     * Splits the given index name into its attributes.
+     *
+     * @return the attributes, or null if the name does not denote a composite index.
+     */
+    public static String[] parseAttributes(String name) {
+        if (!name.contains(ATTRIBUTE_SEPARATOR)) {
+            return null;
+        }
+        String[] attributes = name.split(ATTRIBUTE_SEPARATOR);
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = attributes[i].trim();
+            if (attributes[i].length() == 0) {
+                throw new IllegalArgumentException("Invalid composite index attributes: " + name);
+            }
+        }
+        return attributes.length > 1 ? attributes : null;
+    }
+
+    /**
+     * @return the canonical name of a composite index on the given attributes.
+     */
+    public static String toName(String[] attributes) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                sb.append(ATTRIBUTE_SEPARATOR).append(' ');
+            }
+            sb.append(attributes[i]);
+        }
+        return sb.toString();
+    }
+
+    public String[] getAttributeNames() {
+        return attributes;
+    }
+
+    @Override
+    public void saveEntryIndex(QueryableEntry e) throws QueryException {
+        // initializes the converters before the first entry is stored, see IndexImpl.saveEntryIndex
+        if (converters == null) {
+            TypeConverter[] newConverters = new TypeConverter[attributes.length];
+            for (int i = 0; i < attributes.length; i++) {
+                AttributeType attributeType = e.getAttributeType(attributes[i]);
+                newConverters[i] = attributeType == null ? new IdentityConverter() : attributeType.getConverter();
+            }
+            converters = newConverters;
+        }
+
+        Data key = e.getIndexKey();
+        CompositeValue oldValue = recordValues.remove(key);
+        Comparable[] components = new Comparable[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            Comparable component = e.getAttribute(attributes[i]);
+            if (component == null) {
+                component = IndexImpl.NULL;
+            } else if (component.getClass().isEnum()) {
+                component = TypeConverters.ENUM_CONVERTER.convert(component);
+            }
+            components[i] = component;
+        }
+        CompositeValue newValue = new CompositeValue(components);
+        recordValues.put(key, newValue);
+        if (oldValue == null) {
+            indexStore.newIndex(newValue, e);
+        } else {
+            indexStore.updateIndex(oldValue, newValue, e);
+        }
+    }
+
+    @Override
+    public void removeEntryIndex(Data indexKey) {
+        CompositeValue oldValue = recordValues.remove(indexKey);
+        if (oldValue != null) {
+            indexStore.removeIndex(oldValue, indexKey);
+        }
+    }
+
+    @Override
+    public void clear() {
+        recordValues.clear();
+        indexStore.clear();
+        converters = null;
+    }
+
+    /**
+     * Returns the entries whose leading attributes are equal to the given prefix values and whose next attribute,
+     * if any, is within the given range. Null attribute values are never within a range.
+     *
+     * @param prefix        the values of the leading attributes, at least one.
+     * @param from          the lower bound of the next attribute, or null if unbounded.
+     * @param fromInclusive true if the lower bound is inclusive.
+     * @param to            the upper bound of the next attribute, or null if unbounded.
+     * @param toInclusive   true if the upper bound is inclusive.
+     * @return the matching entries.
+     */
+    public Set<QueryableEntry> getRecords(Comparable[] prefix, Comparable from, boolean fromInclusive,
+                                          Comparable to, boolean toInclusive) {
+        TypeConverter[] currentConverters = converters;
+        if (currentConverters == null) {
+            return new MultiResultSet();
+        }
+        if (prefix.length == attributes.length) {
+            return indexStore.getRecords(toCompositeValue(currentConverters, prefix));
+        }
+        CompositeValue[] bounds = toBounds(currentConverters, prefix, from, fromInclusive, to, toInclusive);
+        if (bounds[0].compareTo(bounds[1]) > 0) {
+            return new MultiResultSet();
+        }
+        return indexStore.getSubRecordsBetween(bounds[0], bounds[1]);
+    }
+
+    /**
+     * Estimates from the statistics the number of entries
+     * {@link #getRecords(Comparable[], Comparable, boolean, Comparable, boolean)} would return.
+     */
+    public long estimateRecords(Comparable[] prefix, Comparable from, boolean fromInclusive,
+                                Comparable to, boolean toInclusive) {
+        TypeConverter[] currentConverters = converters;
+        if (currentConverters == null) {
+            return 0;
+        }
+        if (prefix.length == attributes.length) {
+            return getStatistics().estimateEqual(toCompositeValue(currentConverters, prefix));
+        }
+        CompositeValue[] bounds = toBounds(currentConverters, prefix, from, fromInclusive, to, toInclusive);
+        if (bounds[0].compareTo(bounds[1]) > 0) {
+            return 0;
+        }
+        return getStatistics().estimateBetween(bounds[0], true, bounds[1], true);
+    }
+
+    /**
+     * @return the inclusive lower and upper bounds of the values matching a prefix and a range.
+     */
+    private CompositeValue[] toBounds(TypeConverter[] currentConverters, Comparable[] prefix, Comparable from,
+                                      boolean fromInclusive, Comparable to, boolean toInclusive) {
+        int rangeIndex = prefix.length;
+        boolean range = from != null || to != null;
+        // the bounds have one more component than the stored values and are padded with infinities, so that
+        // all values sharing the bounding components are either included or excluded
+        Comparable[] lower = new Comparable[attributes.length + 1];
+        Comparable[] upper = new Comparable[attributes.length + 1];
+        for (int i = 0; i < rangeIndex; i++) {
+            lower[i] = convert(currentConverters[i], prefix[i]);
+            upper[i] = lower[i];
+        }
+        if (from != null) {
+            lower[rangeIndex] = convert(currentConverters[rangeIndex], from);
+            fill(lower, rangeIndex + 1, fromInclusive ? CompositeValue.NEGATIVE_INFINITY : CompositeValue.POSITIVE_INFINITY);
+        } else if (range) {
+            lower[rangeIndex] = IndexImpl.NULL;
+            fill(lower, rangeIndex + 1, CompositeValue.POSITIVE_INFINITY);
+        } else {
+            fill(lower, rangeIndex, CompositeValue.NEGATIVE_INFINITY);
+        }
+        if (to != null) {
+            upper[rangeIndex] = convert(currentConverters[rangeIndex], to);
+            fill(upper, rangeIndex + 1, toInclusive ? CompositeValue.POSITIVE_INFINITY : CompositeValue.NEGATIVE_INFINITY);
+        } else {
+            fill(upper, rangeIndex, CompositeValue.POSITIVE_INFINITY);
+        }
+        return new CompositeValue[]{new CompositeValue(lower), new CompositeValue(upper)};
+    }
+
+    private static void fill(Comparable[] components, int fromIndex, Comparable value) {
+        for (int i = fromIndex; i < components.length; i++) {
+            components[i] = value;
+        }
+    }
+
+    private static Comparable convert(TypeConverter converter, Comparable value) {
+        if (value instanceof IndexImpl.NullObject) {
+            return IndexImpl.NULL;
+        }
+        return converter.convert(value);
+    }
+
+    private CompositeValue toCompositeValue(TypeConverter[] currentConverters, Comparable[] values) {
+        Comparable[] components = new Comparable[values.length];
+        for (int i = 0; i < values.length; i++) {
+            components[i] = convert(currentConverters[i], values[i]);
+        }
+        return new CompositeValue(components);
+    }
+
+    private Comparable convert(Comparable value) {
+        if (!(value instanceof CompositeValue)) {
+            throw new IllegalArgumentException("Composite index " + name + " can only be queried by a CompositeValue");
+        }
+        return toCompositeValue(converters, ((CompositeValue) value).getComponents());
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable[] values) {
+        if (converters == null) {
+            return new MultiResultSet();
+        }
+        Set<Comparable> convertedValues = new HashSet<Comparable>(values.length);
+        for (Comparable value : values) {
+            convertedValues.add(convert(value));
+        }
+        return indexStore.getRecords(convertedValues);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        if (converters == null) {
+            return new SingleResultSet(null);
+        }
+        return indexStore.getRecords(convert(value));
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        if (converters == null) {
+            return new MultiResultSet();
+        }
+        return indexStore.getSubRecordsBetween(convert(from), convert(to));
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        if (converters == null) {
+            return new MultiResultSet();
+        }
+        return indexStore.getSubRecords(comparisonType, convert(searchedValue));
+    }
+
+    @Override
+    public IndexStatistics getStatistics() {
+        return indexStore.getStatistics();
+    }
+
+    @Override
+    public long estimateRecords(Comparable[] values) {
+        if (converters == null) {
+            return 0;
+        }
+        Set<Comparable> convertedValues = new HashSet<Comparable>(values.length);
+        for (Comparable value : values) {
+            convertedValues.add(convert(value));
+        }
+        return getStatistics().estimateEqual(convertedValues);
+    }
+
+    @Override
+    public long estimateSubRecordsBetween(Comparable from, Comparable to) {
+        if (converters == null) {
+            return 0;
+        }
+        return getStatistics().estimateBetween(convert(from), true, convert(to), true);
+    }
+
+    @Override
+    public long estimateSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        if (converters == null) {
+            return 0;
+        }
+        return getStatistics().estimate(comparisonType, convert(searchedValue));
+    }
+
+    @Override
+    public String getAttributeName() {
+        return name;
+    }
+
+    @Override
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    @Override
+    public boolean isBitmap() {
+        return false;
+    }
+
+    @Override
+    public Bitmap getBitmap(Comparable... values) {
+        return null;
+    }
+}
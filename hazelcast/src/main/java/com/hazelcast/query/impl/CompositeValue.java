@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+
+/**
+ * The value of an entry in a {@link CompositeIndex}: the tuple of its attribute values, ordered component by
+ * component.
+ * <p/>
+ * Lookup bounds may contain {@link #NEGATIVE_INFINITY} and {@link #POSITIVE_INFINITY} components, which sort
+ * before and after any value, and one extra trailing infinity. {@link IndexImpl#NULL} components sort before
+ * any other value.
+ */
+public final class CompositeValue implements Comparable<CompositeValue> {
+
+    /**
+     * Sorts before any value, including {@link IndexImpl#NULL}.
+     */
+    public static final Comparable NEGATIVE_INFINITY = new Infinity();
+
+    /**
+     * Sorts after any value.
+     */
+    public static final Comparable POSITIVE_INFINITY = new Infinity();
+
+    private final Comparable[] components;
+
+    public CompositeValue(Comparable[] components) {
+        this.components = components;
+    }
+
+    public Comparable[] getComponents() {
+        return components;
+    }
+
+    @Override
+    public int compareTo(CompositeValue other) {
+        int length = Math.min(components.length, other.components.length);
+        for (int i = 0; i < length; i++) {
+            int result = compareComponents(components[i], other.components[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        if (components.length == other.components.length) {
+            return 0;
+        }
+        // a longer value is a lookup bound, whose extra component tells on which side of the shorter one it is
+        return components.length > other.components.length
+                ? compareComponents(components[length], IndexImpl.NULL)
+                : -compareComponents(other.components[length], IndexImpl.NULL);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareComponents(Comparable component, Comparable other) {
+        if (component == other) {
+            return 0;
+        }
+        if (component == NEGATIVE_INFINITY || other == POSITIVE_INFINITY) {
+            return -1;
+        }
+        if (component == POSITIVE_INFINITY || other == NEGATIVE_INFINITY) {
+            return 1;
+        }
+        if (component instanceof IndexImpl.NullObject) {
+            return other instanceof IndexImpl.NullObject ? 0 : -1;
+        }
+        if (other instanceof IndexImpl.NullObject) {
+            return 1;
+        }
+        return component.compareTo(other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(components, ((CompositeValue) o).components);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(components);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(components);
+    }
+
+    /**
+     * Lookup bound component, only compared by identity.
+     */
+    private static final class Infinity implements Comparable {
+        @Override
+        public int compareTo(Object o) {
+            return compareComponents(this, (Comparable) o);
+        }
+
+        @Override
+        public String toString() {
+            return this == POSITIVE_INFINITY ? "+INF" : "-INF";
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.query.IndexAwarePredicate;
+
+/**
+ * Implemented by predicates which can estimate, from the {@link IndexStatistics}, the number of entries they
+ * match on the indexes. The estimates let an {@link com.hazelcast.query.Predicates.AndPredicate} look up only
+ * its most selective index, and let the {@link IndexService} prefer a scan when the indexes would return most
+ * of the entries anyway.
+ */
+public interface CostAwarePredicate extends IndexAwarePredicate {
+
+    /**
+     * Estimates the number of entries {@link #filter(QueryContext)} would return. Must only be called if
+     * {@link #isIndexed(QueryContext)} returned true.
+     *
+     * @param queryContext the query context.
+     * @return the estimated number of entries.
+     */
+    long estimateSize(QueryContext queryContext);
+
+    /**
+     * Describes how {@link #filter(QueryContext)} evaluates this predicate: the indexes it looks up with their
+     * estimated result sizes, and the conditions applied to the entries found. Must only be called if
+     * {@link #isIndexed(QueryContext)} returned true.
+     *
+     * @param queryContext the query context.
+     * @return the query plan, one step per line.
+     */
+    String explain(QueryContext queryContext);
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assigns dense int ordinals to the entries indexed by the bitmap indexes of an {@link IndexService}.
+ * <p/>
+ * All bitmap indexes of the same index service share the ordinals, so that their {@link Bitmap}s can be
+ * combined with each other. Ordinals of removed entries are reused to keep the bitmaps dense.
+ * <p/>
+ * Since a query may read its bitmaps while entries are removed and added, an ordinal in a bitmap may refer to an
+ * entry which has been removed and whose ordinal has been assigned to another entry meanwhile. Each assignment is
+ * therefore stamped with a version: a query takes the {@link #getVersion() version} before it reads any bitmap,
+ * and the ordinals assigned after it are skipped when the entries are materialized.
+ */
+public class EntryOrdinals {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<Data, Integer> ordinals = new HashMap<Data, Integer>();
+    private final Bitmap liveOrdinals = new Bitmap();
+    private final AtomicLong version = new AtomicLong();
+    private QueryableEntry[] entries = new QueryableEntry[INITIAL_CAPACITY];
+    // the version each ordinal has been assigned at
+    private long[] assignedVersions = new long[INITIAL_CAPACITY];
+    private int[] freeOrdinals = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int nextOrdinal;
+
+    /**
+     * Returns the ordinal of the given entry, assigning a new one if the entry does not have one yet.
+     * The stored entry is replaced with the given one, so it reflects the latest indexed value.
+     *
+     * @param entry the indexed entry.
+     * @return the ordinal of the entry.
+     */
+    public synchronized int acquire(QueryableEntry entry) {
+        Data key = entry.getIndexKey();
+        Integer existing = ordinals.get(key);
+        int ordinal;
+        if (existing == null) {
+            ordinal = freeCount > 0 ? freeOrdinals[--freeCount] : nextOrdinal++;
+            if (ordinal == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+                assignedVersions = Arrays.copyOf(assignedVersions, assignedVersions.length * 2);
+            }
+            assignedVersions[ordinal] = version.incrementAndGet();
+            ordinals.put(key, ordinal);
+            liveOrdinals.add(ordinal);
+        } else {
+            ordinal = existing;
+        }
+        entries[ordinal] = entry;
+        return ordinal;
+    }
+
+    /**
+     * @return the ordinal of the entry with the given key, or -1 if it has none.
+     */
+    public synchronized int getOrdinal(Data key) {
+        Integer ordinal = ordinals.get(key);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * @param key     the key of the entry.
+     * @param version the version the bitmaps have been read at, see {@link #getVersion()}.
+     * @return the ordinal of the entry with the given key, or -1 if it has none or got it after the given version.
+     */
+    public synchronized int getOrdinal(Data key, long version) {
+        Integer ordinal = ordinals.get(key);
+        return ordinal == null || assignedVersions[ordinal] > version ? -1 : ordinal;
+    }
+
+    /**
+     * Returns the current version of the ordinals, which is to be taken before reading the bitmaps whose entries
+     * are materialized with {@link #getEntries(Bitmap, long)}.
+     *
+     * @return the version of the last ordinal assignment.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Releases the ordinal of the entry with the given key, once it has been removed from all bitmap indexes.
+     */
+    public synchronized void release(Data key) {
+        Integer ordinal = ordinals.remove(key);
+        if (ordinal == null) {
+            return;
+        }
+        entries[ordinal] = null;
+        liveOrdinals.remove(ordinal);
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinals.length * 2);
+        }
+        freeOrdinals[freeCount++] = ordinal;
+    }
+
+    /**
+     * @return a copy of all the ordinals which are currently assigned.
+     */
+    public synchronized Bitmap getOrdinals() {
+        return liveOrdinals.copy();
+    }
+
+    /**
+     * Materializes the entries of the given ordinals. Ordinals which have been released or assigned to another
+     * entry since the bitmap has been read are skipped.
+     *
+     * @param bitmap  the ordinals.
+     * @param version the version taken before the bitmap has been read, see {@link #getVersion()}.
+     * @return the entries.
+     */
+    public synchronized List<QueryableEntry> getEntries(Bitmap bitmap, long version) {
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>(bitmap.cardinality());
+        for (int ordinal = bitmap.nextOrdinal(0); ordinal >= 0 && ordinal < nextOrdinal;
+             ordinal = bitmap.nextOrdinal(ordinal + 1)) {
+            QueryableEntry entry = entries[ordinal];
+            if (entry != null && assignedVersions[ordinal] <= version) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return ordinals.size();
+    }
+}
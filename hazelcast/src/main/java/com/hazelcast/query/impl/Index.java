@@ -42,4 +42,40 @@ public interface Index {
     String getAttributeName();
 
     boolean isOrdered();
+
+    /**
+     * @return true if this index stores a {@link Bitmap} of entry ordinals per value.
+     */
+    boolean isBitmap();
+
+    /**
+     * Returns the ordinals of the entries whose attribute is equal to any of the given values.
+     *
+     * @param values the values to look up.
+     * @return the matching ordinals, or null if this is not a bitmap index.
+     * @see #isBitmap()
+     */
+    Bitmap getBitmap(Comparable... values);
+
+    /**
+     * @return the statistics of this index, see {@link IndexStatistics}.
+     */
+    IndexStatistics getStatistics();
+
+    /**
+     * Estimates from the statistics the number of entries {@link #getRecords(Comparable[])} would return.
+     */
+    long estimateRecords(Comparable[] values);
+
+    /**
+     * Estimates from the statistics the number of entries {@link #getSubRecordsBetween(Comparable, Comparable)}
+     * would return.
+     */
+    long estimateSubRecordsBetween(Comparable from, Comparable to);
+
+    /**
+     * Estimates from the statistics the number of entries {@link #getSubRecords(ComparisonType, Comparable)}
+     * would return.
+     */
+    long estimateSubRecords(ComparisonType comparisonType, Comparable searchedValue);
 }
@@ -40,15 +40,30 @@ public class IndexImpl implements Index {
     private final IndexStore indexStore;
     private final String attribute;
     private final boolean ordered;
+    private final BitmapIndexStore bitmapIndexStore;
 
     private volatile TypeConverter converter;
 
     public IndexImpl(String attribute, boolean ordered) {
         this.attribute = attribute;
         this.ordered = ordered;
+        this.bitmapIndexStore = null;
         indexStore = (ordered) ? new SortedIndexStore() : new UnsortedIndexStore();
     }
 
+    /**
+     * Creates a bitmap index, which is never ordered.
+     *
+     * @param attribute     the attribute to index.
+     * @param entryOrdinals the ordinals shared by the bitmap indexes of the same {@link IndexService}.
+     */
+    public IndexImpl(String attribute, EntryOrdinals entryOrdinals) {
+        this.attribute = attribute;
+        this.ordered = false;
+        this.bitmapIndexStore = new BitmapIndexStore(entryOrdinals);
+        indexStore = bitmapIndexStore;
+    }
+
     @Override
     public void removeEntryIndex(Data indexKey) {
         Comparable oldValue = recordValues.remove(indexKey);
@@ -111,15 +126,10 @@ public class IndexImpl implements Index {
                 return new SingleResultSet(null);
             }
         } else {
-            MultiResultSet results = new MultiResultSet();
             if (converter != null) {
-                Set<Comparable> convertedValues = new HashSet<Comparable>(values.length);
-                for (Comparable value : values) {
-                    convertedValues.add(convert(value));
-                }
-                indexStore.getRecords(results, convertedValues);
+                return indexStore.getRecords(convertAll(values));
             }
-            return results;
+            return new MultiResultSet();
         }
     }
 
@@ -134,26 +144,75 @@ public class IndexImpl implements Index {
 
     @Override
     public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
-        MultiResultSet results = new MultiResultSet();
         if (converter != null) {
-            indexStore.getSubRecordsBetween(results, convert(from), convert(to));
+            return indexStore.getSubRecordsBetween(convert(from), convert(to));
         }
-        return results;
+        return new MultiResultSet();
     }
 
     @Override
     public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
-        MultiResultSet results = new MultiResultSet();
         if (converter != null) {
-            indexStore.getSubRecords(results, comparisonType, convert(searchedValue));
+            return indexStore.getSubRecords(comparisonType, convert(searchedValue));
+        }
+        return new MultiResultSet();
+    }
+
+    @Override
+    public Bitmap getBitmap(Comparable... values) {
+        if (bitmapIndexStore == null) {
+            return null;
+        }
+        if (converter == null) {
+            return new Bitmap();
+        }
+        return bitmapIndexStore.getBitmap(convertAll(values));
+    }
+
+    @Override
+    public IndexStatistics getStatistics() {
+        return indexStore.getStatistics();
+    }
+
+    @Override
+    public long estimateRecords(Comparable[] values) {
+        if (converter == null) {
+            return 0;
         }
-        return results;
+        return getStatistics().estimateEqual(convertAll(values));
+    }
+
+    @Override
+    public long estimateSubRecordsBetween(Comparable from, Comparable to) {
+        if (converter == null) {
+            return 0;
+        }
+        return getStatistics().estimateBetween(convert(from), true, convert(to), true);
+    }
+
+    @Override
+    public long estimateSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        if (converter == null) {
+            return 0;
+        }
+        return getStatistics().estimate(comparisonType, convert(searchedValue));
     }
 
     private Comparable convert(Comparable value) {
+        if (value instanceof NullObject) {
+            return NULL;
+        }
         return converter.convert(value);
     }
 
+    private Set<Comparable> convertAll(Comparable[] values) {
+        Set<Comparable> convertedValues = new HashSet<Comparable>(values.length);
+        for (Comparable value : values) {
+            convertedValues.add(convert(value));
+        }
+        return convertedValues;
+    }
+
     public ConcurrentMap<Data, Comparable> getRecordValues() {
         return recordValues;
     }
@@ -168,6 +227,11 @@ public class IndexImpl implements Index {
         return ordered;
     }
 
+    @Override
+    public boolean isBitmap() {
+        return bitmapIndexStore != null;
+    }
+
     /**
      * Provides comparable null object.
      */
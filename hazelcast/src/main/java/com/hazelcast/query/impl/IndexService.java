@@ -21,6 +21,8 @@ import com.hazelcast.query.IndexAwarePredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.QueryException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -30,41 +32,107 @@ import java.util.concurrent.atomic.AtomicReference;
  * This class contains methods which manipulate and access index.
  */
 public class IndexService {
+    /**
+     * When allowed, an index lookup estimated to return more than this fraction of the entries is replaced by a
+     * scan, which reads about as many entries without building, intersecting or deduplicating index results.
+     */
+    private static final double SCAN_SELECTIVITY = 0.9;
     private static final Index[] EMPTY_INDEX = {};
+    private static final CompositeIndex[] EMPTY_COMPOSITE_INDEX = {};
     private final ConcurrentMap<String, Index> mapIndexes = new ConcurrentHashMap<String, Index>(3);
     private final AtomicReference<Index[]> indexes = new AtomicReference<Index[]>(EMPTY_INDEX);
+    private volatile CompositeIndex[] compositeIndexes = EMPTY_COMPOSITE_INDEX;
     private volatile boolean hasIndex;
+    private volatile boolean hasBitmapIndex;
+    private volatile EntryOrdinals entryOrdinals = new EntryOrdinals();
 
     public synchronized Index destroyIndex(String attribute) {
         return mapIndexes.remove(attribute);
     }
 
     public synchronized Index addOrGetIndex(String attribute, boolean ordered) {
-        Index index = mapIndexes.get(attribute);
+        return addOrGetIndex(attribute, ordered, false);
+    }
+
+    /**
+     * Returns the index on the given attribute, creating it if there is none yet. A comma separated list of
+     * attributes denotes a {@link CompositeIndex}.
+     *
+     * @param attribute the attribute to index.
+     * @param ordered   true to create an ordered index, ignored for bitmap indexes.
+     * @param bitmap    true to create a bitmap index, ignored for composite indexes.
+     * @return the existing or the created index.
+     */
+    public synchronized Index addOrGetIndex(String attribute, boolean ordered, boolean bitmap) {
+        String[] compositeAttributes = CompositeIndex.parseAttributes(attribute);
+        String name = compositeAttributes == null ? attribute : CompositeIndex.toName(compositeAttributes);
+        Index index = mapIndexes.get(name);
         if (index != null) {
             return index;
         }
-        index = new IndexImpl(attribute, ordered);
-        mapIndexes.put(attribute, index);
+        index = newIndex(name, ordered, bitmap);
+        mapIndexes.put(name, index);
         Object[] indexObjects = mapIndexes.values().toArray();
         Index[] newIndexes = new Index[indexObjects.length];
         for (int i = 0; i < indexObjects.length; i++) {
             newIndexes[i] = (Index) indexObjects[i];
         }
-        indexes.set(newIndexes);
+        setIndexes(newIndexes);
         hasIndex = true;
+        if (bitmap) {
+            hasBitmapIndex = true;
+        }
         return index;
     }
 
+    private Index newIndex(String name, boolean ordered, boolean bitmap) {
+        String[] compositeAttributes = CompositeIndex.parseAttributes(name);
+        if (compositeAttributes != null) {
+            return new CompositeIndex(compositeAttributes, ordered);
+        }
+        return bitmap ? new IndexImpl(name, entryOrdinals) : new IndexImpl(name, ordered);
+    }
+
+    private void setIndexes(Index[] newIndexes) {
+        List<CompositeIndex> newCompositeIndexes = new ArrayList<CompositeIndex>();
+        for (Index index : newIndexes) {
+            if (index instanceof CompositeIndex) {
+                newCompositeIndexes.add((CompositeIndex) index);
+            }
+        }
+        indexes.set(newIndexes);
+        compositeIndexes = newCompositeIndexes.toArray(new CompositeIndex[newCompositeIndexes.size()]);
+    }
+
     public Index[] getIndexes() {
         return indexes.get();
     }
 
+    /**
+     * Drops the contents of all indexes at once by replacing them with empty indexes on the same attributes.
+     * Used to discard the indexes of a partition which has been migrated away, or of a destroyed query cache.
+     */
+    public synchronized void clearIndexes() {
+        entryOrdinals = new EntryOrdinals();
+        Index[] oldIndexes = indexes.get();
+        Index[] newIndexes = new Index[oldIndexes.length];
+        for (int i = 0; i < oldIndexes.length; i++) {
+            Index oldIndex = oldIndexes[i];
+            Index index = newIndex(oldIndex.getAttributeName(), oldIndex.isOrdered(), oldIndex.isBitmap());
+            mapIndexes.put(index.getAttributeName(), index);
+            newIndexes[i] = index;
+        }
+        setIndexes(newIndexes);
+    }
+
     public void removeEntryIndex(Data indexKey) throws QueryException {
         Index[] indexes = getIndexes();
         for (Index index : indexes) {
             index.removeEntryIndex(indexKey);
         }
+        if (hasBitmapIndex) {
+            entryOrdinals.release(indexKey);
+        }
     }
 
     public boolean hasIndex() {
@@ -82,16 +150,97 @@ public class IndexService {
         return mapIndexes.get(attribute);
     }
 
+    EntryOrdinals getEntryOrdinals() {
+        return entryOrdinals;
+    }
+
+    CompositeIndex[] getCompositeIndexes() {
+        return compositeIndexes;
+    }
+
+    /**
+     * Checks if the predicate can be evaluated using the indexes of this service.
+     *
+     * @param predicate the predicate to check.
+     * @return true if the predicate is fully answered by the indexes, false otherwise.
+     */
+    public boolean isIndexed(Predicate predicate) {
+        if (hasIndex && predicate instanceof IndexAwarePredicate) {
+            return ((IndexAwarePredicate) predicate).isIndexed(new QueryContext(this));
+        }
+        return false;
+    }
+
     public Set<QueryableEntry> query(Predicate predicate) {
+        return query(predicate, false);
+    }
+
+    /**
+     * Evaluates the predicate using the indexes of this service.
+     *
+     * @param predicate the predicate to evaluate.
+     * @param allowScan true to return null, so that the caller scans the entries instead, when the index statistics
+     *                  estimate that the predicate matches most of the entries.
+     * @return the matching entries, or null if the entries have to be scanned.
+     */
+    public Set<QueryableEntry> query(Predicate predicate, boolean allowScan) {
         if (hasIndex) {
             QueryContext queryContext = new QueryContext(this);
             if (predicate instanceof IndexAwarePredicate) {
                 IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
-                if (iap.isIndexed(queryContext)) {
+                if (iap.isIndexed(queryContext) && !(allowScan && isScanCheaper(iap, queryContext))) {
                     return iap.filter(queryContext);
                 }
             }
         }
         return null;
     }
+
+    /**
+     * Describes how {@link #query(Predicate, boolean)} evaluates the predicate when a scan is allowed, e.g.
+     * <pre>
+     * AND (estimated 12)
+     *   INDEX age=5 (estimated 12)
+     *   FILTER salary>1000
+     * </pre>
+     *
+     * @param predicate the predicate to explain.
+     * @return the query plan, one step per line.
+     */
+    public String explain(Predicate predicate) {
+        if (!isIndexed(predicate)) {
+            return "SCAN " + predicate;
+        }
+        if (!(predicate instanceof CostAwarePredicate)) {
+            return "INDEX " + predicate;
+        }
+        QueryContext queryContext = new QueryContext(this);
+        CostAwarePredicate cap = (CostAwarePredicate) predicate;
+        if (isScanCheaper(cap, queryContext)) {
+            return "SCAN " + predicate + " (indexes estimated " + cap.estimateSize(queryContext) + " of "
+                    + getEntryCount() + " entries)";
+        }
+        return cap.explain(queryContext);
+    }
+
+    private boolean isScanCheaper(IndexAwarePredicate predicate, QueryContext queryContext) {
+        if (!(predicate instanceof CostAwarePredicate)) {
+            return false;
+        }
+        // a bitmap lookup never reads the entries it does not return, so it always beats a scan
+        if (predicate instanceof BitmapIndexAwarePredicate
+                && ((BitmapIndexAwarePredicate) predicate).isBitmapIndexed(queryContext)) {
+            return false;
+        }
+        long entryCount = getEntryCount();
+        return entryCount > 0 && ((CostAwarePredicate) predicate).estimateSize(queryContext) > entryCount * SCAN_SELECTIVITY;
+    }
+
+    private long getEntryCount() {
+        long entryCount = 0;
+        for (Index index : getIndexes()) {
+            entryCount = Math.max(entryCount, index.getStatistics().getEntryCount());
+        }
+        return entryCount;
+    }
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * A snapshot of the statistics of an index, used to estimate the number of entries matched by a predicate
+ * without evaluating it.
+ * <p/>
+ * Besides the entry, null and distinct value counts, the statistics of a sorted index hold an equi-depth
+ * histogram: the non-null values are split into buckets of about the same number of entries, and the number of
+ * entries within a range is estimated from the buckets it covers. A value with more entries than a bucket holds
+ * gets a bucket of its own, so the estimates stay accurate for skewed data. The estimates take already converted
+ * values, see {@link Index#estimateRecords(Comparable[])}.
+ */
+public final class IndexStatistics {
+
+    /**
+     * The number of buckets the values of a sorted index are split into. The histogram may have up to twice as many
+     * buckets when some values have buckets of their own.
+     */
+    public static final int HISTOGRAM_BUCKETS = 32;
+
+    /**
+     * Without a histogram, a range is assumed to match a third of the non-null values.
+     */
+    private static final int RANGE_SELECTIVITY_DIVISOR = 3;
+
+    private final long entryCount;
+    private final long nullCount;
+    private final long distinctCount;
+    // the lowest value, highest value, entry count and distinct value count of each histogram bucket,
+    // null without a histogram
+    private final Comparable[] lowerBounds;
+    private final Comparable[] upperBounds;
+    private final long[] bucketCounts;
+    private final int[] bucketDistinctCounts;
+
+    public IndexStatistics(long entryCount, long nullCount, long distinctCount) {
+        this(entryCount, nullCount, distinctCount, null, null, null, null);
+    }
+
+    private IndexStatistics(long entryCount, long nullCount, long distinctCount, Comparable[] lowerBounds,
+                            Comparable[] upperBounds, long[] bucketCounts, int[] bucketDistinctCounts) {
+        this.entryCount = entryCount;
+        this.nullCount = nullCount;
+        this.distinctCount = distinctCount;
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+        this.bucketCounts = bucketCounts;
+        this.bucketDistinctCounts = bucketDistinctCounts;
+    }
+
+    /**
+     * Builds the statistics of a sorted index, including its histogram.
+     *
+     * @param nullCount the number of entries with a null value.
+     * @param values    the entries of each non-null value, in ascending order of the values.
+     * @return the statistics.
+     */
+    public static IndexStatistics ofSortedValues(long nullCount,
+                                                 SortedMap<Comparable, ? extends Map<Data, QueryableEntry>> values) {
+        long valueCount = 0;
+        int distinctCount = 0;
+        for (Map<Data, QueryableEntry> records : values.values()) {
+            valueCount += records.size();
+            distinctCount++;
+        }
+        // each value filling a bucket on its own adds at most one bucket
+        int bucketCount = Math.min(2 * HISTOGRAM_BUCKETS, distinctCount);
+        Comparable[] lowerBounds = new Comparable[bucketCount];
+        Comparable[] upperBounds = new Comparable[bucketCount];
+        long[] bucketCounts = new long[bucketCount];
+        int[] bucketDistinctCounts = new int[bucketCount];
+        if (bucketCount > 0) {
+            long bucketDepth = (valueCount + HISTOGRAM_BUCKETS - 1) / HISTOGRAM_BUCKETS;
+            int bucket = 0;
+            for (Map.Entry<Comparable, ? extends Map<Data, QueryableEntry>> entry : values.entrySet()) {
+                int size = entry.getValue().size();
+                boolean full = bucketCounts[bucket] >= bucketDepth || bucketCounts[bucket] > 0 && size >= bucketDepth;
+                if (full && bucket < bucketCount - 1) {
+                    bucket++;
+                }
+                if (bucketCounts[bucket] == 0) {
+                    lowerBounds[bucket] = entry.getKey();
+                }
+                upperBounds[bucket] = entry.getKey();
+                bucketCounts[bucket] += size;
+                bucketDistinctCounts[bucket]++;
+            }
+            // skewed values may fill less buckets than planned
+            bucketCount = bucket + 1;
+        }
+        return new IndexStatistics(valueCount + nullCount, nullCount, distinctCount, Arrays.copyOf(lowerBounds, bucketCount),
+                Arrays.copyOf(upperBounds, bucketCount), Arrays.copyOf(bucketCounts, bucketCount),
+                Arrays.copyOf(bucketDistinctCounts, bucketCount));
+    }
+
+    /**
+     * @return the number of indexed entries, including the ones with a null value.
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * @return the number of distinct non-null values.
+     */
+    public long getDistinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * @return the number of buckets of the histogram, or 0 if the index is not sorted.
+     */
+    public int getHistogramBucketCount() {
+        return bucketCounts == null ? 0 : bucketCounts.length;
+    }
+
+    /**
+     * Estimates the number of entries equal to any of the given values.
+     */
+    public long estimateEqual(Collection<Comparable> values) {
+        long estimate = 0;
+        for (Comparable value : values) {
+            estimate += estimateEqual(value);
+        }
+        return Math.min(estimate, entryCount);
+    }
+
+    /**
+     * Estimates the number of entries equal to the given value, assuming the values within a histogram bucket, or
+     * all the non-null values without a histogram, are uniformly distributed. The estimate for a value with a bucket
+     * of its own is exact.
+     */
+    public long estimateEqual(Comparable value) {
+        if (value instanceof IndexImpl.NullObject) {
+            return nullCount;
+        }
+        if (distinctCount == 0) {
+            return 0;
+        }
+        long valueCount = entryCount - nullCount;
+        if (bucketCounts != null) {
+            int bucket = findBucket(value);
+            if (bucket < 0) {
+                return 0;
+            }
+            int bucketDistinctCount = bucketDistinctCounts[bucket];
+            return (bucketCounts[bucket] + bucketDistinctCount - 1) / bucketDistinctCount;
+        }
+        return (valueCount + distinctCount - 1) / distinctCount;
+    }
+
+    /**
+     * Estimates the number of entries with a non-null value within the given range.
+     *
+     * @param from          the lower bound, or null if unbounded.
+     * @param fromInclusive true if the lower bound is inclusive.
+     * @param to            the upper bound, or null if unbounded.
+     * @param toInclusive   true if the upper bound is inclusive.
+     * @return the estimated number of entries.
+     */
+    public long estimateBetween(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (bucketCounts == null) {
+            return (entryCount - nullCount) / RANGE_SELECTIVITY_DIVISOR;
+        }
+        long estimate = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            if (isBelow(to, toInclusive, lowerBounds[i]) || isAbove(from, fromInclusive, upperBounds[i])) {
+                continue;
+            }
+            if (isAbove(from, fromInclusive, lowerBounds[i]) || isBelow(to, toInclusive, upperBounds[i])) {
+                // the range covers a part of the bucket only
+                estimate += (bucketCounts[i] + 1) / 2;
+            } else {
+                estimate += bucketCounts[i];
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates the number of entries matched by a comparison, see {@link IndexStore#getSubRecords}.
+     */
+    public long estimate(ComparisonType comparisonType, Comparable value) {
+        switch (comparisonType) {
+            case LESSER:
+                return estimateBetween(null, false, value, false);
+            case LESSER_EQUAL:
+                return estimateBetween(null, false, value, true);
+            case GREATER:
+                return estimateBetween(value, false, null, false);
+            case GREATER_EQUAL:
+                return estimateBetween(value, true, null, false);
+            case NOT_EQUAL:
+                return entryCount - nullCount - estimateEqual(value);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+        }
+    }
+
+    private int findBucket(Comparable value) {
+        for (int i = 0; i < bucketCounts.length; i++) {
+            if (isBelow(value, true, lowerBounds[i])) {
+                return -1;
+            }
+            if (!isAbove(value, true, upperBounds[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if no value up to the given upper bound can be equal to or greater than the given value.
+     */
+    private static boolean isBelow(Comparable to, boolean toInclusive, Comparable value) {
+        if (to == null) {
+            return false;
+        }
+        int result = to.compareTo(value);
+        return result < 0 || result == 0 && !toInclusive;
+    }
+
+    /**
+     * @return true if no value from the given lower bound can be equal to or less than the given value.
+     */
+    private static boolean isAbove(Comparable from, boolean fromInclusive, Comparable value) {
+        if (from == null) {
+            return false;
+        }
+        int result = from.compareTo(value);
+        return result > 0 || result == 0 && !fromInclusive;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexStatistics{"
+                + "entryCount=" + entryCount
+                + ", nullCount=" + nullCount
+                + ", distinctCount=" + distinctCount
+                + ", histogramBuckets=" + getHistogramBucketCount()
+                + '}';
+    }
+}
@@ -16,14 +16,32 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.query.Predicate;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 /**
  * Provides the context of Query.
+ * <p/>
+ * A context is created per query and is only used by the thread executing the query.
  */
 public class QueryContext {
     private final IndexService indexService;
+    private final EntryOrdinals entryOrdinals;
+    private final long ordinalsVersion;
+    private Map<Predicate, Object> plans;
 
     public QueryContext(IndexService indexService) {
         this.indexService = indexService;
+        if (indexService == null) {
+            this.entryOrdinals = null;
+            this.ordinalsVersion = 0;
+        } else {
+            // taken before the query reads any bitmap, see EntryOrdinals#getVersion()
+            this.entryOrdinals = indexService.getEntryOrdinals();
+            this.ordinalsVersion = entryOrdinals.getVersion();
+        }
     }
 
     public Index getIndex(String attributeName) {
@@ -33,4 +51,53 @@ public class QueryContext {
             return indexService.getIndex(attributeName);
         }
     }
+
+    /**
+     * @return the composite indexes, see {@link CompositeIndex}.
+     */
+    public CompositeIndex[] getCompositeIndexes() {
+        if (indexService == null) {
+            return new CompositeIndex[0];
+        } else {
+            return indexService.getCompositeIndexes();
+        }
+    }
+
+    /**
+     * Returns the plan a predicate has built for this query, so the work done to estimate the cost of the predicate
+     * is not repeated when it is evaluated.
+     *
+     * @param predicate the predicate.
+     * @return the plan, or null if the predicate didn't build a plan yet.
+     */
+    public Object getPlan(Predicate predicate) {
+        return plans == null ? null : plans.get(predicate);
+    }
+
+    /**
+     * Keeps the plan of a predicate for the rest of this query, see {@link #getPlan(Predicate)}.
+     *
+     * @param predicate the predicate.
+     * @param plan      the plan.
+     */
+    public void setPlan(Predicate predicate, Object plan) {
+        if (plans == null) {
+            plans = new IdentityHashMap<Predicate, Object>();
+        }
+        plans.put(predicate, plan);
+    }
+
+    /**
+     * @return the ordinals shared by the bitmap indexes, see {@link Index#getBitmap(Comparable...)}.
+     */
+    public EntryOrdinals getEntryOrdinals() {
+        return entryOrdinals;
+    }
+
+    /**
+     * @return a result set of the entries of the given ordinals, read by this query.
+     */
+    public BitmapResultSet newBitmapResultSet(Bitmap bitmap) {
+        return new BitmapResultSet(bitmap, entryOrdinals, ordinalsVersion);
+    }
 }
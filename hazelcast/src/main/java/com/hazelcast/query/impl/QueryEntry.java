@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.nio.serialization.CompressedValue;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.PortableContext;
@@ -196,6 +197,10 @@ public class QueryEntry implements QueryableEntry {
             if (valueObject instanceof Portable) {
                 return getValueData();
             } else {
+                // a compressed value is inflated once, so a portable value can still be queried without deserializing it
+                if (serializationService != null && CompressedValue.isCompressed(valueData)) {
+                    valueData = CompressedValue.decompress(serializationService, valueData);
+                }
                 return valueData;
             }
         }
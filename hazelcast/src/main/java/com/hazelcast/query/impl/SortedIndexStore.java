@@ -98,7 +98,8 @@ public class SortedIndexStore extends BaseIndexStore {
     }
 
     @Override
-    public void getSubRecordsBetween(MultiResultSet results, Comparable from, Comparable to) {
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        MultiResultSet results = new MultiResultSet();
         takeReadLock();
         try {
             SortedMap<Comparable, ConcurrentMap<Data, QueryableEntry>> subMap =
@@ -109,10 +110,12 @@ public class SortedIndexStore extends BaseIndexStore {
         } finally {
             releaseReadLock();
         }
+        return results;
     }
 
     @Override
-    public void getSubRecords(MultiResultSet results, ComparisonType comparisonType, Comparable searchedValue) {
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        MultiResultSet results = new MultiResultSet();
         takeReadLock();
         try {
             SortedMap<Comparable, ConcurrentMap<Data, QueryableEntry>> subMap;
@@ -138,7 +141,7 @@ public class SortedIndexStore extends BaseIndexStore {
                             results.addResultSet(entry.getValue());
                         }
                     }
-                    return;
+                    return results;
                 default:
                     throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
             }
@@ -148,6 +151,7 @@ public class SortedIndexStore extends BaseIndexStore {
         } finally {
             releaseReadLock();
         }
+        return results;
     }
 
     @Override
@@ -179,7 +183,8 @@ public class SortedIndexStore extends BaseIndexStore {
     }
 
     @Override
-    public void getRecords(MultiResultSet results, Set<Comparable> values) {
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        MultiResultSet results = new MultiResultSet();
         takeReadLock();
         try {
             for (Comparable value : values) {
@@ -196,6 +201,12 @@ public class SortedIndexStore extends BaseIndexStore {
         } finally {
             releaseReadLock();
         }
+        return results;
+    }
+
+    @Override
+    protected IndexStatistics buildStatistics() {
+        return IndexStatistics.ofSortedValues(recordsWithNullValue.size(), recordMap);
     }
 
     @Override
@@ -95,7 +95,8 @@ public class UnsortedIndexStore extends BaseIndexStore {
     }
 
     @Override
-    public void getSubRecordsBetween(MultiResultSet results, Comparable from, Comparable to) {
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        MultiResultSet results = new MultiResultSet();
         takeReadLock();
         try {
             Comparable paramFrom = from;
@@ -106,7 +107,7 @@ public class UnsortedIndexStore extends BaseIndexStore {
                 if (records != null) {
                     results.addResultSet(records);
                 }
-                return;
+                return results;
             }
             if (trend < 0) {
                 Comparable oldFrom = paramFrom;
@@ -125,10 +126,12 @@ public class UnsortedIndexStore extends BaseIndexStore {
         } finally {
             releaseReadLock();
         }
+        return results;
     }
 
     @Override
-    public void getSubRecords(MultiResultSet results, ComparisonType comparisonType, Comparable searchedValue) {
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        MultiResultSet results = new MultiResultSet();
         takeReadLock();
         try {
             Set<Comparable> values = recordMap.keySet();
@@ -164,6 +167,7 @@ public class UnsortedIndexStore extends BaseIndexStore {
         } finally {
             releaseReadLock();
         }
+        return results;
     }
 
     @Override
@@ -195,7 +199,8 @@ public class UnsortedIndexStore extends BaseIndexStore {
     }
 
     @Override
-    public void getRecords(MultiResultSet results, Set<Comparable> values) {
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        MultiResultSet results = new MultiResultSet();
         takeReadLock();
         try {
             for (Comparable value : values) {
@@ -212,6 +217,19 @@ public class UnsortedIndexStore extends BaseIndexStore {
         } finally {
             releaseReadLock();
         }
+        return results;
+    }
+
+    @Override
+    protected IndexStatistics buildStatistics() {
+        long nullCount = recordsWithNullValue.size();
+        long entryCount = nullCount;
+        long distinctCount = 0;
+        for (ConcurrentMap<Data, QueryableEntry> records : recordMap.values()) {
+            entryCount += records.size();
+            distinctCount++;
+        }
+        return new IndexStatistics(entryCount, nullCount, distinctCount);
     }
 
     @Override
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates {@link GeneratedAccessor} classes which read a field or call a getter method directly, avoiding the
+ * access checks, argument arrays and wrapping of {@link Field#get(Object)} and {@link Method#invoke(Object, Object...)}.
+ * <p/>
+ * The generated class file is written by hand since the accessors consist of a handful of instructions only:
+ * cast the argument to the declaring class, read the attribute and box it if it is a primitive. Accessors are
+ * generated only for public, non-static members of public classes loaded by the Hazelcast class loader; for everything
+ * else {@link #generate(Member)} returns {@code null} and the caller falls back to reflection.
+ * <p/>
+ * Generated accessors are cached per member, so all getters of a class share the same accessor instances.
+ */
+final class AccessorGenerator {
+
+    private static final ILogger LOGGER = Logger.getLogger(AccessorGenerator.class);
+
+    private static final String ACCESSOR_CLASS_NAME = GeneratedAccessor.class.getName();
+    private static final String ACCESSOR_INTERNAL_NAME = ACCESSOR_CLASS_NAME.replace('.', '/');
+    private static final String OBJECT_INTERNAL_NAME = "java/lang/Object";
+
+    private static final int MAGIC = 0xCAFEBABE;
+    // Java 5 class files don't need stack map frames, the generated code has no branches anyway
+    private static final int MAJOR_VERSION = 49;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int GETFIELD = 0xB4;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int INVOKEINTERFACE = 0xB9;
+    private static final int CHECKCAST = 0xC0;
+
+    private static final int CONSTRUCTOR_MAX_STACK = 1;
+    private static final int CONSTRUCTOR_MAX_LOCALS = 1;
+    // long and double values take two stack slots
+    private static final int GETTER_MAX_STACK = 2;
+    private static final int GETTER_MAX_LOCALS = 2;
+
+    private static final Map<Class, String> DESCRIPTORS = new HashMap<Class, String>();
+    private static final Map<Class, Class> WRAPPERS = new HashMap<Class, Class>();
+
+    private static final ConcurrentMap<Member, GeneratedAccessor> ACCESSORS = new ConcurrentHashMap<Member, GeneratedAccessor>();
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+
+    static {
+        DESCRIPTORS.put(boolean.class, "Z");
+        DESCRIPTORS.put(byte.class, "B");
+        DESCRIPTORS.put(char.class, "C");
+        DESCRIPTORS.put(short.class, "S");
+        DESCRIPTORS.put(int.class, "I");
+        DESCRIPTORS.put(long.class, "J");
+        DESCRIPTORS.put(float.class, "F");
+        DESCRIPTORS.put(double.class, "D");
+        DESCRIPTORS.put(void.class, "V");
+
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+
+    private static volatile AccessorClassLoader classLoader;
+
+    private AccessorGenerator() {
+    }
+
+    /**
+     * Returns an accessor for the given field or no-argument method.
+     *
+     * @param member the field or method to access
+     * @return the accessor or {@code null} if no accessor can be generated for the member
+     */
+    static GeneratedAccessor generate(Member member) {
+        GeneratedAccessor accessor = ACCESSORS.get(member);
+        if (accessor != null) {
+            return accessor;
+        }
+        if (!isSupported(member)) {
+            return null;
+        }
+        try {
+            accessor = newAccessor(member);
+        } catch (Throwable e) {
+            LOGGER.finest("Could not generate an accessor for " + member + ", falling back to reflection", e);
+            return null;
+        }
+        GeneratedAccessor found = ACCESSORS.putIfAbsent(member, accessor);
+        return found == null ? accessor : found;
+    }
+
+    private static boolean isSupported(Member member) {
+        Class declaringClass = member.getDeclaringClass();
+        if (ReflectionHelper.THIS_CL == null || !ReflectionHelper.THIS_CL.equals(declaringClass.getClassLoader())) {
+            return false;
+        }
+        if (!Modifier.isPublic(declaringClass.getModifiers()) || !Modifier.isPublic(member.getModifiers())
+                || Modifier.isStatic(member.getModifiers())) {
+            return false;
+        }
+        if (member instanceof Method) {
+            Method method = (Method) member;
+            return method.getParameterTypes().length == 0 && method.getReturnType() != void.class;
+        }
+        return member instanceof Field;
+    }
+
+    private static GeneratedAccessor newAccessor(Member member) throws Exception {
+        String className = ACCESSOR_CLASS_NAME + "$" + CLASS_COUNTER.incrementAndGet();
+        byte[] bytes = toClassFile(className.replace('.', '/'), member);
+        Class accessorClass = getClassLoader().define(className, bytes);
+        return (GeneratedAccessor) accessorClass.newInstance();
+    }
+
+    private static AccessorClassLoader getClassLoader() {
+        AccessorClassLoader loader = classLoader;
+        if (loader == null) {
+            synchronized (AccessorGenerator.class) {
+                loader = classLoader;
+                if (loader == null) {
+                    loader = new AccessorClassLoader(ReflectionHelper.THIS_CL);
+                    classLoader = loader;
+                }
+            }
+        }
+        return loader;
+    }
+
+    private static byte[] toClassFile(String className, Member member) throws IOException {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(className);
+        int superClass = pool.classRef(OBJECT_INTERNAL_NAME);
+        int accessorInterface = pool.classRef(ACCESSOR_INTERNAL_NAME);
+        int codeName = pool.utf8("Code");
+        int constructorName = pool.utf8("<init>");
+        int constructorDescriptor = pool.utf8("()V");
+        int superConstructor = pool.memberRef(CONSTANT_METHOD_REF, OBJECT_INTERNAL_NAME, "<init>", "()V");
+        int getterName = pool.utf8("getValue");
+        int getterDescriptor = pool.utf8("(Ljava/lang/Object;)Ljava/lang/Object;");
+
+        ByteArrayOutputStream getterCode = new ByteArrayOutputStream();
+        Class declaringClass = member.getDeclaringClass();
+        String owner = internalName(declaringClass);
+        getterCode.write(ALOAD_1);
+        writeIndexed(getterCode, CHECKCAST, pool.classRef(owner));
+        Class type;
+        if (member instanceof Method) {
+            Method method = (Method) member;
+            type = method.getReturnType();
+            String descriptor = "()" + descriptor(type);
+            if (declaringClass.isInterface()) {
+                writeIndexed(getterCode, INVOKEINTERFACE,
+                        pool.memberRef(CONSTANT_INTERFACE_METHOD_REF, owner, method.getName(), descriptor));
+                // argument count including the receiver, followed by a reserved zero byte
+                getterCode.write(1);
+                getterCode.write(0);
+            } else {
+                writeIndexed(getterCode, INVOKEVIRTUAL, pool.memberRef(CONSTANT_METHOD_REF, owner, method.getName(), descriptor));
+            }
+        } else {
+            Field field = (Field) member;
+            type = field.getType();
+            writeIndexed(getterCode, GETFIELD, pool.memberRef(CONSTANT_FIELD_REF, owner, field.getName(), descriptor(type)));
+        }
+        if (type.isPrimitive()) {
+            String wrapper = internalName(WRAPPERS.get(type));
+            writeIndexed(getterCode, INVOKESTATIC, pool.memberRef(CONSTANT_METHOD_REF, wrapper, "valueOf",
+                    "(" + descriptor(type) + ")L" + wrapper + ";"));
+        }
+        getterCode.write(ARETURN);
+
+        ByteArrayOutputStream constructorCode = new ByteArrayOutputStream();
+        constructorCode.write(ALOAD_0);
+        writeIndexed(constructorCode, INVOKESPECIAL, superConstructor);
+        constructorCode.write(RETURN);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(0);
+        out.writeShort(MAJOR_VERSION);
+        pool.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(1);
+        out.writeShort(accessorInterface);
+        // no fields
+        out.writeShort(0);
+        out.writeShort(2);
+        writeMethod(out, constructorName, constructorDescriptor, codeName,
+                CONSTRUCTOR_MAX_STACK, CONSTRUCTOR_MAX_LOCALS, constructorCode.toByteArray());
+        writeMethod(out, getterName, getterDescriptor, codeName, GETTER_MAX_STACK, GETTER_MAX_LOCALS, getterCode.toByteArray());
+        // no class attributes
+        out.writeShort(0);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeName, int maxStack,
+                                    int maxLocals, byte[] code) throws IOException {
+        // u2 max_stack, u2 max_locals, u4 code_length, code, u2 exception_table_length, u2 attributes_count
+        final int codeHeaderLength = 12;
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(codeHeaderLength + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private static void writeIndexed(ByteArrayOutputStream code, int opcode, int index) {
+        code.write(opcode);
+        code.write(index >>> Byte.SIZE);
+        code.write(index);
+    }
+
+    private static String internalName(Class type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(Class type) {
+        String descriptor = DESCRIPTORS.get(type);
+        if (descriptor != null) {
+            return descriptor;
+        }
+        if (type.isArray()) {
+            return internalName(type);
+        }
+        return "L" + internalName(type) + ";";
+    }
+
+    /**
+     * Constant pool of the generated class file. Entries are deduplicated by their tag and content.
+     */
+    private static final class ConstantPool {
+        private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private int count;
+
+        int utf8(String value) throws IOException {
+            String key = CONSTANT_UTF8 + ":" + value;
+            Integer index = indexes.get(key);
+            if (index == null) {
+                out.writeByte(CONSTANT_UTF8);
+                out.writeUTF(value);
+                index = register(key);
+            }
+            return index;
+        }
+
+        int classRef(String internalName) throws IOException {
+            int name = utf8(internalName);
+            return entry(CONSTANT_CLASS, name);
+        }
+
+        int memberRef(int tag, String owner, String name, String descriptor) throws IOException {
+            int ownerClass = classRef(owner);
+            int nameAndType = entry(CONSTANT_NAME_AND_TYPE, utf8(name), utf8(descriptor));
+            return entry(tag, ownerClass, nameAndType);
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            out.flush();
+            // the constant pool count is one more than the number of entries
+            target.writeShort(count + 1);
+            bytes.writeTo(target);
+        }
+
+        private int entry(int tag, int... references) throws IOException {
+            StringBuilder key = new StringBuilder().append(tag);
+            for (int reference : references) {
+                key.append(':').append(reference);
+            }
+            Integer index = indexes.get(key.toString());
+            if (index == null) {
+                out.writeByte(tag);
+                for (int reference : references) {
+                    out.writeShort(reference);
+                }
+                index = register(key.toString());
+            }
+            return index;
+        }
+
+        private int register(String key) {
+            count++;
+            indexes.put(key, count);
+            return count;
+        }
+    }
+
+    /**
+     * Class loader of the generated accessors. Its parent is the Hazelcast class loader, so the generated classes see
+     * {@link GeneratedAccessor} and the classes whose members they access.
+     */
+    private static final class AccessorClassLoader extends ClassLoader {
+
+        AccessorClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+/**
+ * Reads a single attribute of an object without going through reflection. Implementations are generated at runtime
+ * by {@link AccessorGenerator}; the interface is public because the generated classes live in their own class loader.
+ */
+public interface GeneratedAccessor {
+
+    /**
+     * Returns the attribute value of the given object, boxed if the attribute is of a primitive type.
+     *
+     * @param obj the non-null object to read the attribute from
+     * @return the attribute value
+     */
+    Object getValue(Object obj);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+/**
+ * Getter backed by a {@link GeneratedAccessor}, used instead of a {@link FieldGetter} or {@link MethodGetter}
+ * whenever an accessor class can be generated for the field or method.
+ */
+final class GeneratedGetter extends Getter {
+    private final GeneratedAccessor accessor;
+    private final Class returnType;
+
+    GeneratedGetter(Getter parent, GeneratedAccessor accessor, Class returnType) {
+        super(parent);
+        this.accessor = accessor;
+        this.returnType = returnType;
+    }
+
+    @Override
+    Object getValue(Object obj) throws Exception {
+        Object paramObj = obj;
+        paramObj = parent != null ? parent.getValue(paramObj) : paramObj;
+        return paramObj != null ? accessor.getValue(paramObj) : null;
+    }
+
+    @Override
+    Class getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    boolean isCacheable() {
+        // accessors are only generated for classes loaded by the Hazelcast class loader
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "GeneratedGetter [parent=" + parent + ", accessor=" + accessor.getClass().getName() + "]";
+    }
+}
@@ -157,7 +157,7 @@ public final class ReflectionHelper {
                         try {
                             final Method method = clazz.getMethod(methodName);
                             method.setAccessible(true);
-                            localGetter = new MethodGetter(parent, method);
+                            localGetter = newMethodGetter(parent, method);
                             clazz = method.getReturnType();
                             break;
                         } catch (NoSuchMethodException ignored) {
@@ -167,7 +167,7 @@ public final class ReflectionHelper {
                     if (localGetter == null) {
                         try {
                             final Field field = clazz.getField(name);
-                            localGetter = new FieldGetter(parent, field);
+                            localGetter = newFieldGetter(parent, field);
                             clazz = field.getType();
                         } catch (NoSuchFieldException ignored) {
                             EmptyStatement.ignore(ignored);
@@ -179,7 +179,7 @@ public final class ReflectionHelper {
                             try {
                                 final Field field = c.getDeclaredField(name);
                                 field.setAccessible(true);
-                                localGetter = new FieldGetter(parent, field);
+                                localGetter = newFieldGetter(parent, field);
                                 clazz = field.getType();
                                 break;
                             } catch (NoSuchFieldException ignored) {
@@ -205,6 +205,22 @@ public final class ReflectionHelper {
         }
     }
 
+    private static Getter newMethodGetter(Getter parent, Method method) {
+        GeneratedAccessor accessor = AccessorGenerator.generate(method);
+        if (accessor == null) {
+            return new MethodGetter(parent, method);
+        }
+        return new GeneratedGetter(parent, accessor, method.getReturnType());
+    }
+
+    private static Getter newFieldGetter(Getter parent, Field field) {
+        GeneratedAccessor accessor = AccessorGenerator.generate(field);
+        if (accessor == null) {
+            return new FieldGetter(parent, field);
+        }
+        return new GeneratedGetter(parent, accessor, field.getType());
+    }
+
     public static Comparable extractValue(Object object, String attributeName) throws Exception {
         return (Comparable) createGetter(object, attributeName).getValue(object);
     }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi;
 
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 
@@ -160,6 +161,31 @@ public interface OperationService {
     Map<Integer, Object> invokeOnPartitions(String serviceName, OperationFactory operationFactory,
                                             Collection<Integer> partitions) throws Exception;
 
+    /**
+     * Invokes a set of operations on each partition.
+     * <p/>
+     * This method does not block; the responses are collected by callbacks.
+     *
+     * @param serviceName      the name of the service.
+     * @param operationFactory the factory responsible for creating operations
+     * @return a future completed with a Map with partitionId as key and the outcome of the operation as value.
+     */
+    ICompletableFuture<Map<Integer, Object>> invokeOnAllPartitionsAsync(String serviceName,
+                                                                      OperationFactory operationFactory);
+
+    /**
+     * Invokes a set of operations on a selected set of partitions.
+     * <p/>
+     * This method does not block; the responses are collected by callbacks.
+     *
+     * @param serviceName      the name of the service
+     * @param operationFactory the factory responsible for creating operations
+     * @param partitions       the partitions the operation should be executed on.
+     * @return a future completed with a Map with partitionId as key and the outcome of the operation as value.
+     */
+    ICompletableFuture<Map<Integer, Object>> invokeOnPartitionsAsync(String serviceName, OperationFactory operationFactory,
+                                                                   Collection<Integer> partitions);
+
     /**
      * Executes an operation remotely.
      * <p/>
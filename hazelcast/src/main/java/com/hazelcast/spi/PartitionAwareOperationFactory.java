@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi;
+
+import java.util.List;
+
+/**
+ * An {@link OperationFactory} that creates a different {@link Operation} for every partition; e.g. because every partition
+ * gets its own part of the data like a putAll.
+ * <p>{@link OperationService#invokeOnPartitions(String, OperationFactory, java.util.Collection)} uses
+ * {@link #createFactoryFor(List)} so that a member only receives the part of the factory needed for its partitions, and it
+ * uses {@link #createPartitionOperation(int)} instead of {@link #createOperation()} to create the operations.
+ * </p>
+ */
+public interface PartitionAwareOperationFactory extends OperationFactory {
+
+    /**
+     * Creates the operation for the given partition.
+     *
+     * @param partitionId the id of the partition.
+     * @return the created operation.
+     */
+    Operation createPartitionOperation(int partitionId);
+
+    /**
+     * Creates a factory that only contains what is needed to create the operations of the given partitions.
+     *
+     * @param partitions the ids of the partitions.
+     * @return the created factory.
+     */
+    PartitionAwareOperationFactory createFactoryFor(List<Integer> partitions);
+}
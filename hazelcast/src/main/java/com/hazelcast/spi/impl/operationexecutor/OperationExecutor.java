@@ -64,6 +64,14 @@ public interface OperationExecutor {
     @Deprecated
     void dumpPerformanceMetrics(StringBuffer sb);
 
+    /**
+     * Gets the largest number of pending normal operations of a single partition operation thread. The value is a
+     * best effort value since the queues are modified concurrently.
+     *
+     * @return the largest queue size.
+     */
+    int getMaxPartitionOperationQueueSize();
+
     /**
      * Gets all the operation handlers for the partitions. Each partition will have its own operation handler. So if
      * there are 271 partitions, then the size of the array will be 271.
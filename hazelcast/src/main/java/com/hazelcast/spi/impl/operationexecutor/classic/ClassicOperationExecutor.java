@@ -30,10 +30,13 @@ import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunnerFactory;
 import com.hazelcast.spi.impl.operationexecutor.ResponsePacketHandler;
+import com.hazelcast.util.counters.Counter;
 
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.counters.MwCounter.newMwCounter;
 
 /**
  * A {@link com.hazelcast.spi.impl.operationexecutor.OperationExecutor} that schedules:
@@ -55,6 +58,10 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
  * specific to a partition. E.g. a heart beat.
  * </li>
  * </ol>
+ * Response packets are processed by the {@link ResponseThread}, unless inline responses are enabled using
+ * {@link GroupProperties#PROP_OPERATION_RESPONSE_INLINE_ENABLED}. In that case the response is processed on the thread
+ * that calls {@link #execute(Packet)}, normally the IO thread that read the packet, and the hand off to the response
+ * thread is skipped.
  */
 public final class ClassicOperationExecutor implements OperationExecutor {
 
@@ -72,8 +79,11 @@ public final class ClassicOperationExecutor implements OperationExecutor {
     private final GenericOperationThread[] genericOperationThreads;
     private final OperationRunner[] genericOperationRunners;
 
+    // null if responses are processed inline
     private final ResponseThread responseThread;
     private final ResponsePacketHandler responsePacketHandler;
+    // updated by all IO threads when responses are processed inline
+    private final Counter inlineProcessedResponses = newMwCounter();
     private final Address thisAddress;
     private final NodeExtension nodeExtension;
     private final HazelcastThreadGroup threadGroup;
@@ -101,10 +111,12 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         this.genericOperationRunners = initGenericOperationRunners(properties, operationRunnerFactory);
         this.genericOperationThreads = initGenericThreads();
 
-        this.responseThread = initResponseThread();
+        boolean inlineResponses = properties.OPERATION_RESPONSE_INLINE_ENABLED.getBoolean();
+        this.responseThread = inlineResponses ? null : initResponseThread();
 
         logger.info("Starting with " + genericOperationThreads.length + " generic operation threads and "
-                + partitionOperationThreads.length + " partition operation threads.");
+                + partitionOperationThreads.length + " partition operation threads"
+                + (inlineResponses ? "; responses are processed inline." : "."));
     }
 
     private OperationRunner[] initPartitionOperationRunners(GroupProperties properties, OperationRunnerFactory handlerFactory) {
@@ -138,10 +150,13 @@ public final class ClassicOperationExecutor implements OperationExecutor {
             threadCount = Math.max(2, coreSize);
         }
 
+        boolean mpscEnabled = properties.PARTITION_OPERATION_QUEUE_MPSC_ENABLED.getBoolean();
+
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = threadGroup.getThreadPoolNamePrefix("partition-operation") + threadId;
-            ScheduleQueue scheduleQueue = new DefaultScheduleQueue();
+            // a partition operation thread is the only consumer of its queue, so it can use the lock-free MPSC queue
+            ScheduleQueue scheduleQueue = mpscEnabled ? new MPSCScheduleQueue() : new DefaultScheduleQueue();
 
             PartitionOperationThread operationThread = new PartitionOperationThread(threadName, threadId, scheduleQueue, logger,
                     threadGroup, nodeExtension, partitionOperationRunners);
@@ -295,6 +310,15 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return size;
     }
 
+    @Override
+    public int getMaxPartitionOperationQueueSize() {
+        int max = 0;
+        for (PartitionOperationThread t : partitionOperationThreads) {
+            max = Math.max(max, t.scheduleQueue.normalSize());
+        }
+        return max;
+    }
+
     @Override
     public int getPriorityOperationExecutorQueueSize() {
         int size = 0;
@@ -309,7 +333,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
     @Override
     public int getResponseQueueSize() {
-        return responseThread.workQueue.size();
+        return responseThread == null ? 0 : responseThread.workQueue.size();
     }
 
     @Override
@@ -353,7 +377,11 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
         if (packet.isHeaderSet(Packet.HEADER_RESPONSE)) {
             // it's a response packet
-            responseThread.workQueue.add(packet);
+            if (responseThread == null) {
+                processResponseInline(packet);
+            } else {
+                responseThread.workQueue.add(packet);
+            }
         } else {
             // it must be an operation packet
             int partitionId = packet.getPartitionId();
@@ -362,6 +390,16 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         }
     }
 
+    private void processResponseInline(Packet packet) {
+        inlineProcessedResponses.inc();
+        try {
+            responsePacketHandler.handle(packet);
+        } catch (Throwable e) {
+            inspectOutputMemoryError(e);
+            logger.severe("Failed to process response: " + packet + " on thread:" + Thread.currentThread().getName(), e);
+        }
+    }
+
     @Override
     public void runOnCallingThread(Operation operation) {
         checkNotNull(operation, "operation can't be null");
@@ -409,7 +447,9 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
     @Override
     public void shutdown() {
-        responseThread.shutdown();
+        if (responseThread != null) {
+            responseThread.shutdown();
+        }
         shutdownAll(partitionOperationThreads);
         shutdownAll(genericOperationThreads);
         awaitTermination(partitionOperationThreads);
@@ -445,9 +485,13 @@ public final class ClassicOperationExecutor implements OperationExecutor {
             sb.append(operationThread.getName())
                     .append(" processedCount=").append(operationThread.processedCount).append('\n');
         }
-        sb.append(responseThread.getName())
-                .append(" processedCount=").append(responseThread.processedResponses)
-                .append(" pendingCount=").append(responseThread.workQueue.size()).append('\n');
+        if (responseThread == null) {
+            sb.append("inline responses processedCount=").append(inlineProcessedResponses.get()).append('\n');
+        } else {
+            sb.append(responseThread.getName())
+                    .append(" processedCount=").append(responseThread.processedResponses)
+                    .append(" pendingCount=").append(responseThread.workQueue.size()).append('\n');
+        }
     }
 
     @Override
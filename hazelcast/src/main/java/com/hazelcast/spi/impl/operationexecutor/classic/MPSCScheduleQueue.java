@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.util.QuickMath.log2;
+
+/**
+ * A lock-free {@link ScheduleQueue} for a single consumer; so it can only be used by a {@link PartitionOperationThread}
+ * and not for the generic operation threads since they share a single queue.
+ * <p/>
+ * Normal tasks are stored in an unbounded linked list of fixed size array chunks. A producer claims a slot with a single
+ * getAndIncrement on the producer sequence, so the FIFO ordering between normal tasks is the claim order and no locks are
+ * acquired and no node is allocated per task; a chunk is only allocated once every {@code chunkSize} tasks.
+ * <p/>
+ * The consumer drains the published tasks in batches into a thread local buffer. When there is no work, the consumer spins,
+ * then yields and eventually parks. A producer only needs to unpark the consumer when it has actually parked, so under load
+ * there are no park/unpark calls.
+ * <p/>
+ * Priority tasks are stored in a separate {@link ConcurrentLinkedQueue} and are always checked before a normal task is
+ * returned, also when the consumer is processing a batch.
+ */
+public final class MPSCScheduleQueue implements ScheduleQueue {
+
+    static final int DEFAULT_CHUNK_SIZE = 1024;
+    static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final int MAX_SPINS = 100;
+    private static final int MAX_YIELDS = 10;
+
+    private final ConcurrentLinkedQueue priorityQueue = new ConcurrentLinkedQueue();
+    private final AtomicLong producerSequence = new AtomicLong();
+    // the producer chunk is a hint; it never points to a chunk beyond the chunk of the next sequence to be claimed.
+    private final AtomicReference<Chunk> producerChunk;
+    // the sequence of the first item of the last drained batch; only used for the size methods.
+    private final AtomicLong consumedSequence = new AtomicLong();
+    private final int chunkShift;
+    private final int chunkMask;
+    private final int chunkSize;
+
+    private volatile Thread consumerThread;
+    private volatile boolean consumerParked;
+
+    // The following fields are only accessed by the consumer thread.
+    private final Object[] batch;
+    private int batchIndex;
+    private int batchLength;
+    private Chunk consumerChunk;
+    private long consumerSequence;
+
+    public MPSCScheduleQueue() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    public MPSCScheduleQueue(int chunkSize, int batchSize) {
+        checkPositive(chunkSize, "chunkSize should be positive");
+        checkPositive(batchSize, "batchSize should be positive");
+        if (!isPowerOfTwo(chunkSize)) {
+            throw new IllegalArgumentException("chunkSize should be a power of 2, but was " + chunkSize);
+        }
+
+        this.chunkSize = chunkSize;
+        this.chunkMask = chunkSize - 1;
+        this.chunkShift = log2(chunkSize);
+        this.batch = new Object[batchSize];
+
+        Chunk chunk = new Chunk(0, chunkSize);
+        this.producerChunk = new AtomicReference<Chunk>(chunk);
+        this.consumerChunk = chunk;
+    }
+
+    @Override
+    public void add(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        offer(task);
+        signalConsumer();
+    }
+
+    @Override
+    public void addUrgent(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        priorityQueue.add(task);
+        signalConsumer();
+    }
+
+    private void offer(Object task) {
+        // the chunk needs to be read before the sequence is claimed, else it could point to a chunk beyond our sequence.
+        Chunk chunk = producerChunk.get();
+        long sequence = producerSequence.getAndIncrement();
+        long chunkIndex = sequence >> chunkShift;
+
+        while (chunk.index < chunkIndex) {
+            Chunk next = chunk.next.get();
+            if (next == null) {
+                Chunk newChunk = new Chunk(chunk.index + 1, chunkSize);
+                next = chunk.next.compareAndSet(null, newChunk) ? newChunk : chunk.next.get();
+            }
+            chunk = next;
+        }
+
+        Chunk current = producerChunk.get();
+        if (current.index < chunk.index) {
+            // best effort; if we fail another producer has moved the hint.
+            producerChunk.compareAndSet(current, chunk);
+        }
+
+        // a volatile write is needed; it needs to be ordered with the read of the consumerParked field.
+        chunk.slots.set((int) (sequence & chunkMask), task);
+    }
+
+    private void signalConsumer() {
+        if (consumerParked) {
+            Thread consumer = consumerThread;
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+        }
+    }
+
+    @Override
+    public Object take() throws InterruptedException {
+        int idleCount = 0;
+        for (; ; ) {
+            Object priorityItem = priorityQueue.poll();
+            if (priorityItem != null) {
+                return priorityItem;
+            }
+
+            if (batchIndex < batchLength) {
+                Object item = batch[batchIndex];
+                batch[batchIndex] = null;
+                batchIndex++;
+                return item;
+            }
+
+            if (drainBatch() > 0) {
+                continue;
+            }
+
+            idle(idleCount);
+            idleCount++;
+        }
+    }
+
+    private int drainBatch() {
+        consumedSequence.lazySet(consumerSequence);
+
+        Object[] batch = this.batch;
+        int length = 0;
+        while (length < batch.length) {
+            Object item = pollNormal();
+            if (item == null) {
+                break;
+            }
+            batch[length] = item;
+            length++;
+        }
+
+        batchIndex = 0;
+        batchLength = length;
+        return length;
+    }
+
+    private Object pollNormal() {
+        Chunk chunk = nextConsumerChunk();
+        if (chunk == null) {
+            return null;
+        }
+
+        int offset = (int) (consumerSequence & chunkMask);
+        Object item = chunk.slots.get(offset);
+        if (item == null) {
+            // either nothing has been claimed, or the producer that claimed the slot has not yet written to it.
+            return null;
+        }
+
+        chunk.slots.lazySet(offset, null);
+        consumerSequence++;
+        return item;
+    }
+
+    private Chunk nextConsumerChunk() {
+        Chunk chunk = consumerChunk;
+        if (chunk.index == consumerSequence >> chunkShift) {
+            return chunk;
+        }
+
+        Chunk next = chunk.next.get();
+        if (next != null) {
+            consumerChunk = next;
+        }
+        return next;
+    }
+
+    private boolean hasWork() {
+        if (!priorityQueue.isEmpty()) {
+            return true;
+        }
+
+        Chunk chunk = nextConsumerChunk();
+        return chunk != null && chunk.slots.get((int) (consumerSequence & chunkMask)) != null;
+    }
+
+    private void idle(int idleCount) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        if (idleCount < MAX_SPINS) {
+            return;
+        }
+
+        if (idleCount < MAX_SPINS + MAX_YIELDS) {
+            Thread.yield();
+            return;
+        }
+
+        consumerThread = Thread.currentThread();
+        consumerParked = true;
+        // the check needs to be done after setting consumerParked, else a signal could get lost.
+        if (!hasWork()) {
+            LockSupport.park(this);
+        }
+        consumerParked = false;
+    }
+
+    @Override
+    public int normalSize() {
+        long size = producerSequence.get() - consumedSequence.get();
+        return size > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    private static final class Chunk {
+        private final long index;
+        private final AtomicReferenceArray<Object> slots;
+        private final AtomicReference<Chunk> next = new AtomicReference<Chunk>();
+
+        private Chunk(long index, int size) {
+            this.index = index;
+            this.slots = new AtomicReferenceArray<Object>(size);
+        }
+    }
+}
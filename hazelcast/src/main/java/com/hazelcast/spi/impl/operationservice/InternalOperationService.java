@@ -86,6 +86,15 @@ public interface InternalOperationService extends OperationService {
      */
     List<SlowOperationDTO> getSlowOperationDTOs();
 
+    /**
+     * Writes the p50, p99, p99.9 and max latencies per operation class, per partition operation thread and per remote
+     * member; one line per histogram. Nothing is written if the latency histograms are disabled.
+     *
+     * @param sb the StringBuffer to write to.
+     * @see com.hazelcast.instance.GroupProperties#PROP_OPERATION_LATENCY_HISTOGRAMS_ENABLED
+     */
+    void dumpLatencyHistograms(StringBuffer sb);
+
     <V> void asyncInvokeOnPartition(String serviceName, Operation op, int partitionId, ExecutionCallback<V> callback);
 
     <V> void asyncInvokeOnTarget(String serviceName, Operation op, Address target, ExecutionCallback<V> callback);
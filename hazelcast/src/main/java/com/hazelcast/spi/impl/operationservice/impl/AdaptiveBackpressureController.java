@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Tunes the sync window of the {@link BackpressureRegulator} and the maximum number of concurrent invocations of the
+ * {@link CallIdSequence.CallIdSequenceWithBackpressure} using additive increase/multiplicative decrease (AIMD).
+ * <p/>
+ * On every run the largest operation queue of the partition threads and the average latency of the operations per
+ * partition since the previous run are sampled. If the queue or the latency exceeds its threshold, the member is
+ * considered congested and both the sync window and the maximum number of concurrent invocations are halved. So
+ * invocations will earlier wait for their backups and for space. Otherwise both are increased with a fixed step, till
+ * the configured values are reached again.
+ * <p/>
+ * The controller is run periodically by a single thread.
+ */
+final class AdaptiveBackpressureController implements Runnable {
+
+    /**
+     * The number of steps needed to increase from the minimum back to the configured value.
+     */
+    static final int INCREASE_STEPS = 20;
+
+    private final BackpressureRegulator regulator;
+    private final CallIdSequence.CallIdSequenceWithBackpressure callIdSequence;
+    private final OperationExecutor operationExecutor;
+    private final ILogger logger;
+
+    private final int queueThreshold;
+    private final long latencyThresholdMillis;
+    private final int maxSyncWindow;
+    private final int syncWindowStep;
+    private final int maxConcurrentInvocations;
+    private final int minConcurrentInvocations;
+    private final int concurrentInvocationsStep;
+
+    // the latency totals and counts of the partition runners at the previous run.
+    private final long[] latencyTotals;
+    private final long[] latencyCounts;
+
+    // only written by the thread running this controller.
+    @Probe
+    private volatile int queueSize;
+    @Probe
+    private volatile long latencyMillis;
+    @Probe
+    private volatile long congestionCount;
+
+    AdaptiveBackpressureController(BackpressureRegulator regulator,
+                                   CallIdSequence.CallIdSequenceWithBackpressure callIdSequence,
+                                   OperationExecutor operationExecutor, GroupProperties properties, ILogger logger) {
+        this.regulator = regulator;
+        this.callIdSequence = callIdSequence;
+        this.operationExecutor = operationExecutor;
+        this.logger = logger;
+        this.queueThreshold = getQueueThreshold(properties);
+        this.latencyThresholdMillis = getLatencyThresholdMillis(properties);
+
+        this.maxSyncWindow = regulator.getSyncWindow();
+        this.syncWindowStep = max(1, maxSyncWindow / INCREASE_STEPS);
+        this.maxConcurrentInvocations = callIdSequence.getMaxConcurrentInvocations();
+        // one invocation per partition and one for the generic operations.
+        this.minConcurrentInvocations = min(maxConcurrentInvocations, properties.PARTITION_COUNT.getInteger() + 1);
+        this.concurrentInvocationsStep = max(1, (maxConcurrentInvocations - minConcurrentInvocations) / INCREASE_STEPS);
+
+        int partitionCount = operationExecutor.getPartitionOperationRunners().length;
+        this.latencyTotals = new long[partitionCount];
+        this.latencyCounts = new long[partitionCount];
+    }
+
+    private static int getQueueThreshold(GroupProperties props) {
+        int queueThreshold = props.BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD.getInteger();
+        if (queueThreshold < 1) {
+            throw new IllegalArgumentException("Can't have '"
+                    + props.BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD.getName() + "' with a value smaller than 1");
+        }
+        return queueThreshold;
+    }
+
+    private static long getLatencyThresholdMillis(GroupProperties props) {
+        long latencyThresholdMillis = props.BACKPRESSURE_ADAPTIVE_LATENCY_THRESHOLD_MILLIS.getLong();
+        if (latencyThresholdMillis < 1) {
+            throw new IllegalArgumentException("Can't have '"
+                    + props.BACKPRESSURE_ADAPTIVE_LATENCY_THRESHOLD_MILLIS.getName() + "' with a value smaller than 1");
+        }
+        return latencyThresholdMillis;
+    }
+
+    @Override
+    public void run() {
+        try {
+            update(operationExecutor.getMaxPartitionOperationQueueSize(), sampleMaxLatencyMillis());
+        } catch (Throwable t) {
+            logger.severe("Failed to adapt the back pressure", t);
+        }
+    }
+
+    private long sampleMaxLatencyMillis() {
+        OperationRunner[] runners = operationExecutor.getPartitionOperationRunners();
+        long maxLatencyMillis = 0;
+        for (int partitionId = 0; partitionId < runners.length; partitionId++) {
+            if (!(runners[partitionId] instanceof OperationRunnerImpl)) {
+                continue;
+            }
+
+            OperationRunnerImpl runner = (OperationRunnerImpl) runners[partitionId];
+            // the count is read first, so the total always includes the latencies of the counted operations.
+            long count = runner.getLatencyCount();
+            long total = runner.getLatencyTotalMillis();
+            long countDelta = count - latencyCounts[partitionId];
+            long totalDelta = total - latencyTotals[partitionId];
+            latencyCounts[partitionId] = count;
+            latencyTotals[partitionId] = total;
+
+            if (countDelta > 0) {
+                maxLatencyMillis = max(maxLatencyMillis, totalDelta / countDelta);
+            }
+        }
+        return maxLatencyMillis;
+    }
+
+    void update(int queueSize, long latencyMillis) {
+        this.queueSize = queueSize;
+        this.latencyMillis = latencyMillis;
+
+        int syncWindow = regulator.getSyncWindow();
+        int concurrentInvocations = callIdSequence.getMaxConcurrentInvocations();
+
+        if (queueSize > queueThreshold || latencyMillis > latencyThresholdMillis) {
+            congestionCount++;
+            syncWindow = max(1, syncWindow / 2);
+            concurrentInvocations = max(minConcurrentInvocations, concurrentInvocations / 2);
+            if (logger.isFinestEnabled()) {
+                logger.finest("Congestion detected, queueSize: " + queueSize + ", latencyMillis: " + latencyMillis
+                        + ", syncWindow: " + syncWindow + ", maxConcurrentInvocations: " + concurrentInvocations);
+            }
+        } else {
+            syncWindow = min(maxSyncWindow, syncWindow + syncWindowStep);
+            concurrentInvocations = min(maxConcurrentInvocations, concurrentInvocations + concurrentInvocationsStep);
+        }
+
+        regulator.setSyncWindow(syncWindow);
+        callIdSequence.setMaxConcurrentInvocations(concurrentInvocations);
+    }
+
+    @Probe
+    int syncWindow() {
+        return regulator.getSyncWindow();
+    }
+
+    @Probe
+    int maxConcurrentInvocations() {
+        return callIdSequence.getMaxConcurrentInvocations();
+    }
+
+    void dumpPerformanceMetrics(StringBuffer sb) {
+        sb.append("backpressure.syncWindow=").append(syncWindow()).append('\n');
+        sb.append("backpressure.maxConcurrentInvocations=").append(maxConcurrentInvocations()).append('\n');
+        sb.append("backpressure.queueSize=").append(queueSize).append('\n');
+        sb.append("backpressure.latencyMillis=").append(latencyMillis).append('\n');
+        sb.append("backpressure.congestionCount=").append(congestionCount).append('\n');
+    }
+}
@@ -52,6 +52,8 @@ import static java.lang.Math.round;
  * overloaded.
  * </li>
  * </ol>
+ * When the adaptive mode is enabled, the sync window and the maximum number of concurrent invocations are tuned at runtime
+ * by the {@link AdaptiveBackpressureController}.
  */
 public class BackpressureRegulator {
 
@@ -79,7 +81,9 @@ public class BackpressureRegulator {
 
     private final boolean enabled;
     private final boolean disabled;
-    private final int syncWindow;
+    private final boolean adaptive;
+    // can be lowered by the AdaptiveBackpressureController; bounded by the configured sync window.
+    private volatile int syncWindow;
     private final int partitionCount;
     private final ILogger logger;
     private final int maxConcurrentInvocations;
@@ -88,6 +92,7 @@ public class BackpressureRegulator {
     public BackpressureRegulator(GroupProperties properties, ILogger logger) {
         this.enabled = properties.BACKPRESSURE_ENABLED.getBoolean();
         this.disabled = !enabled;
+        this.adaptive = enabled && properties.BACKPRESSURE_ADAPTIVE_ENABLED.getBoolean();
         this.logger = logger;
         this.partitionCount = properties.PARTITION_COUNT.getInteger();
         this.syncWindow = getSyncWindow(properties);
@@ -102,7 +107,8 @@ public class BackpressureRegulator {
         if (enabled) {
             logger.info("Backpressure is enabled"
                     + ", maxConcurrentInvocations:" + maxConcurrentInvocations
-                    + ", syncWindow: " + syncWindow);
+                    + ", syncWindow: " + syncWindow
+                    + ", adaptive: " + adaptive);
         } else {
             logger.info("Backpressure is disabled");
         }
@@ -147,6 +153,24 @@ public class BackpressureRegulator {
         return enabled;
     }
 
+    /**
+     * Checks if the adaptive mode of back pressure is enabled. It can only be enabled if back pressure is enabled.
+     */
+    boolean isAdaptive() {
+        return adaptive;
+    }
+
+    int getSyncWindow() {
+        return syncWindow;
+    }
+
+    void setSyncWindow(int syncWindow) {
+        if (syncWindow < 1) {
+            throw new IllegalArgumentException("syncWindow can't be smaller than 1, but was " + syncWindow);
+        }
+        this.syncWindow = syncWindow;
+    }
+
     // just for testing
     int syncDelay(Operation op) {
         return syncDelays[op.getPartitionId() * INTS_PER_CACHE_LINE];
@@ -215,6 +239,7 @@ public class BackpressureRegulator {
     }
 
     private int randomSyncDelay() {
+        int syncWindow = this.syncWindow;
         if (syncWindow == 1) {
             return 1;
         }
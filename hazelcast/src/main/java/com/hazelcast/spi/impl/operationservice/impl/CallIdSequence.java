@@ -146,7 +146,8 @@ public abstract class CallIdSequence {
         // instead of using 2 AtomicLongs, we use an array if width of 3 cache lines to prevent any false sharing.
         private final AtomicLongArray longs = new AtomicLongArray(3 * CACHE_LINE_LENGTH / LONG_SIZE_IN_BYTES);
 
-        private final int maxConcurrentInvocations;
+        // can be changed by the AdaptiveBackpressureController.
+        private volatile int maxConcurrentInvocations;
         private final long backoffTimeoutMs;
 
         public CallIdSequenceWithBackpressure(int maxConcurrentInvocations, long backoffTimeoutMs) {
@@ -168,6 +169,14 @@ public abstract class CallIdSequence {
             return maxConcurrentInvocations;
         }
 
+        void setMaxConcurrentInvocations(int maxConcurrentInvocations) {
+            if (maxConcurrentInvocations < 1) {
+                throw new IllegalArgumentException("maxConcurrentInvocations can't be smaller than 1, but was "
+                        + maxConcurrentInvocations);
+            }
+            this.maxConcurrentInvocations = maxConcurrentInvocations;
+        }
+
         @Override
         public long next(Invocation invocation) {
             assert invocation.op.getCallId() == 0 : "callId should be null:" + invocation;
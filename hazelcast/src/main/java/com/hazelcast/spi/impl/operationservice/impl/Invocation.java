@@ -107,6 +107,9 @@ abstract class Invocation implements ResponseHandler, Runnable {
     // writes to that are normally handled through the INVOKE_COUNT_UPDATER to ensure atomic increments / decrements
     volatile int invokeCount;
 
+    // the System.nanoTime of the last attempt; only set when the latency histograms are enabled.
+    private long invokeNanos;
+
     Invocation(NodeEngineImpl nodeEngine, String serviceName, Operation op, int partitionId,
                int replicaIndex, int tryCount, long tryPauseMillis, long callTimeout, Object callback,
                boolean resultDeserialized) {
@@ -224,6 +227,9 @@ abstract class Invocation implements ResponseHandler, Runnable {
         }
 
         setInvocationTime(op, nodeEngine.getClusterService().getClusterClock().getClusterTime());
+        if (operationService.latencyHistograms != null) {
+            invokeNanos = System.nanoTime();
+        }
         operationService.invocationsRegistry.register(this);
         if (remote) {
             doInvokeRemote();
@@ -458,6 +464,18 @@ abstract class Invocation implements ResponseHandler, Runnable {
         invocationFuture.set(pendingResponse);
     }
 
+    /**
+     * Records the latency of a remote invocation once its final response, including the backups, has been received.
+     */
+    void recordLatency() {
+        LatencyHistograms latencyHistograms = operationService.latencyHistograms;
+        if (latencyHistograms == null || !remote) {
+            return;
+        }
+
+        latencyHistograms.member(invTarget).recordNanos(System.nanoTime() - invokeNanos);
+    }
+
     boolean checkInvocationTimeout() {
         long maxCallTimeout = invocationFuture.getMaxCallTimeout();
         long expirationTime = op.getInvocationTime() + maxCallTimeout;
@@ -187,6 +187,7 @@ final class InvocationFuture<E> implements InternalCompletableFuture<E> {
             operationService.invocationsRegistry.deregister(invocation);
         }
 
+        invocation.recordLatency();
 
         notifyCallbacks(callbackChain);
     }
@@ -31,10 +31,9 @@ import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutRespons
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.util.ConcurrentLongHashMap;
 import com.hazelcast.util.EmptyStatement;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
@@ -48,8 +47,12 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} comes in, the
  * appropriate invocation can be looked up.
  * <p/>
+ * The invocations are stored in a {@link ConcurrentLongHashMap} so that the call-id doesn't need to be boxed and the
+ * lookup of an invocation for a response doesn't lock. The map is sized based on the maximum number of concurrent
+ * invocations of the {@link CallIdSequence}.
+ * <p/>
  * Some idea's:
- * - use an ringbuffer to store all invocations instead of a CHM. The call-id can be used as sequence-id for this
+ * - use an ringbuffer to store all invocations instead of a map. The call-id can be used as sequence-id for this
  * ringbuffer. It can be that you run in slots that have not been released; if that happens, just keep increasing
  * the sequence (although you now get sequence-gaps).
  * - pre-allocate all invocations. Because the ringbuffer has a fixed capacity, pre-allocation should be easy. Also
@@ -58,12 +61,12 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
 public class InvocationRegistry {
     private static final long SCHEDULE_DELAY = 1111;
     private static final int INITIAL_CAPACITY = 1000;
-    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
     private static final int DELAY_MILLIS = 1000;
     private static final double HUNDRED_PERCENT = 100d;
 
     private final long backupTimeoutMillis;
-    private final ConcurrentMap<Long, Invocation> invocations;
+    private final ConcurrentLongHashMap<Invocation> invocations;
     private final OperationServiceImpl operationService;
     private final NodeEngineImpl nodeEngine;
     private final ILogger logger;
@@ -78,11 +81,24 @@ public class InvocationRegistry {
 
         GroupProperties props = operationService.nodeEngine.getGroupProperties();
         this.backupTimeoutMillis = props.OPERATION_BACKUP_TIMEOUT_MILLIS.getLong();
-        this.invocations = new ConcurrentHashMap<Long, Invocation>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+        this.invocations = new ConcurrentLongHashMap<Invocation>(initialCapacity(callIdSequence), concurrencyLevel);
         this.inspectionThread = new InspectionThread();
         inspectionThread.start();
     }
 
+    private static int initialCapacity(CallIdSequence callIdSequence) {
+        int maxConcurrentInvocations = callIdSequence.getMaxConcurrentInvocations();
+        if (maxConcurrentInvocations == Integer.MAX_VALUE) {
+            // there is no backpressure, so we have no idea about the number of concurrent invocations.
+            return INITIAL_CAPACITY;
+        }
+        return Math.min(maxConcurrentInvocations, MAX_INITIAL_CAPACITY);
+    }
+
+    CallIdSequence getCallIdSequence() {
+        return callIdSequence;
+    }
+
     public long getLastCallId() {
         return callIdSequence.getLastCallId();
     }
@@ -16,32 +16,42 @@
 
 package com.hazelcast.spi.impl.operationservice.impl;
 
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.nio.Address;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationFactory;
-import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.PartitionAwareOperationFactory;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
+import com.hazelcast.util.executor.SettableCompletableFuture;
 
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Executes an operation on a set of partitions.
+ * <p/>
+ * The operations are sent to the partition owners, one {@link PartitionIteratingOperation} per member. The responses
+ * are collected by callbacks, so no thread waits for them; the partitions which failed are retried one by one once
+ * all members have responded.
  */
 final class InvokeOnPartitions {
 
     public static final int TRY_COUNT = 10;
     public static final int TRY_PAUSE_MILLIS = 300;
 
-    private OperationServiceImpl operationService;
+    private final OperationServiceImpl operationService;
     private final String serviceName;
     private final OperationFactory operationFactory;
     private final Map<Address, List<Integer>> memberPartitions;
-    private final Map<Address, Future> futures;
+    // guarded by itself; not a ConcurrentHashMap since the result of an operation can be null.
     private final Map<Integer, Object> partitionResults;
+    private final AtomicInteger pendingResponses = new AtomicInteger();
+    private final SettableCompletableFuture<Map<Integer, Object>> future;
 
     InvokeOnPartitions(OperationServiceImpl operationService, String serviceName, OperationFactory operationFactory,
                        Map<Address, List<Integer>> memberPartitions) {
@@ -49,24 +59,34 @@ final class InvokeOnPartitions {
         this.serviceName = serviceName;
         this.operationFactory = operationFactory;
         this.memberPartitions = memberPartitions;
-        this.futures = new HashMap<Address, Future>(memberPartitions.size());
         int partitionCount = operationService.nodeEngine.getPartitionService().getPartitionCount();
         this.partitionResults = new HashMap<Integer, Object>(partitionCount);
+        this.future = new SettableCompletableFuture<Map<Integer, Object>>(operationService.asyncExecutor);
     }
 
     /**
-     * Executes all the operations on the partitions.
+     * Executes all the operations on the partitions and waits for their results.
      */
     Map<Integer, Object> invoke() throws Exception {
         ensureNotCallingFromOperationThread();
 
-        invokeOnAllPartitions();
-
-        awaitCompletion();
+        return invokeAsync().get();
+    }
 
-        retryFailedPartitions();
+    /**
+     * Executes all the operations on the partitions without waiting for their results.
+     *
+     * @return the future which is completed with the results of all partitions.
+     */
+    ICompletableFuture<Map<Integer, Object>> invokeAsync() {
+        if (memberPartitions.isEmpty()) {
+            future.setResult(partitionResults);
+            return future;
+        }
 
-        return partitionResults;
+        pendingResponses.set(memberPartitions.size());
+        invokeOnAllPartitions();
+        return future;
     }
 
     private void ensureNotCallingFromOperationThread() {
@@ -79,57 +99,117 @@ final class InvokeOnPartitions {
         for (Map.Entry<Address, List<Integer>> mp : memberPartitions.entrySet()) {
             Address address = mp.getKey();
             List<Integer> partitions = mp.getValue();
-            PartitionIteratingOperation pi = new PartitionIteratingOperation(partitions, operationFactory);
-            Future future = operationService.createInvocationBuilder(serviceName, pi, address)
+            PartitionIteratingOperation pi = new PartitionIteratingOperation(partitions, createFactoryFor(partitions));
+            InternalCompletableFuture<Object> f = operationService.createInvocationBuilder(serviceName, pi, address)
                     .setTryCount(TRY_COUNT)
                     .setTryPauseMillis(TRY_PAUSE_MILLIS)
                     .invoke();
-            futures.put(address, future);
+            f.andThen(new MemberCallback(partitions));
+        }
+    }
+
+    private OperationFactory createFactoryFor(List<Integer> partitions) {
+        if (operationFactory instanceof PartitionAwareOperationFactory) {
+            // only send the part of the factory that is needed for the partitions of the member.
+            return ((PartitionAwareOperationFactory) operationFactory).createFactoryFor(partitions);
+        }
+        return operationFactory;
+    }
+
+    private Operation createOperation(int partitionId) {
+        if (operationFactory instanceof PartitionAwareOperationFactory) {
+            return ((PartitionAwareOperationFactory) operationFactory).createPartitionOperation(partitionId);
         }
+        return operationFactory.createOperation();
     }
 
-    private void awaitCompletion() {
-        NodeEngineImpl nodeEngine = operationService.nodeEngine;
-        for (Map.Entry<Address, Future> response : futures.entrySet()) {
+    private void retryFailedPartitions() {
+        List<Integer> failedPartitions = new LinkedList<Integer>();
+        synchronized (partitionResults) {
+            for (Map.Entry<Integer, Object> partitionResult : partitionResults.entrySet()) {
+                if (partitionResult.getValue() instanceof Throwable) {
+                    failedPartitions.add(partitionResult.getKey());
+                }
+            }
+        }
+
+        if (failedPartitions.isEmpty()) {
+            future.setResult(partitionResults);
+            return;
+        }
+
+        pendingResponses.set(failedPartitions.size());
+        for (Integer failedPartition : failedPartitions) {
+            InternalCompletableFuture<Object> f = operationService.createInvocationBuilder(
+                    serviceName, createOperation(failedPartition), failedPartition).invoke();
+            f.andThen(new RetryCallback(failedPartition));
+        }
+    }
+
+    private final class MemberCallback implements ExecutionCallback<Object> {
+        private final List<Integer> partitions;
+
+        private MemberCallback(List<Integer> partitions) {
+            this.partitions = partitions;
+        }
+
+        @Override
+        public void onResponse(Object response) {
             try {
-                Future future = response.getValue();
                 PartitionIteratingOperation.PartitionResponse result = (PartitionIteratingOperation.PartitionResponse)
-                        nodeEngine.toObject(future.get());
-                partitionResults.putAll(result.asMap());
-            } catch (Throwable t) {
-                if (operationService.logger.isFinestEnabled()) {
-                    operationService.logger.finest(t);
-                } else {
-                    operationService.logger.warning(t.getMessage());
+                        operationService.nodeEngine.toObject(response);
+                synchronized (partitionResults) {
+                    partitionResults.putAll(result.asMap());
                 }
-                List<Integer> partitions = memberPartitions.get(response.getKey());
+            } catch (Throwable t) {
+                onFailure(t);
+                return;
+            }
+            memberDone();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            if (operationService.logger.isFinestEnabled()) {
+                operationService.logger.finest(t);
+            } else {
+                operationService.logger.warning(t.getMessage());
+            }
+            synchronized (partitionResults) {
                 for (Integer partition : partitions) {
                     partitionResults.put(partition, t);
                 }
             }
+            memberDone();
         }
-    }
 
-    private void retryFailedPartitions() throws InterruptedException, ExecutionException {
-        List<Integer> failedPartitions = new LinkedList<Integer>();
-        for (Map.Entry<Integer, Object> partitionResult : partitionResults.entrySet()) {
-            int partitionId = partitionResult.getKey();
-            Object result = partitionResult.getValue();
-            if (result instanceof Throwable) {
-                failedPartitions.add(partitionId);
+        private void memberDone() {
+            if (pendingResponses.decrementAndGet() == 0) {
+                retryFailedPartitions();
             }
         }
+    }
 
-        for (Integer failedPartition : failedPartitions) {
-            Future f = operationService.createInvocationBuilder(
-                    serviceName, operationFactory.createOperation(), failedPartition).invoke();
-            partitionResults.put(failedPartition, f);
+    private final class RetryCallback implements ExecutionCallback<Object> {
+        private final int partitionId;
+
+        private RetryCallback(int partitionId) {
+            this.partitionId = partitionId;
         }
 
-        for (Integer failedPartition : failedPartitions) {
-            Future f = (Future) partitionResults.get(failedPartition);
-            Object result = f.get();
-            partitionResults.put(failedPartition, result);
+        @Override
+        public void onResponse(Object response) {
+            synchronized (partitionResults) {
+                partitionResults.put(partitionId, response);
+            }
+            if (pendingResponses.decrementAndGet() == 0) {
+                future.setResult(partitionResults);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            future.setError(t);
         }
     }
 }
@@ -27,6 +27,9 @@ import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationservice.impl.operations.IsStillExecutingOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.TraceableIsStillExecutingOperation;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -51,6 +54,9 @@ public class IsStillRunningService {
     //private final OperationServiceImpl operationService;
     private final NodeEngineImpl nodeEngine;
     private final OperationExecutor operationExecutor;
+    // operations that have been run, but that send their response later. E.g. a PartitionIteratingOperation that waits
+    // for the responses of its partition operations without occupying an operation thread.
+    private final Set<Operation> pendingOperations = Collections.newSetFromMap(new ConcurrentHashMap<Operation, Boolean>());
 
     public IsStillRunningService(OperationExecutor operationExecutor, NodeEngineImpl nodeEngine, ILogger logger) {
         this.operationExecutor = operationExecutor;
@@ -146,6 +152,26 @@ public class IsStillRunningService {
         return matches(op, callerAddress, operationCallId);
     }
 
+    /**
+     * Registers an operation that has been run, but that will send its response later. As long as the operation is
+     * registered, it is considered to be executing.
+     *
+     * @param op the operation.
+     */
+    public void registerPendingOperation(Operation op) {
+        pendingOperations.add(op);
+    }
+
+    /**
+     * Deregisters an operation registered with {@link #registerPendingOperation(Operation)}. Should be called when the
+     * response has been sent.
+     *
+     * @param op the operation.
+     */
+    public void deregisterPendingOperation(Operation op) {
+        pendingOperations.remove(op);
+    }
+
     private boolean isGenericOperationExecuting(Address callerAddress, long operationCallId) {
         OperationRunner[] genericOperationRunners = operationExecutor.getGenericOperationRunners();
         for (OperationRunner genericOperationRunner : genericOperationRunners) {
@@ -158,6 +184,12 @@ public class IsStillRunningService {
                 return true;
             }
         }
+
+        for (Operation op : pendingOperations) {
+            if (matches(op, callerAddress, operationCallId)) {
+                return true;
+            }
+        }
         return false;
     }
 
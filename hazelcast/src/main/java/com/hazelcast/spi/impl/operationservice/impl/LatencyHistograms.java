@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.internal.metrics.LatencyHistogram;
+import com.hazelcast.nio.Address;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+
+/**
+ * Contains the {@link LatencyHistogram} instances of the OperationService:
+ * <ol>
+ * <li>per operation class: the time an operation is being executed by an {@link OperationRunnerImpl}.</li>
+ * <li>per partition operation thread: the same time, but for all partition operations executed by the thread.</li>
+ * <li>per remote member: the time from the invocation till the response, including the backups, is received.</li>
+ * </ol>
+ * The histograms are created on first use; afterwards a lookup doesn't allocate.
+ */
+final class LatencyHistograms {
+
+    private static final ConstructorFunction<Object, LatencyHistogram> HISTOGRAM_CONSTRUCTOR
+            = new ConstructorFunction<Object, LatencyHistogram>() {
+        @Override
+        public LatencyHistogram createNew(Object arg) {
+            return new LatencyHistogram();
+        }
+    };
+
+    private final ConcurrentMap<Object, LatencyHistogram> operations = new ConcurrentHashMap<Object, LatencyHistogram>();
+    private final ConcurrentMap<Object, LatencyHistogram> partitionThreads
+            = new ConcurrentHashMap<Object, LatencyHistogram>();
+    private final ConcurrentMap<Object, LatencyHistogram> members = new ConcurrentHashMap<Object, LatencyHistogram>();
+
+    LatencyHistogram operation(Class operationClass) {
+        return getOrPutIfAbsent(operations, operationClass, HISTOGRAM_CONSTRUCTOR);
+    }
+
+    LatencyHistogram partitionThread(Thread thread) {
+        return getOrPutIfAbsent(partitionThreads, thread.getName(), HISTOGRAM_CONSTRUCTOR);
+    }
+
+    LatencyHistogram member(Address address) {
+        return getOrPutIfAbsent(members, address, HISTOGRAM_CONSTRUCTOR);
+    }
+
+    void render(StringBuffer sb) {
+        render(sb, "operation", operations);
+        render(sb, "partitionThread", partitionThreads);
+        render(sb, "member", members);
+    }
+
+    private static void render(StringBuffer sb, String type, Map<Object, LatencyHistogram> histograms) {
+        for (Map.Entry<Object, LatencyHistogram> entry : histograms.entrySet()) {
+            Object key = entry.getKey();
+            String name = key instanceof Class ? ((Class) key).getName() : key.toString();
+            sb.append(type).append('[').append(name).append("] ");
+            entry.getValue().render(sb);
+            sb.append('\n');
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
+import com.hazelcast.internal.metrics.LatencyHistogram;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -69,6 +70,16 @@ class OperationRunnerImpl extends OperationRunner {
     private final Node node;
     private final NodeEngineImpl nodeEngine;
     private final AtomicLong executedOperationsCount;
+    private final boolean latencyTracking;
+    // null if the latency histograms are disabled.
+    private final LatencyHistograms latencyHistograms;
+    // Only used by a partition specific OperationRunner; it is always run by the same thread.
+    private LatencyHistogram threadLatencyHistogram;
+
+    // Only written by the thread running this partition specific OperationRunner; read by the
+    // AdaptiveBackpressureController. So the non atomic increments are safe.
+    private volatile long latencyTotalMillis;
+    private volatile long latencyCount;
 
     // This field doesn't need additional synchronization, since a partition-specific OperationRunner
     // will never be called concurrently.
@@ -86,6 +97,16 @@ class OperationRunnerImpl extends OperationRunner {
         this.node = operationService.node;
         this.nodeEngine = operationService.nodeEngine;
         this.executedOperationsCount = operationService.executedOperationsCount;
+        this.latencyTracking = partitionId >= 0 && operationService.backpressureRegulator.isAdaptive();
+        this.latencyHistograms = operationService.latencyHistograms;
+    }
+
+    long getLatencyTotalMillis() {
+        return latencyTotalMillis;
+    }
+
+    long getLatencyCount() {
+        return latencyCount;
     }
 
     @Override
@@ -119,6 +140,9 @@ class OperationRunnerImpl extends OperationRunner {
             currentTask = op;
         }
 
+        long startNanos = latencyHistograms == null ? 0 : System.nanoTime();
+        // a parked operation runs again once it is notified; its latency is recorded then.
+        boolean parked = false;
         try {
             if (timeout(op)) {
                 return;
@@ -131,6 +155,7 @@ class OperationRunnerImpl extends OperationRunner {
             op.beforeRun();
 
             if (waitingNeeded(op)) {
+                parked = true;
                 return;
             }
 
@@ -143,7 +168,45 @@ class OperationRunnerImpl extends OperationRunner {
             if (publishCurrentTask) {
                 currentTask = null;
             }
+            if (!parked) {
+                recordLatency(op);
+            }
+            if (latencyHistograms != null) {
+                recordLatencyHistograms(op, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private void recordLatencyHistograms(Operation op, long durationNanos) {
+        latencyHistograms.operation(op.getClass()).recordNanos(durationNanos);
+
+        if (getPartitionId() < 0) {
+            return;
+        }
+
+        LatencyHistogram histogram = threadLatencyHistogram;
+        if (histogram == null) {
+            histogram = latencyHistograms.partitionThread(Thread.currentThread());
+            threadLatencyHistogram = histogram;
         }
+        histogram.recordNanos(durationNanos);
+    }
+
+    private void recordLatency(Operation op) {
+        if (!latencyTracking) {
+            return;
+        }
+
+        long invocationTime = op.getInvocationTime();
+        if (invocationTime <= 0) {
+            return;
+        }
+
+        long latencyMillis = nodeEngine.getClusterService().getClusterClock().getClusterTime() - invocationTime;
+        long total = latencyTotalMillis;
+        latencyTotalMillis = total + Math.max(0, latencyMillis);
+        long count = latencyCount;
+        latencyCount = count + 1;
     }
 
     private void ensureQuorumPresent(Operation op) {
@@ -18,6 +18,7 @@ package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.management.dto.SlowOperationDTO;
@@ -50,6 +51,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -86,6 +88,7 @@ public final class OperationServiceImpl implements InternalOperationService {
     private static final int CONCURRENCY_LEVEL = 16;
     private static final int ASYNC_QUEUE_CAPACITY = 100000;
     private static final long TERMINATION_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long ADAPTIVE_BACKPRESSURE_PERIOD_MILLIS = 100;
 
     final InvocationRegistry invocationsRegistry;
     final OperationExecutor operationExecutor;
@@ -98,10 +101,14 @@ public final class OperationServiceImpl implements InternalOperationService {
     final ILogger logger;
     final OperationBackupHandler operationBackupHandler;
     final BackpressureRegulator backpressureRegulator;
+    // null if the latency histograms are disabled.
+    final LatencyHistograms latencyHistograms;
     final long defaultCallTimeoutMillis;
 
     private final SlowOperationDetector slowOperationDetector;
     private final IsStillRunningService isStillRunningService;
+    private final AdaptiveBackpressureController adaptiveBackpressureController;
+    private final ScheduledFuture<?> adaptiveBackpressureFuture;
 
     public OperationServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -112,6 +119,8 @@ public final class OperationServiceImpl implements InternalOperationService {
         this.defaultCallTimeoutMillis = groupProperties.OPERATION_CALL_TIMEOUT_MILLIS.getLong();
 
         this.backpressureRegulator = new BackpressureRegulator(groupProperties, logger);
+        this.latencyHistograms = groupProperties.OPERATION_LATENCY_HISTOGRAMS_ENABLED.getBoolean()
+                ? new LatencyHistograms() : null;
 
         int coreSize = Runtime.getRuntime().availableProcessors();
         boolean reallyMultiCore = coreSize >= CORE_SIZE_CHECK;
@@ -137,6 +146,17 @@ public final class OperationServiceImpl implements InternalOperationService {
                 ASYNC_QUEUE_CAPACITY, ExecutorType.CONCRETE);
 
         this.slowOperationDetector = initSlowOperationDetector();
+
+        if (backpressureRegulator.isAdaptive()) {
+            this.adaptiveBackpressureController = new AdaptiveBackpressureController(backpressureRegulator,
+                    (CallIdSequence.CallIdSequenceWithBackpressure) invocationsRegistry.getCallIdSequence(),
+                    operationExecutor, groupProperties, logger);
+            this.adaptiveBackpressureFuture = executionService.scheduleWithFixedDelay(adaptiveBackpressureController,
+                    ADAPTIVE_BACKPRESSURE_PERIOD_MILLIS, ADAPTIVE_BACKPRESSURE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            this.adaptiveBackpressureController = null;
+            this.adaptiveBackpressureFuture = null;
+        }
     }
 
     private SlowOperationDetector initSlowOperationDetector() {
@@ -159,9 +179,19 @@ public final class OperationServiceImpl implements InternalOperationService {
                 .append(format("%.2f", invocationsRegistry.getInvocationUsagePercentage())).append("%\n");
         sb.append("invocationsMax=")
                 .append(backpressureRegulator.getMaxConcurrentInvocations()).append('\n');
+        if (adaptiveBackpressureController != null) {
+            adaptiveBackpressureController.dumpPerformanceMetrics(sb);
+        }
         operationExecutor.dumpPerformanceMetrics(sb);
     }
 
+    @Override
+    public void dumpLatencyHistograms(StringBuffer sb) {
+        if (latencyHistograms != null) {
+            latencyHistograms.render(sb);
+        }
+    }
+
     @Override
     public List<SlowOperationDTO> getSlowOperationDTOs() {
         return slowOperationDetector.getSlowOperationDTOs();
@@ -329,6 +359,29 @@ public final class OperationServiceImpl implements InternalOperationService {
     @Override
     public Map<Integer, Object> invokeOnPartitions(String serviceName, OperationFactory operationFactory,
                                                    Collection<Integer> partitions) throws Exception {
+        Map<Address, List<Integer>> memberPartitions = getMemberPartitions(partitions);
+        InvokeOnPartitions invokeOnPartitions = new InvokeOnPartitions(this, serviceName, operationFactory, memberPartitions);
+        return invokeOnPartitions.invoke();
+    }
+
+    @Override
+    public ICompletableFuture<Map<Integer, Object>> invokeOnAllPartitionsAsync(String serviceName,
+                                                                             OperationFactory operationFactory) {
+        Map<Address, List<Integer>> memberPartitions = nodeEngine.getPartitionService().getMemberPartitionsMap();
+        InvokeOnPartitions invokeOnPartitions = new InvokeOnPartitions(this, serviceName, operationFactory, memberPartitions);
+        return invokeOnPartitions.invokeAsync();
+    }
+
+    @Override
+    public ICompletableFuture<Map<Integer, Object>> invokeOnPartitionsAsync(String serviceName,
+                                                                          OperationFactory operationFactory,
+                                                                          Collection<Integer> partitions) {
+        Map<Address, List<Integer>> memberPartitions = getMemberPartitions(partitions);
+        InvokeOnPartitions invokeOnPartitions = new InvokeOnPartitions(this, serviceName, operationFactory, memberPartitions);
+        return invokeOnPartitions.invokeAsync();
+    }
+
+    private Map<Address, List<Integer>> getMemberPartitions(Collection<Integer> partitions) {
         Map<Address, List<Integer>> memberPartitions = new HashMap<Address, List<Integer>>(3);
         InternalPartitionService partitionService = nodeEngine.getPartitionService();
         for (int partition : partitions) {
@@ -340,8 +393,7 @@ public final class OperationServiceImpl implements InternalOperationService {
 
             memberPartitions.get(owner).add(partition);
         }
-        InvokeOnPartitions invokeOnPartitions = new InvokeOnPartitions(this, serviceName, operationFactory, memberPartitions);
-        return invokeOnPartitions.invoke();
+        return memberPartitions;
     }
 
     @Override
@@ -400,6 +452,9 @@ public final class OperationServiceImpl implements InternalOperationService {
 
     public void shutdown() {
         logger.finest("Shutting down OperationService");
+        if (adaptiveBackpressureFuture != null) {
+            adaptiveBackpressureFuture.cancel(false);
+        }
         invocationsRegistry.shutdown();
         operationExecutor.shutdown();
         slowOperationDetector.shutdown();
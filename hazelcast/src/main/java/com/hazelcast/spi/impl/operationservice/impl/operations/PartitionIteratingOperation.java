@@ -16,7 +16,6 @@
 
 package com.hazelcast.spi.impl.operationservice.impl.operations;
 
-import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -26,10 +25,12 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationAccessor;
 import com.hazelcast.spi.OperationFactory;
+import com.hazelcast.spi.PartitionAwareOperationFactory;
 import com.hazelcast.spi.ResponseHandler;
 import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.impl.operationservice.impl.IsStillRunningService;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
-import com.hazelcast.util.ResponseQueueFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -37,13 +38,22 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
+/**
+ * Executes the operations created by an {@link OperationFactory} on a set of partitions of this member and sends the
+ * combined results as a single {@link PartitionResponse}.
+ * <p/>
+ * The operation doesn't wait for the partition operations to complete; the responses are collected by callbacks and the
+ * partition operation that completes last sends the response. So a generic operation thread is only occupied for
+ * offloading the partition operations. While the partition operations are running, the operation is registered as
+ * pending in the {@link IsStillRunningService} so that the invocation isn't considered lost.
+ */
 public final class PartitionIteratingOperation extends AbstractOperation implements IdentifiedDataSerializable {
 
     private List<Integer> partitions;
     private OperationFactory operationFactory;
-    private Map<Integer, Object> results;
 
     public PartitionIteratingOperation(List<Integer> partitions, OperationFactory operationFactory) {
         this.partitions = partitions != null ? partitions : Collections.<Integer>emptyList();
@@ -55,75 +65,119 @@ public final class PartitionIteratingOperation extends AbstractOperation impleme
 
     @Override
     public void run() throws Exception {
-        results = new HashMap<Integer, Object>(partitions.size());
-        try {
-            Map<Integer, ResponseQueue> responses = executeOperations();
-            getResults(responses);
-        } catch (Exception e) {
-            getLogger(getNodeEngine()).severe(e);
-        }
-    }
-
-    private void getResults(Map<Integer, ResponseQueue> responses) throws InterruptedException {
-        for (Map.Entry<Integer, ResponseQueue> responseQueueEntry : responses.entrySet()) {
-            final ResponseQueue queue = responseQueueEntry.getValue();
-            final Integer key = responseQueueEntry.getKey();
-            final Object result = queue.get();
-            if (result instanceof NormalResponse) {
-                results.put(key, ((NormalResponse) result).getValue());
-            } else {
-                results.put(key, result);
-            }
+        ResponseCollector collector = new ResponseCollector();
+        if (partitions.isEmpty()) {
+            collector.sendResponse();
+            return;
         }
+
+        getIsStillRunningService().registerPendingOperation(this);
+        executeOperations(collector);
     }
 
-    private Map<Integer, ResponseQueue> executeOperations() {
+    private void executeOperations(ResponseCollector collector) {
         NodeEngine nodeEngine = getNodeEngine();
-        Map<Integer, ResponseQueue> responses = new HashMap<Integer, ResponseQueue>(partitions.size());
-        for (final int partitionId : partitions) {
-            ResponseQueue responseQueue = new ResponseQueue();
-            final Operation op = operationFactory.createOperation();
-            op.setNodeEngine(nodeEngine)
-                    .setPartitionId(partitionId)
-                    .setReplicaIndex(getReplicaIndex())
-                    .setResponseHandler(responseQueue)
-                    .setServiceName(getServiceName())
-                    .setService(getService())
-                    .setCallerUuid(getCallerUuid());
-            OperationAccessor.setCallerAddress(op, getCallerAddress());
-            responses.put(partitionId, responseQueue);
-            nodeEngine.getOperationService().executeOperation(op);
-        }
-        return responses;
+        for (int k = 0; k < partitions.size(); k++) {
+            int partitionId = partitions.get(k);
+            PartitionResponseHandler responseHandler = new PartitionResponseHandler(collector, k);
+            try {
+                Operation op = createOperation(partitionId);
+                op.setNodeEngine(nodeEngine)
+                        .setPartitionId(partitionId)
+                        .setReplicaIndex(getReplicaIndex())
+                        .setResponseHandler(responseHandler)
+                        .setServiceName(getServiceName())
+                        .setService(getService())
+                        .setCallerUuid(getCallerUuid());
+                OperationAccessor.setCallerAddress(op, getCallerAddress());
+                nodeEngine.getOperationService().executeOperation(op);
+            } catch (Exception e) {
+                getLogger(nodeEngine).severe(e);
+                responseHandler.sendResponse(e);
+            }
+        }
+    }
+
+    private Operation createOperation(int partitionId) {
+        if (operationFactory instanceof PartitionAwareOperationFactory) {
+            return ((PartitionAwareOperationFactory) operationFactory).createPartitionOperation(partitionId);
+        }
+        return operationFactory.createOperation();
+    }
+
+    private IsStillRunningService getIsStillRunningService() {
+        OperationServiceImpl operationService = (OperationServiceImpl) getNodeEngine().getOperationService();
+        return operationService.getIsStillRunningService();
     }
 
     @Override
     public void afterRun() throws Exception {
     }
 
+    @Override
+    public boolean returnsResponse() {
+        // the response is sent by the ResponseCollector when all partition operations have completed.
+        return false;
+    }
+
     private ILogger getLogger(NodeEngine nodeEngine) {
         return nodeEngine.getLogger(PartitionIteratingOperation.class.getName());
     }
 
-    @Override
-    public Object getResponse() {
-        return new PartitionResponse(results);
+    /**
+     * Collects the responses of the partition operations. The responses can be received concurrently by different
+     * partition threads; the thread that receives the last response sends the response of the PartitionIteratingOperation.
+     */
+    private final class ResponseCollector {
+        private final Object[] responses = new Object[partitions.size()];
+        private final AtomicInteger remaining = new AtomicInteger(partitions.size());
+
+        private void onResponse(int index, Object response) {
+            if (response instanceof NormalResponse) {
+                response = ((NormalResponse) response).getValue();
+            }
+            responses[index] = response;
+
+            // the decrement publishes the write to the responses array to the thread that receives the last response.
+            if (remaining.decrementAndGet() == 0) {
+                try {
+                    sendResponse();
+                } finally {
+                    getIsStillRunningService().deregisterPendingOperation(PartitionIteratingOperation.this);
+                }
+            }
+        }
+
+        private void sendResponse() {
+            Map<Integer, Object> results = new HashMap<Integer, Object>(partitions.size());
+            for (int k = 0; k < responses.length; k++) {
+                results.put(partitions.get(k), responses[k]);
+            }
+            getResponseHandler().sendResponse(new PartitionResponse(results));
+        }
     }
 
-    private static class ResponseQueue implements ResponseHandler {
-        final BlockingQueue b = ResponseQueueFactory.newResponseQueue();
+    private static final class PartitionResponseHandler implements ResponseHandler {
+        private static final AtomicIntegerFieldUpdater<PartitionResponseHandler> SENT
+                = AtomicIntegerFieldUpdater.newUpdater(PartitionResponseHandler.class, "sent");
+
+        private final ResponseCollector collector;
+        private final int index;
+        private volatile int sent;
+
+        private PartitionResponseHandler(ResponseCollector collector, int index) {
+            this.collector = collector;
+            this.index = index;
+        }
 
         @Override
         public void sendResponse(Object obj) {
-            if (!b.offer(obj)) {
-                throw new HazelcastException("Response could not be queued for transportation");
+            // an operation can send a response more than once; e.g. when afterRun fails. Only the first one is used.
+            if (SENT.compareAndSet(this, 0, 1)) {
+                collector.onResponse(index, obj);
             }
         }
 
-        public Object get() throws InterruptedException {
-            return b.take();
-        }
-
         @Override
         public boolean isLocal() {
             return true;
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A concurrent map with primitive long keys.
+ * <p/>
+ * The map is split in a number of stripes; each stripe is an open addressing hash table with linear probing. Updates
+ * are guarded by the lock of the stripe, so concurrent updates of different stripes don't contend. A get doesn't
+ * lock: it probes the table using volatile reads and only falls back to the lock when it finds nothing while a
+ * concurrent remove or resize could have moved the entry; the stripe acts as a seqlock for this check. The key is
+ * never boxed; a put allocates a single immutable entry holding the key and the value.
+ * <p/>
+ * Iteration over the values is weakly consistent: the stripes are visited one by one and a snapshot of the values
+ * of a stripe is taken while its lock is held. So the iterator never throws a ConcurrentModificationException, but it
+ * can miss values that are added or return values that already have been removed during the iteration.
+ * <p/>
+ * Null values are not allowed.
+ *
+ * @param <V> the type of the values.
+ */
+public final class ConcurrentLongHashMap<V> {
+
+    private static final int MIN_STRIPE_CAPACITY = 8;
+    private static final int LOAD_FACTOR_DIVISOR = 2;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    /**
+     * Creates a ConcurrentLongHashMap.
+     *
+     * @param initialCapacity  the expected number of entries; the map grows when needed.
+     * @param concurrencyLevel the expected number of concurrently updating threads; used to determine the number of stripes.
+     * @throws IllegalArgumentException if initialCapacity or concurrencyLevel is not positive.
+     */
+    public ConcurrentLongHashMap(int initialCapacity, int concurrencyLevel) {
+        checkPositive(initialCapacity, "initialCapacity should be positive");
+        checkPositive(concurrencyLevel, "concurrencyLevel should be positive");
+
+        int stripeCount = nextPowerOfTwo(concurrencyLevel);
+        int stripeCapacity = nextPowerOfTwo(Math.max(MIN_STRIPE_CAPACITY,
+                initialCapacity / stripeCount * LOAD_FACTOR_DIVISOR));
+
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        for (int k = 0; k < stripeCount; k++) {
+            stripes[k] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * Gets the value for the given key.
+     *
+     * @param key the key.
+     * @return the value, or null if no value is found.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long hash = MurmurHash3_fmix(key);
+        return (V) stripeFor(hash).get(key, hash);
+    }
+
+    /**
+     * Associates the value with the given key.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the previous value, or null if there was none.
+     * @throws NullPointerException if value is null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        checkNotNull(value, "value can't be null");
+
+        long hash = MurmurHash3_fmix(key);
+        return (V) stripeFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * Removes the value for the given key.
+     *
+     * @param key the key.
+     * @return the removed value, or null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        long hash = MurmurHash3_fmix(key);
+        return (V) stripeFor(hash).remove(key, hash);
+    }
+
+    /**
+     * Returns the number of entries. The value is a best effort value since the stripes can be modified
+     * concurrently.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Stripe stripe : stripes) {
+            if (stripe.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a weakly consistent view on the values of this map.
+     *
+     * @return the values.
+     */
+    public Iterable<V> values() {
+        return new Iterable<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueIterator();
+            }
+        };
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes[(int) hash & stripeMask];
+    }
+
+    private static final class Stripe {
+        // only written while holding the lock, but can be read without.
+        private volatile int size;
+        // seqlock: odd while entries are being removed or relocated and even once the table is consistent again, so a
+        // lock-free reader can detect that a miss is possibly caused by a concurrent removal or relocation.
+        private volatile int modCount;
+        // the table is only modified while holding the lock, but can be read without.
+        private volatile AtomicReferenceArray<Entry> table;
+
+        private Stripe(int capacity) {
+            table = new AtomicReferenceArray<Entry>(capacity);
+        }
+
+        // the low bits of the hash are used for selecting the stripe, so the high bits are used for the slot.
+        private static int slot(long hash, int mask) {
+            return (int) (hash >>> 32) & mask;
+        }
+
+        private static Entry find(AtomicReferenceArray<Entry> table, long key, long hash) {
+            int mask = table.length() - 1;
+            for (int slot = slot(hash, mask); ; slot = (slot + 1) & mask) {
+                Entry entry = table.get(slot);
+                if (entry == null || entry.key == key) {
+                    return entry;
+                }
+            }
+        }
+
+        private Object get(long key, long hash) {
+            int expectedModCount = modCount;
+            Entry entry = find(table, key, hash);
+            if (entry != null) {
+                return entry.value;
+            }
+            if ((expectedModCount & 1) == 0 && modCount == expectedModCount) {
+                return null;
+            }
+            // an entry could have been moved across the probe position; retry while holding the lock.
+            synchronized (this) {
+                entry = find(table, key, hash);
+                return entry == null ? null : entry.value;
+            }
+        }
+
+        private synchronized Object put(long key, long hash, Object value) {
+            AtomicReferenceArray<Entry> table = this.table;
+            int mask = table.length() - 1;
+            int slot = slot(hash, mask);
+            for (; ; slot = (slot + 1) & mask) {
+                Entry current = table.get(slot);
+                if (current == null) {
+                    break;
+                }
+                if (current.key == key) {
+                    table.set(slot, new Entry(key, value));
+                    return current.value;
+                }
+            }
+
+            table.set(slot, new Entry(key, value));
+            size++;
+            if (size * LOAD_FACTOR_DIVISOR > table.length()) {
+                grow(table);
+            }
+            return null;
+        }
+
+        private void grow(AtomicReferenceArray<Entry> oldTable) {
+            AtomicReferenceArray<Entry> newTable = new AtomicReferenceArray<Entry>(oldTable.length() * 2);
+            int mask = newTable.length() - 1;
+            for (int k = 0; k < oldTable.length(); k++) {
+                Entry entry = oldTable.get(k);
+                if (entry == null) {
+                    continue;
+                }
+                int slot = slot(MurmurHash3_fmix(entry.key), mask);
+                while (newTable.get(slot) != null) {
+                    slot = (slot + 1) & mask;
+                }
+                newTable.set(slot, entry);
+            }
+
+            modCount++;
+            table = newTable;
+            // readers still probing the old table must not find entries that are later removed from the new one.
+            for (int k = 0; k < oldTable.length(); k++) {
+                oldTable.set(k, null);
+            }
+            modCount++;
+        }
+
+        private synchronized Object remove(long key, long hash) {
+            AtomicReferenceArray<Entry> table = this.table;
+            int mask = table.length() - 1;
+            for (int slot = slot(hash, mask); ; slot = (slot + 1) & mask) {
+                Entry entry = table.get(slot);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.key == key) {
+                    modCount++;
+                    table.set(slot, null);
+                    size--;
+                    compact(table, slot);
+                    modCount++;
+                    return entry.value;
+                }
+            }
+        }
+
+        // Shifts the entries following the removed slot back, so no tombstones are needed.
+        private static void compact(AtomicReferenceArray<Entry> table, int removedSlot) {
+            int mask = table.length() - 1;
+            int hole = removedSlot;
+            for (int slot = (removedSlot + 1) & mask; ; slot = (slot + 1) & mask) {
+                Entry entry = table.get(slot);
+                if (entry == null) {
+                    return;
+                }
+                int home = slot(MurmurHash3_fmix(entry.key), mask);
+                // the entry can be moved into the hole if its home slot is not cyclically in (hole, slot]
+                boolean movable = hole <= slot ? (home <= hole || home > slot) : (home <= hole && home > slot);
+                if (movable) {
+                    // first copy, then clear, so the entry is always present for readers probing from its home slot
+                    table.set(hole, entry);
+                    table.set(slot, null);
+                    hole = slot;
+                }
+            }
+        }
+
+        private synchronized Object[] snapshot() {
+            AtomicReferenceArray<Entry> table = this.table;
+            Object[] snapshot = new Object[size];
+            int index = 0;
+            for (int k = 0; k < table.length(); k++) {
+                Entry entry = table.get(k);
+                if (entry != null) {
+                    snapshot[index++] = entry.value;
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    private static final class Entry {
+        private final long key;
+        private final Object value;
+
+        private Entry(long key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final class ValueIterator implements Iterator<V> {
+        private int stripeIndex;
+        private Object[] snapshot = new Object[0];
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            while (index == snapshot.length) {
+                if (stripeIndex == stripes.length) {
+                    return false;
+                }
+                snapshot = stripes[stripeIndex].snapshot();
+                stripeIndex++;
+                index = 0;
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (V) snapshot[index++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.util.executor;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.hazelcast.util.Preconditions.isNotNull;
+
+/**
+ * An {@link ICompletableFuture} which is completed explicitly by calling {@link #setResult(Object)} or
+ * {@link #setError(Throwable)}.
+ * <p/>
+ * It is used to return the outcome of an asynchronous call whose responses need some processing, e.g. converting
+ * the responses of several partitions into a single map, from the callback of the underlying future instead of
+ * blocking a thread until the responses arrive. Only the first completion takes effect.
+ *
+ * @param <V> the type of the result.
+ */
+public final class SettableCompletableFuture<V> implements ICompletableFuture<V> {
+
+    private static final Object NO_RESULT = new Object();
+    private static final ILogger LOGGER = Logger.getLogger(SettableCompletableFuture.class);
+
+    private final Executor asyncExecutor;
+    // guarded by this
+    private final List<CallbackEntry<V>> callbacks = new ArrayList<CallbackEntry<V>>(1);
+    private volatile Object result = NO_RESULT;
+
+    /**
+     * @param asyncExecutor the executor running the callbacks registered without an executor.
+     */
+    public SettableCompletableFuture(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Completes this future with the given result.
+     *
+     * @param value the result.
+     * @return true if this future is completed by this call, false if it was already completed.
+     */
+    public boolean setResult(V value) {
+        return complete(value);
+    }
+
+    /**
+     * Completes this future with the given failure.
+     *
+     * @param error the failure.
+     * @return true if this future is completed by this call, false if it was already completed.
+     */
+    public boolean setError(Throwable error) {
+        return complete(new Failure(error));
+    }
+
+    private boolean complete(Object value) {
+        List<CallbackEntry<V>> callbackEntries;
+        synchronized (this) {
+            if (result != NO_RESULT) {
+                return false;
+            }
+            result = value;
+            callbackEntries = new ArrayList<CallbackEntry<V>>(callbacks);
+            callbacks.clear();
+            notifyAll();
+        }
+        for (CallbackEntry<V> entry : callbackEntries) {
+            runAsynchronous(entry.callback, entry.executor, value);
+        }
+        return true;
+    }
+
+    @Override
+    public void andThen(ExecutionCallback<V> callback) {
+        andThen(callback, asyncExecutor);
+    }
+
+    @Override
+    public void andThen(ExecutionCallback<V> callback, Executor executor) {
+        isNotNull(callback, "callback");
+        isNotNull(executor, "executor");
+
+        Object value;
+        synchronized (this) {
+            value = result;
+            if (value == NO_RESULT) {
+                callbacks.add(new CallbackEntry<V>(callback, executor));
+                return;
+            }
+        }
+        runAsynchronous(callback, executor, value);
+    }
+
+    private void runAsynchronous(final ExecutionCallback<V> callback, Executor executor, final Object value) {
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (value instanceof Failure) {
+                        callback.onFailure(((Failure) value).error);
+                    } else {
+                        callback.onResponse((V) value);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning("Execution of callback: " + callback + " is rejected!", e);
+        }
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+        try {
+            return get(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // should not happen!
+            return ExceptionUtil.sneakyThrow(e);
+        }
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        Object value = result;
+        if (value == NO_RESULT) {
+            long remainingNanos = unit.toNanos(timeout);
+            synchronized (this) {
+                while (result == NO_RESULT) {
+                    if (remainingNanos <= 0) {
+                        throw new TimeoutException("Timeout of " + timeout + " " + unit + " exceeded");
+                    }
+                    long start = System.nanoTime();
+                    TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+                    remainingNanos -= System.nanoTime() - start;
+                }
+                value = result;
+            }
+        }
+
+        if (value instanceof Failure) {
+            Throwable error = ((Failure) value).error;
+            if (error instanceof ExecutionException) {
+                throw (ExecutionException) error;
+            }
+            throw new ExecutionException(error);
+        }
+        return (V) value;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return result != NO_RESULT;
+    }
+
+    private static final class CallbackEntry<V> {
+        private final ExecutionCallback<V> callback;
+        private final Executor executor;
+
+        private CallbackEntry(ExecutionCallback<V> callback, Executor executor) {
+            this.callback = callback;
+            this.executor = executor;
+        }
+    }
+
+    private static final class Failure {
+        private final Throwable error;
+
+        private Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+}
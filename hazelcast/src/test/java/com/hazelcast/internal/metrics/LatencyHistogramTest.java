@@ -0,0 +1,108 @@
+package com.hazelcast.internal.metrics;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class LatencyHistogramTest extends HazelcastTestSupport {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void whenEmpty() {
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.p50());
+        assertEquals(0, histogram.p999());
+    }
+
+    @Test
+    public void bucketIndex_andHighestValue_areConsistent() {
+        for (long value = 0; value < 100000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long highest = LatencyHistogram.highestValue(index);
+            assertTrue(value <= highest);
+            assertEquals(index + 1, LatencyHistogram.bucketIndex(highest + 1));
+        }
+    }
+
+    @Test
+    public void bucketIndex_whenSmallValues_thenExact() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.highestValue(LatencyHistogram.bucketIndex(value)));
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        for (int k = 1; k <= 1000; k++) {
+            histogram.record(k);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1000, histogram.max());
+        assertWithinRelativeError(500, histogram.p50());
+        assertWithinRelativeError(990, histogram.p99());
+        assertWithinRelativeError(999, histogram.p999());
+        assertEquals(1000, histogram.percentile(100));
+    }
+
+    @Test
+    public void recordNanos() {
+        histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(1, histogram.count());
+        assertEquals(5000, histogram.max());
+    }
+
+    @Test
+    public void record_whenNegative_thenZero() {
+        histogram.record(-10);
+
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    public void record_whenTooLarge_thenClamped() {
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.max());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.p50());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentile_whenZero() {
+        histogram.percentile(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentile_whenAboveHundred() {
+        histogram.percentile(100.1);
+    }
+
+    @Test
+    public void render() {
+        histogram.record(10);
+
+        StringBuffer sb = new StringBuffer();
+        histogram.render(sb);
+
+        assertEquals("count=1, p50=10us, p99=10us, p99.9=10us, max=10us", sb.toString());
+    }
+
+    private static void assertWithinRelativeError(long expected, long actual) {
+        assertTrue("expected " + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 16);
+    }
+}
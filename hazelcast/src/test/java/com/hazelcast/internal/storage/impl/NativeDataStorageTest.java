@@ -0,0 +1,99 @@
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NativeDataStorageTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private PooledMemoryAllocator allocator;
+    private NativeDataStorage storage;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        allocator = new PooledMemoryAllocator(1 << 20, 1 << 16, 16);
+        storage = new NativeDataStorage(allocator);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy();
+    }
+
+    @Test
+    public void put_thenGet() {
+        Data data = serializationService.toData("foo");
+
+        DataRef ref = storage.put(data.getPartitionHash(), data);
+
+        assertEquals(data.totalSize(), ref.size());
+        Data found = storage.get(data.getPartitionHash(), ref);
+        assertEquals(data, found);
+        assertEquals("foo", serializationService.toObject(found));
+        assertEquals(allocator.blockSize(8 + data.totalSize()), allocator.getUsedMemory());
+    }
+
+    @Test
+    public void put_whenLargerThanPage_thenGet() {
+        byte[] value = new byte[(1 << 16) * 3];
+        value[value.length - 1] = 42;
+        Data data = serializationService.toData(value);
+
+        DataRef ref = storage.put(data.getPartitionHash(), data);
+
+        assertEquals(data, storage.get(data.getPartitionHash(), ref));
+        assertEquals(4 << 16, allocator.getUsedMemory());
+
+        storage.remove(data.getPartitionHash(), ref);
+
+        assertEquals(0, allocator.getUsedMemory());
+    }
+
+    @Test
+    public void remove() {
+        Data data = serializationService.toData("foo");
+        DataRef ref = storage.put(data.getPartitionHash(), data);
+
+        storage.remove(data.getPartitionHash(), ref);
+
+        assertEquals(0, allocator.getUsedMemory());
+    }
+
+    @Test
+    public void get_whenRemoved_thenNull() {
+        Data data = serializationService.toData("foo");
+        DataRef ref = storage.put(data.getPartitionHash(), data);
+        storage.remove(data.getPartitionHash(), ref);
+
+        assertNull(storage.get(data.getPartitionHash(), ref));
+    }
+
+    @Test
+    public void get_whenBlockReused_thenNull() {
+        Data data = serializationService.toData("foo");
+        DataRef ref = storage.put(data.getPartitionHash(), data);
+        storage.remove(data.getPartitionHash(), ref);
+
+        Data other = serializationService.toData("bar");
+        DataRef otherRef = storage.put(other.getPartitionHash(), other);
+
+        assertNull(storage.get(data.getPartitionHash(), ref));
+        assertEquals(other, storage.get(other.getPartitionHash(), otherRef));
+    }
+}
@@ -0,0 +1,134 @@
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class PooledMemoryAllocatorTest extends HazelcastTestSupport {
+
+    private static final int PAGE_SIZE = 1024;
+    private static final int MIN_BLOCK_SIZE = 16;
+
+    private PooledMemoryAllocator allocator;
+
+    @Before
+    public void setup() {
+        allocator = new PooledMemoryAllocator(4 * PAGE_SIZE, PAGE_SIZE, MIN_BLOCK_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        allocator.destroy();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenMinBlockSizeLargerThanPageSize() {
+        new PooledMemoryAllocator(4 * PAGE_SIZE, PAGE_SIZE, 2 * PAGE_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenMaxMemorySmallerThanPageSize() {
+        new PooledMemoryAllocator(PAGE_SIZE / 2, PAGE_SIZE, MIN_BLOCK_SIZE);
+    }
+
+    @Test
+    public void blockSize() {
+        assertEquals(16, allocator.blockSize(1));
+        assertEquals(16, allocator.blockSize(16));
+        assertEquals(32, allocator.blockSize(17));
+        assertEquals(PAGE_SIZE, allocator.blockSize(PAGE_SIZE));
+        assertEquals(2 * PAGE_SIZE, allocator.blockSize(PAGE_SIZE + 1));
+        assertEquals(3 * PAGE_SIZE, allocator.blockSize(3 * PAGE_SIZE));
+    }
+
+    @Test
+    public void allocate_whenLargerThanPageSize() {
+        long address = allocator.allocate(PAGE_SIZE + 1);
+        allocator.allocate(16);
+
+        assertEquals(2 * PAGE_SIZE + 16, allocator.getUsedMemory());
+        assertEquals(3 * PAGE_SIZE, allocator.getCommittedMemory());
+
+        allocator.free(address, PAGE_SIZE + 1);
+
+        assertEquals(16, allocator.getUsedMemory());
+        assertEquals(address, allocator.allocate(2 * PAGE_SIZE));
+        assertEquals(3 * PAGE_SIZE, allocator.getCommittedMemory());
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void allocate_whenLargerThanMaxMemory() {
+        allocator.allocate(4 * PAGE_SIZE + 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void allocate_whenZero() {
+        allocator.allocate(0);
+    }
+
+    @Test
+    public void allocate() {
+        long address1 = allocator.allocate(10);
+        long address2 = allocator.allocate(10);
+
+        assertNotEquals(address1, address2);
+        assertEquals(32, allocator.getUsedMemory());
+        assertEquals(PAGE_SIZE, allocator.getCommittedMemory());
+        assertEquals(PAGE_SIZE - 32, allocator.getFragmentedMemory());
+        assertEquals(4 * PAGE_SIZE - 32, allocator.getFreeMemory());
+    }
+
+    @Test
+    public void free_thenBlockReused() {
+        long address = allocator.allocate(10);
+        allocator.free(address, 10);
+
+        assertEquals(0, allocator.getUsedMemory());
+        assertEquals(address, allocator.allocate(12));
+        assertEquals(PAGE_SIZE, allocator.getCommittedMemory());
+    }
+
+    @Test
+    public void allocate_whenDifferentSizeClasses_thenPagePerSizeClass() {
+        allocator.allocate(16);
+        allocator.allocate(64);
+
+        assertEquals(2 * PAGE_SIZE, allocator.getCommittedMemory());
+        assertEquals(80, allocator.getUsedMemory());
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void allocate_whenMaxMemoryExhausted() {
+        for (int k = 0; k < 5; k++) {
+            allocator.allocate(PAGE_SIZE);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void allocate_whenDestroyed() {
+        allocator.allocate(16);
+        allocator.destroy();
+
+        allocator.allocate(16);
+    }
+
+    @Test
+    public void destroy() {
+        allocator.allocate(16);
+        allocator.destroy();
+
+        assertEquals(0, allocator.getCommittedMemory());
+        assertEquals(0, allocator.getUsedMemory());
+    }
+}
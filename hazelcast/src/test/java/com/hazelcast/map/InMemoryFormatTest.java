@@ -19,8 +19,12 @@ package com.hazelcast.map;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryStats;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
@@ -34,12 +38,14 @@ import org.junit.runner.RunWith;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotSame;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -128,6 +134,63 @@ public class InMemoryFormatTest extends HazelcastTestSupport {
         assertTrue(objectMap2.containsValue(v1));
     }
 
+    @Test
+    public void nativeMap() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+
+        Config config = new Config();
+        config.setNativeMemoryConfig(new NativeMemoryConfig()
+                .setEnabled(true)
+                .setSize(new MemorySize(16, MemoryUnit.MEGABYTES))
+                .setPageSize(1 << 20));
+        config.addMapConfig(new MapConfig("nativeMap").setInMemoryFormat(InMemoryFormat.NATIVE));
+
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+
+        IMap<String, String> map = hz1.getMap("nativeMap");
+        for (int k = 0; k < 100; k++) {
+            map.put("key" + k, "value" + k);
+        }
+        map.put("key0", "updated");
+        map.remove("key1");
+
+        assertEquals(99, map.size());
+        assertEquals("updated", map.get("key0"));
+        assertNull(map.get("key1"));
+        assertEquals("value2", hz2.getMap("nativeMap").get("key2"));
+
+        MemoryStats memoryStats = getNode(hz1).getNodeExtension().getMemoryStats();
+        assertEquals(16 << 20, memoryStats.getMaxNativeMemory());
+        assertTrue(memoryStats.getUsedNativeMemory() > 0);
+        assertTrue(memoryStats.getCommittedNativeMemory() >= memoryStats.getUsedNativeMemory());
+
+        hz2.shutdown();
+        assertEquals(99, map.size());
+        assertEquals("value2", map.get("key2"));
+    }
+
+    @Test
+    public void nativeMap_whenValueLargerThanPage() {
+        Config config = new Config();
+        config.setNativeMemoryConfig(new NativeMemoryConfig()
+                .setEnabled(true)
+                .setSize(new MemorySize(16, MemoryUnit.MEGABYTES))
+                .setPageSize(1 << 20));
+        config.addMapConfig(new MapConfig("nativeMap").setInMemoryFormat(InMemoryFormat.NATIVE));
+        HazelcastInstance hz = createHazelcastInstanceFactory(1).newHazelcastInstance(config);
+        IMap<String, byte[]> map = hz.getMap("nativeMap");
+        byte[] value = new byte[3 << 20];
+        value[value.length - 1] = 1;
+
+        map.put("key", value);
+        map.put("key", value);
+
+        assertTrue(Arrays.equals(value, map.get("key")));
+        MemoryStats memoryStats = getNode(hz).getNodeExtension().getMemoryStats();
+        assertEquals(4 << 20, memoryStats.getUsedNativeMemory());
+    }
+
     public static final class Pair implements Serializable {
         private final String significant;
         private final String insignificant;
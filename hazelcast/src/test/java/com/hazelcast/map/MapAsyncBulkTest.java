@@ -0,0 +1,168 @@
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapAsyncBulkTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void setUp() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        map = instance.getMap(randomMapName());
+    }
+
+    @Test
+    public void testGetAllAsync() throws Exception {
+        fill();
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            keys.add(i);
+        }
+
+        Map<Integer, Integer> result = map.getAllAsync(keys).get();
+
+        assertEquals(keys.size(), result.size());
+        for (Integer key : keys) {
+            assertEquals(key, result.get(key));
+        }
+    }
+
+    @Test
+    public void testGetAllAsync_whenEmptyKeys() throws Exception {
+        Map<Integer, Integer> result = map.getAllAsync(new HashSet<Integer>()).get();
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testPutAllAsync() throws Exception {
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            entries.put(i, i);
+        }
+
+        ICompletableFuture<Void> future = map.putAllAsync(entries);
+
+        assertNull(future.get());
+        assertEquals(ENTRY_COUNT, map.size());
+        assertEquals(7, (int) map.get(7));
+    }
+
+    @Test
+    public void testSetAsync() throws Exception {
+        map.setAsync(1, 1).get();
+
+        assertEquals(1, (int) map.get(1));
+    }
+
+    @Test
+    public void testSetAsync_withTtl() throws Exception {
+        map.setAsync(1, 1, 1, TimeUnit.SECONDS).get();
+
+        assertEquals(1, (int) map.get(1));
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(map.containsKey(1));
+            }
+        });
+    }
+
+    @Test
+    public void testDeleteAsync() throws Exception {
+        map.put(1, 1);
+
+        map.deleteAsync(1).get();
+
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testDeleteAsync_whenNullKey() {
+        map.deleteAsync(null);
+    }
+
+    @Test
+    public void testExecuteOnKeysAsync() throws Exception {
+        fill();
+        Set<Integer> keys = new HashSet<Integer>();
+        keys.add(1);
+        keys.add(2);
+
+        Map<Integer, Object> result = map.executeOnKeysAsync(keys, new IncrementingEntryProcessor()).get();
+
+        assertEquals(2, result.size());
+        assertEquals(2, result.get(1));
+        assertEquals(3, (int) map.get(2));
+        assertEquals(3, (int) map.get(3));
+    }
+
+    @Test
+    public void testExecuteOnEntriesAsync() throws Exception {
+        fill();
+
+        Map<Integer, Object> result = map.executeOnEntriesAsync(new IncrementingEntryProcessor()).get();
+
+        assertEquals(ENTRY_COUNT, result.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i + 1, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void testExecuteOnEntriesAsync_withPredicate() throws Exception {
+        fill();
+
+        Map<Integer, Object> result = map.executeOnEntriesAsync(new IncrementingEntryProcessor(),
+                new SqlPredicate("this < 10")).get();
+
+        assertEquals(10, result.size());
+        assertEquals(1, (int) map.get(0));
+        assertEquals(10, (int) map.get(10));
+    }
+
+    private void fill() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+    }
+
+    private static class IncrementingEntryProcessor extends AbstractEntryProcessor<Integer, Integer> {
+
+        @Override
+        public Object process(Map.Entry<Integer, Integer> entry) {
+            int value = entry.getValue() + 1;
+            entry.setValue(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ExpirationWheelTest extends HazelcastTestSupport {
+
+    private static final long TICK = 100;
+    private static final long START = 10000;
+
+    private SerializationService serializationService;
+    private ExpirationWheel wheel;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        wheel = new ExpirationWheel(TICK, 8);
+    }
+
+    private Data key(int k) {
+        return serializationService.toData(k);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenSlotCountNotPowerOfTwo() {
+        new ExpirationWheel(TICK, 6);
+    }
+
+    @Test
+    public void advance_whenEmpty() {
+        assertTrue(wheel.advance(START).isEmpty());
+    }
+
+    @Test
+    public void schedule_whenNeverExpires_thenIgnored() {
+        wheel.schedule(key(1), Long.MAX_VALUE, START);
+
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void advance_neverReturnsKeyBeforeExpirationTime() {
+        wheel.schedule(key(1), START + 250, START);
+
+        assertTrue(wheel.advance(START + 250).isEmpty());
+        assertEquals(asList(key(1)), wheel.advance(START + 300));
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(START + 1000).isEmpty());
+    }
+
+    @Test
+    public void advance_whenExpirationTimeInThePast_thenReturnedOnNextTick() {
+        wheel.schedule(key(1), START, START);
+        wheel.advance(START + 1000);
+
+        wheel.schedule(key(2), START, START + 1000);
+
+        assertEquals(asList(key(2)), wheel.advance(START + 1100));
+    }
+
+    @Test
+    public void advance_whenMultipleRevolutions() {
+        // the wheel has 8 slots, so this is more than a revolution ahead.
+        wheel.schedule(key(1), START + 2000, START);
+
+        assertTrue(wheel.advance(START + 1000).isEmpty());
+        assertTrue(wheel.advance(START + 1900).isEmpty());
+        assertEquals(asList(key(1)), wheel.advance(START + 2100));
+    }
+
+    @Test
+    public void advance_whenMoreThanRevolutionPassed_thenAllDueKeysReturned() {
+        for (int k = 0; k < 20; k++) {
+            wheel.schedule(key(k), START + k * TICK, START);
+        }
+
+        List<Data> due = wheel.advance(START + 5000);
+
+        assertEquals(20, due.size());
+        assertEquals(20, new HashSet<Data>(due).size());
+    }
+
+    @Test
+    public void schedule_whenLaterThanScheduled_thenIgnored() {
+        wheel.schedule(key(1), START + 100, START);
+        wheel.schedule(key(1), START + 500, START);
+
+        assertEquals(1, wheel.size());
+        assertEquals(asList(key(1)), wheel.advance(START + 200));
+        assertTrue(wheel.advance(START + 1000).isEmpty());
+    }
+
+    @Test
+    public void schedule_whenEarlierThanScheduled_thenRescheduled() {
+        wheel.schedule(key(1), START + 500, START);
+        wheel.schedule(key(1), START + 100, START);
+
+        assertEquals(1, wheel.size());
+        assertEquals(asList(key(1)), wheel.advance(START + 200));
+        // the earlier schedule has been removed.
+        assertTrue(wheel.advance(START + 1000).isEmpty());
+    }
+
+    @Test
+    public void advance_onlyReturnsDueKeys() {
+        wheel.schedule(key(1), START + 100, START);
+        wheel.schedule(key(2), START + 300, START);
+        wheel.schedule(key(3), START + 500, START);
+
+        Set<Data> due = new HashSet<Data>(wheel.advance(START + 400));
+
+        assertEquals(new HashSet<Data>(asList(key(1), key(2))), due);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void unschedule() {
+        wheel.schedule(key(1), START + 100, START);
+        wheel.schedule(key(2), START + 100, START);
+        wheel.schedule(key(3), START + 100, START);
+
+        wheel.unschedule(key(1));
+        wheel.unschedule(key(3));
+        wheel.unschedule(key(4));
+
+        assertEquals(1, wheel.size());
+        assertEquals(asList(key(2)), wheel.advance(START + 200));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void unschedule_thenScheduleAgain() {
+        wheel.schedule(key(1), START + 500, START);
+        wheel.unschedule(key(1));
+
+        wheel.schedule(key(1), START + 700, START);
+
+        assertTrue(wheel.advance(START + 600).isEmpty());
+        assertEquals(asList(key(1)), wheel.advance(START + 800));
+    }
+
+    @Test
+    public void clear() {
+        wheel.schedule(key(1), START + 100, START);
+
+        wheel.clear();
+
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(START + 1000).isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class SamplingMapEvictionStrategyTest extends HazelcastTestSupport {
+
+    private static final int MAX_SIZE = 1000;
+
+    @Test
+    public void parse() {
+        assertEquals(MapEvictionStrategyType.SAMPLING, MapEvictionStrategyType.parse("sampling"));
+        assertEquals(MapEvictionStrategyType.SORTING, MapEvictionStrategyType.parse("SORTING"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_whenUnknown() {
+        MapEvictionStrategyType.parse("random");
+    }
+
+    @Test
+    public void lru_evictsLeastRecentlyUsed() {
+        testEviction(EvictionPolicy.LRU);
+    }
+
+    @Test
+    public void lfu_evictsLeastFrequentlyUsed() {
+        testEviction(EvictionPolicy.LFU);
+    }
+
+    private void testEviction(EvictionPolicy evictionPolicy) {
+        String mapName = randomMapName();
+        IMap<Integer, Integer> map = createMap(mapName, evictionPolicy);
+
+        // these entries are used, so they should survive the eviction.
+        int usedCount = MAX_SIZE / 2;
+        for (int i = 0; i < usedCount; i++) {
+            map.put(i, i);
+            map.get(i);
+        }
+        for (int i = usedCount; i < MAX_SIZE * 5; i++) {
+            map.put(i, i);
+        }
+
+        // only the entries above the max size are evicted.
+        int size = map.size();
+        assertTrue("size: " + size, size <= MAX_SIZE);
+        assertTrue("size: " + size, size >= MAX_SIZE / 2);
+
+        // sampling is approximate, so a few of the used entries could have been evicted.
+        int survivors = 0;
+        for (int i = 0; i < usedCount; i++) {
+            if (map.containsKey(i)) {
+                survivors++;
+            }
+        }
+        assertTrue("survivors: " + survivors, survivors >= usedCount * 95 / 100);
+    }
+
+    private IMap<Integer, Integer> createMap(String mapName, EvictionPolicy evictionPolicy) {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "1");
+        config.setProperty(GroupProperties.PROP_MAP_EVICTION_STRATEGY, "sampling");
+        MapConfig mapConfig = config.getMapConfig(mapName);
+        mapConfig.setEvictionPolicy(evictionPolicy);
+        mapConfig.setMinEvictionCheckMillis(0L);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(MAX_SIZE, MaxSizeConfig.MaxSizePolicy.PER_PARTITION));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        return instance.getMap(mapName);
+    }
+}
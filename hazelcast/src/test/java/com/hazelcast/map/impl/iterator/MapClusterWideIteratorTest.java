@@ -0,0 +1,97 @@
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapClusterWideIteratorTest extends HazelcastTestSupport {
+
+    @Test
+    public void iterator_returnsAllEntries() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i * 2);
+        }
+
+        Map<Integer, Integer> found = new HashMap<Integer, Integer>();
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(7);
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            assertEquals(entry.getKey() * 2, (int) entry.getValue());
+            found.put(entry.getKey(), entry.getValue());
+        }
+
+        assertEquals(1000, found.size());
+    }
+
+    @Test
+    public void iterator_whenEmpty() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+
+        assertFalse(map.iterator().hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void next_whenNoMoreEntries() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        map.put(1, 1);
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator();
+        iterator.next();
+
+        iterator.next();
+    }
+
+    @Test
+    public void remove() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(10);
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(50, map.size());
+        assertTrue(map.containsKey(1));
+        assertFalse(map.containsKey(2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void remove_whenNextNotCalled() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        map.put(1, 1);
+
+        map.iterator().remove();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void iterator_whenZeroFetchSize() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+
+        map.iterator(0);
+    }
+}
@@ -63,7 +63,7 @@ public abstract class QueryOperationTestSupport {
                 .thenReturn(queryEntries);
 
         IndexService indexService = mock(IndexService.class);
-        when(indexService.query(TruePredicate.INSTANCE)).thenReturn(queryEntrySet);
+        when(indexService.query(TruePredicate.INSTANCE, true)).thenReturn(queryEntrySet);
 
         MapConfig mapConfig = mock(MapConfig.class);
         when(mapConfig.isStatisticsEnabled()).thenReturn(false);
@@ -0,0 +1,250 @@
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class QueryCacheTest extends HazelcastTestSupport {
+
+    @Test
+    public void getQueryCache_whenPopulate_thenContainsMatchingEntries() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        assertEquals(50, cache.size());
+        assertEquals(75, (int) cache.get(75));
+        assertNull(cache.get(25));
+        assertSame(cache, map.getQueryCache("cache", new SqlPredicate("this >= 50"), true));
+    }
+
+    @Test
+    public void getQueryCache_whenMapChanges_thenReflected() {
+        final IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        map.put(1, 60);
+        map.put(2, 10);
+        map.put(3, 70);
+        map.put(3, 20);
+        map.put(4, 80);
+        map.remove(4);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, cache.size());
+                assertEquals(60, (int) cache.get(1));
+                assertFalse(cache.containsKey(3));
+                assertFalse(cache.containsKey(4));
+            }
+        });
+
+        map.clear();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(cache.isEmpty());
+            }
+        });
+    }
+
+    @Test
+    public void getQueryCache_whenBatchedAndCoalesced_thenLatestValueReflected() {
+        String mapName = randomMapName();
+        Config config = new Config();
+        QueryCacheConfig cacheConfig = new QueryCacheConfig("cache")
+                .setPredicateConfig(new PredicateConfig(new SqlPredicate("this >= 0")))
+                .setBatchSize(100)
+                .setDelaySeconds(1);
+        cacheConfig.setCoalesce(true);
+        config.getMapConfig(mapName).addQueryCacheConfig(cacheConfig);
+        final IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache");
+
+        for (int i = 0; i < 10; i++) {
+            map.put(1, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(9, (int) cache.get(1));
+            }
+        });
+    }
+
+    @Test
+    public void getQueryCache_whenListener_thenNotifiedOfInitialEntries() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        final AtomicInteger added = new AtomicInteger();
+
+        map.getQueryCache("cache", new EntryAddedListener<Integer, Integer>() {
+            @Override
+            public void entryAdded(EntryEvent<Integer, Integer> event) {
+                added.incrementAndGet();
+            }
+        }, new SqlPredicate("this < 5"), true);
+
+        assertEquals(5, added.get());
+    }
+
+    @Test
+    public void query_whenIndexed() {
+        final IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+        cache.addIndex("this", true);
+
+        assertEquals(10, cache.keySet(new SqlPredicate("this >= 90")).size());
+        assertEquals(10, cache.values(new SqlPredicate("this < 60")).size());
+    }
+
+    @Test
+    public void eviction_whenExceedsMaxSize_thenEvicted() {
+        String mapName = randomMapName();
+        Config config = new Config();
+        QueryCacheConfig cacheConfig = new QueryCacheConfig("cache")
+                .setPredicateConfig(new PredicateConfig(new SqlPredicate("this >= 0")));
+        cacheConfig.getEvictionConfig().setSize(100);
+        config.getMapConfig(mapName).addQueryCacheConfig(cacheConfig);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+        for (int i = 0; i < 200; i++) {
+            map.put(i, i);
+        }
+
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache");
+
+        assertTrue(cache.size() <= 100);
+        assertEquals(200, map.size());
+    }
+
+    @Test
+    public void eviction_whenLFU_thenLeastFrequentlyUsedEvicted() {
+        String mapName = randomMapName();
+        Config config = new Config();
+        QueryCacheConfig cacheConfig = new QueryCacheConfig("cache")
+                .setPredicateConfig(new PredicateConfig(new SqlPredicate("this >= 0")));
+        cacheConfig.getEvictionConfig().setSize(100).setEvictionPolicy(EvictionPolicy.LFU);
+        config.getMapConfig(mapName).addQueryCacheConfig(cacheConfig);
+        final IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache");
+        final AtomicInteger evicted = new AtomicInteger();
+        cache.addEntryListener(new EntryEvictedListener<Integer, Integer>() {
+            @Override
+            public void entryEvicted(EntryEvent<Integer, Integer> event) {
+                evicted.incrementAndGet();
+            }
+        }, false);
+        // a sample always contains entries which are not used
+        for (int i = 0; i < 10; i++) {
+            cache.get(i);
+        }
+
+        for (int i = 100; i < 150; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(50, evicted.get());
+            }
+        });
+        assertEquals(100, cache.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(cache.containsKey(i));
+        }
+
+        // the evicted entries are no longer tracked by their partitions
+        map.clear();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(cache.isEmpty());
+            }
+        });
+    }
+
+    @Test
+    public void getQueryCache_whenMemberJoins_thenStaysConsistent() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance();
+        final IMap<Integer, Integer> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        factory.newHazelcastInstance();
+        waitAllForSafeState();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i + 100);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, cache.size());
+                assertEquals(150, (int) cache.get(50));
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getQueryCache_whenNotConfigured() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+
+        map.getQueryCache("cache");
+    }
+
+    @Test
+    public void destroy_thenNewCacheCreated() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 0"), true);
+
+        cache.destroy();
+
+        assertFalse(cache == map.getQueryCache("cache", new SqlPredicate("this >= 0"), true));
+    }
+}
@@ -0,0 +1,145 @@
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class CompactRecordTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private Data key;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData("key");
+    }
+
+    @Test
+    public void dataRecordFactory_whenNoStatisticsAndNoEviction_thenCompact() {
+        MapConfig config = new MapConfig().setStatisticsEnabled(false);
+        DataRecordFactory factory = new DataRecordFactory(config, serializationService, null);
+
+        assertTrue(factory.newRecord(key, "value") instanceof CompactDataRecord);
+    }
+
+    @Test
+    public void dataRecordFactory_whenOptimizeQueries_thenNotCompact() {
+        MapConfig config = new MapConfig().setStatisticsEnabled(false).setOptimizeQueries(true);
+        DataRecordFactory factory = new DataRecordFactory(config, serializationService, null);
+
+        assertTrue(factory.newRecord(key, "value") instanceof CachedDataRecord);
+    }
+
+    @Test
+    public void objectRecordFactory_whenNoStatisticsAndNoEviction_thenCompact() {
+        MapConfig config = new MapConfig().setStatisticsEnabled(false);
+        ObjectRecordFactory factory = new ObjectRecordFactory(config, serializationService);
+
+        Record<Object> record = factory.newRecord(key, "value");
+
+        assertTrue(record instanceof CompactObjectRecord);
+        assertEquals("value", record.getValue());
+    }
+
+    @Test
+    public void notApplicable_whenStatisticsEnabled() {
+        assertNotApplicable(new MapConfig().setStatisticsEnabled(true));
+    }
+
+    @Test
+    public void notApplicable_whenEviction() {
+        assertNotApplicable(new MapConfig().setStatisticsEnabled(false).setEvictionPolicy(EvictionPolicy.LRU));
+    }
+
+    @Test
+    public void notApplicable_whenTimeToLive() {
+        assertNotApplicable(new MapConfig().setStatisticsEnabled(false).setTimeToLiveSeconds(10));
+    }
+
+    @Test
+    public void notApplicable_whenMaxIdle() {
+        assertNotApplicable(new MapConfig().setStatisticsEnabled(false).setMaxIdleSeconds(10));
+    }
+
+    private void assertNotApplicable(MapConfig config) {
+        assertFalse(AbstractCompactRecord.isApplicable(config));
+    }
+
+    @Test
+    public void timestamps_haveSecondGranularity() {
+        CompactDataRecord record = new CompactDataRecord(key, null);
+        long now = AbstractCompactRecord.EPOCH_MILLIS + 12345678L;
+
+        record.setCreationTime(now);
+        record.setLastAccessTime(now);
+        record.setLastUpdateTime(now);
+
+        assertEquals(AbstractCompactRecord.EPOCH_MILLIS + 12345000L, record.getCreationTime());
+        assertEquals(AbstractCompactRecord.EPOCH_MILLIS + 12345000L, record.getLastAccessTime());
+        // rounded up, so a TTL never expires the entry early.
+        assertEquals(AbstractCompactRecord.EPOCH_MILLIS + 12346000L, record.getLastUpdateTime());
+    }
+
+    @Test
+    public void timestamps_whenZero() {
+        CompactDataRecord record = new CompactDataRecord(key, null);
+
+        record.setLastAccessTime(0L);
+
+        assertEquals(0L, record.getLastAccessTime());
+    }
+
+    @Test
+    public void ttl() {
+        CompactDataRecord record = new CompactDataRecord(key, null);
+
+        record.setTtl(0L);
+        assertEquals(0L, record.getTtl());
+
+        record.setTtl(1L);
+        assertEquals(1000L, record.getTtl());
+
+        record.setTtl(5000L);
+        assertEquals(5000L, record.getTtl());
+
+        record.setTtl(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, record.getTtl());
+    }
+
+    @Test
+    public void version() {
+        CompactDataRecord record = new CompactDataRecord(key, null);
+
+        record.setVersion(10L);
+        record.onUpdate();
+
+        assertEquals(11L, record.getVersion());
+    }
+
+    @Test
+    public void noStatisticsAndNoEvictionCriteria() {
+        CompactDataRecord record = new CompactDataRecord(key, null);
+
+        record.setEvictionCriteriaNumber(10L);
+
+        assertNull(record.getStatistics());
+        assertEquals(0L, record.getEvictionCriteriaNumber());
+    }
+}
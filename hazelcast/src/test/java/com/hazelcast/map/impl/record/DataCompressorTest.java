@@ -0,0 +1,127 @@
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.CompressionConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.nio.serialization.CompressedValue;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class DataCompressorTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private Data key;
+    private String largeValue;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData("key");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item\",\"tags\":[\"a\",\"b\"]}");
+        }
+        largeValue = sb.toString();
+    }
+
+    @Test
+    public void newDataCompressor_whenNotEnabled_thenNull() {
+        assertNull(DataCompressor.newDataCompressor(new MapConfig(), serializationService));
+    }
+
+    @Test
+    public void compress_whenLarge_thenCompressedAndDeserializable() {
+        DataCompressor compressor = newCompressor(new CompressionConfig().setEnabled(true));
+        Data data = serializationService.toData(largeValue);
+
+        Data compressed = compressor.compress(data);
+
+        assertTrue(CompressedValue.isCompressed(compressed));
+        assertTrue(compressed.totalSize() < data.totalSize());
+        assertEquals(largeValue, serializationService.toObject(compressed));
+        assertEquals(data, compressor.decompress(compressed));
+        assertEquals(1, compressor.getCompressedCount());
+        assertTrue(compressor.compressionRatio() < 1D);
+    }
+
+    @Test
+    public void compress_whenBelowThreshold_thenNotCompressed() {
+        DataCompressor compressor = newCompressor(new CompressionConfig().setEnabled(true));
+        Data data = serializationService.toData("small");
+
+        assertSame(data, compressor.compress(data));
+        assertEquals(0, compressor.getCompressedCount());
+    }
+
+    @Test
+    public void compress_whenIncompressible_thenNotCompressed() {
+        DataCompressor compressor = newCompressor(new CompressionConfig().setEnabled(true).setThresholdBytes(0));
+        byte[] bytes = new byte[4096];
+        new Random(1).nextBytes(bytes);
+        Data data = serializationService.toData(bytes);
+
+        assertSame(data, compressor.compress(data));
+        assertEquals(1, compressor.getIncompressibleCount());
+    }
+
+    @Test
+    public void compress_whenAlreadyCompressed_thenUnchanged() {
+        DataCompressor compressor = newCompressor(new CompressionConfig().setEnabled(true));
+        Data compressed = compressor.compress(serializationService.toData(largeValue));
+
+        assertSame(compressed, compressor.compress(compressed));
+    }
+
+    @Test
+    public void compress_withDictionary() {
+        byte[] dictionary = "{\"id\":,\"name\":\"item\",\"tags\":[\"a\",\"b\"]}".getBytes();
+        DataCompressor compressor = newCompressor(new CompressionConfig().setEnabled(true).setThresholdBytes(0)
+                .setDictionary(dictionary));
+        String value = "{\"id\":1,\"name\":\"item\",\"tags\":[\"a\",\"b\"]}";
+
+        Data compressed = compressor.compress(serializationService.toData(value));
+
+        assertTrue(CompressedValue.isCompressed(compressed));
+        assertEquals(value, serializationService.toObject(compressed));
+    }
+
+    @Test
+    public void dataRecordFactory_whenCompressionEnabled() {
+        MapConfig config = new MapConfig();
+        config.getCompressionConfig().setEnabled(true);
+        DataRecordFactory factory = new DataRecordFactory(config, serializationService, null);
+
+        Record<Data> record = factory.newRecord(key, largeValue);
+
+        assertTrue(CompressedValue.isCompressed(record.getValue()));
+        assertEquals(largeValue, serializationService.toObject(record.getValue()));
+        assertTrue(factory.isEquals(record.getValue(), largeValue));
+        assertTrue(factory.isEquals(largeValue, record.getValue()));
+        assertFalse(factory.isEquals(record.getValue(), largeValue + "x"));
+
+        factory.setValue(record, serializationService.toData(largeValue + "y"));
+        assertTrue(CompressedValue.isCompressed(record.getValue()));
+        assertEquals(largeValue + "y", serializationService.toObject(record.getValue()));
+    }
+
+    private DataCompressor newCompressor(CompressionConfig config) {
+        return new DataCompressor(config, serializationService);
+    }
+}
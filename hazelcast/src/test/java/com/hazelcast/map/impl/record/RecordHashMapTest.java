@@ -0,0 +1,262 @@
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class RecordHashMapTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private RecordHashMap map;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        map = new RecordHashMap(4);
+    }
+
+    private Data key(int k) {
+        return serializationService.toData(k);
+    }
+
+    private Record record(int k) {
+        return new DataRecord(key(k), serializationService.toData("value" + k));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenZeroInitialCapacity() {
+        new RecordHashMap(0);
+    }
+
+    @Test
+    public void put_thenGet() {
+        Record record = record(1);
+
+        assertNull(map.put(key(1), record));
+
+        assertSame(record, map.get(key(1)));
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(key(1)));
+        assertNull(map.get(key(2)));
+    }
+
+    @Test
+    public void put_whenExisting_thenReplaced() {
+        Record record1 = record(1);
+        Record record2 = record(1);
+        map.put(key(1), record1);
+
+        assertSame(record1, map.put(key(1), record2));
+
+        assertSame(record2, map.get(key(1)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void put_whenManyEntries_thenGrows() {
+        for (int k = 0; k < 10000; k++) {
+            map.put(key(k), record(k));
+        }
+
+        assertEquals(10000, map.size());
+        for (int k = 0; k < 10000; k++) {
+            assertEquals(key(k), map.get(key(k)).getKey());
+        }
+    }
+
+    @Test
+    public void remove() {
+        Record record = record(1);
+        map.put(key(1), record);
+
+        assertSame(record, map.remove(key(1)));
+
+        assertNull(map.get(key(1)));
+        assertTrue(map.isEmpty());
+        assertNull(map.remove(key(1)));
+    }
+
+    @Test
+    public void remove_thenPutAgain() {
+        map.put(key(1), record(1));
+        map.remove(key(1));
+        Record record = record(1);
+
+        assertNull(map.put(key(1), record));
+
+        assertSame(record, map.get(key(1)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void remove_whenManyEntries() {
+        for (int k = 0; k < 10000; k++) {
+            map.put(key(k), record(k));
+        }
+        for (int k = 0; k < 10000; k += 2) {
+            map.remove(key(k));
+        }
+
+        assertEquals(5000, map.size());
+        for (int k = 0; k < 10000; k++) {
+            assertEquals(k % 2 != 0, map.containsKey(key(k)));
+        }
+    }
+
+    @Test
+    public void clear() {
+        map.put(key(1), record(1));
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(key(1)));
+    }
+
+    @Test
+    public void iterator() {
+        for (int k = 0; k < 100; k++) {
+            map.put(key(k), record(k));
+        }
+
+        Set<Data> keys = new HashSet<Data>();
+        for (Record record : map.values()) {
+            keys.add(record.getKey());
+        }
+
+        assertEquals(new HashSet<Data>(map.keySet()), keys);
+        assertEquals(100, keys.size());
+    }
+
+    @Test
+    public void iterator_remove() {
+        for (int k = 0; k < 100; k++) {
+            map.put(key(k), record(k));
+        }
+
+        Iterator<Record> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void iterator_whenModifiedDuringIteration() {
+        for (int k = 0; k < 100; k++) {
+            map.put(key(k), record(k));
+        }
+
+        int count = 0;
+        for (Data key : map.keySet()) {
+            map.remove(key);
+            map.put(key(1000 + count), record(1000 + count));
+            count++;
+        }
+
+        // the iteration is weakly consistent, so it can return some of the added keys as well.
+        assertTrue(count >= 100);
+        assertEquals(100, map.size());
+        for (int k = 0; k < 100; k++) {
+            assertFalse(map.containsKey(key(k)));
+        }
+    }
+
+    @Test
+    public void getRandomSamples() {
+        for (int k = 0; k < 100; k++) {
+            map.put(key(k), record(k));
+        }
+
+        List<Record> samples = map.getRandomSamples(10);
+
+        assertEquals(10, samples.size());
+        assertEquals(10, new HashSet<Record>(samples).size());
+    }
+
+    @Test
+    public void getRandomSamples_whenFewerEntries() {
+        map.put(key(1), record(1));
+
+        List<Record> samples = map.getRandomSamples(10);
+
+        assertEquals(1, samples.size());
+    }
+
+    @Test
+    public void fetch() {
+        for (int k = 0; k < 100; k++) {
+            map.put(key(k), record(k));
+        }
+
+        Set<Record> fetched = new HashSet<Record>();
+        int tableIndex = Integer.MAX_VALUE;
+        int batches = 0;
+        while (tableIndex >= 0) {
+            List<Record> batch = new ArrayList<Record>();
+            tableIndex = map.fetch(tableIndex, 10, batch);
+            assertTrue(batch.size() <= 10);
+            fetched.addAll(batch);
+            batches++;
+        }
+
+        assertEquals(100, fetched.size());
+        assertTrue(batches >= 10);
+    }
+
+    @Test
+    public void fetch_whenEmpty() {
+        List<Record> batch = new ArrayList<Record>();
+
+        int tableIndex = map.fetch(Integer.MAX_VALUE, 10, batch);
+
+        assertEquals(-1, tableIndex);
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void putIfAbsent() {
+        Record record1 = record(1);
+        Record record2 = record(1);
+
+        assertNull(map.putIfAbsent(key(1), record1));
+        assertSame(record1, map.putIfAbsent(key(1), record2));
+        assertSame(record1, map.get(key(1)));
+    }
+
+    @Test
+    public void replace() {
+        Record record1 = record(1);
+        Record record2 = record(1);
+
+        assertNull(map.replace(key(1), record1));
+        assertFalse(map.containsKey(key(1)));
+
+        map.put(key(1), record1);
+        assertTrue(map.replace(key(1), record1, record2));
+        assertSame(record2, map.get(key(1)));
+    }
+}
@@ -137,10 +137,19 @@ public class QueryIndexMigrationTest extends HazelcastTestSupport {
     }
 
     @Test
-    @Ignore
     public void testQueryWithIndexesWhileMigrating() throws Exception {
+        testQueryWithIndexesWhileMigrating(new Config());
+    }
 
-        HazelcastInstance h1 = nodeFactory.newHazelcastInstance();
+    @Test
+    public void testQueryWithPartitionedIndexesWhileMigrating() throws Exception {
+        Config config = new Config();
+        config.getMapConfig("employees").setPartitionedIndexes(true);
+        testQueryWithIndexesWhileMigrating(config);
+    }
+
+    private void testQueryWithIndexesWhileMigrating(Config config) throws Exception {
+        HazelcastInstance h1 = nodeFactory.newHazelcastInstance(config);
         IMap imap = h1.getMap("employees");
         imap.addIndex("age", true);
         imap.addIndex("active", false);
@@ -152,7 +161,7 @@ public class QueryIndexMigrationTest extends HazelcastTestSupport {
         Set<Map.Entry> entries = imap.entrySet(new SqlPredicate("active=true and age>44"));
         assertEquals(30, entries.size());
 
-        nodeFactory.newInstances(new Config(), 3);
+        nodeFactory.newInstances(config, 3);
 
         long startNow = Clock.currentTimeMillis();
         while ((Clock.currentTimeMillis() - startNow) < 10000) {
@@ -0,0 +1,157 @@
+package com.hazelcast.map.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.RecordStore;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class QueryPartitionedIndexTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "employees";
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testQuery() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = getConfig(false);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        IMap<Integer, Employee> map = instance.getMap(MAP_NAME);
+        fill(map);
+
+        assertQueryResults(map);
+    }
+
+    @Test
+    public void testQuery_withParallelEvaluation() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = getConfig(true);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        IMap<Integer, Employee> map = instance.getMap(MAP_NAME);
+        fill(map);
+
+        assertQueryResults(map);
+    }
+
+    @Test
+    public void testQuery_whenIndexAddedAfterPopulation() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(1);
+        Config config = new Config();
+        config.getMapConfig(MAP_NAME).setPartitionedIndexes(true);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        IMap<Integer, Employee> map = instance.getMap(MAP_NAME);
+        fill(map);
+
+        map.addIndex("age", true);
+        map.addIndex("name", false);
+
+        assertQueryResults(map);
+    }
+
+    @Test
+    public void testQuery_afterMigration() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        Config config = getConfig(false);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        final IMap<Integer, Employee> map = instance.getMap(MAP_NAME);
+        fill(map);
+
+        factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        waitAllForSafeState();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertQueryResults(map);
+            }
+        });
+    }
+
+    @Test
+    public void testIndexesOwnedByRecordStore() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(1);
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig(false));
+        IMap<Integer, Employee> map = instance.getMap(MAP_NAME);
+        fill(map);
+
+        MapServiceContext mapServiceContext = getMapServiceContext(instance);
+        RecordStore recordStore = mapServiceContext.getRecordStore(0, MAP_NAME);
+        RecordStore otherRecordStore = mapServiceContext.getRecordStore(1, MAP_NAME);
+
+        assertNotSame(recordStore.getIndexService(), otherRecordStore.getIndexService());
+        assertNotSame(mapServiceContext.getMapContainer(MAP_NAME).getIndexService(), recordStore.getIndexService());
+        assertEquals(2, recordStore.getIndexService().getIndexes().length);
+    }
+
+    @Test
+    public void testIndexesSharedWithoutPartitionedIndexes() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(1);
+        Config config = getConfig(false);
+        config.getMapConfig(MAP_NAME).setPartitionedIndexes(false);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        IMap<Integer, Employee> map = instance.getMap(MAP_NAME);
+        fill(map);
+
+        MapServiceContext mapServiceContext = getMapServiceContext(instance);
+        RecordStore recordStore = mapServiceContext.getRecordStore(0, MAP_NAME);
+
+        assertSame(mapServiceContext.getMapContainer(MAP_NAME).getIndexService(), recordStore.getIndexService());
+        assertQueryResults(map);
+    }
+
+    private Config getConfig(boolean parallelEvaluation) {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_QUERY_PREDICATE_PARALLEL_EVALUATION, String.valueOf(parallelEvaluation));
+        config.getMapConfig(MAP_NAME)
+                .setPartitionedIndexes(true)
+                .addMapIndexConfig(new MapIndexConfig("age", true))
+                .addMapIndexConfig(new MapIndexConfig("name", false));
+        return config;
+    }
+
+    private static MapServiceContext getMapServiceContext(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext();
+    }
+
+    private static void fill(IMap<Integer, Employee> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i, "name" + i, i % 100, true, i));
+        }
+    }
+
+    private static void assertQueryResults(IMap<Integer, Employee> map) {
+        Collection<Employee> values = map.values(new SqlPredicate("age < 10"));
+        assertEquals(100, values.size());
+        for (Employee employee : values) {
+            assertEquals(true, employee.getAge() < 10);
+        }
+
+        assertEquals(1, map.values(new SqlPredicate("name = 'name42'")).size());
+        assertEquals(9, map.keySet(new SqlPredicate("age = 5 and name != 'name5'")).size());
+    }
+}
@@ -0,0 +1,94 @@
+package com.hazelcast.nio;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class DirectBufferPoolTest extends HazelcastTestSupport {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenZeroBufferSize() {
+        new DirectBufferPool(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenZeroMaxPooled() {
+        new DirectBufferPool(16, 0);
+    }
+
+    @Test
+    public void take_whenEmpty() {
+        DirectBufferPool pool = new DirectBufferPool(16, 1);
+
+        ByteBuffer buffer = pool.take();
+
+        assertTrue(buffer.isDirect());
+        assertEquals(16, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(16, buffer.limit());
+    }
+
+    @Test
+    public void take_whenReleased_thenReusedAndCleared() {
+        DirectBufferPool pool = new DirectBufferPool(16, 1);
+        ByteBuffer buffer = pool.take();
+        buffer.putInt(10);
+        buffer.flip();
+
+        pool.release(buffer);
+        assertEquals(1, pool.size());
+
+        ByteBuffer found = pool.take();
+        assertSame(buffer, found);
+        assertEquals(0, found.position());
+        assertEquals(16, found.limit());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void release_whenFull_thenNotRetained() {
+        DirectBufferPool pool = new DirectBufferPool(16, 1);
+        ByteBuffer buffer1 = pool.take();
+        ByteBuffer buffer2 = pool.take();
+
+        pool.release(buffer1);
+        pool.release(buffer2);
+
+        assertEquals(1, pool.size());
+        assertSame(buffer1, pool.take());
+        assertNotSame(buffer2, pool.take());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void release_whenNull() {
+        DirectBufferPool pool = new DirectBufferPool(16, 1);
+
+        pool.release(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void release_whenHeapBuffer() {
+        DirectBufferPool pool = new DirectBufferPool(16, 1);
+
+        pool.release(ByteBuffer.allocate(16));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void release_whenWrongCapacity() {
+        DirectBufferPool pool = new DirectBufferPool(16, 1);
+
+        pool.release(ByteBuffer.allocateDirect(32));
+    }
+}
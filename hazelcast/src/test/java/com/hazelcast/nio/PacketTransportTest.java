@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -99,4 +100,38 @@ public class PacketTransportTest extends HazelcastTestSupport {
         assertEquals(originalPacket.getHeader(), clonedPacket.getHeader());
         assertEquals(originalPacket.getData(), clonedPacket.getData());
     }
+
+    // This test verifies that a Packet written as frame header followed by the value, like is done by a gathering write,
+    // can be read as a normal Packet.
+    @Test
+    public void frameHeaderAndValue() {
+        DefaultData originalData = new DefaultData(generateRandomString(1000).getBytes());
+        Packet originalPacket = new Packet(originalData, 10);
+
+        ByteBuffer bb = ByteBuffer.allocate(2000);
+        boolean written = originalPacket.writeFrameHeaderTo(bb);
+        assertTrue(written);
+        assertEquals(Packet.FRAME_HEADER_SIZE, bb.position());
+        bb.put(originalData.toByteArray(), 0, originalData.totalSize());
+
+        bb.flip();
+
+        Packet clonedPacket = new Packet();
+        boolean read = clonedPacket.readFrom(bb);
+        assertTrue(read);
+
+        assertEquals(originalPacket.getHeader(), clonedPacket.getHeader());
+        assertEquals(originalPacket.getPartitionId(), clonedPacket.getPartitionId());
+        assertEquals(originalPacket.getData(), clonedPacket.getData());
+    }
+
+    @Test
+    public void frameHeader_whenNotEnoughSpace() {
+        Packet packet = new Packet(new DefaultData("foobar".getBytes()));
+
+        ByteBuffer bb = ByteBuffer.allocate(Packet.FRAME_HEADER_SIZE - 1);
+
+        assertFalse(packet.writeFrameHeaderTo(bb));
+        assertEquals(0, bb.position());
+    }
 }
@@ -0,0 +1,33 @@
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class SelectorIdleStrategyTest extends HazelcastTestSupport {
+
+    @Test
+    public void parse() {
+        assertEquals(SelectorIdleStrategy.BLOCK, SelectorIdleStrategy.parse("block"));
+        assertEquals(SelectorIdleStrategy.SPIN, SelectorIdleStrategy.parse("SPIN"));
+        assertEquals(SelectorIdleStrategy.YIELD, SelectorIdleStrategy.parse("Yield"));
+        assertEquals(SelectorIdleStrategy.BACKOFF, SelectorIdleStrategy.parse("backoff"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_whenUnknown() {
+        SelectorIdleStrategy.parse("foo");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_whenNull() {
+        SelectorIdleStrategy.parse(null);
+    }
+}
@@ -0,0 +1,292 @@
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.logging.LoggingService;
+import com.hazelcast.nio.IOService;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.Protocols;
+import com.hazelcast.nio.serialization.DefaultData;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+import static com.hazelcast.util.StringUtil.stringToBytes;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that packets written by the WriteHandler using gathering writes can be read back, also if the socket only
+ * accepts a part of the bytes offered by a write.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class WriteHandler_gatheringWritesTest extends HazelcastTestSupport {
+
+    // the size of a value that is written by a gathering write instead of being copied into the outputBuffer.
+    private static final int LARGE_VALUE_SIZE = 20 * IOService.KILO_BYTE;
+
+    private ThrottledSocketChannel socketChannel;
+    private WriteHandler writeHandler;
+
+    @Before
+    public void setup() {
+        ILogger logger = Logger.getLogger(WriteHandler_gatheringWritesTest.class);
+
+        IOService ioService = mock(IOService.class);
+        when(ioService.getLogger(anyString())).thenReturn(logger);
+        // a 1 KB outputBuffer, so small packets are spread over multiple segments.
+        when(ioService.getSocketSendBufferSize()).thenReturn(1);
+        when(ioService.isSocketWriteGatheringEnabled()).thenReturn(true);
+        when(ioService.getSelectorThreadCount()).thenReturn(1);
+        when(ioService.createPacketWriter(any(TcpIpConnection.class))).thenReturn(new DefaultPacketWriter());
+
+        LoggingService loggingService = mock(LoggingService.class);
+        when(loggingService.getLogger(anyString())).thenReturn(logger);
+
+        TcpIpConnectionManager connectionManager = new TcpIpConnectionManager(ioService, null, null, loggingService);
+        IOSelector ioSelector = new ImmediateIOSelector();
+        socketChannel = new ThrottledSocketChannel();
+        TcpIpConnection connection = new TcpIpConnection(connectionManager, ioSelector, ioSelector, 1, socketChannel);
+
+        writeHandler = connection.getWriteHandler();
+        writeHandler.setProtocol(Protocols.CLUSTER);
+    }
+
+    @Test
+    public void write_whenPartialWrites() {
+        Random random = new Random(1);
+        for (int k = 0; k < 100; k++) {
+            socketChannel.budgets.add(1 + random.nextInt(2 * IOService.KILO_BYTE));
+        }
+
+        List<Packet> packets = new LinkedList<Packet>();
+        for (int k = 0; k < 30; k++) {
+            // small packets are coalesced, medium packets don't fit in the outputBuffer and large packets are gathered.
+            int[] sizes = {100, 3 * IOService.KILO_BYTE, LARGE_VALUE_SIZE};
+            packets.add(newPacket(sizes[k % sizes.length], k));
+        }
+
+        for (Packet packet : packets) {
+            writeHandler.offer(packet);
+        }
+        flush(packets);
+
+        assertTrue(socketChannel.gatheringWrites > 1);
+        assertEquals(0, socketChannel.plainWrites);
+        assertPacketsRead(packets);
+    }
+
+    @Test
+    public void write_whenFrameHeaderAndValueSplitAcrossWrites() {
+        int protocolSize = Protocols.CLUSTER.length();
+        // the first write ends halfway the frame header, the second one halfway the value.
+        socketChannel.budgets.add(protocolSize + 5);
+        socketChannel.budgets.add(Packet.FRAME_HEADER_SIZE - 5 + 100);
+
+        List<Packet> packets = new LinkedList<Packet>();
+        packets.add(newPacket(LARGE_VALUE_SIZE, 1));
+
+        writeHandler.offer(packets.get(0));
+        flush(packets);
+
+        assertEquals(3, socketChannel.gatheringWrites);
+        assertEquals(0, socketChannel.plainWrites);
+        assertPacketsRead(packets);
+    }
+
+    private static Packet newPacket(int size, int partitionId) {
+        byte[] bytes = new byte[size];
+        new Random(partitionId).nextBytes(bytes);
+        return new Packet(new DefaultData(bytes), partitionId);
+    }
+
+    // calls the WriteHandler like the IO thread would do on every OP_WRITE event, till all packets have been written.
+    private void flush(List<Packet> packets) {
+        int expectedSize = Protocols.CLUSTER.length();
+        for (Packet packet : packets) {
+            expectedSize += Packet.FRAME_HEADER_SIZE + packet.getData().totalSize();
+        }
+
+        for (int k = 0; k < 10000 && socketChannel.out.size() < expectedSize; k++) {
+            writeHandler.handle();
+        }
+
+        assertEquals(expectedSize, socketChannel.out.size());
+    }
+
+    private void assertPacketsRead(List<Packet> packets) {
+        ByteBuffer bb = ByteBuffer.wrap(socketChannel.out.toByteArray());
+
+        byte[] protocol = new byte[Protocols.CLUSTER.length()];
+        bb.get(protocol);
+        assertArrayEquals(stringToBytes(Protocols.CLUSTER), protocol);
+
+        for (Packet packet : packets) {
+            Packet readPacket = new Packet();
+            assertTrue(readPacket.readFrom(bb));
+            assertEquals(packet.getHeader(), readPacket.getHeader());
+            assertEquals(packet.getPartitionId(), readPacket.getPartitionId());
+            assertEquals(packet.getData(), readPacket.getData());
+        }
+        assertFalse(bb.hasRemaining());
+    }
+
+    // runs the tasks directly on the calling thread, which acts as the IO thread.
+    private static class ImmediateIOSelector implements IOSelector {
+
+        @Override
+        public Selector getSelector() {
+            return null;
+        }
+
+        @Override
+        public void addTask(Runnable runnable) {
+            runnable.run();
+        }
+
+        @Override
+        public void wakeup() {
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void awaitShutdown() {
+        }
+
+        @Override
+        public void handleSelectionKeyFailure(Throwable e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    // a socket that accepts at most the next budget of bytes per write; unlimited when there are no budgets left.
+    private static class ThrottledSocketChannel implements SocketChannelWrapper, GatheringByteChannel {
+
+        final Queue<Integer> budgets = new LinkedList<Integer>();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int gatheringWrites;
+        int plainWrites;
+
+        @Override
+        public int write(ByteBuffer byteBuffer) throws IOException {
+            plainWrites++;
+            return (int) transfer(new ByteBuffer[]{byteBuffer}, 0, 1);
+        }
+
+        @Override
+        public long write(ByteBuffer[] byteBuffers) throws IOException {
+            return write(byteBuffers, 0, byteBuffers.length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] byteBuffers, int offset, int length) throws IOException {
+            gatheringWrites++;
+            return transfer(byteBuffers, offset, length);
+        }
+
+        private long transfer(ByteBuffer[] byteBuffers, int offset, int length) {
+            Integer budget = budgets.poll();
+            int remaining = budget == null ? Integer.MAX_VALUE : budget;
+            long written = 0;
+            for (int k = offset; k < offset + length && remaining > 0; k++) {
+                ByteBuffer byteBuffer = byteBuffers[k];
+                int count = Math.min(remaining, byteBuffer.remaining());
+                byte[] bytes = new byte[count];
+                byteBuffer.get(bytes);
+                out.write(bytes, 0, count);
+                remaining -= count;
+                written += count;
+            }
+            return written;
+        }
+
+        @Override
+        public SelectionKey register(Selector selector, int ops, Object attachment) {
+            return mock(SelectionKey.class);
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return false;
+        }
+
+        @Override
+        public Socket socket() {
+            return null;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean connect(SocketAddress socketAddress) {
+            return true;
+        }
+
+        @Override
+        public SelectionKey keyFor(Selector selector) {
+            return null;
+        }
+
+        @Override
+        public int read(ByteBuffer byteBuffer) {
+            return 0;
+        }
+
+        @Override
+        public SelectableChannel configureBlocking(boolean b) {
+            return null;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void closeInbound() {
+        }
+
+        @Override
+        public void closeOutbound() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class BitmapTest {
+
+    @Test
+    public void testAddRemoveContains() {
+        Bitmap bitmap = new Bitmap();
+        bitmap.add(1);
+        bitmap.add(70000);
+        bitmap.add(1);
+
+        assertEquals(2, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(2));
+
+        bitmap.remove(1);
+        bitmap.remove(3);
+
+        assertEquals(1, bitmap.cardinality());
+        assertFalse(bitmap.contains(1));
+    }
+
+    @Test
+    public void testDenseChunk_convertsBackAndForth() {
+        Bitmap bitmap = new Bitmap();
+        for (int i = 0; i < 10000; i++) {
+            bitmap.add(i);
+        }
+        assertEquals(10000, bitmap.cardinality());
+
+        for (int i = 0; i < 10000; i += 2) {
+            bitmap.remove(i);
+        }
+        for (int i = 1; i < 9000; i += 2) {
+            bitmap.remove(i);
+        }
+
+        assertEquals(500, bitmap.cardinality());
+        assertTrue(bitmap.contains(9001));
+        assertFalse(bitmap.contains(8999));
+    }
+
+    @Test
+    public void testNextOrdinal() {
+        Bitmap bitmap = new Bitmap();
+        bitmap.add(3);
+        bitmap.add(64);
+        bitmap.add(200000);
+
+        assertEquals(3, bitmap.nextOrdinal(0));
+        assertEquals(64, bitmap.nextOrdinal(4));
+        assertEquals(200000, bitmap.nextOrdinal(65));
+        assertEquals(-1, bitmap.nextOrdinal(200001));
+    }
+
+    @Test
+    public void testAndOrAndNot_onSparseAndDenseChunks() {
+        Bitmap even = new Bitmap();
+        Bitmap multiplesOfThree = new Bitmap();
+        for (int i = 0; i < 30000; i++) {
+            if (i % 2 == 0) {
+                even.add(i);
+            }
+            if (i % 3 == 0) {
+                multiplesOfThree.add(i);
+            }
+        }
+        Bitmap sparse = new Bitmap();
+        sparse.add(2);
+        sparse.add(3);
+        sparse.add(5);
+
+        assertEquals(5000, even.and(multiplesOfThree).cardinality());
+        assertEquals(20000, even.or(multiplesOfThree).cardinality());
+        assertEquals(10000, even.andNot(multiplesOfThree).cardinality());
+        assertEquals(1, sparse.and(even).cardinality());
+        assertEquals(15002, sparse.or(even).cardinality());
+        assertEquals(2, sparse.andNot(even).cardinality());
+        assertEquals(14999, even.andNot(sparse).cardinality());
+    }
+
+    @Test
+    public void testOperationsDoNotModifyOperands() {
+        Bitmap bitmap = new Bitmap();
+        bitmap.add(1);
+        Bitmap other = new Bitmap();
+        other.add(2);
+
+        bitmap.or(other).add(3);
+        bitmap.copy().remove(1);
+
+        assertEquals(1, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertEquals(1, other.cardinality());
+    }
+}
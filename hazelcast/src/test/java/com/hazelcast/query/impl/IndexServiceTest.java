@@ -17,7 +17,10 @@
 package com.hazelcast.query.impl;
 
 import com.hazelcast.query.EntryObject;
+import com.hazelcast.query.IndexAwarePredicate;
+import com.hazelcast.query.Predicate;
 import com.hazelcast.query.PredicateBuilder;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.query.SqlPredicate;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.QuickTest;
@@ -27,13 +30,24 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hazelcast.instance.TestUtil.toData;
 import static com.hazelcast.query.SampleObjects.Employee;
 import static com.hazelcast.query.SampleObjects.Value;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
@@ -145,4 +159,365 @@ public class IndexServiceTest {
 
         assertEquals(89, query.size());
     }
+
+    @Test
+    public void clearIndexes_dropsContentsAndKeepsDefinitions() throws Exception {
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("name", false);
+        indexService.addOrGetIndex("age", true);
+        for (int i = 0; i < 100; i++) {
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, new Employee(i + "Name", i, true, i)));
+        }
+
+        indexService.clearIndexes();
+
+        assertEquals(2, indexService.getIndexes().length);
+        assertTrue(indexService.getIndex("age").isOrdered());
+        assertEquals(0, indexService.query(new SqlPredicate("age >= 0")).size());
+
+        indexService.saveEntryIndex(new QueryEntry(null, toData(1), 1, new Employee("1Name", 1, true, 1)));
+        assertEquals(1, indexService.query(new SqlPredicate("name = '1Name'")).size());
+    }
+
+    @Test
+    public void isIndexed() throws Exception {
+        IndexService indexService = new IndexService();
+        assertFalse(indexService.isIndexed(new SqlPredicate("age > 10")));
+
+        indexService.addOrGetIndex("age", true);
+
+        assertTrue(indexService.isIndexed(new SqlPredicate("age > 10")));
+        assertFalse(indexService.isIndexed(new SqlPredicate("name = 'a'")));
+    }
+
+    @Test
+    public void bitmapIndex_evaluatesPredicatesOnBitmaps() throws Exception {
+        IndexService indexService = newBitmapIndexService(1000);
+
+        assertEquals(100, indexService.query(new SqlPredicate("age = 5")).size());
+        assertEquals(300, indexService.query(new SqlPredicate("age in (1, 2, 3)")).size());
+        assertEquals(100, indexService.query(new SqlPredicate("age = 4 and active = true")).size());
+        assertEquals(0, indexService.query(new SqlPredicate("age = 5 and active = true")).size());
+        assertEquals(200, indexService.query(new SqlPredicate("age = 5 or (age = 6 and active = true)")).size());
+        assertEquals(900, indexService.query(new SqlPredicate("not (age = 5)")).size());
+        assertEquals(900, indexService.query(new SqlPredicate("age != 5")).size());
+        assertEquals(400, indexService.query(new SqlPredicate("not (age = 5) and active = false")).size());
+        assertTrue(indexService.query(new SqlPredicate("age = 5")) instanceof BitmapResultSet);
+    }
+
+    @Test
+    public void bitmapIndex_combinesWithRegularIndexes() throws Exception {
+        IndexService indexService = newBitmapIndexService(1000);
+        indexService.addOrGetIndex("salary", true);
+        for (int i = 0; i < 1000; i++) {
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, new Employee(i + "Name", i % 10, i % 2 == 0, i)));
+        }
+
+        Set<QueryableEntry> results = indexService.query(new SqlPredicate("age = 5 and active = false and salary < 100"));
+
+        assertEquals(10, new HashSet<QueryableEntry>(results).size());
+        for (QueryableEntry entry : results) {
+            assertEquals(5, ((Employee) entry.getValue()).getAge());
+        }
+    }
+
+    @Test
+    public void bitmapIndex_updatesAndRemovesEntries() throws Exception {
+        IndexService indexService = newBitmapIndexService(100);
+
+        indexService.saveEntryIndex(new QueryEntry(null, toData(5), 5, new Employee("5Name", 6, true, 5)));
+        indexService.removeEntryIndex(toData(15));
+
+        assertEquals(8, indexService.query(new SqlPredicate("age = 5")).size());
+        assertEquals(11, indexService.query(new SqlPredicate("age = 6")).size());
+        assertEquals(99, indexService.query(new SqlPredicate("age != 1000")).size());
+    }
+
+    @Test
+    public void bitmapIndex_skipsReassignedOrdinals() throws Exception {
+        IndexService indexService = newBitmapIndexService(100);
+        Set<QueryableEntry> results = indexService.query(new SqlPredicate("age = 5"));
+
+        // the new entry gets the ordinal of the removed one before the results are materialized
+        indexService.removeEntryIndex(toData(5));
+        indexService.saveEntryIndex(new QueryEntry(null, toData(100), 100, new Employee("100Name", 6, true, 100)));
+
+        assertEquals(9, new HashSet<QueryableEntry>(results).size());
+        for (QueryableEntry entry : results) {
+            assertEquals(5, ((Employee) entry.getValue()).getAge());
+        }
+    }
+
+    @Test
+    public void bitmapIndex_queryWhileEntriesAreReplaced() throws Exception {
+        final IndexService indexService = newBitmapIndexService(1000);
+        final AtomicBoolean stop = new AtomicBoolean();
+        Thread updater = new Thread() {
+            @Override
+            public void run() {
+                Random random = new Random();
+                int[] keys = new int[1000];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = i;
+                }
+                int nextKey = keys.length;
+                while (!stop.get()) {
+                    // the entry replacing the removed one reuses its ordinal, but not its age
+                    int index = random.nextInt(keys.length);
+                    indexService.removeEntryIndex(toData(keys[index]));
+                    int key = nextKey++;
+                    Employee employee = new Employee(key + "Name", random.nextInt(10), random.nextBoolean(), key);
+                    indexService.saveEntryIndex(new QueryEntry(null, toData(key), key, employee));
+                    keys[index] = key;
+                }
+            }
+        };
+        updater.start();
+        try {
+            SqlPredicate predicate = new SqlPredicate("age = 5 and active = true");
+            for (int i = 0; i < 5000; i++) {
+                for (QueryableEntry entry : indexService.query(predicate)) {
+                    Employee employee = (Employee) entry.getValue();
+                    assertEquals(5, employee.getAge());
+                    assertTrue(employee.isActive());
+                }
+            }
+        } finally {
+            stop.set(true);
+            updater.join();
+        }
+    }
+
+    @Test
+    public void bitmapIndex_clearIndexes() throws Exception {
+        IndexService indexService = newBitmapIndexService(100);
+
+        indexService.clearIndexes();
+
+        assertTrue(indexService.getIndex("age").isBitmap());
+        assertEquals(0, indexService.query(new SqlPredicate("not (age = 5)")).size());
+    }
+
+    @Test
+    public void compositeIndex_evaluatesEqualityPrefixAndRange() throws Exception {
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("age,salary", true);
+        for (int i = 0; i < 1000; i++) {
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, new Employee(i + "Name", i % 10, i % 2 == 0, i)));
+        }
+
+        assertNotNull(indexService.getIndex("age, salary"));
+        assertTrue(indexService.isIndexed(new SqlPredicate("age = 5 and salary < 100")));
+        assertFalse(indexService.isIndexed(new SqlPredicate("salary < 100 and active = true")));
+        assertEquals(1, indexService.query(new SqlPredicate("age = 5 and salary = 15")).size());
+        assertEquals(10, indexService.query(new SqlPredicate("age = 5 and salary < 100")).size());
+        assertEquals(9, indexService.query(new SqlPredicate("age = 5 and salary < 95")).size());
+        assertEquals(10, indexService.query(new SqlPredicate("age = 5 and salary <= 95")).size());
+        assertEquals(1, indexService.query(new SqlPredicate("age = 5 and salary >= 995")).size());
+        assertEquals(0, indexService.query(new SqlPredicate("age = 5 and salary > 995")).size());
+        assertEquals(10, indexService.query(new SqlPredicate("age = 5 and salary between 100 and 195")).size());
+        assertEquals(10, indexService.query(new SqlPredicate("age = 5 and active = false and salary > 900")).size());
+        assertEquals(0, indexService.query(new SqlPredicate("age = 5 and active = true and salary > 900")).size());
+    }
+
+    @Test
+    public void compositeIndex_unorderedRequiresAllAttributes() throws Exception {
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("name, age", false);
+        for (int i = 0; i < 100; i++) {
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, new Employee(i + "Name", i % 10, i % 2 == 0, i)));
+        }
+
+        assertFalse(indexService.isIndexed(new SqlPredicate("name = '5Name' and age > 3")));
+        assertEquals(1, indexService.query(new SqlPredicate("name = '5Name' and age = 5")).size());
+        assertEquals(0, indexService.query(new SqlPredicate("name = '5Name' and age = 6")).size());
+
+        indexService.removeEntryIndex(toData(5));
+
+        assertEquals(0, indexService.query(new SqlPredicate("name = '5Name' and age = 5")).size());
+    }
+
+    @Test
+    public void statistics_describeSortedIndex() throws Exception {
+        IndexService indexService = newOrderedIndexService(1000);
+        Index index = indexService.getIndex("salary");
+
+        IndexStatistics statistics = index.getStatistics();
+
+        assertEquals(1000, statistics.getEntryCount());
+        assertEquals(0, statistics.getNullCount());
+        assertEquals(1000, statistics.getDistinctCount());
+        assertEquals(IndexStatistics.HISTOGRAM_BUCKETS, statistics.getHistogramBucketCount());
+        assertEquals(1, index.estimateRecords(new Comparable[]{500}));
+        assertEquals(1000, index.estimateSubRecords(ComparisonType.GREATER_EQUAL, 0));
+        assertEquals(0, index.estimateSubRecords(ComparisonType.GREATER, 999));
+        long estimate = index.estimateSubRecords(ComparisonType.LESSER, 100);
+        assertTrue("estimate " + estimate, estimate >= 90 && estimate <= 130);
+    }
+
+    @Test
+    public void statistics_rebuiltAfterModifications() throws Exception {
+        IndexService indexService = newOrderedIndexService(1000);
+        Index index = indexService.getIndex("salary");
+        assertEquals(1000, index.getStatistics().getEntryCount());
+
+        for (int i = 0; i < 200; i++) {
+            indexService.removeEntryIndex(toData(i));
+        }
+
+        assertEquals(800, index.getStatistics().getEntryCount());
+        assertEquals(0, index.estimateSubRecords(ComparisonType.LESSER, 200));
+    }
+
+    @Test
+    public void statistics_rebuiltByOneThreadWithoutBlockingUpdates() throws Exception {
+        final AtomicInteger builds = new AtomicInteger();
+        final CountDownLatch rebuildStarted = new CountDownLatch(1);
+        final CountDownLatch finishRebuild = new CountDownLatch(1);
+        final SortedIndexStore store = new SortedIndexStore() {
+            @Override
+            protected IndexStatistics buildStatistics() {
+                if (builds.incrementAndGet() > 1) {
+                    rebuildStarted.countDown();
+                    try {
+                        finishRebuild.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.buildStatistics();
+            }
+        };
+        IndexStatistics initial = store.getStatistics();
+        for (int i = 0; i < 200; i++) {
+            store.newIndex(i, new QueryEntry(null, toData(i), i, i));
+        }
+
+        final AtomicReference<IndexStatistics> rebuilt = new AtomicReference<IndexStatistics>();
+        Thread rebuilder = new Thread() {
+            @Override
+            public void run() {
+                rebuilt.set(store.getStatistics());
+            }
+        };
+        rebuilder.start();
+        try {
+            assertTrue(rebuildStarted.await(30, TimeUnit.SECONDS));
+            // other queries keep using the stale statistics and updates are not blocked by the rebuild
+            assertSame(initial, store.getStatistics());
+            store.newIndex(200, new QueryEntry(null, toData(200), 200, 200));
+        } finally {
+            finishRebuild.countDown();
+            rebuilder.join();
+        }
+
+        assertEquals(2, builds.get());
+        assertTrue(rebuilt.get().getEntryCount() >= 200);
+    }
+
+    @Test
+    public void statistics_estimateSkewedValues() throws Exception {
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("age", true);
+        indexService.addOrGetIndex("salary", true);
+        // 901 entries have the age 50, the others have distinct ages
+        for (int i = 0; i < 1000; i++) {
+            int age = i < 100 ? i : 50;
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, new Employee(i + "Name", age, true, i)));
+        }
+        Index index = indexService.getIndex("age");
+
+        assertEquals(901, index.estimateRecords(new Comparable[]{50}));
+        assertEquals(1, index.estimateRecords(new Comparable[]{10}));
+
+        SqlPredicate predicate = new SqlPredicate("age = 50 and salary < 100");
+        String plan = indexService.explain(predicate);
+        assertEquals(1, indexService.query(predicate).size());
+        assertTrue(plan, plan.contains("INDEX salary<100"));
+        assertTrue(plan, plan.contains("FILTER age=50"));
+    }
+
+    @Test
+    public void planner_usesMostSelectiveIndex() throws Exception {
+        IndexService indexService = newOrderedIndexService(1000);
+        SqlPredicate predicate = new SqlPredicate("age > 2 and salary < 50");
+
+        String plan = indexService.explain(predicate);
+
+        assertEquals(35, indexService.query(predicate).size());
+        assertTrue(plan, plan.contains("INDEX salary<50"));
+        assertTrue(plan, plan.contains("FILTER age>2"));
+    }
+
+    @Test
+    public void planner_fallsBackToScanForUnselectivePredicates() throws Exception {
+        IndexService indexService = newOrderedIndexService(1000);
+        SqlPredicate predicate = new SqlPredicate("salary >= 0");
+
+        assertNull(indexService.query(predicate, true));
+        assertEquals(1000, indexService.query(predicate).size());
+        assertTrue(indexService.explain(predicate).startsWith("SCAN"));
+        assertNotNull(indexService.query(new SqlPredicate("salary < 10"), true));
+    }
+
+    @Test
+    public void planner_evaluatesConjunctsOnceForCostCheckAndQuery() throws Exception {
+        IndexService indexService = newOrderedIndexService(1000);
+        CountingPredicate age = new CountingPredicate(new Predicates.EqualPredicate("age", 3));
+        Predicate predicate = Predicates.and(age, new SqlPredicate("salary < 50"));
+
+        Set<QueryableEntry> result = indexService.query(predicate, true);
+
+        assertEquals(5, result.size());
+        assertEquals(1, age.filterCount);
+    }
+
+    private static IndexService newOrderedIndexService(int entryCount) {
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("age", true);
+        indexService.addOrGetIndex("salary", true);
+        for (int i = 0; i < entryCount; i++) {
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, new Employee(i + "Name", i % 10, i % 2 == 0, i)));
+        }
+        return indexService;
+    }
+
+    private static IndexService newBitmapIndexService(int entryCount) {
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("age", false, true);
+        indexService.addOrGetIndex("active", false, true);
+        for (int i = 0; i < entryCount; i++) {
+            indexService.saveEntryIndex(new QueryEntry(null, toData(i), i, new Employee(i + "Name", i % 10, i % 2 == 0, i)));
+        }
+        return indexService;
+    }
+
+    /**
+     * An indexed predicate which cannot estimate its size, so the planner has to evaluate it.
+     */
+    private static class CountingPredicate implements IndexAwarePredicate {
+
+        private final IndexAwarePredicate delegate;
+        private int filterCount;
+
+        CountingPredicate(IndexAwarePredicate delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Set<QueryableEntry> filter(QueryContext queryContext) {
+            filterCount++;
+            return delegate.filter(queryContext);
+        }
+
+        @Override
+        public boolean isIndexed(QueryContext queryContext) {
+            return delegate.isIndexed(queryContext);
+        }
+
+        @Override
+        public boolean apply(Map.Entry mapEntry) {
+            return delegate.apply(mapEntry);
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class AccessorGeneratorTest {
+
+    @Test
+    public void generate_readsPublicFields() throws Exception {
+        Person person = new Person();
+
+        assertEquals(42, AccessorGenerator.generate(Person.class.getField("age")).getValue(person));
+        assertEquals(1.5d, AccessorGenerator.generate(Person.class.getField("salary")).getValue(person));
+        assertEquals('x', AccessorGenerator.generate(Person.class.getField("initial")).getValue(person));
+        assertSame(person.name, AccessorGenerator.generate(Person.class.getField("name")).getValue(person));
+    }
+
+    @Test
+    public void generate_callsPublicMethods() throws Exception {
+        Person person = new Person();
+
+        assertEquals(7L, AccessorGenerator.generate(Person.class.getMethod("getId")).getValue(person));
+        assertEquals(true, AccessorGenerator.generate(Person.class.getMethod("isActive")).getValue(person));
+        assertEquals("name", AccessorGenerator.generate(Named.class.getMethod("getName")).getValue(person));
+    }
+
+    @Test
+    public void generate_cachesAccessors() throws Exception {
+        GeneratedAccessor accessor = AccessorGenerator.generate(Person.class.getField("age"));
+
+        assertSame(accessor, AccessorGenerator.generate(Person.class.getField("age")));
+    }
+
+    @Test
+    public void generate_returnsNullForInaccessibleMembers() throws Exception {
+        assertNull(AccessorGenerator.generate(Person.class.getDeclaredField("secret")));
+        assertNull(AccessorGenerator.generate(Person.class.getField("COUNT")));
+        assertNull(AccessorGenerator.generate(Person.class.getMethod("clear")));
+        assertNull(AccessorGenerator.generate(Hidden.class.getField("value")));
+    }
+
+    @Test
+    public void extractValue_usesGeneratedGetters() throws Exception {
+        Person person = new Person();
+        person.boss = new Person();
+        person.boss.age = 60;
+
+        assertEquals(60, ReflectionHelper.extractValue(person, "boss.age"));
+        assertEquals("name", ReflectionHelper.extractValue(person, "named.name"));
+        assertEquals(3, ReflectionHelper.extractValue(person, "secret"));
+        assertNull(ReflectionHelper.extractValue(person.boss, "boss.age"));
+        assertNotNull(AccessorGenerator.generate(Person.class.getField("boss")));
+        assertTrue(ReflectionHelper.extractValue(person, "active") instanceof Boolean);
+    }
+
+    public interface Named {
+        String getName();
+    }
+
+    public static class Person implements Named {
+        public static final int COUNT = 1;
+
+        public int age = 42;
+        public double salary = 1.5d;
+        public char initial = 'x';
+        public String name = "name";
+        public Person boss;
+        private int secret = 3;
+
+        public long getId() {
+            return 7L;
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+
+        public Named getNamed() {
+            return this;
+        }
+
+        public void clear() {
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    static class Hidden {
+        public int value;
+    }
+}
@@ -1,5 +1,6 @@
 package com.hazelcast.spi.impl.operationexecutor.classic;
 
+import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.Operation;
@@ -12,6 +13,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -49,6 +51,24 @@ public class ExecutePacketTest extends AbstractClassicOperationExecutorTest {
         });
     }
 
+    @Test
+    public void test_whenResponsePacket_andInlineResponsesEnabled() {
+        config.setProperty(GroupProperties.PROP_OPERATION_RESPONSE_INLINE_ENABLED, "true");
+        initExecutor();
+
+        NormalResponse normalResponse = new NormalResponse(null, 1, 0, false);
+        Data data = serializationService.toData(normalResponse);
+        Packet packet = new Packet(data, 0);
+        packet.setHeader(Packet.HEADER_RESPONSE);
+        packet.setHeader(Packet.HEADER_OP);
+        executor.execute(packet);
+
+        // the response is processed on the calling thread, so there is no need to wait
+        DummyResponsePacketHandler responsePacketHandler = (DummyResponsePacketHandler) this.responsePacketHandler;
+        assertTrue(responsePacketHandler.packets.contains(packet));
+        assertEquals(0, executor.getResponseQueueSize());
+    }
+
     @Test
     public void test_whenPartitionSpecificOperationPacket() {
         initExecutor();
@@ -0,0 +1,212 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class MPSCScheduleQueueTest extends HazelcastTestSupport {
+
+    private MPSCScheduleQueue queue;
+
+    @Before
+    public void setup() {
+        // a small chunk and batch size to make sure the chunk linking and batching is exercised
+        queue = new MPSCScheduleQueue(4, 3);
+    }
+
+    // ================== construction =====================
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenChunkSizeNotPowerOfTwo() {
+        new MPSCScheduleQueue(3, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenBatchSizeZero() {
+        new MPSCScheduleQueue(4, 0);
+    }
+
+    // ================== add =====================
+
+    @Test(expected = NullPointerException.class)
+    public void test_add_whenNull() {
+        queue.add(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_addUrgent_whenNull() {
+        queue.addUrgent(null);
+    }
+
+    @Test
+    public void test_add_whenPriority() {
+        queue.addUrgent(new Object());
+
+        assertEquals(1, queue.prioritySize());
+        assertEquals(0, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void test_add_whenNormal() {
+        queue.add(new Object());
+
+        assertEquals(0, queue.prioritySize());
+        assertEquals(1, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    // ================== take =====================
+
+    @Test
+    public void test_take_isFifoOverMultipleChunks() throws InterruptedException {
+        for (int k = 0; k < 100; k++) {
+            queue.add(k);
+        }
+
+        for (int k = 0; k < 100; k++) {
+            assertEquals(k, queue.take());
+        }
+    }
+
+    @Test
+    public void test_take_priorityIsRetrievedFirst() throws InterruptedException {
+        Object priorityTask1 = "priority1";
+        Object priorityTask2 = "priority2";
+        Object priorityTask3 = "priority4";
+
+        Object normalTask1 = "normalTask1";
+        Object normalTask2 = "normalTask2";
+        Object normalTask3 = "normalTask3";
+
+        queue.addUrgent(priorityTask1);
+        queue.add(normalTask1);
+        queue.add(normalTask2);
+
+        queue.addUrgent(priorityTask2);
+        queue.add(normalTask3);
+        queue.addUrgent(priorityTask3);
+
+        assertSame(priorityTask1, queue.take());
+        assertSame(priorityTask2, queue.take());
+        assertSame(priorityTask3, queue.take());
+        assertSame(normalTask1, queue.take());
+        assertSame(normalTask2, queue.take());
+        assertSame(normalTask3, queue.take());
+        assertEquals(0, queue.prioritySize());
+    }
+
+    @Test
+    public void test_take_priorityOvertakesDrainedBatch() throws InterruptedException {
+        queue.add("normalTask1");
+        queue.add("normalTask2");
+        queue.add("normalTask3");
+
+        // the first take drains all normal tasks into the batch
+        assertEquals("normalTask1", queue.take());
+
+        queue.addUrgent("priority");
+
+        assertEquals("priority", queue.take());
+        assertEquals("normalTask2", queue.take());
+        assertEquals("normalTask3", queue.take());
+    }
+
+    @Test
+    public void test_take_whenEmpty_thenWaitsForAdd() throws Exception {
+        Future<Object> f = spawn(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return queue.take();
+            }
+        });
+
+        // give the consumer time to get parked
+        sleepMillis(500);
+        queue.add("task");
+
+        assertEquals("task", f.get());
+    }
+
+    @Test
+    public void test_take_whenEmpty_thenWaitsForAddUrgent() throws Exception {
+        Future<Object> f = spawn(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return queue.take();
+            }
+        });
+
+        sleepMillis(500);
+        queue.addUrgent("task");
+
+        assertEquals("task", f.get());
+    }
+
+    @Test
+    public void test_take_whenInterrupted() throws Exception {
+        final Thread consumer = Thread.currentThread();
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                sleepMillis(500);
+                consumer.interrupt();
+            }
+        });
+
+        try {
+            queue.take();
+            fail();
+        } catch (InterruptedException expected) {
+        }
+    }
+
+    @Test
+    public void test_take_whenConcurrentProducers() throws Exception {
+        final int producerCount = 4;
+        final int itemsPerProducer = 10000;
+        Future[] producers = new Future[producerCount];
+        for (int p = 0; p < producerCount; p++) {
+            final int producerId = p;
+            producers[p] = spawn(new Runnable() {
+                @Override
+                public void run() {
+                    for (int k = 0; k < itemsPerProducer; k++) {
+                        queue.add(new long[]{producerId, k});
+                    }
+                }
+            });
+        }
+
+        // the items of a single producer should be taken in the order they were added
+        long[] expected = new long[producerCount];
+        for (int k = 0; k < producerCount * itemsPerProducer; k++) {
+            long[] item = (long[]) queue.take();
+            int producerId = (int) item[0];
+            assertEquals(expected[producerId], item[1]);
+            expected[producerId]++;
+        }
+
+        for (Future producer : producers) {
+            producer.get();
+        }
+        for (long count : expected) {
+            assertEquals(itemsPerProducer, count);
+        }
+        assertTrue(queue.normalSize() <= 3);
+    }
+}
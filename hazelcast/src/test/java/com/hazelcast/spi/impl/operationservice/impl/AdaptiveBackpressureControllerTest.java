@@ -0,0 +1,155 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.instance.GroupProperties.PROP_BACKPRESSURE_ADAPTIVE_ENABLED;
+import static com.hazelcast.instance.GroupProperties.PROP_BACKPRESSURE_ADAPTIVE_LATENCY_THRESHOLD_MILLIS;
+import static com.hazelcast.instance.GroupProperties.PROP_BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD;
+import static com.hazelcast.instance.GroupProperties.PROP_BACKPRESSURE_ENABLED;
+import static com.hazelcast.instance.GroupProperties.PROP_BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION;
+import static com.hazelcast.instance.GroupProperties.PROP_BACKPRESSURE_SYNCWINDOW;
+import static com.hazelcast.instance.GroupProperties.PROP_PARTITION_COUNT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class AdaptiveBackpressureControllerTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 9;
+    private static final int SYNC_WINDOW = 100;
+    // (9 + 1) * 10
+    private static final int MAX_CONCURRENT_INVOCATIONS = 100;
+
+    private ILogger logger;
+    private GroupProperties groupProperties;
+    private BackpressureRegulator regulator;
+    private CallIdSequence.CallIdSequenceWithBackpressure callIdSequence;
+    private AdaptiveBackpressureController controller;
+
+    @Before
+    public void setup() {
+        logger = mock(ILogger.class);
+
+        Config config = new Config();
+        config.setProperty(PROP_BACKPRESSURE_ENABLED, "true");
+        config.setProperty(PROP_BACKPRESSURE_ADAPTIVE_ENABLED, "true");
+        config.setProperty(PROP_BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD, "10");
+        config.setProperty(PROP_BACKPRESSURE_ADAPTIVE_LATENCY_THRESHOLD_MILLIS, "50");
+        config.setProperty(PROP_BACKPRESSURE_SYNCWINDOW, "" + SYNC_WINDOW);
+        config.setProperty(PROP_BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION, "10");
+        config.setProperty(PROP_PARTITION_COUNT, "" + PARTITION_COUNT);
+        groupProperties = new GroupProperties(config);
+
+        regulator = new BackpressureRegulator(groupProperties, logger);
+        callIdSequence = (CallIdSequence.CallIdSequenceWithBackpressure) regulator.newCallIdSequence();
+
+        OperationExecutor operationExecutor = mock(OperationExecutor.class);
+        when(operationExecutor.getPartitionOperationRunners()).thenReturn(new OperationRunner[PARTITION_COUNT]);
+        controller = new AdaptiveBackpressureController(regulator, callIdSequence, operationExecutor, groupProperties, logger);
+    }
+
+    @Test
+    public void adaptiveDisabledByDefault() {
+        Config config = new Config();
+        config.setProperty(PROP_BACKPRESSURE_ENABLED, "true");
+        BackpressureRegulator regulator = new BackpressureRegulator(new GroupProperties(config), logger);
+
+        assertFalse(regulator.isAdaptive());
+    }
+
+    @Test
+    public void adaptiveDisabled_whenBackpressureDisabled() {
+        Config config = new Config();
+        config.setProperty(PROP_BACKPRESSURE_ADAPTIVE_ENABLED, "true");
+        BackpressureRegulator regulator = new BackpressureRegulator(new GroupProperties(config), logger);
+
+        assertFalse(regulator.isAdaptive());
+    }
+
+    @Test
+    public void adaptiveEnabled() {
+        assertTrue(regulator.isAdaptive());
+    }
+
+    @Test
+    public void update_whenQueueExceedsThreshold_thenDecrease() {
+        controller.update(11, 0);
+
+        assertEquals(SYNC_WINDOW / 2, regulator.getSyncWindow());
+        assertEquals(MAX_CONCURRENT_INVOCATIONS / 2, callIdSequence.getMaxConcurrentInvocations());
+    }
+
+    @Test
+    public void update_whenLatencyExceedsThreshold_thenDecrease() {
+        controller.update(0, 51);
+
+        assertEquals(SYNC_WINDOW / 2, regulator.getSyncWindow());
+        assertEquals(MAX_CONCURRENT_INVOCATIONS / 2, callIdSequence.getMaxConcurrentInvocations());
+    }
+
+    @Test
+    public void update_whenCongestedRepeatedly_thenBoundedByMinimum() {
+        for (int k = 0; k < 100; k++) {
+            controller.update(100, 100);
+        }
+
+        assertEquals(1, regulator.getSyncWindow());
+        assertEquals(PARTITION_COUNT + 1, callIdSequence.getMaxConcurrentInvocations());
+    }
+
+    @Test
+    public void update_whenNotCongested_thenIncreaseTillConfiguredValues() {
+        controller.update(100, 100);
+        controller.update(0, 0);
+
+        int syncWindowStep = SYNC_WINDOW / AdaptiveBackpressureController.INCREASE_STEPS;
+        assertEquals(SYNC_WINDOW / 2 + syncWindowStep, regulator.getSyncWindow());
+
+        for (int k = 0; k < AdaptiveBackpressureController.INCREASE_STEPS; k++) {
+            controller.update(0, 0);
+        }
+
+        assertEquals(SYNC_WINDOW, regulator.getSyncWindow());
+        assertEquals(MAX_CONCURRENT_INVOCATIONS, callIdSequence.getMaxConcurrentInvocations());
+    }
+
+    @Test
+    public void dumpPerformanceMetrics() {
+        controller.update(100, 100);
+
+        StringBuffer sb = new StringBuffer();
+        controller.dumpPerformanceMetrics(sb);
+
+        assertTrue(sb.toString().contains("backpressure.syncWindow=" + SYNC_WINDOW / 2));
+        assertTrue(sb.toString().contains("backpressure.congestionCount=1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenInvalidQueueThreshold() {
+        Config config = new Config();
+        config.setProperty(PROP_BACKPRESSURE_ENABLED, "true");
+        config.setProperty(PROP_BACKPRESSURE_ADAPTIVE_ENABLED, "true");
+        config.setProperty(PROP_BACKPRESSURE_ADAPTIVE_QUEUE_THRESHOLD, "0");
+        GroupProperties groupProperties = new GroupProperties(config);
+        BackpressureRegulator regulator = new BackpressureRegulator(groupProperties, logger);
+        CallIdSequence.CallIdSequenceWithBackpressure callIdSequence
+                = (CallIdSequence.CallIdSequenceWithBackpressure) regulator.newCallIdSequence();
+
+        new AdaptiveBackpressureController(regulator, callIdSequence, mock(OperationExecutor.class), groupProperties, logger);
+    }
+}
@@ -1,6 +1,7 @@
 package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.cluster.ClusterService;
+import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
@@ -23,9 +24,12 @@ import org.junit.runner.RunWith;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import static com.hazelcast.instance.GroupProperties.PROP_BACKPRESSURE_ADAPTIVE_ENABLED;
+import static com.hazelcast.instance.GroupProperties.PROP_BACKPRESSURE_ENABLED;
 import static com.hazelcast.spi.OperationAccessor.setCallId;
 import static com.hazelcast.spi.OperationAccessor.setCallTimeout;
 import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
+import static com.hazelcast.spi.OperationAccessor.setInvocationTime;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -188,6 +192,63 @@ public class OperationRunnerImplTest extends HazelcastTestSupport {
         verify(responseHandler).sendResponse(any(CallTimeoutResponse.class));
     }
 
+    @Test
+    public void runOperation_whenRunThrowsException_thenLatencyRecorded() {
+        OperationRunnerImpl adaptiveRunner = newAdaptiveOperationRunner();
+        Operation op = new AbstractOperation() {
+            @Override
+            public void run() throws Exception {
+                throw new ExpectedRuntimeException();
+            }
+        };
+        op.setResponseHandler(responseHandler);
+        op.setPartitionId(adaptiveRunner.getPartitionId());
+        setInvocationTime(op, clusterService.getClusterClock().getClusterTime());
+
+        adaptiveRunner.run(op);
+
+        assertEquals(1, adaptiveRunner.getLatencyCount());
+    }
+
+    @Test
+    public void runOperation_whenTimeout_thenLatencyRecorded() {
+        OperationRunnerImpl adaptiveRunner = newAdaptiveOperationRunner();
+        Operation op = new DummyOperation();
+        setCallId(op, 10);
+        setCallTimeout(op, clusterService.getClusterClock().getClusterTime() - 1);
+        setInvocationTime(op, clusterService.getClusterClock().getClusterTime());
+        op.setPartitionId(adaptiveRunner.getPartitionId());
+        op.setResponseHandler(responseHandler);
+
+        adaptiveRunner.run(op);
+
+        assertEquals(1, adaptiveRunner.getLatencyCount());
+    }
+
+    @Test
+    public void runOperation_whenWaitingNeeded_thenLatencyNotRecorded() {
+        OperationRunnerImpl adaptiveRunner = newAdaptiveOperationRunner();
+        DummyWaitingOperation op = new DummyWaitingOperation() {
+            @Override
+            public void run() throws Exception {
+            }
+        };
+        op.setPartitionId(adaptiveRunner.getPartitionId());
+        setInvocationTime(op, clusterService.getClusterClock().getClusterTime());
+
+        adaptiveRunner.run(op);
+
+        assertEquals(0, adaptiveRunner.getLatencyCount());
+    }
+
+    private OperationRunnerImpl newAdaptiveOperationRunner() {
+        Config config = new Config();
+        config.setProperty(PROP_BACKPRESSURE_ENABLED, "true");
+        config.setProperty(PROP_BACKPRESSURE_ADAPTIVE_ENABLED, "true");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        return new OperationRunnerImpl((OperationServiceImpl) getOperationService(hz), getPartitionId(hz));
+    }
+
     @Test
     public void runPacket() throws Exception {
         Operation op = new DummyOperation();
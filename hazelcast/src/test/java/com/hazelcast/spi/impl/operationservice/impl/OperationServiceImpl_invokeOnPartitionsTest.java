@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationFactory;
+import com.hazelcast.spi.PartitionAwareOperationFactory;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class OperationServiceImpl_invokeOnPartitionsTest extends HazelcastTestSupport {
+
+    private InternalOperationService operationService;
+    private List<Integer> partitions;
+
+    @Before
+    public void setup() {
+        HazelcastInstance[] nodes = createHazelcastInstanceFactory(2).newInstances();
+        warmUpPartitions(nodes);
+
+        operationService = getOperationService(nodes[0]);
+        int partitionCount = getNode(nodes[0]).getPartitionService().getPartitionCount();
+        partitions = new ArrayList<Integer>(partitionCount);
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            partitions.add(partitionId);
+        }
+    }
+
+    @Test
+    public void whenOperationFactory() throws Exception {
+        Map<Integer, Object> results = operationService.invokeOnPartitions(
+                MapService.SERVICE_NAME, new DummyOperationFactory(), partitions);
+
+        assertEquals(partitions.size(), results.size());
+        for (int partitionId : partitions) {
+            assertEquals("foobar", results.get(partitionId));
+        }
+    }
+
+    @Test
+    public void whenPartitionAwareOperationFactory() throws Exception {
+        int[] factoryPartitions = new int[partitions.size()];
+        for (int k = 0; k < factoryPartitions.length; k++) {
+            factoryPartitions[k] = partitions.get(k);
+        }
+
+        Map<Integer, Object> results = operationService.invokeOnPartitions(
+                MapService.SERVICE_NAME, new DummyPartitionAwareOperationFactory(factoryPartitions), partitions);
+
+        assertEquals(partitions.size(), results.size());
+        for (int partitionId : partitions) {
+            assertEquals(partitionId, results.get(partitionId));
+        }
+    }
+
+    public static class DummyOperationFactory implements OperationFactory {
+
+        @Override
+        public Operation createOperation() {
+            return new DummyOperation("foobar");
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+        }
+    }
+
+    public static class DummyPartitionAwareOperationFactory implements PartitionAwareOperationFactory {
+
+        private int[] partitions;
+
+        public DummyPartitionAwareOperationFactory() {
+        }
+
+        DummyPartitionAwareOperationFactory(int[] partitions) {
+            this.partitions = partitions;
+        }
+
+        @Override
+        public Operation createOperation() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Operation createPartitionOperation(int partitionId) {
+            for (int partition : partitions) {
+                if (partition == partitionId) {
+                    return new DummyOperation(partitionId);
+                }
+            }
+            throw new IllegalArgumentException("Unknown partition " + partitionId);
+        }
+
+        @Override
+        public PartitionAwareOperationFactory createFactoryFor(List<Integer> partitions) {
+            int[] subset = new int[partitions.size()];
+            for (int k = 0; k < subset.length; k++) {
+                subset[k] = partitions.get(k);
+            }
+            return new DummyPartitionAwareOperationFactory(subset);
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeIntArray(partitions);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            partitions = in.readIntArray();
+        }
+    }
+}
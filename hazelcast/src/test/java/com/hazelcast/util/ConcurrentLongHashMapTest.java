@@ -0,0 +1,254 @@
+package com.hazelcast.util;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ConcurrentLongHashMapTest extends HazelcastTestSupport {
+
+    private ConcurrentLongHashMap<String> map;
+
+    @Before
+    public void setup() {
+        map = new ConcurrentLongHashMap<String>(4, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenInitialCapacityZero() {
+        new ConcurrentLongHashMap<String>(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenConcurrencyLevelZero() {
+        new ConcurrentLongHashMap<String>(10, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_put_whenNullValue() {
+        map.put(1, null);
+    }
+
+    @Test
+    public void test_put_get_remove() {
+        assertTrue(map.isEmpty());
+        assertNull(map.put(1, "1"));
+        assertNull(map.put(0, "0"));
+        assertNull(map.put(-1, "-1"));
+
+        assertEquals("1", map.get(1));
+        assertEquals("0", map.get(0));
+        assertEquals("-1", map.get(-1));
+        assertNull(map.get(2));
+        assertEquals(3, map.size());
+
+        assertEquals("1", map.put(1, "one"));
+        assertEquals("one", map.get(1));
+        assertEquals(3, map.size());
+
+        assertEquals("one", map.remove(1));
+        assertNull(map.remove(1));
+        assertNull(map.get(1));
+        assertEquals(2, map.size());
+        assertFalse(map.isEmpty());
+    }
+
+    @Test
+    public void test_growAndRemove_againstHashMap() {
+        Map<Long, String> expected = new HashMap<Long, String>();
+        Random random = new Random();
+        for (int k = 0; k < 100000; k++) {
+            long key = random.nextInt(5000);
+            if (random.nextBoolean()) {
+                String value = "value" + k;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void test_values() {
+        Set<String> expected = new HashSet<String>();
+        for (long k = 0; k < 1000; k++) {
+            map.put(k, "" + k);
+            expected.add("" + k);
+        }
+
+        Set<String> found = new HashSet<String>();
+        for (String value : map.values()) {
+            found.add(value);
+        }
+
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void test_values_whenEmpty() {
+        assertFalse(map.values().iterator().hasNext());
+    }
+
+    @Test
+    public void test_concurrentUpdates() throws Exception {
+        final ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<Long>(16, 4);
+        int threadCount = 4;
+        final int keysPerThread = 10000;
+        Future[] futures = new Future[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final long offset = t * keysPerThread;
+            futures[t] = spawn(new Runnable() {
+                @Override
+                public void run() {
+                    for (long k = offset; k < offset + keysPerThread; k++) {
+                        map.put(k, k);
+                    }
+                    for (long k = offset; k < offset + keysPerThread; k += 2) {
+                        map.remove(k);
+                    }
+                }
+            });
+        }
+        for (Future future : futures) {
+            future.get();
+        }
+
+        assertEquals(threadCount * keysPerThread / 2, map.size());
+        for (long k = 0; k < threadCount * keysPerThread; k++) {
+            if (k % 2 == 0) {
+                assertNull(map.get(k));
+            } else {
+                assertEquals(Long.valueOf(k), map.get(k));
+            }
+        }
+    }
+
+    @Test
+    public void test_get_whileConcurrentlyUpdated() throws Exception {
+        final ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<Long>(4, 1);
+        final int stableKeys = 1000;
+        for (long k = 0; k < stableKeys; k++) {
+            map.put(k, k);
+        }
+        final AtomicBoolean stop = new AtomicBoolean();
+        Future updater = spawn(new Runnable() {
+            @Override
+            public void run() {
+                // inserts and removes keys colliding with the stable ones, so stable entries get relocated
+                long k = stableKeys;
+                while (!stop.get()) {
+                    map.put(k, k);
+                    if (k - stableKeys >= 100) {
+                        map.remove(k - 100);
+                    }
+                    k++;
+                }
+            }
+        });
+
+        try {
+            for (int round = 0; round < 200; round++) {
+                for (long k = 0; k < stableKeys; k++) {
+                    assertEquals(Long.valueOf(k), map.get(k));
+                }
+            }
+        } finally {
+            stop.set(true);
+            updater.get();
+        }
+    }
+
+    @Test
+    public void test_get_whileEntriesAreRelocatedByRemoveAndGrow() throws Exception {
+        final int stableKeys = 8;
+        final int churnKeys = 64;
+        final AtomicReference<ConcurrentLongHashMap<Long>> current = new AtomicReference<ConcurrentLongHashMap<Long>>();
+        current.set(newMap(0, 0, stableKeys));
+        final AtomicBoolean stop = new AtomicBoolean();
+        Future updater = spawn(new Runnable() {
+            @Override
+            public void run() {
+                long churn = stableKeys;
+                while (!stop.get()) {
+                    // the stable entries are inserted last, so they are displaced behind the churn entries
+                    ConcurrentLongHashMap<Long> map = newMap(churn, churnKeys, stableKeys);
+                    current.set(map);
+                    // removing the churn entries moves the stable entries back, adding more grows the table
+                    for (long k = churn; k < churn + churnKeys; k++) {
+                        map.remove(k);
+                    }
+                    for (long k = churn + churnKeys; k < churn + 3 * churnKeys; k++) {
+                        map.put(k, k);
+                    }
+                    churn += 3 * churnKeys;
+                }
+            }
+        });
+
+        final AtomicLong misses = new AtomicLong();
+        final long deadline = System.currentTimeMillis() + SECONDS.toMillis(5);
+        Future[] readers = new Future[2];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = spawn(new Runnable() {
+                @Override
+                public void run() {
+                    while (System.currentTimeMillis() < deadline && misses.get() == 0) {
+                        ConcurrentLongHashMap<Long> map = current.get();
+                        for (long k = 0; k < stableKeys; k++) {
+                            if (map.get(k) == null) {
+                                misses.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+            });
+        }
+        try {
+            for (Future reader : readers) {
+                reader.get();
+            }
+        } finally {
+            stop.set(true);
+            updater.get();
+        }
+
+        assertEquals("gets of present keys returning null", 0, misses.get());
+    }
+
+    private static ConcurrentLongHashMap<Long> newMap(long churn, int churnKeys, int stableKeys) {
+        ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<Long>(1, 1);
+        for (long k = churn; k < churn + churnKeys; k++) {
+            map.put(k, k);
+        }
+        for (long k = 0; k < stableKeys; k++) {
+            map.put(k, k);
+        }
+        return map;
+    }
+}